@@ -0,0 +1,42 @@
+package com.janhavi.challenge.producerconsumer;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Progressive wait used by the lock-free queues while they are full or
+ * empty: a short busy spin, then yielding the CPU, then parking for
+ * doubling intervals up to {@link #MAX_PARK_NANOS}.
+ *
+ * Spinning keeps the hand-off latency low when the other side is about to
+ * make progress; parking keeps an idle queue from burning a core. One
+ * instance is used per wait and is not thread-safe.
+ */
+final class Backoff {
+
+    private static final int SPINS = 100;
+    private static final int YIELDS = 20;
+    private static final long MIN_PARK_NANOS = 1_000;
+    private static final long MAX_PARK_NANOS = 1_000_000;
+
+    private int attempts;
+
+    /**
+     * Waits once, a little longer than the previous time.
+     *
+     * @throws InterruptedException if the thread is interrupted
+     */
+    void idle() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        int attempt = attempts++;
+        if (attempt < SPINS) {
+            Thread.onSpinWait();
+        } else if (attempt < SPINS + YIELDS) {
+            Thread.yield();
+        } else {
+            int doublings = Math.min(attempt - SPINS - YIELDS, 10);
+            LockSupport.parkNanos(Math.min(MAX_PARK_NANOS, MIN_PARK_NANOS << doublings));
+        }
+    }
+}
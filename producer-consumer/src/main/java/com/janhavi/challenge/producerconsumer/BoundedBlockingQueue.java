@@ -8,7 +8,7 @@ import java.util.Queue;
  *
  * @param <T> type of the elements stored in the queue
  */
-public class BoundedBlockingQueue<T> {
+public class BoundedBlockingQueue<T> implements BoundedQueue<T> {
 
     // Internal FIFO storage for elements
     private final Queue<T> queue = new LinkedList<>();
@@ -35,6 +35,7 @@ public class BoundedBlockingQueue<T> {
      * @param item the element to be inserted
      * @throws InterruptedException if the thread is interrupted while waiting
      */
+    @Override
     public void put(T item) throws InterruptedException {
         synchronized (this) {
             while (queue.size() == capacity) {
@@ -51,6 +52,7 @@ public class BoundedBlockingQueue<T> {
      * @return the removed element
      * @throws InterruptedException if the thread is interrupted while waiting
      */
+    @Override
     public T take() throws InterruptedException {
         synchronized (this) {
             while (queue.isEmpty()) {
@@ -68,6 +70,7 @@ public class BoundedBlockingQueue<T> {
      *
      * @return size of the queue
      */
+    @Override
     public synchronized int size() {
         return queue.size();
     }
@@ -0,0 +1,37 @@
+package com.janhavi.challenge.producerconsumer;
+
+/**
+ * A fixed-capacity FIFO queue shared by producer and consumer threads.
+ *
+ * {@link #put} blocks while the queue is full and {@link #take} blocks
+ * while it is empty. Both throw {@link InterruptedException} if the
+ * calling thread is interrupted while waiting. Null elements are allowed.
+ *
+ * @param <T> type of the elements stored in the queue
+ */
+public interface BoundedQueue<T> {
+
+    /**
+     * Inserts an item, waiting for space if the queue is full.
+     *
+     * @param item the element to be inserted
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    void put(T item) throws InterruptedException;
+
+    /**
+     * Removes and returns the head element, waiting for one if the queue is
+     * empty.
+     *
+     * @return the removed element
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    T take() throws InterruptedException;
+
+    /**
+     * Returns the current number of elements in the queue.
+     *
+     * @return size of the queue
+     */
+    int size();
+}
@@ -8,7 +8,7 @@ import java.util.List;
 public class Consumer implements Runnable {
 
     // Shared blocking queue from which items are consumed
-    private final BoundedBlockingQueue<Integer> queue;
+    private final BoundedQueue<Integer> queue;
 
     // Destination list where consumed items are stored
     private final List<Integer> destination;
@@ -23,7 +23,7 @@ public class Consumer implements Runnable {
      * @param destination list to store consumed items
      * @param poisonPill  special value that signals consumer shutdown
      */
-    public Consumer(BoundedBlockingQueue<Integer> queue,
+    public Consumer(BoundedQueue<Integer> queue,
                     List<Integer> destination,
                     int poisonPill) {
         this.queue = queue;
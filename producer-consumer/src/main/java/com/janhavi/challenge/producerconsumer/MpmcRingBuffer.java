@@ -0,0 +1,163 @@
+package com.janhavi.challenge.producerconsumer;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A lock-free bounded queue for any number of producer and consumer
+ * threads, after Dmitry Vyukov's bounded MPMC queue.
+ *
+ * Items live in a preallocated array used as a ring, so {@link #put} does
+ * not allocate. Every slot carries a sequence number telling whose turn it
+ * is: a producer may fill the slot for position {@code p} when its sequence
+ * is {@code 2p}, and a consumer may empty it when the sequence is
+ * {@code 2p + 1}. Emptying sets it to {@code 2(p + capacity)}, the next lap.
+ * Doubling keeps "filled" and "free for the next lap" apart even for
+ * capacity 1, where Vyukov's original {@code p + 1} and {@code p + capacity}
+ * coincide. Producers claim positions by CAS on the tail and
+ * consumers by CAS on the head, which sit on separate cache lines
+ * ({@link PaddedSequence}); a claimed slot is then published with a release
+ * store of its sequence. Threads on one side never wait for a thread on the
+ * same side to finish its write.
+ *
+ * A full or empty queue makes the caller spin, yield and then park for
+ * short intervals ({@link Backoff}) until a slot frees up.
+ *
+ * @param <T> type of the elements stored in the queue
+ */
+public final class MpmcRingBuffer<T> implements BoundedQueue<T> {
+
+    private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+
+    // Ring storage, one slot per element of capacity
+    private final Object[] buffer;
+
+    // Turn of each slot, as described above
+    private final long[] sequences;
+
+    // Maximum number of elements the queue can hold
+    private final int capacity;
+
+    // capacity - 1 when capacity is a power of two, otherwise -1
+    private final int mask;
+
+    // Next position to take
+    private final PaddedSequence head = new PaddedSequence();
+
+    // Next position to put
+    private final PaddedSequence tail = new PaddedSequence();
+
+    /**
+     * Constructs a ring buffer with fixed capacity.
+     *
+     * @param capacity maximum number of elements allowed in the queue
+     * @throws IllegalArgumentException if capacity is zero or negative
+     */
+    public MpmcRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be > 0");
+        }
+        this.capacity = capacity;
+        this.mask = Integer.bitCount(capacity) == 1 ? capacity - 1 : -1;
+        this.buffer = new Object[capacity];
+        this.sequences = new long[capacity];
+        for (int i = 0; i < capacity; i++) {
+            sequences[i] = 2L * i;
+        }
+    }
+
+    /**
+     * Inserts an item into the queue.
+     *
+     * @param item the element to be inserted
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public void put(T item) throws InterruptedException {
+        Backoff backoff = null;
+        long position = tail.getAcquire();
+        while (true) {
+            int index = index(position);
+            long turn = (long) SEQUENCE.getAcquire(sequences, index) - 2 * position;
+            if (turn == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer[index] = item;
+                    SEQUENCE.setRelease(sequences, index, 2 * position + 1); // hand the slot to consumers
+                    return;
+                }
+            } else if (turn < 0) {
+                // The slot still holds the item of the previous lap: the queue is full
+                if (backoff == null) {
+                    backoff = new Backoff();
+                }
+                backoff.idle();
+            }
+            // Another producer claimed this position first
+            position = tail.getAcquire();
+        }
+    }
+
+    /**
+     * Removes and returns the head element of the queue.
+     *
+     * @return the removed element
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T take() throws InterruptedException {
+        Backoff backoff = null;
+        long position = head.getAcquire();
+        while (true) {
+            int index = index(position);
+            long turn = (long) SEQUENCE.getAcquire(sequences, index) - (2 * position + 1);
+            if (turn == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    T item = (T) buffer[index];
+                    buffer[index] = null; // let the item be collected
+                    SEQUENCE.setRelease(sequences, index, 2 * (position + capacity)); // hand the slot to the next lap
+                    return item;
+                }
+            } else if (turn < 0) {
+                // The slot has not been filled in this lap yet: the queue is empty
+                if (backoff == null) {
+                    backoff = new Backoff();
+                }
+                backoff.idle();
+            }
+            // Another consumer claimed this position first
+            position = head.getAcquire();
+        }
+    }
+
+    /**
+     * Returns the current number of elements in the queue, counting items
+     * whose producers have claimed a slot but not yet finished writing. The
+     * value is a snapshot and may be stale by the time it is used.
+     *
+     * @return size of the queue
+     */
+    @Override
+    public int size() {
+        long h;
+        long t;
+        do {
+            h = head.getAcquire();
+            t = tail.getAcquire();
+        } while (h != head.getAcquire()); // retry if a consumer moved in between
+        return (int) Math.max(0, Math.min(capacity, t - h));
+    }
+
+    /**
+     * Returns the maximum number of elements the queue can hold.
+     *
+     * @return capacity of the queue
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    private int index(long position) {
+        return mask >= 0 ? (int) position & mask : (int) (position % capacity);
+    }
+}
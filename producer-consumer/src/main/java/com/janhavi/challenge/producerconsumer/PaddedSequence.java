@@ -0,0 +1,68 @@
+package com.janhavi.challenge.producerconsumer;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Padding before the sequence. The JVM lays out superclass fields before
+ * subclass fields, so this class hierarchy keeps 64 bytes on each side of
+ * {@link SequenceFields#value}, regardless of how fields of one class are
+ * ordered.
+ */
+abstract class SequenceLeftPad {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+/**
+ * The sequence and a cache owned by the same thread, sharing one cache line.
+ */
+abstract class SequenceFields extends SequenceLeftPad {
+
+    /** Next position to write (tail) or read (head). */
+    volatile long value;
+
+    /**
+     * Last value seen of the opposite sequence. Only the thread that
+     * advances this sequence uses it, so it needs no synchronization.
+     */
+    long cache;
+}
+
+/**
+ * A 64-bit counter on a cache line of its own, so that the head and tail of
+ * a ring buffer, written by different threads, do not invalidate each
+ * other's cache line (false sharing).
+ */
+final class PaddedSequence extends SequenceFields {
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(SequenceFields.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+
+    /** Reads the value with plain semantics; for the owning thread only. */
+    long getPlain() {
+        return (long) VALUE.get(this);
+    }
+
+    /** Reads the value, seeing every write made before its release. */
+    long getAcquire() {
+        return (long) VALUE.getAcquire(this);
+    }
+
+    /** Publishes the value and every write made before it. */
+    void setRelease(long newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+
+    boolean compareAndSet(long expected, long newValue) {
+        return VALUE.compareAndSet(this, expected, newValue);
+    }
+}
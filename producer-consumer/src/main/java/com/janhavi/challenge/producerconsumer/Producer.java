@@ -10,7 +10,7 @@ public class Producer implements Runnable {
     private final List<Integer> source;
 
     /** Shared blocking queue where items are produced */
-    private final BoundedBlockingQueue<Integer> queue;
+    private final BoundedQueue<Integer> queue;
 
     /** Special termination signal value */
     private final int poisonPill;
@@ -23,7 +23,7 @@ public class Producer implements Runnable {
      * @param poisonPill termination signal for consumer
      */
     public Producer(List<Integer> source,
-                    BoundedBlockingQueue<Integer> queue,
+                    BoundedQueue<Integer> queue,
                     int poisonPill
                     ) {
         this.source = source;
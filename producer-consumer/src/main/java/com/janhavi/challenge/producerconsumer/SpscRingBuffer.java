@@ -0,0 +1,134 @@
+package com.janhavi.challenge.producerconsumer;
+
+/**
+ * A lock-free bounded queue for exactly one producer thread and one
+ * consumer thread.
+ *
+ * Items live in a preallocated array used as a ring, so {@link #put} does
+ * not allocate. The producer owns the tail sequence and the consumer owns
+ * the head; each publishes its progress with a release store and reads the
+ * other's with an acquire load, so no CAS or lock is needed. Each side also
+ * caches the last value it saw of the other sequence and rereads it only
+ * when the ring looks full or empty. Head and tail sit on separate cache
+ * lines ({@link PaddedSequence}).
+ *
+ * A full or empty queue makes the caller spin, yield and then park for
+ * short intervals ({@link Backoff}) until the other side catches up.
+ *
+ * <p>Using it from more than one producer or more than one consumer thread
+ * at a time loses or duplicates items; use {@link MpmcRingBuffer} then.
+ *
+ * @param <T> type of the elements stored in the queue
+ */
+public final class SpscRingBuffer<T> implements BoundedQueue<T> {
+
+    // Ring storage; its length is the capacity rounded up to a power of two
+    private final Object[] buffer;
+
+    private final int mask;
+
+    // Maximum number of elements the queue can hold
+    private final int capacity;
+
+    // Written by the consumer only; its cache holds the last tail seen
+    private final PaddedSequence head = new PaddedSequence();
+
+    // Written by the producer only; its cache holds the last head seen
+    private final PaddedSequence tail = new PaddedSequence();
+
+    /**
+     * Constructs a ring buffer with fixed capacity.
+     *
+     * @param capacity maximum number of elements allowed in the queue
+     * @throws IllegalArgumentException if capacity is zero, negative or above 2^30
+     */
+    public SpscRingBuffer(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be > 0 and <= 2^30");
+        }
+        this.capacity = capacity;
+        int length = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.buffer = new Object[length];
+        this.mask = length - 1;
+    }
+
+    /**
+     * Inserts an item into the queue. Must only be called by the producer
+     * thread.
+     *
+     * @param item the element to be inserted
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public void put(T item) throws InterruptedException {
+        long t = tail.getPlain();
+        if (t - tail.cache >= capacity) {
+            tail.cache = head.getAcquire();
+            Backoff backoff = null;
+            while (t - tail.cache >= capacity) {
+                if (backoff == null) {
+                    backoff = new Backoff();
+                }
+                backoff.idle(); // wait until the consumer frees a slot
+                tail.cache = head.getAcquire();
+            }
+        }
+        buffer[(int) t & mask] = item;
+        tail.setRelease(t + 1); // publish the item to the consumer
+    }
+
+    /**
+     * Removes and returns the head element of the queue. Must only be called
+     * by the consumer thread.
+     *
+     * @return the removed element
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T take() throws InterruptedException {
+        long h = head.getPlain();
+        if (h >= head.cache) {
+            head.cache = tail.getAcquire();
+            Backoff backoff = null;
+            while (h >= head.cache) {
+                if (backoff == null) {
+                    backoff = new Backoff();
+                }
+                backoff.idle(); // wait until the producer publishes an item
+                head.cache = tail.getAcquire();
+            }
+        }
+        int index = (int) h & mask;
+        T item = (T) buffer[index];
+        buffer[index] = null; // let the item be collected
+        head.setRelease(h + 1); // hand the slot back to the producer
+        return item;
+    }
+
+    /**
+     * Returns the current number of elements in the queue. The value is a
+     * snapshot and may be stale by the time it is used.
+     *
+     * @return size of the queue
+     */
+    @Override
+    public int size() {
+        long h;
+        long t;
+        do {
+            h = head.getAcquire();
+            t = tail.getAcquire();
+        } while (h != head.getAcquire()); // retry if the consumer moved in between
+        return (int) Math.max(0, Math.min(capacity, t - h));
+    }
+
+    /**
+     * Returns the maximum number of elements the queue can hold.
+     *
+     * @return capacity of the queue
+     */
+    public int capacity() {
+        return capacity;
+    }
+}
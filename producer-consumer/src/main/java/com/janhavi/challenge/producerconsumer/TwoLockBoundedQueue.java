@@ -0,0 +1,155 @@
+package com.janhavi.challenge.producerconsumer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded blocking queue with separate locks for producers and
+ * consumers, in the style of {@code java.util.concurrent.LinkedBlockingQueue}.
+ *
+ * Producers serialize on {@code putLock} and wait on its {@code notFull}
+ * condition; consumers serialize on {@code takeLock} and wait on
+ * {@code notEmpty}. A put and a take therefore run concurrently, and the
+ * two sides meet only at the atomic {@code count}. Instead of waking every
+ * waiting thread after each operation, like {@link BoundedBlockingQueue}'s
+ * {@code notifyAll()}, each operation signals a single thread, and only one
+ * that can proceed:
+ * <ul>
+ *   <li>a put that makes the queue non-empty wakes one consumer;</li>
+ *   <li>a take that makes the queue non-full wakes one producer;</li>
+ *   <li>a put that leaves room wakes the next producer, and a take that
+ *       leaves items wakes the next consumer, so wake-ups cascade without
+ *       taking the other side's lock on every operation.</li>
+ * </ul>
+ *
+ * Items live in a preallocated array. The producer writes a slot before
+ * incrementing {@code count} and the consumer clears a slot before
+ * decrementing it, so the count's volatile accesses publish the slots to
+ * the other side.
+ *
+ * @param <T> type of the elements stored in the queue
+ */
+public class TwoLockBoundedQueue<T> implements BoundedQueue<T> {
+
+    // Ring storage, one slot per element of capacity
+    private final Object[] items;
+
+    // Maximum number of elements the queue can hold
+    private final int capacity;
+
+    // Number of elements; the only state shared by both sides
+    private final AtomicInteger count = new AtomicInteger();
+
+    // Held by put; guards putIndex
+    private final ReentrantLock putLock = new ReentrantLock();
+    private final Condition notFull = putLock.newCondition();
+    private int putIndex;
+
+    // Held by take; guards takeIndex
+    private final ReentrantLock takeLock = new ReentrantLock();
+    private final Condition notEmpty = takeLock.newCondition();
+    private int takeIndex;
+
+    /**
+     * Constructs a bounded blocking queue with fixed capacity.
+     *
+     * @param capacity maximum number of elements allowed in the queue
+     * @throws IllegalArgumentException if capacity is zero or negative
+     */
+    public TwoLockBoundedQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be > 0");
+        }
+        this.capacity = capacity;
+        this.items = new Object[capacity];
+    }
+
+    /**
+     * Inserts an item into the queue.
+     *
+     * @param item the element to be inserted
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public void put(T item) throws InterruptedException {
+        int before;
+        putLock.lock();
+        try {
+            while (count.get() == capacity) {
+                notFull.await(); // wait until space is available
+            }
+            items[putIndex] = item;
+            putIndex = putIndex + 1 == capacity ? 0 : putIndex + 1;
+            before = count.getAndIncrement(); // publishes the slot to consumers
+            if (before + 1 < capacity) {
+                notFull.signal(); // room left: let the next waiting producer in
+            }
+        } finally {
+            putLock.unlock();
+        }
+        if (before == 0) {
+            signalNotEmpty(); // the queue was empty, so consumers may be waiting
+        }
+    }
+
+    /**
+     * Removes and returns the head element of the queue.
+     *
+     * @return the removed element
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T take() throws InterruptedException {
+        T item;
+        int before;
+        takeLock.lock();
+        try {
+            while (count.get() == 0) {
+                notEmpty.await(); // wait until an item is available
+            }
+            item = (T) items[takeIndex];
+            items[takeIndex] = null;
+            takeIndex = takeIndex + 1 == capacity ? 0 : takeIndex + 1;
+            before = count.getAndDecrement(); // hands the slot back to producers
+            if (before > 1) {
+                notEmpty.signal(); // items left: let the next waiting consumer in
+            }
+        } finally {
+            takeLock.unlock();
+        }
+        if (before == capacity) {
+            signalNotFull(); // the queue was full, so producers may be waiting
+        }
+        return item;
+    }
+
+    /**
+     * Returns the current number of elements in the queue.
+     *
+     * @return size of the queue
+     */
+    @Override
+    public int size() {
+        return count.get();
+    }
+
+    private void signalNotEmpty() {
+        takeLock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    private void signalNotFull() {
+        putLock.lock();
+        try {
+            notFull.signal();
+        } finally {
+            putLock.unlock();
+        }
+    }
+}
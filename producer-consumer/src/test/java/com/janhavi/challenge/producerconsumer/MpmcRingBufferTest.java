@@ -0,0 +1,163 @@
+package com.janhavi.challenge.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpmcRingBufferTest {
+
+    /**
+     * Verifies FIFO order and size in a single-threaded scenario, for a
+     * power-of-two and a non-power-of-two capacity.
+     */
+    @Test
+    void testSingleThreadPutTake() throws InterruptedException {
+        for (int capacity : new int[]{4, 3}) {
+            MpmcRingBuffer<Integer> queue = new MpmcRingBuffer<>(capacity);
+            for (int round = 0; round < 5; round++) {
+                for (int i = 0; i < capacity; i++) {
+                    queue.put(i);
+                }
+                assertEquals(capacity, queue.size());
+                for (int i = 0; i < capacity; i++) {
+                    assertEquals(i, queue.take());
+                }
+                assertEquals(0, queue.size());
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> new MpmcRingBuffer<>(-1));
+    }
+
+    /**
+     * Verifies that put blocks while the queue is full and resumes once a
+     * consumer frees a slot.
+     */
+    @Test
+    void testPutBlocksWhenFull() throws InterruptedException {
+        MpmcRingBuffer<Integer> queue = new MpmcRingBuffer<>(1);
+        queue.put(1);
+
+        Thread producer = new Thread(() -> {
+            try {
+                queue.put(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        producer.join(100);
+        assertTrue(producer.isAlive());
+
+        assertEquals(1, queue.take());
+        producer.join(TimeUnit.SECONDS.toMillis(5));
+        assertFalse(producer.isAlive());
+        assertEquals(2, queue.take());
+    }
+
+    /**
+     * Verifies that a producer waiting on a full queue can be interrupted.
+     */
+    @Test
+    void testPutInterruptible() throws InterruptedException {
+        MpmcRingBuffer<Integer> queue = new MpmcRingBuffer<>(1);
+        queue.put(1);
+        List<Throwable> failures = new ArrayList<>();
+        Thread producer = new Thread(() -> {
+            try {
+                queue.put(2);
+            } catch (InterruptedException e) {
+                failures.add(e);
+            }
+        });
+        producer.start();
+        producer.join(50);
+        producer.interrupt();
+        producer.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertFalse(producer.isAlive());
+        assertEquals(1, failures.size());
+        assertEquals(1, queue.size());
+    }
+
+    /**
+     * Verifies that items from four producers reach four consumers exactly
+     * once: every value is taken once, and the sum of the taken values
+     * matches the sum of the put values.
+     */
+    @Test
+    void testMultipleProducersMultipleConsumers() throws InterruptedException {
+        MpmcRingBuffer<Integer> queue = new MpmcRingBuffer<>(16);
+        int threads = 4;
+        int perThread = 100_000;
+        boolean[] seen = new boolean[threads * perThread];
+        AtomicLong sum = new AtomicLong();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int first = t * perThread;
+            workers.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        queue.put(first + i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            workers.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        int value = queue.take();
+                        synchronized (seen) {
+                            assertFalse(seen[value], "taken twice: " + value);
+                            seen[value] = true;
+                        }
+                        sum.addAndGet(value);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        long n = (long) threads * perThread;
+        assertEquals(n * (n - 1) / 2, sum.get());
+        assertEquals(0, queue.size());
+    }
+
+    /**
+     * Verifies the existing Producer and Consumer against the ring buffer
+     * with two producers.
+     */
+    @Test
+    void testMultipleProducersSingleConsumer() throws InterruptedException {
+        List<Integer> destination = new ArrayList<>();
+        MpmcRingBuffer<Integer> queue = new MpmcRingBuffer<>(8);
+        int poisonPill = -1;
+
+        // Both producers finish first, so all items and both pills are queued
+        Thread p1 = new Thread(new Producer(List.of(1, 2, 3), queue, poisonPill));
+        Thread p2 = new Thread(new Producer(List.of(4, 5, 6), queue, poisonPill));
+        p1.start();
+        p2.start();
+        p1.join();
+        p2.join();
+
+        Thread consumer = new Thread(new Consumer(queue, destination, poisonPill));
+        consumer.start();
+        consumer.join();
+
+        // The consumer stops at the first poison pill, after at least three items
+        assertTrue(destination.size() >= 3);
+        assertTrue(List.of(1, 2, 3, 4, 5, 6).containsAll(destination));
+        assertEquals(7 - destination.size(), queue.size());
+    }
+}
@@ -0,0 +1,128 @@
+package com.janhavi.challenge.producerconsumer;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Small command line harness comparing the throughput of the
+ * {@link BoundedQueue} implementations.
+ *
+ * For every thread count N it starts N producers and N consumers that pass
+ * a fixed number of messages through one queue, and reports messages per
+ * second as the median of several runs after a warm-up run. Producers put
+ * one shared boxed value, so the runs measure the queue and not boxing.
+ * It also reports how often, per message, a worker blocked on a lock or
+ * waited or parked ({@link ThreadInfo#getBlockedCount()} plus
+ * {@link ThreadInfo#getWaitedCount()}). Wake-ups of threads that cannot
+ * proceed and go back to waiting show up there on any number of cores.
+ * {@link SpscRingBuffer} only runs with one producer and one consumer.
+ *
+ * The harness lives with the tests so it is not packaged; run it by hand
+ * from the test classes after {@code mvn test-compile}.
+ *
+ * Usage: {@code java QueueBenchmark [messages] [capacity] [threads...]}
+ */
+public class QueueBenchmark {
+
+    private static final int RUNS = 3;
+    private static final Integer MESSAGE = 42;
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws InterruptedException {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int capacity = args.length > 1 ? Integer.parseInt(args[1]) : 1024;
+        int[] threadCounts = args.length > 2
+                ? Arrays.stream(args, 2, args.length).mapToInt(Integer::parseInt).toArray()
+                : new int[]{1, 2, 4, 8, 16};
+
+        Map<String, IntFunction<BoundedQueue<Integer>>> queues = new LinkedHashMap<>();
+        queues.put("BoundedBlockingQueue", BoundedBlockingQueue::new);
+        queues.put("TwoLockBoundedQueue", TwoLockBoundedQueue::new);
+        queues.put("SpscRingBuffer", SpscRingBuffer::new);
+        queues.put("MpmcRingBuffer", MpmcRingBuffer::new);
+
+        System.out.printf("%,d messages, capacity %d, %d CPUs%n",
+                messages, capacity, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-22s %9s %16s %10s%n", "Queue", "P x C", "Messages/sec", "Waits/msg");
+        for (int threads : threadCounts) {
+            for (Map.Entry<String, IntFunction<BoundedQueue<Integer>>> queue : queues.entrySet()) {
+                if (threads > 1 && queue.getKey().startsWith("Spsc")) {
+                    continue;
+                }
+                int perThread = messages / threads;
+                run(queue.getValue().apply(capacity), threads, perThread / 10, new AtomicLong());
+                double[] rates = new double[RUNS];
+                AtomicLong waits = new AtomicLong();
+                for (int i = 0; i < RUNS; i++) {
+                    long nanos = run(queue.getValue().apply(capacity), threads, perThread, waits);
+                    rates[i] = (double) perThread * threads / (nanos / 1e9);
+                }
+                Arrays.sort(rates);
+                System.out.printf("%-22s %4d x %-2d %16.0f %10.3f%n", queue.getKey(), threads, threads,
+                        rates[RUNS / 2], (double) waits.get() / ((long) RUNS * perThread * threads));
+            }
+        }
+    }
+
+    /**
+     * Moves {@code perThread} messages from each of {@code threads}
+     * producers to {@code threads} consumers and returns the elapsed time.
+     * Adds the number of times the workers blocked or waited to {@code waits}.
+     */
+    private static long run(BoundedQueue<Integer> queue, int threads, int perThread, AtomicLong waits)
+            throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(new Thread(() -> {
+                try {
+                    start.await();
+                    for (int n = 0; n < perThread; n++) {
+                        queue.put(MESSAGE);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    waits.addAndGet(waitsOfCurrentThread());
+                }
+            }, "producer-" + i));
+            workers.add(new Thread(() -> {
+                try {
+                    start.await();
+                    for (int n = 0; n < perThread; n++) {
+                        queue.take();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    waits.addAndGet(waitsOfCurrentThread());
+                }
+            }, "consumer-" + i));
+        }
+        workers.forEach(Thread::start);
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return System.nanoTime() - begin;
+    }
+
+    /**
+     * Returns how often the current thread has blocked on a monitor and
+     * waited or parked, including waiting at the start latch.
+     */
+    private static long waitsOfCurrentThread() {
+        ThreadInfo info = THREADS.getThreadInfo(Thread.currentThread().getId());
+        return info.getBlockedCount() + info.getWaitedCount();
+    }
+}
@@ -0,0 +1,134 @@
+package com.janhavi.challenge.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpscRingBufferTest {
+
+    /**
+     * Verifies FIFO order and size in a single-threaded scenario, across
+     * several wraps of a capacity that is not a power of two.
+     */
+    @Test
+    void testSingleThreadPutTake() throws InterruptedException {
+        SpscRingBuffer<Integer> queue = new SpscRingBuffer<>(3);
+        for (int round = 0; round < 5; round++) {
+            queue.put(1);
+            queue.put(2);
+            queue.put(null); // nulls are allowed, as in BoundedBlockingQueue
+            assertEquals(3, queue.size());
+
+            assertEquals(1, queue.take());
+            assertEquals(2, queue.take());
+            assertNull(queue.take());
+            assertEquals(0, queue.size());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new SpscRingBuffer<>(0));
+    }
+
+    /**
+     * Verifies that put blocks while the queue is full and resumes once the
+     * consumer frees a slot.
+     */
+    @Test
+    void testPutBlocksWhenFull() throws InterruptedException {
+        SpscRingBuffer<Integer> queue = new SpscRingBuffer<>(2);
+        queue.put(1);
+        queue.put(2);
+
+        Thread producer = new Thread(() -> {
+            try {
+                queue.put(3);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        producer.join(100);
+        // Capacity must be enforced exactly, not rounded up
+        assertTrue(producer.isAlive());
+        assertEquals(2, queue.size());
+
+        assertEquals(1, queue.take());
+        producer.join(TimeUnit.SECONDS.toMillis(5));
+        assertFalse(producer.isAlive());
+        assertEquals(2, queue.take());
+        assertEquals(3, queue.take());
+    }
+
+    /**
+     * Verifies that a consumer waiting on an empty queue can be interrupted.
+     */
+    @Test
+    void testTakeInterruptible() throws InterruptedException {
+        SpscRingBuffer<Integer> queue = new SpscRingBuffer<>(4);
+        List<Throwable> failures = new ArrayList<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                queue.take();
+            } catch (InterruptedException e) {
+                failures.add(e);
+            }
+        });
+        consumer.start();
+        consumer.join(50);
+        consumer.interrupt();
+        consumer.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertFalse(consumer.isAlive());
+        assertEquals(1, failures.size());
+    }
+
+    /**
+     * Verifies that a million items pass from one producer thread to one
+     * consumer thread in order, without loss.
+     */
+    @Test
+    void testProducerConsumerOrder() throws InterruptedException {
+        SpscRingBuffer<Integer> queue = new SpscRingBuffer<>(64);
+        int count = 1_000_000;
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < count; i++) {
+                    queue.put(i);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, queue.take());
+        }
+        producer.join();
+        assertEquals(0, queue.size());
+    }
+
+    /**
+     * Verifies the existing Producer and Consumer against the ring buffer.
+     */
+    @Test
+    void testProducerConsumerIntegration() throws InterruptedException {
+        List<Integer> source = List.of(1, 2, 3, 4, 5);
+        List<Integer> destination = new ArrayList<>();
+        int poisonPill = -1;
+
+        SpscRingBuffer<Integer> queue = new SpscRingBuffer<>(2);
+
+        Thread producer = new Thread(new Producer(source, queue, poisonPill));
+        Thread consumer = new Thread(new Consumer(queue, destination, poisonPill));
+
+        producer.start();
+        consumer.start();
+        producer.join();
+        consumer.join();
+
+        assertEquals(source, destination);
+    }
+}
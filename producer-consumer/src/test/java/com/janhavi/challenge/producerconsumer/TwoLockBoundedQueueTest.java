@@ -0,0 +1,170 @@
+package com.janhavi.challenge.producerconsumer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoLockBoundedQueueTest {
+
+    /**
+     * Verifies FIFO order and size in a single-threaded scenario, across
+     * several wraps of the array.
+     */
+    @Test
+    void testSingleThreadPutTake() throws InterruptedException {
+        TwoLockBoundedQueue<Integer> queue = new TwoLockBoundedQueue<>(2);
+        for (int round = 0; round < 3; round++) {
+            queue.put(1);
+            queue.put(null); // nulls are allowed, as in BoundedBlockingQueue
+
+            // Queue should now be full
+            assertEquals(2, queue.size());
+            assertEquals(1, queue.take());
+            assertNull(queue.take());
+            assertEquals(0, queue.size());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new TwoLockBoundedQueue<>(0));
+    }
+
+    /**
+     * Verifies that put blocks while the queue is full and take while it is
+     * empty, and that each resumes once the other side makes progress.
+     */
+    @Test
+    void testBlockingWhenFullAndEmpty() throws InterruptedException {
+        TwoLockBoundedQueue<Integer> queue = new TwoLockBoundedQueue<>(1);
+        queue.put(1);
+
+        Thread producer = new Thread(() -> {
+            try {
+                queue.put(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        producer.join(100);
+        assertTrue(producer.isAlive());
+        assertEquals(1, queue.take());
+        producer.join(TimeUnit.SECONDS.toMillis(5));
+        assertFalse(producer.isAlive());
+        assertEquals(2, queue.take());
+
+        List<Integer> taken = new ArrayList<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                taken.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        consumer.join(100);
+        assertTrue(consumer.isAlive());
+        queue.put(3);
+        consumer.join(TimeUnit.SECONDS.toMillis(5));
+        assertEquals(List.of(3), taken);
+    }
+
+    /**
+     * Verifies that a consumer waiting on an empty queue can be interrupted
+     * and that the queue keeps working afterwards.
+     */
+    @Test
+    void testTakeInterruptible() throws InterruptedException {
+        TwoLockBoundedQueue<Integer> queue = new TwoLockBoundedQueue<>(2);
+        List<Throwable> failures = new ArrayList<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                queue.take();
+            } catch (InterruptedException e) {
+                failures.add(e);
+            }
+        });
+        consumer.start();
+        consumer.join(50);
+        consumer.interrupt();
+        consumer.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertEquals(1, failures.size());
+        queue.put(7);
+        assertEquals(7, queue.take());
+    }
+
+    /**
+     * Verifies that eight producers and eight consumers sharing a small
+     * queue move every item exactly once without deadlocking, which needs
+     * every wake-up to reach a thread that can proceed.
+     */
+    @Test
+    void testManyProducersManyConsumers() throws InterruptedException {
+        TwoLockBoundedQueue<Integer> queue = new TwoLockBoundedQueue<>(4);
+        int threads = 8;
+        int perThread = 20_000;
+        boolean[] seen = new boolean[threads * perThread];
+        AtomicLong sum = new AtomicLong();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int first = t * perThread;
+            workers.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        queue.put(first + i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            workers.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        int value = queue.take();
+                        synchronized (seen) {
+                            assertFalse(seen[value], "taken twice: " + value);
+                            seen[value] = true;
+                        }
+                        sum.addAndGet(value);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(60));
+            assertFalse(worker.isAlive(), "deadlocked");
+        }
+
+        long n = (long) threads * perThread;
+        assertEquals(n * (n - 1) / 2, sum.get());
+        assertEquals(0, queue.size());
+    }
+
+    /**
+     * End-to-end integration test using the real Producer and Consumer.
+     */
+    @Test
+    void testProducerConsumerIntegration() throws InterruptedException {
+        List<Integer> source = List.of(1, 2, 3, 4, 5);
+        List<Integer> destination = new ArrayList<>();
+        int poisonPill = -1;
+
+        TwoLockBoundedQueue<Integer> queue = new TwoLockBoundedQueue<>(2);
+
+        Thread producer = new Thread(new Producer(source, queue, poisonPill));
+        Thread consumer = new Thread(new Consumer(queue, destination, poisonPill));
+
+        producer.start();
+        consumer.start();
+        producer.join();
+        consumer.join();
+
+        assertEquals(source, destination);
+    }
+}
@@ -0,0 +1,45 @@
+package com.janhavi.challenge.sales;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Generated input files shared by the benchmarks.
+ *
+ * Files are written once by {@link SalesDataGenerator} with a fixed seed
+ * into {@code -Dsales.bench.dir} (the temp directory by default) and reused
+ * by later forks and runs, so every run measures the same bytes.
+ */
+final class BenchmarkData {
+
+    static final long SEED = 42;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Returns a CSV of the given size and skew, generating it if needed.
+     *
+     * @param rows number of rows
+     * @param skew Zipf exponent of countries and item types
+     * @return path of the CSV
+     * @throws IOException if the file cannot be written
+     */
+    static synchronized Path csv(long rows, double skew) throws IOException {
+        Path dir = Path.of(System.getProperty("sales.bench.dir", System.getProperty("java.io.tmpdir")));
+        Path csv = dir.resolve("sales-" + rows + "-skew" + skew + "-seed" + SEED + ".csv");
+        if (!Files.exists(csv)) {
+            Files.createDirectories(dir);
+            Path partial = Files.createTempFile(dir, "sales-", ".partial");
+            try {
+                new SalesDataGenerator(SEED, skew).write(partial, rows);
+                Files.move(partial, csv, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(partial);
+            }
+        }
+        return csv;
+    }
+}
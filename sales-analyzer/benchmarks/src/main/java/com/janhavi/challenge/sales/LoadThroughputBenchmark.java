@@ -0,0 +1,80 @@
+package com.janhavi.challenge.sales;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to load a generated CSV with each {@link SalesDataLoader} mode.
+ * Rows per second is {@code rows} divided by the reported time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Xmx4g"})
+public class LoadThroughputBenchmark {
+
+    private static final Set<ReportSection> ALL = EnumSet.allOf(ReportSection.class);
+
+    @Param("1000000")
+    public long rows;
+
+    @Param({"0.0", "1.1"})
+    public double skew;
+
+    private final SalesDataLoader loader = new SalesDataLoader();
+    private Path csv;
+
+    @Setup
+    public void generate() throws IOException {
+        csv = BenchmarkData.csv(rows, skew);
+    }
+
+    @Benchmark
+    public List<SalesRecord> load() throws IOException {
+        return loader.load(csv);
+    }
+
+    @Benchmark
+    public List<SalesRecord> loadMapped() throws IOException {
+        return loader.loadMapped(csv);
+    }
+
+    @Benchmark
+    public List<SalesRecord> loadParallel() throws IOException {
+        return loader.loadParallel(csv);
+    }
+
+    @Benchmark
+    public SalesDataset loadDataset() throws IOException {
+        return loader.loadDataset(csv);
+    }
+
+    @Benchmark
+    public CompressedSalesDataset loadCompressed() throws IOException {
+        return loader.loadCompressed(csv);
+    }
+
+    /** Parses and aggregates every report section without keeping rows. */
+    @Benchmark
+    public SalesReport streamingReport() throws IOException {
+        return loader.report(csv, ALL, 5);
+    }
+}
@@ -0,0 +1,103 @@
+package com.janhavi.challenge.sales;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memory held per row by each in-memory representation.
+ *
+ * Each invocation loads the file and reports, as secondary results, the
+ * heap retained by the loaded data after a full GC and the off-heap bytes
+ * it owns, both per row. The run is a single shot per fork, so the time
+ * result includes the GCs and is not meaningful; read the
+ * {@code heapBytesPerRow} and {@code offHeapBytesPerRow} lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Xmx4g"})
+public class MemoryBenchmark {
+
+    @Param("1000000")
+    public long rows;
+
+    @Param("1.1")
+    public double skew;
+
+    @Param({"records", "dataset", "compressed", "offHeap"})
+    public String representation;
+
+    private final SalesDataLoader loader = new SalesDataLoader();
+    private Path csv;
+
+    /** Per-row footprint of the last load. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public double heapBytesPerRow;
+        public double offHeapBytesPerRow;
+    }
+
+    @Setup
+    public void generate() throws IOException {
+        csv = BenchmarkData.csv(rows, skew);
+    }
+
+    @Benchmark
+    public void retained(Footprint footprint) throws IOException {
+        long before = usedHeapAfterGc();
+        Object data;
+        long offHeap = 0;
+        switch (representation) {
+            case "records":
+                data = loader.load(csv);
+                break;
+            case "dataset":
+                data = loader.loadDataset(csv);
+                break;
+            case "compressed":
+                data = loader.loadCompressed(csv);
+                break;
+            case "offHeap": {
+                OffHeapSalesStore store = loader.loadOffHeap(csv);
+                offHeap = store.offHeapBytes();
+                data = store;
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown representation: " + representation);
+        }
+        long retained = usedHeapAfterGc() - before;
+        Reference.reachabilityFence(data);
+        if (data instanceof OffHeapSalesStore) {
+            ((OffHeapSalesStore) data).close();
+        }
+        footprint.heapBytesPerRow = (double) retained / rows;
+        footprint.offHeapBytesPerRow = (double) offHeap / rows;
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
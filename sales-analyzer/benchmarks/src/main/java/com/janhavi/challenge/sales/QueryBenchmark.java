@@ -0,0 +1,142 @@
+package com.janhavi.challenge.sales;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.DoubleSummaryStatistics;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of every {@link SalesAnalyzer} query over each storage backend,
+ * with the data loaded once per fork and the query cache off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Xmx4g"})
+public class QueryBenchmark {
+
+    private static final Set<ReportSection> ALL = EnumSet.allOf(ReportSection.class);
+
+    @Param("1000000")
+    public long rows;
+
+    @Param("1.1")
+    public double skew;
+
+    @Param({"records", "dataset", "cube", "compressed", "offHeap"})
+    public String backend;
+
+    private SalesAnalyzer analyzer;
+    private OffHeapSalesStore store;
+
+    @Setup
+    public void load() throws IOException {
+        SalesDataLoader loader = new SalesDataLoader();
+        Path csv = BenchmarkData.csv(rows, skew);
+        switch (backend) {
+            case "records":
+                analyzer = new SalesAnalyzer(loader.load(csv));
+                break;
+            case "dataset":
+                analyzer = new SalesAnalyzer(loader.loadDataset(csv));
+                break;
+            case "cube": {
+                SalesDataset dataset = loader.loadDataset(csv);
+                analyzer = new SalesAnalyzer(dataset, SalesCube.of(dataset));
+                break;
+            }
+            case "compressed":
+                analyzer = new SalesAnalyzer(loader.loadCompressed(csv));
+                break;
+            case "offHeap":
+                store = loader.loadOffHeap(csv);
+                analyzer = new SalesAnalyzer(store);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown backend: " + backend);
+        }
+    }
+
+    @TearDown
+    public void close() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Benchmark
+    public double totalRevenue() {
+        return analyzer.totalRevenue();
+    }
+
+    @Benchmark
+    public double totalProfit() {
+        return analyzer.totalProfit();
+    }
+
+    @Benchmark
+    public Map<String, Double> revenueByRegion() {
+        return analyzer.revenueByRegion();
+    }
+
+    @Benchmark
+    public Map<String, Double> profitByRegion() {
+        return analyzer.profitByRegion();
+    }
+
+    @Benchmark
+    public Map<String, Double> revenueByItemType() {
+        return analyzer.revenueByItemType();
+    }
+
+    @Benchmark
+    public Map<String, Integer> unitsSoldByCountry() {
+        return analyzer.unitsSoldByCountry();
+    }
+
+    @Benchmark
+    public Map<YearMonth, Double> monthlyRevenue() {
+        return analyzer.monthlyRevenue();
+    }
+
+    @Benchmark
+    public List<SalesRecord> topNProfitableOrders() {
+        return analyzer.topNProfitableOrders(10);
+    }
+
+    @Benchmark
+    public DoubleSummaryStatistics revenueStatistics() {
+        return analyzer.revenueStatistics();
+    }
+
+    @Benchmark
+    public QuantileSketch revenueQuantiles() {
+        return analyzer.revenueQuantiles();
+    }
+
+    /** Every section in one fused pass. */
+    @Benchmark
+    public SalesReport report() {
+        return analyzer.report(ALL, 5);
+    }
+}
@@ -0,0 +1,159 @@
+package com.janhavi.challenge.sales;
+
+import java.util.Objects;
+
+/**
+ * An aggregate function over a {@link Measure}, a distinct count, or a row
+ * count, computed per group by a {@link SalesQuery}.
+ *
+ * Empty inputs follow {@link java.util.DoubleSummaryStatistics}: sums,
+ * counts and averages are 0, the minimum is +Infinity and the maximum
+ * -Infinity. Quantiles of empty groups are NaN.
+ *
+ * Quantiles and distinct counts are estimated with a
+ * {@link QuantileSketch} and a {@link HyperLogLog} per group, so they need
+ * bounded memory however many rows a group has; their error bounds are
+ * documented there.
+ */
+public final class Aggregate {
+
+    /** Kind of aggregate function. */
+    public enum Function {
+        SUM, MIN, MAX, AVG, COUNT, QUANTILE, DISTINCT_COUNT
+    }
+
+    private static final Aggregate COUNT = new Aggregate(Function.COUNT, null, null, 0);
+
+    private final Function function;
+    private final Measure measure;
+    private final Dimension dimension;
+    private final double fraction;
+
+    private Aggregate(Function function, Measure measure, Dimension dimension, double fraction) {
+        this.function = function;
+        this.measure = measure;
+        this.dimension = dimension;
+        this.fraction = fraction;
+    }
+
+    private Aggregate(Function function, Measure measure) {
+        this(function, measure, null, 0);
+    }
+
+    public static Aggregate sum(Measure measure) {
+        return new Aggregate(Function.SUM, Objects.requireNonNull(measure, "measure"));
+    }
+
+    public static Aggregate min(Measure measure) {
+        return new Aggregate(Function.MIN, Objects.requireNonNull(measure, "measure"));
+    }
+
+    public static Aggregate max(Measure measure) {
+        return new Aggregate(Function.MAX, Objects.requireNonNull(measure, "measure"));
+    }
+
+    public static Aggregate avg(Measure measure) {
+        return new Aggregate(Function.AVG, Objects.requireNonNull(measure, "measure"));
+    }
+
+    public static Aggregate count() {
+        return COUNT;
+    }
+
+    /**
+     * Estimates a quantile of a measure, such as p99 revenue.
+     *
+     * @param measure  measure to rank
+     * @param fraction rank fraction in [0, 1], e.g. 0.99
+     * @return quantile aggregate
+     */
+    public static Aggregate quantile(Measure measure, double fraction) {
+        if (!(fraction >= 0 && fraction <= 1)) {
+            throw new IllegalArgumentException("fraction must be in [0, 1]: " + fraction);
+        }
+        return new Aggregate(Function.QUANTILE, Objects.requireNonNull(measure, "measure"), null, fraction);
+    }
+
+    public static Aggregate median(Measure measure) {
+        return quantile(measure, 0.5);
+    }
+
+    /**
+     * Estimates the number of distinct values of a dimension.
+     *
+     * @param dimension dimension to count
+     * @return distinct count aggregate
+     */
+    public static Aggregate distinctCount(Dimension dimension) {
+        return new Aggregate(Function.DISTINCT_COUNT, null, Objects.requireNonNull(dimension, "dimension"), 0);
+    }
+
+    /**
+     * Estimates the number of distinct order IDs.
+     *
+     * @return distinct count aggregate
+     */
+    public static Aggregate distinctOrderIds() {
+        return new Aggregate(Function.DISTINCT_COUNT, null, null, 0);
+    }
+
+    public Function function() {
+        return function;
+    }
+
+    /**
+     * Returns the aggregated measure.
+     *
+     * @return measure, or null for {@link Function#COUNT} and
+     *         {@link Function#DISTINCT_COUNT}
+     */
+    public Measure measure() {
+        return measure;
+    }
+
+    /**
+     * Returns the dimension whose values a distinct count counts.
+     *
+     * @return dimension, or null for other functions and for distinct order IDs
+     */
+    public Dimension dimension() {
+        return dimension;
+    }
+
+    /**
+     * Returns the rank fraction of a quantile.
+     *
+     * @return fraction in [0, 1], or 0 for other functions
+     */
+    public double fraction() {
+        return fraction;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Aggregate)) return false;
+        Aggregate other = (Aggregate) o;
+        return function == other.function && measure == other.measure && dimension == other.dimension
+                && Double.compare(fraction, other.fraction) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(function, measure, dimension, fraction);
+    }
+
+    @Override
+    public String toString() {
+        switch (function) {
+            case COUNT:
+                return "count()";
+            case QUANTILE:
+                return "quantile(" + measure + ", " + fraction + ")";
+            case DISTINCT_COUNT:
+                return "distinct_count(" + (dimension == null ? "ORDER_ID" : dimension) + ")";
+            default:
+                return function.name().toLowerCase() + "(" + measure + ")";
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.janhavi.challenge.sales;
+
+import java.util.DoubleSummaryStatistics;
+
+/**
+ * Whole-column aggregation loops over the primitive arrays of a
+ * {@link SalesDataset}: sum, min, max, summary statistics and sums grouped
+ * by dictionary code.
+ *
+ * {@link #get()} returns a SIMD implementation built on the incubating
+ * {@code jdk.incubator.vector} API when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}, and the plain loops of
+ * {@link #scalar()} otherwise. Both keep Kahan-compensated sums, so results
+ * agree with {@link CompensatedSum} and {@code DoubleStream.sum()} up to
+ * rounding in the last bits; minimum and maximum follow {@link Math#min} and
+ * {@link Math#max}.
+ */
+abstract class AggregationKernels {
+
+    private static final AggregationKernels SCALAR = new Scalar();
+
+    private static final AggregationKernels DEFAULT = load();
+
+    /**
+     * Returns the fastest implementation available in this JVM.
+     *
+     * @return vector kernels if the Vector API can be used, scalar kernels otherwise
+     */
+    static AggregationKernels get() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the portable implementation.
+     *
+     * @return scalar kernels
+     */
+    static AggregationKernels scalar() {
+        return SCALAR;
+    }
+
+    private static AggregationKernels load() {
+        try {
+            // Loaded by name so that a JVM without the incubator module only
+            // fails to link VectorKernels, not this class
+            return (AggregationKernels) Class.forName(AggregationKernels.class.getPackageName() + ".VectorKernels")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return SCALAR;
+        }
+    }
+
+    /**
+     * Returns the compensated sum of {@code values[from, to)}.
+     */
+    abstract double sum(double[] values, int from, int to);
+
+    /**
+     * Returns the smallest of {@code values[from, to)}, or +Infinity if the
+     * range is empty.
+     */
+    abstract double min(double[] values, int from, int to);
+
+    /**
+     * Returns the largest of {@code values[from, to)}, or -Infinity if the
+     * range is empty.
+     */
+    abstract double max(double[] values, int from, int to);
+
+    /**
+     * Returns count, sum, min and max of {@code values[from, to)}, computed
+     * in a single pass.
+     */
+    abstract DoubleSummaryStatistics summarize(double[] values, int from, int to);
+
+    /**
+     * Sums {@code values[from, to)} per dictionary code.
+     *
+     * @param codes  dictionary code of every row
+     * @param groups number of distinct codes; every code is below this
+     * @param values measure of every row
+     * @param from   first row
+     * @param to     row after the last
+     * @return sum and row count per code
+     */
+    abstract GroupSums sumBy(int[] codes, int groups, double[] values, int from, int to);
+
+    /**
+     * Builds summary statistics from already aggregated parts. Falls back to
+     * feeding the values one by one when the parts are a combination the
+     * statistics constructor rejects, such as a NaN sum of finite
+     * infinities.
+     */
+    static DoubleSummaryStatistics statistics(long count, double min, double max, double sum,
+                                              double[] values, int from, int to) {
+        if (count == 0) {
+            return new DoubleSummaryStatistics();
+        }
+        try {
+            return new DoubleSummaryStatistics(count, min, max, sum);
+        } catch (IllegalArgumentException e) {
+            DoubleSummaryStatistics stats = new DoubleSummaryStatistics();
+            for (int i = from; i < to; i++) {
+                stats.accept(values[i]);
+            }
+            return stats;
+        }
+    }
+
+    /**
+     * Per-code sums and row counts produced by {@link #sumBy}.
+     */
+    static final class GroupSums {
+
+        private final double[] sums;
+        private final long[] counts;
+
+        GroupSums(double[] sums, long[] counts) {
+            this.sums = sums;
+            this.counts = counts;
+        }
+
+        int groups() {
+            return sums.length;
+        }
+
+        double sum(int code) {
+            return sums[code];
+        }
+
+        long count(int code) {
+            return counts[code];
+        }
+    }
+
+    /**
+     * Plain loops, used when the Vector API is unavailable.
+     */
+    static final class Scalar extends AggregationKernels {
+
+        @Override
+        double sum(double[] values, int from, int to) {
+            CompensatedSum sum = new CompensatedSum();
+            for (int i = from; i < to; i++) {
+                sum.add(values[i]);
+            }
+            return sum.get();
+        }
+
+        @Override
+        double min(double[] values, int from, int to) {
+            double min = Double.POSITIVE_INFINITY;
+            for (int i = from; i < to; i++) {
+                min = Math.min(min, values[i]);
+            }
+            return min;
+        }
+
+        @Override
+        double max(double[] values, int from, int to) {
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = from; i < to; i++) {
+                max = Math.max(max, values[i]);
+            }
+            return max;
+        }
+
+        @Override
+        DoubleSummaryStatistics summarize(double[] values, int from, int to) {
+            CompensatedSum sum = new CompensatedSum();
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = from; i < to; i++) {
+                double value = values[i];
+                sum.add(value);
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            return statistics(to - from, min, max, sum.get(), values, from, to);
+        }
+
+        @Override
+        GroupSums sumBy(int[] codes, int groups, double[] values, int from, int to) {
+            CompensatedSum[] sums = new CompensatedSum[groups];
+            long[] counts = new long[groups];
+            for (int i = from; i < to; i++) {
+                int code = codes[i];
+                CompensatedSum sum = sums[code];
+                if (sum == null) {
+                    sum = sums[code] = new CompensatedSum();
+                }
+                sum.add(values[i]);
+                counts[code]++;
+            }
+            double[] result = new double[groups];
+            for (int c = 0; c < groups; c++) {
+                result[c] = sums[c] == null ? 0.0 : sums[c].get();
+            }
+            return new GroupSums(result, counts);
+        }
+
+        @Override
+        public String toString() {
+            return "scalar";
+        }
+    }
+}
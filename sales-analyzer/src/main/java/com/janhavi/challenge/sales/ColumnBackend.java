@@ -0,0 +1,132 @@
+package com.janhavi.challenge.sales;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Aggregation loops shared by the backends that store each column
+ * separately, dimensions as dictionary codes: groups are addressed by code
+ * or month offset in plain arrays instead of hashing Strings. Subclasses
+ * only expose their columns, indexed {@code 0..size()-1}.
+ */
+abstract class ColumnBackend implements SalesBackend {
+
+    abstract StringDictionary dictionary(Dimension dimension);
+
+    /** Dictionary codes of a dimension, by row. */
+    abstract IntUnaryOperator codes(Dimension dimension);
+
+    abstract IntUnaryOperator unitsSold();
+
+    /** Order dates as epoch days, by row. */
+    abstract IntUnaryOperator orderDays();
+
+    /** Values of a double-valued measure, by row. */
+    abstract IntToDoubleFunction doubles(Measure measure);
+
+    @Override
+    public double sum(Measure measure) {
+        IntToDoubleFunction values = doubles(measure);
+        CompensatedSum sum = new CompensatedSum();
+        for (int i = 0, n = size(); i < n; i++) {
+            sum.add(values.applyAsDouble(i));
+        }
+        return sum.get();
+    }
+
+    /**
+     * Sums a double measure per dimension value, one running sum per
+     * dictionary code.
+     */
+    @Override
+    public Map<String, Double> sumBy(Dimension dimension, Measure measure) {
+        IntUnaryOperator codes = codes(dimension);
+        IntToDoubleFunction values = doubles(measure);
+        StringDictionary dictionary = dictionary(dimension);
+        CompensatedSum[] sums = new CompensatedSum[dictionary.size()];
+        for (int i = 0, n = size(); i < n; i++) {
+            int code = codes.applyAsInt(i);
+            if (sums[code] == null) {
+                sums[code] = new CompensatedSum();
+            }
+            sums[code].add(values.applyAsDouble(i));
+        }
+        Map<String, Double> result = new HashMap<>();
+        for (int c = 0; c < sums.length; c++) {
+            if (sums[c] != null) {
+                result.put(dictionary.decode(c), sums[c].get());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Integer> unitsSoldBy(Dimension dimension) {
+        IntUnaryOperator codes = codes(dimension);
+        IntUnaryOperator units = unitsSold();
+        StringDictionary dictionary = dictionary(dimension);
+        int[] totals = new int[dictionary.size()];
+        boolean[] seen = new boolean[dictionary.size()];
+        for (int i = 0, n = size(); i < n; i++) {
+            int code = codes.applyAsInt(i);
+            totals[code] += units.applyAsInt(i);
+            seen[code] = true;
+        }
+        Map<String, Integer> result = new HashMap<>();
+        for (int c = 0; c < totals.length; c++) {
+            if (seen[c]) {
+                result.put(dictionary.decode(c), totals[c]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sums a measure per month, addressing an array of running sums by the
+     * month's offset from the earliest month in the data.
+     */
+    @Override
+    public Map<YearMonth, Double> sumByMonth(Measure measure) {
+        int n = size();
+        IntUnaryOperator days = orderDays();
+        IntToDoubleFunction values = doubles(measure);
+        Map<YearMonth, Double> result = new HashMap<>();
+        if (n == 0) {
+            return result;
+        }
+        int minDay = Integer.MAX_VALUE;
+        int maxDay = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            int day = days.applyAsInt(i);
+            minDay = Math.min(minDay, day);
+            maxDay = Math.max(maxDay, day);
+        }
+        int minMonth = EpochDays.monthIndex(minDay);
+        CompensatedSum[] sums = new CompensatedSum[EpochDays.monthIndex(maxDay) - minMonth + 1];
+        for (int i = 0; i < n; i++) {
+            int slot = EpochDays.monthIndex(days.applyAsInt(i)) - minMonth;
+            if (sums[slot] == null) {
+                sums[slot] = new CompensatedSum();
+            }
+            sums[slot].add(values.applyAsDouble(i));
+        }
+        for (int m = 0; m < sums.length; m++) {
+            if (sums[m] != null) {
+                result.put(EpochDays.yearMonth(minMonth + m), sums[m].get());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void forEach(Measure measure, DoubleConsumer action) {
+        IntToDoubleFunction values = doubles(measure);
+        for (int i = 0, n = size(); i < n; i++) {
+            action.accept(values.applyAsDouble(i));
+        }
+    }
+}
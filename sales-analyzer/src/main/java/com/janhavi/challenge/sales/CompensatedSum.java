@@ -0,0 +1,39 @@
+package com.janhavi.challenge.sales;
+
+/**
+ * Kahan-compensated running sum of doubles.
+ *
+ * Uses the same algorithm as {@code DoubleStream.sum()} and
+ * {@code Collectors.summingDouble}, so hand-written aggregation loops stay
+ * as accurate as the stream based queries in {@link SalesAnalyzer}.
+ */
+final class CompensatedSum {
+
+    private double sum;
+    private double compensation;
+    // Naive sum, used to return the correctly signed infinity on overflow
+    private double simpleSum;
+
+    void add(double value) {
+        double y = value - compensation;
+        double t = sum + y;
+        compensation = (t - sum) - y;
+        sum = t;
+        simpleSum += value;
+    }
+
+    void add(CompensatedSum other) {
+        double simple = simpleSum + other.simpleSum;
+        add(other.sum);
+        add(-other.compensation);
+        simpleSum = simple;
+    }
+
+    double get() {
+        double result = sum - compensation;
+        if (Double.isNaN(result) && Double.isInfinite(simpleSum)) {
+            return simpleSum;
+        }
+        return result;
+    }
+}
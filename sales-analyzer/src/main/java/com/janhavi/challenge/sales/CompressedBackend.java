@@ -0,0 +1,80 @@
+package com.janhavi.challenge.sales;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Answers queries over a {@link CompressedSalesDataset}. Sums and
+ * group-bys run on the encoded blocks; ranking and ad-hoc queries read
+ * rows through cursors that decode single values.
+ */
+final class CompressedBackend implements SalesBackend {
+
+    private final CompressedSalesDataset compressed;
+
+    CompressedBackend(CompressedSalesDataset compressed) {
+        this.compressed = compressed;
+    }
+
+    @Override
+    public String name() {
+        return "compressed";
+    }
+
+    @Override
+    public int size() {
+        return compressed.size();
+    }
+
+    /** A compressed dataset never changes. */
+    @Override
+    public long version() {
+        return 0;
+    }
+
+    @Override
+    public double sum(Measure measure) {
+        return compressed.sum(measure);
+    }
+
+    @Override
+    public Map<String, Double> sumBy(Dimension dimension, Measure measure) {
+        return compressed.sumBy(dimension, measure);
+    }
+
+    @Override
+    public Map<YearMonth, Double> sumByMonth(Measure measure) {
+        return compressed.sumByMonth(measure);
+    }
+
+    @Override
+    public void forEach(Measure measure, DoubleConsumer action) {
+        compressed.forEach(measure, action);
+    }
+
+    @Override
+    public void forEachRow(Consumer<? super SalesRow> action) {
+        CompressedSalesDataset.Cursor cursor = compressed.cursor();
+        for (int i = 0, n = compressed.size(); i < n; i++) {
+            action.accept(cursor.at(i));
+        }
+    }
+
+    @Override
+    public List<SalesRecord> rank(TopNQuery query) {
+        return query.list(compressed.rows());
+    }
+
+    @Override
+    public Map<String, List<SalesRecord>> rankByGroup(TopNQuery query, Dimension groupBy) {
+        return query.listByGroup(compressed.rows(), groupBy);
+    }
+
+    @Override
+    public QueryResult query(SalesQuery query) {
+        return query.run(compressed.rows());
+    }
+}
@@ -0,0 +1,914 @@
+package com.janhavi.challenge.sales;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Read-only, compressed columnar store of sales rows.
+ *
+ * Rows are cut into blocks of {@value #BLOCK_ROWS}, and every column of a
+ * block is encoded on its own:
+ * <ul>
+ *   <li>dimension codes, order IDs and units sold are bit-packed relative to
+ *       the block minimum, so 7 regions take 3 bits per row;</li>
+ *   <li>order dates are packed the same way, and ship dates are stored as
+ *       their delta from the order date, a few bits per row;</li>
+ *   <li>each double column picks the smallest lossless encoding for the
+ *       block: totals that equal {@code units * unit price} (or revenue
+ *       minus cost) rounded to cents are not stored at all, columns with at
+ *       most 256 distinct values become a dictionary plus packed codes, and
+ *       cent amounts become packed longs. Anything else is kept raw.</li>
+ * </ul>
+ * Every encoding round-trips bit for bit, so {@link #record(int)} returns
+ * exactly the row that was appended.
+ *
+ * Aggregations never decode a whole column. They walk the blocks, decoding
+ * one block at a time into small scratch arrays that stay in cache, and
+ * sum units and cent amounts exactly as longs without converting them to
+ * doubles. A block whose group code or month is the same for every row is
+ * folded without reading that column at all.
+ *
+ * The dataset is immutable once built, and safe to read concurrently.
+ */
+public final class CompressedSalesDataset {
+
+    /** Rows per block; a block's decoded scratch arrays fit in L2 cache. */
+    static final int BLOCK_ROWS = 4096;
+
+    /** Most distinct values a block's dictionary-encoded double column may have. */
+    static final int MAX_DICTIONARY_SIZE = 256;
+
+    private static final Dimension[] DIMENSIONS = Dimension.values();
+    private static final Measure[] MEASURES = Measure.values();
+
+    private final StringDictionary[] dictionaries;
+    private final Block[] blocks;
+    private final int size;
+
+    private CompressedSalesDataset(StringDictionary[] dictionaries, Block[] blocks, int size) {
+        this.dictionaries = dictionaries;
+        this.blocks = blocks;
+        this.size = size;
+    }
+
+    /**
+     * Compresses a columnar dataset.
+     *
+     * @param dataset rows to compress
+     * @return new compressed dataset holding the rows, in order
+     */
+    public static CompressedSalesDataset of(SalesDataset dataset) {
+        Encoder encoder = new Encoder();
+        SalesDataset.Cursor cursor = dataset.cursor();
+        for (int i = 0, n = dataset.size(); i < n; i++) {
+            encoder.accept(cursor.at(i));
+        }
+        return encoder.finish();
+    }
+
+    /**
+     * Compresses a collection of rows, preserving their order.
+     *
+     * @param rows rows to compress
+     * @return new compressed dataset holding the rows
+     */
+    public static CompressedSalesDataset of(Collection<? extends SalesRow> rows) {
+        Encoder encoder = new Encoder();
+        rows.forEach(encoder::accept);
+        return encoder.finish();
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return row count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the dictionary that encodes a dimension.
+     *
+     * @param dimension dimension to look up
+     * @return dictionary of the dimension's values
+     */
+    public StringDictionary dictionary(Dimension dimension) {
+        return dictionaries[dimension.ordinal()];
+    }
+
+    /**
+     * Returns the bytes held by the encoded columns, excluding the
+     * dimension dictionaries and per-block object headers.
+     *
+     * @return encoded size in bytes
+     */
+    public long encodedBytes() {
+        long bytes = 0;
+        for (Block block : blocks) {
+            bytes += block.bytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns a row's dimension value.
+     *
+     * @param dimension dimension to read
+     * @param row       row index
+     * @return decoded dimension value
+     */
+    public String value(Dimension dimension, int row) {
+        return cursor().at(row).value(dimension);
+    }
+
+    /**
+     * Returns a row's measure value.
+     *
+     * @param measure measure to read
+     * @param row     row index
+     * @return measure value
+     */
+    public double measure(Measure measure, int row) {
+        return cursor().at(row).measure(measure);
+    }
+
+    /**
+     * Materializes a row as an immutable {@link SalesRecord}.
+     *
+     * @param row row index
+     * @return record holding the row's values
+     */
+    public SalesRecord record(int row) {
+        return SalesRecord.of(cursor().at(row));
+    }
+
+    /**
+     * Returns a reusable view that can be positioned on any row.
+     *
+     * @return new cursor, to be positioned with {@link Cursor#at(int)}
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Sums a measure over all rows. Units, and amounts that are whole
+     * cents, are summed exactly as longs.
+     *
+     * @param measure measure to sum
+     * @return total
+     */
+    public double sum(Measure measure) {
+        Sums sums = new Sums(1, measure);
+        Scratch scratch = new Scratch();
+        for (Block block : blocks) {
+            sums.addBlock(0, block, scratch);
+        }
+        return sums.get(0);
+    }
+
+    /**
+     * Sums a measure per dimension value. Units are summed exactly, so a
+     * total converts to {@code long} without loss; so are cent amounts.
+     *
+     * @param dimension dimension whose values form the groups
+     * @param measure   measure to sum
+     * @return map of dimension value -> total
+     */
+    public Map<String, Double> sumBy(Dimension dimension, Measure measure) {
+        StringDictionary dictionary = dictionary(dimension);
+        Sums sums = new Sums(dictionary.size(), measure);
+        Scratch scratch = new Scratch();
+        for (Block block : blocks) {
+            PackedColumn codes = block.codes[dimension.ordinal()];
+            if (codes.width() == 0) {
+                // One group for the whole block
+                sums.addBlock((int) codes.get(0), block, scratch);
+            } else {
+                codes.unpack(scratch.groups, block.rows);
+                sums.addRows(scratch.groups, block, scratch);
+            }
+        }
+        Map<String, Double> result = new HashMap<>();
+        for (int c = 0; c < dictionary.size(); c++) {
+            if (sums.seen[c]) {
+                result.put(dictionary.decode(c), sums.get(c));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sums a measure per order month, addressing an array of running sums
+     * by the month's offset from the earliest month in the data.
+     *
+     * @param measure measure to sum
+     * @return map of month -> total
+     */
+    public Map<YearMonth, Double> sumByMonth(Measure measure) {
+        Map<YearMonth, Double> result = new HashMap<>();
+        if (size == 0) {
+            return result;
+        }
+        int minDay = Integer.MAX_VALUE;
+        int maxDay = Integer.MIN_VALUE;
+        for (Block block : blocks) {
+            minDay = Math.min(minDay, block.minOrderDay);
+            maxDay = Math.max(maxDay, block.maxOrderDay);
+        }
+        int minMonth = EpochDays.monthIndex(minDay);
+        Sums sums = new Sums(EpochDays.monthIndex(maxDay) - minMonth + 1, measure);
+        Scratch scratch = new Scratch();
+        for (Block block : blocks) {
+            int firstMonth = EpochDays.monthIndex(block.minOrderDay);
+            if (firstMonth == EpochDays.monthIndex(block.maxOrderDay)) {
+                sums.addBlock(firstMonth - minMonth, block, scratch);
+            } else {
+                block.orderDays.unpack(scratch.groups, block.rows);
+                for (int i = 0; i < block.rows; i++) {
+                    scratch.groups[i] = EpochDays.monthIndex(scratch.groups[i]) - minMonth;
+                }
+                sums.addRows(scratch.groups, block, scratch);
+            }
+        }
+        for (int m = 0; m < sums.seen.length; m++) {
+            if (sums.seen[m]) {
+                result.put(EpochDays.yearMonth(minMonth + m), sums.get(m));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Passes every value of a measure to a consumer, in row order, decoding
+     * one block at a time.
+     *
+     * @param measure measure to read
+     * @param action  receives each value
+     */
+    public void forEach(Measure measure, DoubleConsumer action) {
+        Scratch scratch = new Scratch();
+        for (Block block : blocks) {
+            double[] values = scratch.decode(block, measure);
+            for (int i = 0; i < block.rows; i++) {
+                action.accept(values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the rows as a list of views, for the row-based query paths.
+     * Each {@code get} creates a new short-lived cursor.
+     */
+    List<SalesRow> rows() {
+        return new RowList();
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range [0, " + size + ")");
+        }
+        return row;
+    }
+
+    /** Rounds a product or difference of cent amounts back to cents. */
+    private static double cents(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressedSalesDataset[" + size + " rows, " + encodedBytes() + " bytes]";
+    }
+
+    /** One block of up to {@link #BLOCK_ROWS} encoded rows. */
+    private static final class Block {
+
+        final int rows;
+        // Indexed by Dimension.ordinal()
+        final PackedColumn[] codes;
+        final PackedColumn orderDays;
+        // Ship day minus order day
+        final PackedColumn shipDelays;
+        final PackedColumn unitsSold;
+        final PackedColumn orderIds;
+        // Indexed by Measure.ordinal(); null for UNITS_SOLD
+        final DoubleEncoding[] doubles;
+        final int minOrderDay;
+        final int maxOrderDay;
+
+        Block(int rows, PackedColumn[] codes, PackedColumn orderDays, PackedColumn shipDelays,
+              PackedColumn unitsSold, PackedColumn orderIds, DoubleEncoding[] doubles,
+              int minOrderDay, int maxOrderDay) {
+            this.rows = rows;
+            this.codes = codes;
+            this.orderDays = orderDays;
+            this.shipDelays = shipDelays;
+            this.unitsSold = unitsSold;
+            this.orderIds = orderIds;
+            this.doubles = doubles;
+            this.minOrderDay = minOrderDay;
+            this.maxOrderDay = maxOrderDay;
+        }
+
+        double get(Measure measure, int i) {
+            return measure == Measure.UNITS_SOLD ? unitsSold.get(i) : doubles[measure.ordinal()].get(this, i);
+        }
+
+        long bytes() {
+            long bytes = orderDays.bytes() + shipDelays.bytes() + unitsSold.bytes() + orderIds.bytes();
+            for (PackedColumn column : codes) {
+                bytes += column.bytes();
+            }
+            for (int m = 1; m < doubles.length; m++) {
+                bytes += doubles[m].bytes();
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Block-sized decode buffers for one scan. Each encoding writes only to
+     * its own buffers, so derived columns can decode the columns they are
+     * computed from without clobbering them.
+     */
+    private static final class Scratch {
+
+        final int[] groups = new int[BLOCK_ROWS];
+        final int[] units = new int[BLOCK_ROWS];
+        final int[] dictionaryCodes = new int[BLOCK_ROWS];
+        final long[] packedCents = new long[BLOCK_ROWS];
+        final long[] cents = new long[BLOCK_ROWS];
+        final double[] values = new double[BLOCK_ROWS];
+        final double[] subtrahends = new double[BLOCK_ROWS];
+
+        /** Decodes a block's measure into {@link #values}. */
+        double[] decode(Block block, Measure measure) {
+            if (measure == Measure.UNITS_SOLD) {
+                block.unitsSold.unpack(units, block.rows);
+                for (int i = 0; i < block.rows; i++) {
+                    values[i] = units[i];
+                }
+            } else {
+                block.doubles[measure.ordinal()].decode(block, values, this);
+            }
+            return values;
+        }
+    }
+
+    /**
+     * Running sums of one measure per group. Units, and blocks whose values
+     * are whole cents, are summed exactly as longs; any other block goes
+     * into a compensated sum.
+     */
+    private static final class Sums {
+
+        final Measure measure;
+        final boolean[] seen;
+        // Units sold, or cents of a double measure
+        final long[] exact;
+        final CompensatedSum[] inexact;
+
+        Sums(int groups, Measure measure) {
+            this.measure = measure;
+            this.seen = new boolean[groups];
+            this.exact = new long[groups];
+            this.inexact = new CompensatedSum[groups];
+        }
+
+        void addBlock(int group, Block block, Scratch scratch) {
+            seen[group] = true;
+            if (measure == Measure.UNITS_SOLD) {
+                exact[group] += block.unitsSold.sum();
+                return;
+            }
+            DoubleEncoding encoding = block.doubles[measure.ordinal()];
+            if (encoding.decodeCents(block, scratch.cents, scratch)) {
+                long total = 0;
+                for (int i = 0; i < block.rows; i++) {
+                    total += scratch.cents[i];
+                }
+                exact[group] += total;
+            } else {
+                encoding.decode(block, scratch.values, scratch);
+                CompensatedSum sum = inexact(group);
+                for (int i = 0; i < block.rows; i++) {
+                    sum.add(scratch.values[i]);
+                }
+            }
+        }
+
+        void addRows(int[] groups, Block block, Scratch scratch) {
+            for (int i = 0; i < block.rows; i++) {
+                seen[groups[i]] = true;
+            }
+            if (measure == Measure.UNITS_SOLD) {
+                block.unitsSold.unpack(scratch.units, block.rows);
+                for (int i = 0; i < block.rows; i++) {
+                    exact[groups[i]] += scratch.units[i];
+                }
+                return;
+            }
+            DoubleEncoding encoding = block.doubles[measure.ordinal()];
+            if (encoding.decodeCents(block, scratch.cents, scratch)) {
+                for (int i = 0; i < block.rows; i++) {
+                    exact[groups[i]] += scratch.cents[i];
+                }
+            } else {
+                encoding.decode(block, scratch.values, scratch);
+                for (int i = 0; i < block.rows; i++) {
+                    inexact(groups[i]).add(scratch.values[i]);
+                }
+            }
+        }
+
+        double get(int group) {
+            if (measure == Measure.UNITS_SOLD) {
+                return exact[group];
+            }
+            double total = exact[group] / 100.0;
+            return inexact[group] == null ? total : total + inexact[group].get();
+        }
+
+        private CompensatedSum inexact(int group) {
+            CompensatedSum sum = inexact[group];
+            if (sum == null) {
+                sum = new CompensatedSum();
+                inexact[group] = sum;
+            }
+            return sum;
+        }
+    }
+
+    /** Lossless encoding of one double column within a block. */
+    private abstract static class DoubleEncoding {
+
+        abstract double get(Block block, int i);
+
+        /** Decodes the block's values into {@code out}. */
+        abstract void decode(Block block, double[] out, Scratch scratch);
+
+        /**
+         * Decodes the block's values as whole numbers of cents into
+         * {@code out}, if the encoding guarantees that they are.
+         *
+         * @return false, leaving {@code out} unspecified, if values may not be whole cents
+         */
+        boolean decodeCents(Block block, long[] out, Scratch scratch) {
+            return false;
+        }
+
+        abstract long bytes();
+    }
+
+    /** Values stored as they are. */
+    private static final class RawEncoding extends DoubleEncoding {
+
+        private final double[] values;
+
+        RawEncoding(double[] values) {
+            this.values = values;
+        }
+
+        @Override
+        double get(Block block, int i) {
+            return values[i];
+        }
+
+        @Override
+        void decode(Block block, double[] out, Scratch scratch) {
+            System.arraycopy(values, 0, out, 0, block.rows);
+        }
+
+        @Override
+        long bytes() {
+            return (long) values.length * Double.BYTES;
+        }
+    }
+
+    /** Cent amounts stored as packed whole numbers of cents. */
+    private static final class CentsEncoding extends DoubleEncoding {
+
+        private final PackedColumn cents;
+
+        CentsEncoding(PackedColumn cents) {
+            this.cents = cents;
+        }
+
+        @Override
+        double get(Block block, int i) {
+            return cents.get(i) / 100.0;
+        }
+
+        @Override
+        void decode(Block block, double[] out, Scratch scratch) {
+            long[] packed = scratch.packedCents;
+            cents.unpack(packed, block.rows);
+            for (int i = 0; i < block.rows; i++) {
+                out[i] = packed[i] / 100.0;
+            }
+        }
+
+        @Override
+        boolean decodeCents(Block block, long[] out, Scratch scratch) {
+            cents.unpack(out, block.rows);
+            return true;
+        }
+
+        @Override
+        long bytes() {
+            return cents.bytes();
+        }
+    }
+
+    /** Few distinct values, stored once each and referenced by packed codes. */
+    private static final class DictionaryEncoding extends DoubleEncoding {
+
+        private final double[] entries;
+        // Entries as whole cents, or null if some entry is not
+        private final long[] centEntries;
+        private final PackedColumn codes;
+
+        DictionaryEncoding(double[] entries, PackedColumn codes) {
+            this.entries = entries;
+            this.codes = codes;
+            long[] cents = new long[entries.length];
+            for (int e = 0; e < entries.length; e++) {
+                cents[e] = Math.round(entries[e] * 100);
+                if (Double.doubleToRawLongBits(cents[e] / 100.0) != Double.doubleToRawLongBits(entries[e])) {
+                    cents = null;
+                    break;
+                }
+            }
+            this.centEntries = cents;
+        }
+
+        @Override
+        double get(Block block, int i) {
+            return entries[(int) codes.get(i)];
+        }
+
+        @Override
+        void decode(Block block, double[] out, Scratch scratch) {
+            int[] dictionaryCodes = scratch.dictionaryCodes;
+            codes.unpack(dictionaryCodes, block.rows);
+            for (int i = 0; i < block.rows; i++) {
+                out[i] = entries[dictionaryCodes[i]];
+            }
+        }
+
+        @Override
+        boolean decodeCents(Block block, long[] out, Scratch scratch) {
+            if (centEntries == null) {
+                return false;
+            }
+            int[] dictionaryCodes = scratch.dictionaryCodes;
+            codes.unpack(dictionaryCodes, block.rows);
+            for (int i = 0; i < block.rows; i++) {
+                out[i] = centEntries[dictionaryCodes[i]];
+            }
+            return true;
+        }
+
+        @Override
+        long bytes() {
+            return (long) entries.length * Double.BYTES + codes.bytes();
+        }
+    }
+
+    /** Totals equal to units sold times a unit amount, rounded to cents; nothing is stored. */
+    private static final class ProductEncoding extends DoubleEncoding {
+
+        private final Measure unitAmount;
+
+        ProductEncoding(Measure unitAmount) {
+            this.unitAmount = unitAmount;
+        }
+
+        @Override
+        double get(Block block, int i) {
+            return cents(block.unitsSold.get(i) * block.doubles[unitAmount.ordinal()].get(block, i));
+        }
+
+        @Override
+        void decode(Block block, double[] out, Scratch scratch) {
+            block.doubles[unitAmount.ordinal()].decode(block, out, scratch);
+            int[] units = scratch.units;
+            block.unitsSold.unpack(units, block.rows);
+            for (int i = 0; i < block.rows; i++) {
+                out[i] = cents(units[i] * out[i]);
+            }
+        }
+
+        @Override
+        boolean decodeCents(Block block, long[] out, Scratch scratch) {
+            double[] amounts = scratch.values;
+            block.doubles[unitAmount.ordinal()].decode(block, amounts, scratch);
+            int[] units = scratch.units;
+            block.unitsSold.unpack(units, block.rows);
+            for (int i = 0; i < block.rows; i++) {
+                out[i] = Math.round(units[i] * amounts[i] * 100);
+            }
+            return true;
+        }
+
+        @Override
+        long bytes() {
+            return 0;
+        }
+    }
+
+    /** Profit equal to revenue minus cost, rounded to cents; nothing is stored. */
+    private static final class DifferenceEncoding extends DoubleEncoding {
+
+        @Override
+        double get(Block block, int i) {
+            return cents(block.get(Measure.TOTAL_REVENUE, i) - block.get(Measure.TOTAL_COST, i));
+        }
+
+        @Override
+        void decode(Block block, double[] out, Scratch scratch) {
+            double[] costs = scratch.subtrahends;
+            block.doubles[Measure.TOTAL_REVENUE.ordinal()].decode(block, out, scratch);
+            block.doubles[Measure.TOTAL_COST.ordinal()].decode(block, costs, scratch);
+            for (int i = 0; i < block.rows; i++) {
+                out[i] = cents(out[i] - costs[i]);
+            }
+        }
+
+        @Override
+        boolean decodeCents(Block block, long[] out, Scratch scratch) {
+            double[] revenue = scratch.values;
+            double[] costs = scratch.subtrahends;
+            block.doubles[Measure.TOTAL_REVENUE.ordinal()].decode(block, revenue, scratch);
+            block.doubles[Measure.TOTAL_COST.ordinal()].decode(block, costs, scratch);
+            for (int i = 0; i < block.rows; i++) {
+                out[i] = Math.round((revenue[i] - costs[i]) * 100);
+            }
+            return true;
+        }
+
+        @Override
+        long bytes() {
+            return 0;
+        }
+    }
+
+    /**
+     * Buffers one block of raw rows at a time and encodes it when full, so
+     * a dataset can be compressed while a file is being parsed.
+     */
+    static final class Encoder {
+
+        private final StringDictionary[] dictionaries = new StringDictionary[DIMENSIONS.length];
+        private final List<Block> blocks = new ArrayList<>();
+
+        private final int[][] codes = new int[DIMENSIONS.length][BLOCK_ROWS];
+        private final int[] orderDays = new int[BLOCK_ROWS];
+        private final int[] shipDelays = new int[BLOCK_ROWS];
+        private final int[] unitsSold = new int[BLOCK_ROWS];
+        private final long[] orderIds = new long[BLOCK_ROWS];
+        // Indexed by Measure.ordinal(); null for UNITS_SOLD
+        private final double[][] doubles = new double[MEASURES.length][];
+        private final long[] cents = new long[BLOCK_ROWS];
+        private final int[] dictionaryCodes = new int[BLOCK_ROWS];
+
+        private int pending;
+        private int size;
+
+        Encoder() {
+            for (int d = 0; d < DIMENSIONS.length; d++) {
+                dictionaries[d] = new StringDictionary();
+            }
+            for (int m = 1; m < MEASURES.length; m++) {
+                doubles[m] = new double[BLOCK_ROWS];
+            }
+        }
+
+        /**
+         * Appends a row, copying its values.
+         *
+         * @param row row to append
+         */
+        void accept(SalesRow row) {
+            if (size + pending == Integer.MAX_VALUE) {
+                throw new IllegalStateException("Dataset is full");
+            }
+            for (int d = 0; d < DIMENSIONS.length; d++) {
+                codes[d][pending] = dictionaries[d].encode(DIMENSIONS[d].of(row));
+            }
+            int orderDay = row.getOrderEpochDay();
+            orderDays[pending] = orderDay;
+            shipDelays[pending] = row.getShipEpochDay() - orderDay;
+            unitsSold[pending] = row.getUnitsSold();
+            orderIds[pending] = row.getOrderId();
+            for (int m = 1; m < MEASURES.length; m++) {
+                doubles[m][pending] = MEASURES[m].of(row);
+            }
+            if (++pending == BLOCK_ROWS) {
+                flush();
+            }
+        }
+
+        /**
+         * Encodes the last, partial block and returns the dataset. The
+         * encoder must not be used afterwards.
+         *
+         * @return compressed dataset holding every accepted row
+         */
+        CompressedSalesDataset finish() {
+            if (pending > 0) {
+                flush();
+            }
+            return new CompressedSalesDataset(dictionaries, blocks.toArray(new Block[0]), size);
+        }
+
+        private void flush() {
+            int n = pending;
+            PackedColumn[] packedCodes = new PackedColumn[DIMENSIONS.length];
+            for (int d = 0; d < DIMENSIONS.length; d++) {
+                packedCodes[d] = PackedColumn.of(codes[d], n);
+            }
+            int minDay = Integer.MAX_VALUE;
+            int maxDay = Integer.MIN_VALUE;
+            for (int i = 0; i < n; i++) {
+                minDay = Math.min(minDay, orderDays[i]);
+                maxDay = Math.max(maxDay, orderDays[i]);
+            }
+            DoubleEncoding[] encodings = new DoubleEncoding[MEASURES.length];
+            for (int m = 1; m < MEASURES.length; m++) {
+                encodings[m] = encode(MEASURES[m], n);
+            }
+            blocks.add(new Block(n, packedCodes, PackedColumn.of(orderDays, n), PackedColumn.of(shipDelays, n),
+                    PackedColumn.of(unitsSold, n), PackedColumn.of(orderIds, n), encodings, minDay, maxDay));
+            size += n;
+            pending = 0;
+        }
+
+        /** Picks the smallest encoding that reproduces every value of the block exactly. */
+        private DoubleEncoding encode(Measure measure, int n) {
+            double[] values = doubles[measure.ordinal()];
+            switch (measure) {
+                case TOTAL_REVENUE:
+                    if (isProduct(values, doubles[Measure.UNIT_PRICE.ordinal()], n)) {
+                        return new ProductEncoding(Measure.UNIT_PRICE);
+                    }
+                    break;
+                case TOTAL_COST:
+                    if (isProduct(values, doubles[Measure.UNIT_COST.ordinal()], n)) {
+                        return new ProductEncoding(Measure.UNIT_COST);
+                    }
+                    break;
+                case TOTAL_PROFIT:
+                    if (isDifference(values, n)) {
+                        return new DifferenceEncoding();
+                    }
+                    break;
+                default:
+                    break;
+            }
+            DoubleEncoding best = new RawEncoding(Arrays.copyOf(values, n));
+            DoubleEncoding dictionary = dictionaryEncoding(values, n);
+            if (dictionary != null && dictionary.bytes() < best.bytes()) {
+                best = dictionary;
+            }
+            DoubleEncoding centAmounts = centsEncoding(values, n);
+            if (centAmounts != null && centAmounts.bytes() < best.bytes()) {
+                best = centAmounts;
+            }
+            return best;
+        }
+
+        private boolean isProduct(double[] totals, double[] unitAmounts, int n) {
+            for (int i = 0; i < n; i++) {
+                if (!sameBits(cents(unitsSold[i] * unitAmounts[i]), totals[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isDifference(double[] profits, int n) {
+            double[] revenue = doubles[Measure.TOTAL_REVENUE.ordinal()];
+            double[] cost = doubles[Measure.TOTAL_COST.ordinal()];
+            for (int i = 0; i < n; i++) {
+                if (!sameBits(cents(revenue[i] - cost[i]), profits[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** Returns a dictionary encoding, or null if the block has too many distinct values. */
+        private DictionaryEncoding dictionaryEncoding(double[] values, int n) {
+            // Keyed by raw bits so that -0.0 and NaN payloads survive
+            Map<Long, Integer> entries = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                Long bits = Double.doubleToRawLongBits(values[i]);
+                Integer code = entries.get(bits);
+                if (code == null) {
+                    if (entries.size() == MAX_DICTIONARY_SIZE) {
+                        return null;
+                    }
+                    code = entries.size();
+                    entries.put(bits, code);
+                }
+                dictionaryCodes[i] = code;
+            }
+            double[] table = new double[entries.size()];
+            entries.forEach((bits, code) -> table[code] = Double.longBitsToDouble(bits));
+            return new DictionaryEncoding(table, PackedColumn.of(dictionaryCodes, n));
+        }
+
+        /** Returns a cents encoding, or null if some value is not a whole number of cents. */
+        private CentsEncoding centsEncoding(double[] values, int n) {
+            for (int i = 0; i < n; i++) {
+                long amount = Math.round(values[i] * 100);
+                if (!sameBits(amount / 100.0, values[i])) {
+                    return null;
+                }
+                cents[i] = amount;
+            }
+            return new CentsEncoding(PackedColumn.of(cents, n));
+        }
+
+        private static boolean sameBits(double a, double b) {
+            return Double.doubleToRawLongBits(a) == Double.doubleToRawLongBits(b);
+        }
+    }
+
+    /**
+     * Flyweight {@link SalesRow} over one row of the dataset. Each getter
+     * unpacks a single value from its block.
+     */
+    public final class Cursor implements SalesRow {
+
+        private Block block;
+        private int index;
+        private int row;
+
+        /**
+         * Moves the cursor to a row.
+         *
+         * @param row row index
+         * @return this cursor
+         */
+        public Cursor at(int row) {
+            this.row = checkRow(row);
+            this.block = blocks[row / BLOCK_ROWS];
+            this.index = row % BLOCK_ROWS;
+            return this;
+        }
+
+        public int row() { return row; }
+
+        String value(Dimension dimension) {
+            return dictionary(dimension).decode((int) block.codes[dimension.ordinal()].get(index));
+        }
+
+        double measure(Measure measure) {
+            return block.get(measure, index);
+        }
+
+        @Override public String getRegion() { return value(Dimension.REGION); }
+        @Override public String getCountry() { return value(Dimension.COUNTRY); }
+        @Override public String getItemType() { return value(Dimension.ITEM_TYPE); }
+        @Override public String getSalesChannel() { return value(Dimension.SALES_CHANNEL); }
+        @Override public String getOrderPriority() { return value(Dimension.ORDER_PRIORITY); }
+        @Override public LocalDate getOrderDate() { return LocalDate.ofEpochDay(getOrderEpochDay()); }
+        @Override public long getOrderId() { return block.orderIds.get(index); }
+        @Override public LocalDate getShipDate() { return LocalDate.ofEpochDay(getShipEpochDay()); }
+        @Override public int getUnitsSold() { return (int) block.unitsSold.get(index); }
+        @Override public double getUnitPrice() { return measure(Measure.UNIT_PRICE); }
+        @Override public double getUnitCost() { return measure(Measure.UNIT_COST); }
+        @Override public double getTotalRevenue() { return measure(Measure.TOTAL_REVENUE); }
+        @Override public double getTotalCost() { return measure(Measure.TOTAL_COST); }
+        @Override public double getTotalProfit() { return measure(Measure.TOTAL_PROFIT); }
+        @Override public int getOrderEpochDay() { return (int) block.orderDays.get(index); }
+        @Override public int getShipEpochDay() { return getOrderEpochDay() + (int) block.shipDelays.get(index); }
+    }
+
+    /** Random-access list of row views over the dataset. */
+    private final class RowList extends AbstractList<SalesRow> implements RandomAccess {
+
+        @Override
+        public SalesRow get(int index) {
+            return new Cursor().at(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.janhavi.challenge.sales;
+
+import java.time.YearMonth;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Answers sum and group-by queries from a {@link SalesCube} and every
+ * other query by scanning the dataset the cube was built from.
+ *
+ * The cube is a snapshot. Once rows have been appended to the dataset the
+ * cube no longer covers them, and sums are computed by scanning the
+ * dataset as well, so every query agrees with the current rows.
+ */
+final class CubeBackend implements SalesBackend {
+
+    private final DatasetBackend dataset;
+
+    private final SalesCube cube;
+
+    CubeBackend(DatasetBackend dataset, SalesCube cube) {
+        this.dataset = dataset;
+        this.cube = cube;
+    }
+
+    @Override
+    public String name() {
+        return "cube";
+    }
+
+    @Override
+    public int size() {
+        return dataset.size();
+    }
+
+    @Override
+    public long version() {
+        return dataset.version();
+    }
+
+    @Override
+    public double sum(Measure measure) {
+        return current() ? cube.slice().sum(measure) : dataset.sum(measure);
+    }
+
+    @Override
+    public Map<String, Double> sumBy(Dimension dimension, Measure measure) {
+        return current() ? cube.slice().sumBy(dimension, measure) : dataset.sumBy(dimension, measure);
+    }
+
+    @Override
+    public Map<String, Integer> unitsSoldBy(Dimension dimension) {
+        return current() ? SalesBackend.super.unitsSoldBy(dimension) : dataset.unitsSoldBy(dimension);
+    }
+
+    @Override
+    public Map<YearMonth, Double> sumByMonth(Measure measure) {
+        return current() ? cube.slice().sumByMonth(measure) : dataset.sumByMonth(measure);
+    }
+
+    /** True while the cube has rolled up exactly the dataset's rows. */
+    private boolean current() {
+        return cube.rows() == dataset.size();
+    }
+
+    @Override
+    public void forEach(Measure measure, DoubleConsumer action) {
+        dataset.forEach(measure, action);
+    }
+
+    @Override
+    public DoubleSummaryStatistics statistics(Measure measure) {
+        return dataset.statistics(measure);
+    }
+
+    @Override
+    public void forEachRow(Consumer<? super SalesRow> action) {
+        dataset.forEachRow(action);
+    }
+
+    @Override
+    public List<SalesRecord> rank(TopNQuery query) {
+        return dataset.rank(query);
+    }
+
+    @Override
+    public Map<String, List<SalesRecord>> rankByGroup(TopNQuery query, Dimension groupBy) {
+        return dataset.rankByGroup(query, groupBy);
+    }
+
+    @Override
+    public QueryResult query(SalesQuery query) {
+        return dataset.query(query);
+    }
+}
@@ -0,0 +1,121 @@
+package com.janhavi.challenge.sales;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Answers queries over a columnar {@link SalesDataset}. Sums and
+ * statistics of double measures run on the {@link AggregationKernels}.
+ */
+final class DatasetBackend extends ColumnBackend {
+
+    private final SalesDataset dataset;
+
+    DatasetBackend(SalesDataset dataset) {
+        this.dataset = dataset;
+    }
+
+    SalesDataset dataset() {
+        return dataset;
+    }
+
+    @Override
+    public String name() {
+        return "dataset";
+    }
+
+    @Override
+    public int size() {
+        return dataset.size();
+    }
+
+    @Override
+    public long version() {
+        return dataset.version();
+    }
+
+    @Override
+    StringDictionary dictionary(Dimension dimension) {
+        return dataset.dictionary(dimension);
+    }
+
+    @Override
+    IntUnaryOperator codes(Dimension dimension) {
+        int[] codes = dataset.codes(dimension);
+        return i -> codes[i];
+    }
+
+    @Override
+    IntUnaryOperator unitsSold() {
+        int[] units = dataset.unitsSold();
+        return i -> units[i];
+    }
+
+    @Override
+    IntUnaryOperator orderDays() {
+        int[] days = dataset.orderDays();
+        return i -> days[i];
+    }
+
+    @Override
+    IntToDoubleFunction doubles(Measure measure) {
+        double[] values = dataset.doubles(measure);
+        return i -> values[i];
+    }
+
+    @Override
+    public double sum(Measure measure) {
+        return AggregationKernels.get().sum(dataset.doubles(measure), 0, dataset.size());
+    }
+
+    /**
+     * Sums a double measure per dimension value with the aggregation
+     * kernels, which keep one running sum per dictionary code.
+     */
+    @Override
+    public Map<String, Double> sumBy(Dimension dimension, Measure measure) {
+        StringDictionary dictionary = dataset.dictionary(dimension);
+        AggregationKernels.GroupSums sums = AggregationKernels.get()
+                .sumBy(dataset.codes(dimension), dictionary.size(), dataset.doubles(measure), 0, dataset.size());
+        Map<String, Double> result = new HashMap<>();
+        for (int c = 0; c < sums.groups(); c++) {
+            if (sums.count(c) > 0) {
+                result.put(dictionary.decode(c), sums.sum(c));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public DoubleSummaryStatistics statistics(Measure measure) {
+        return AggregationKernels.get().summarize(dataset.doubles(measure), 0, dataset.size());
+    }
+
+    @Override
+    public void forEachRow(Consumer<? super SalesRow> action) {
+        SalesDataset.Cursor cursor = dataset.cursor();
+        for (int i = 0, n = dataset.size(); i < n; i++) {
+            action.accept(cursor.at(i));
+        }
+    }
+
+    @Override
+    public List<SalesRecord> rank(TopNQuery query) {
+        return query.list(dataset);
+    }
+
+    @Override
+    public Map<String, List<SalesRecord>> rankByGroup(TopNQuery query, Dimension groupBy) {
+        return query.listByGroup(dataset, groupBy);
+    }
+
+    @Override
+    public QueryResult query(SalesQuery query) {
+        return query.run(dataset);
+    }
+}
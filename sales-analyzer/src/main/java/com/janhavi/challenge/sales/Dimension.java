@@ -0,0 +1,64 @@
+package com.janhavi.challenge.sales;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Text columns of a sales row that analyses group or filter by.
+ */
+public enum Dimension {
+
+    REGION {
+        @Override
+        public String of(SalesRow row) { return row.getRegion(); }
+    },
+    COUNTRY {
+        @Override
+        public String of(SalesRow row) { return row.getCountry(); }
+    },
+    ITEM_TYPE {
+        @Override
+        public String of(SalesRow row) { return row.getItemType(); }
+    },
+    SALES_CHANNEL {
+        @Override
+        public String of(SalesRow row) { return row.getSalesChannel(); }
+    },
+    ORDER_PRIORITY {
+        @Override
+        public String of(SalesRow row) { return row.getOrderPriority(); }
+    };
+
+    /**
+     * Extracts this dimension's value from a row.
+     *
+     * @param row sales row
+     * @return dimension value
+     */
+    public abstract String of(SalesRow row);
+
+    /**
+     * Adds a filter accepting any of the given values to a map of filters
+     * by dimension. Repeated values count once; a second filter on the same
+     * dimension keeps only the values both accept.
+     *
+     * @param filters   accepted values by dimension, updated in place
+     * @param dimension dimension to filter on
+     * @param values    accepted values
+     * @throws NullPointerException if the dimension or a value is null
+     */
+    static void addFilter(Map<Dimension, Set<String>> filters, Dimension dimension, String... values) {
+        Set<String> accepted = new HashSet<>();
+        for (String value : values) {
+            accepted.add(Objects.requireNonNull(value, "filter value"));
+        }
+        filters.merge(Objects.requireNonNull(dimension, "dimension"), Collections.unmodifiableSet(accepted),
+                (current, added) -> current.stream()
+                        .filter(added::contains)
+                        .collect(Collectors.toUnmodifiableSet()));
+    }
+}
@@ -0,0 +1,56 @@
+package com.janhavi.challenge.sales;
+
+import java.time.YearMonth;
+
+/**
+ * Allocation-free calendar arithmetic on epoch days (days since 1970-01-01)
+ * for the columnar code paths.
+ *
+ * A month index is {@code year * 12 + (month - 1)}; consecutive months have
+ * consecutive indexes, so months can address plain arrays.
+ */
+final class EpochDays {
+
+    private EpochDays() {
+    }
+
+    /**
+     * Returns the month index of an epoch day, using the proleptic
+     * Gregorian calendar like {@link java.time.LocalDate}.
+     *
+     * @param epochDay days since 1970-01-01
+     * @return month index of that day
+     */
+    static int monthIndex(int epochDay) {
+        // Civil-from-days: shift the epoch to 0000-03-01 so leap days fall last
+        long z = epochDay + 719468L;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        long month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return (int) (year * 12 + month - 1);
+    }
+
+    /**
+     * Converts a month index back to a {@link YearMonth}.
+     *
+     * @param monthIndex month index
+     * @return corresponding YearMonth
+     */
+    static YearMonth yearMonth(int monthIndex) {
+        return YearMonth.of(Math.floorDiv(monthIndex, 12), Math.floorMod(monthIndex, 12) + 1);
+    }
+
+    /**
+     * Returns the month index of a {@link YearMonth}.
+     *
+     * @param month calendar month
+     * @return month index
+     */
+    static int monthIndex(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue() - 1;
+    }
+}
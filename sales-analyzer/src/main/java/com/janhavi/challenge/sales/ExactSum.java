@@ -0,0 +1,134 @@
+package com.janhavi.challenge.sales;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Exact running sum of doubles, rounded once when read.
+ *
+ * The sum is held as a short list of non-overlapping partial sums whose
+ * total is exactly the sum of every value added (Shewchuk's algorithm, as
+ * in Python's {@code math.fsum}). {@link #get()} rounds that total
+ * correctly, so the result does not depend on the order in which values
+ * are added or on how they were split between sums that are merged with
+ * {@link #add(ExactSum)}. It may differ in the last bit from the
+ * Kahan-compensated {@link CompensatedSum}, which is only nearly exact.
+ *
+ * Once a value or a partial sum is infinite or NaN, the plain running sum
+ * is returned instead.
+ */
+final class ExactSum {
+
+    private double[] partials = new double[4];
+    private int count;
+    // Naive sum, the result once the partials have stopped being finite
+    private double simpleSum;
+    private boolean finite = true;
+
+    void add(double value) {
+        simpleSum += value;
+        if (!finite) {
+            return;
+        }
+        if (!Double.isFinite(value)) {
+            finite = false;
+            return;
+        }
+        double x = value;
+        int kept = 0;
+        for (int j = 0; j < count; j++) {
+            double y = partials[j];
+            if (Math.abs(x) < Math.abs(y)) {
+                double t = x;
+                x = y;
+                y = t;
+            }
+            double hi = x + y;
+            if (!Double.isFinite(hi)) {
+                finite = false;
+                return;
+            }
+            double lo = y - (hi - x);
+            if (lo != 0.0) {
+                partials[kept++] = lo;
+            }
+            x = hi;
+        }
+        if (kept == partials.length) {
+            partials = Arrays.copyOf(partials, kept * 2);
+        }
+        partials[kept] = x;
+        count = kept + 1;
+    }
+
+    /** Adds the exact total of another sum. */
+    void add(ExactSum other) {
+        double simple = simpleSum + other.simpleSum;
+        if (!other.finite) {
+            finite = false;
+        }
+        for (int i = 0; i < other.count; i++) {
+            add(other.partials[i]);
+        }
+        simpleSum = simple;
+    }
+
+    /** Writes the exact running state. */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeBoolean(finite);
+        out.writeDouble(simpleSum);
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            out.writeDouble(partials[i]);
+        }
+    }
+
+    /** Replaces the running state with one written by {@link #writeTo}. */
+    void readFrom(DataInput in) throws IOException {
+        finite = in.readBoolean();
+        simpleSum = in.readDouble();
+        int n = in.readInt();
+        if (n < 0) {
+            throw new IOException("Negative partial count " + n);
+        }
+        partials = new double[Math.max(4, n)];
+        for (int i = 0; i < n; i++) {
+            partials[i] = in.readDouble();
+        }
+        count = n;
+    }
+
+    /** Returns the exact sum rounded to the nearest double, ties to even. */
+    double get() {
+        if (!finite) {
+            return simpleSum;
+        }
+        if (count == 0) {
+            return 0.0;
+        }
+        int n = count - 1;
+        double hi = partials[n];
+        double lo = 0.0;
+        // Partials grow in magnitude; add from the top until a rounding error appears
+        while (n > 0) {
+            double x = hi;
+            double y = partials[--n];
+            hi = x + y;
+            lo = y - (hi - x);
+            if (lo != 0.0) {
+                break;
+            }
+        }
+        // hi + lo is a tie; round it by the sign of what lies below
+        if (n > 0 && (lo < 0 && partials[n - 1] < 0 || lo > 0 && partials[n - 1] > 0)) {
+            double y = lo * 2;
+            double x = hi + y;
+            if (y == x - hi) {
+                hi = x;
+            }
+        }
+        return hi;
+    }
+}
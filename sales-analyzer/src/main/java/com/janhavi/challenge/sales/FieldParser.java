@@ -0,0 +1,275 @@
+package com.janhavi.challenge.sales;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Allocation-free decoders for the numeric and date columns of the sales
+ * CSV, shared by the String based and the byte based loaders.
+ *
+ * Every method works on a {@code [from, to)} range of a {@link CharSequence},
+ * either a line String or a {@link ByteSequence} view over mapped bytes, so
+ * no field substring is created. Inputs outside the fast paths (signs on
+ * dates, exponents, very long numbers, out-of-range calendar values) are
+ * handed to the JDK parser the loaders always used, so the accepted input
+ * and the exceptions thrown are exactly the same.
+ */
+final class FieldParser {
+
+    /** Format of the order and ship date columns, e.g. 10/18/2014. */
+    static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("M/d/yyyy");
+
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // Direct-mapped cache of LocalDate instances by epoch day; 16384 slots
+    // cover about 44 years without collisions. Entries are immutable, so
+    // racing writers are harmless.
+    private static final int DATE_CACHE_MASK = (1 << 14) - 1;
+    private static final CachedDate[] DATE_CACHE = new CachedDate[DATE_CACHE_MASK + 1];
+
+    private FieldParser() {
+    }
+
+    static int parseInt(CharSequence s, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            negative = s.charAt(i) == '-';
+            i++;
+        }
+        int digits = to - i;
+        if (digits < 1 || digits > 9) {
+            return Integer.parseInt(text(s, from, to));
+        }
+        int value = 0;
+        for (; i < to; i++) {
+            int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return Integer.parseInt(text(s, from, to));
+            }
+            value = value * 10 + d;
+        }
+        return negative ? -value : value;
+    }
+
+    static long parseLong(CharSequence s, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            negative = s.charAt(i) == '-';
+            i++;
+        }
+        int digits = to - i;
+        if (digits < 1 || digits > 18) {
+            return Long.parseLong(text(s, from, to));
+        }
+        long value = 0;
+        for (; i < to; i++) {
+            int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return Long.parseLong(text(s, from, to));
+            }
+            value = value * 10 + d;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Decodes a plain decimal such as {@code 437.20} as a fixed-point
+     * integer mantissa and a count of fraction digits. With at most 15
+     * significant digits both the mantissa and the power of ten are exact
+     * doubles, so a single correctly rounded division yields the same value
+     * as {@link Double#parseDouble(String)}.
+     */
+    static double parseDouble(CharSequence s, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            negative = s.charAt(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean seenDot = false;
+        for (; i < to; i++) {
+            char c = s.charAt(i);
+            if (c == '.' && !seenDot) {
+                seenDot = true;
+                continue;
+            }
+            int d = c - '0';
+            if (d < 0 || d > 9 || digits == 15) {
+                return Double.parseDouble(text(s, from, to));
+            }
+            mantissa = mantissa * 10 + d;
+            digits++;
+            if (seenDot) {
+                fractionDigits++;
+            }
+        }
+        if (digits == 0) {
+            return Double.parseDouble(text(s, from, to));
+        }
+        double value = mantissa / POW10[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Decodes an {@code M/d/yyyy} date to days since 1970-01-01. Anything
+     * other than a 1-2 digit month and day with a 4 digit year forming a
+     * valid calendar date is handed to {@link #DATE_FORMAT}, so its resolver
+     * rules (such as clamping April 31 to April 30) still apply.
+     */
+    static int parseEpochDay(CharSequence s, int from, int to) {
+        int i = from;
+        int month = 0;
+        int monthDigits = 0;
+        while (i < to && monthDigits < 3 && isDigit(s.charAt(i))) {
+            month = month * 10 + (s.charAt(i++) - '0');
+            monthDigits++;
+        }
+        if (monthDigits == 0 || monthDigits > 2 || i >= to || s.charAt(i++) != '/') {
+            return fallbackEpochDay(s, from, to);
+        }
+        int day = 0;
+        int dayDigits = 0;
+        while (i < to && dayDigits < 3 && isDigit(s.charAt(i))) {
+            day = day * 10 + (s.charAt(i++) - '0');
+            dayDigits++;
+        }
+        if (dayDigits == 0 || dayDigits > 2 || i >= to || s.charAt(i++) != '/' || to - i != 4) {
+            return fallbackEpochDay(s, from, to);
+        }
+        int year = 0;
+        for (; i < to; i++) {
+            if (!isDigit(s.charAt(i))) {
+                return fallbackEpochDay(s, from, to);
+            }
+            year = year * 10 + (s.charAt(i) - '0');
+        }
+        // yyyy is year-of-era, which starts at 1
+        if (year == 0 || month < 1 || month > 12 || day < 1 || day > 28 && day > lengthOfMonth(year, month)) {
+            return fallbackEpochDay(s, from, to);
+        }
+        return epochDay(year, month, day);
+    }
+
+    /**
+     * Returns a shared {@link LocalDate} for an epoch day, creating it only
+     * on a cache miss.
+     *
+     * @param epochDay days since 1970-01-01
+     * @return the date
+     */
+    static LocalDate localDate(int epochDay) {
+        int slot = epochDay & DATE_CACHE_MASK;
+        CachedDate cached = DATE_CACHE[slot];
+        if (cached != null && cached.epochDay == epochDay) {
+            return cached.date;
+        }
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        DATE_CACHE[slot] = new CachedDate(epochDay, date);
+        return date;
+    }
+
+    /**
+     * Returns the epoch day of a proleptic Gregorian date.
+     */
+    static int epochDay(int year, int month, int day) {
+        // Days-from-civil: count from 0000-03-01 so leap days fall last
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static int fallbackEpochDay(CharSequence s, int from, int to) {
+        return Math.toIntExact(LocalDate.parse(text(s, from, to), DATE_FORMAT).toEpochDay());
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static String text(CharSequence s, int from, int to) {
+        return s.subSequence(from, to).toString();
+    }
+
+    private static final class CachedDate {
+
+        final int epochDay;
+        final LocalDate date;
+
+        CachedDate(int epochDay, LocalDate date) {
+            this.epochDay = epochDay;
+            this.date = date;
+        }
+    }
+
+    /**
+     * Reusable {@link CharSequence} view over the bytes of a buffer, one
+     * char per byte. Indexes are absolute buffer positions. Bytes outside
+     * ASCII never match a digit or separator, so they always reach the JDK
+     * fallback, which sees the range decoded as UTF-8.
+     */
+    static final class ByteSequence implements CharSequence {
+
+        private ByteBuffer buf;
+
+        /**
+         * Points the view at a buffer.
+         *
+         * @param buf buffer to read
+         * @return this view
+         */
+        ByteSequence of(ByteBuffer buf) {
+            this.buf = buf;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return buf.limit();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (buf.get(index) & 0xff);
+        }
+
+        @Override
+        public String subSequence(int start, int end) {
+            byte[] bytes = new byte[end - start];
+            buf.get(start, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String toString() {
+            return subSequence(0, buf.limit());
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.janhavi.challenge.sales;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable distinct-count sketch (HyperLogLog), for counting distinct
+ * order IDs or countries in one pass and fixed memory.
+ *
+ * Each value is hashed to 64 bits. The top {@code p} bits pick one of
+ * {@code 2^p} one-byte registers, which keeps the largest number of
+ * leading zeros seen in the remaining bits. The estimate is the bias
+ * corrected harmonic mean over the registers, with linear counting for
+ * small cardinalities where registers are still empty.
+ *
+ * Error bound: the relative standard error is {@code 1.04 / sqrt(2^p)},
+ * about 1.6% for the default precision of 12 (4 KiB of registers), rising
+ * to about 2% around {@code 3 * 2^p} values where the estimator switches
+ * from linear counting. Counts below a few hundred are nearly exact. Merging sketches loses nothing: the merged sketch equals
+ * one built over all values.
+ *
+ * Not thread-safe; build one sketch per thread and {@link #merge} them.
+ */
+public final class HyperLogLog {
+
+    /** Default precision, giving 4096 registers. */
+    public static final int DEFAULT_PRECISION = 12;
+
+    private static final int MIN_PRECISION = 4;
+    private static final int MAX_PRECISION = 18;
+    private static final double LINEAR_COUNTING_LIMIT = 3.0;
+
+    private final int precision;
+    private final byte[] registers;
+
+    /**
+     * Creates a sketch with the default precision.
+     */
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Creates a sketch with {@code 2^precision} registers.
+     *
+     * @param precision number of index bits, 4 to 18
+     */
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException(
+                    "precision must be in [" + MIN_PRECISION + ", " + MAX_PRECISION + "]: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * Adds a number, such as an order ID.
+     *
+     * @param value value to count
+     */
+    public void add(long value) {
+        addHash(hash(value));
+    }
+
+    /**
+     * Adds a text value, such as a country.
+     *
+     * @param value value to count
+     */
+    public void add(CharSequence value) {
+        addHash(hash(value));
+    }
+
+    /**
+     * Adds a value already hashed with {@link #hash(long)} or
+     * {@link #hash(CharSequence)}, so a caller can hash each of a
+     * dictionary's values once instead of once per row.
+     *
+     * @param hash 64-bit hash of the value
+     */
+    void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // The guard bit caps the rank when all remaining bits are zero
+        long rest = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    /**
+     * Folds another sketch into this one, as if this sketch had seen its
+     * values too.
+     *
+     * @param other sketch with the same precision
+     * @return this sketch
+     */
+    public HyperLogLog merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException(
+                    "Cannot merge sketches with precision " + precision + " and " + other.precision);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            registers[i] = (byte) Math.max(registers[i], other.registers[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Estimates the number of distinct values added.
+     *
+     * @return estimated distinct count
+     */
+    public long estimate() {
+        int m = registers.length;
+        double inverseSum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            inverseSum += Math.scalb(1.0, -register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        if (zeros > 0) {
+            double linear = m * Math.log((double) m / zeros);
+            // Linear counting is more accurate until about 3m values, where the
+            // harmonic mean has lost most of its small-range bias
+            if (linear <= LINEAR_COUNTING_LIMIT * m) {
+                return Math.round(linear);
+            }
+        }
+        return Math.round(alpha(m) * m * m / inverseSum);
+    }
+
+    public int precision() {
+        return precision;
+    }
+
+    /**
+     * Returns the relative standard error of this sketch's estimates.
+     *
+     * @return {@code 1.04 / sqrt(2^precision)}
+     */
+    public double standardError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    /** Hashes a number with the SplitMix64 finalizer. */
+    static long hash(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** Hashes text with 64-bit FNV-1a, mixed by {@link #hash(long)}. */
+    static long hash(CharSequence value) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0, n = value.length(); i < n; i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        return hash(h);
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof HyperLogLog)) return false;
+        HyperLogLog other = (HyperLogLog) o;
+        return precision == other.precision && Arrays.equals(registers, other.registers);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * precision + Arrays.hashCode(registers);
+    }
+
+    @Override
+    public String toString() {
+        return "HyperLogLog[precision=" + precision + ", estimate=" + estimate() + "]";
+    }
+}
@@ -0,0 +1,42 @@
+package com.janhavi.challenge.sales;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one {@link SalesDataLoader} call. The event's duration is
+ * the time spent reading and parsing.
+ */
+@Name("com.janhavi.challenge.sales.Load")
+@Label("Sales Load")
+@Category({"Sales Analyzer", "Load"})
+@Description("Reading and parsing sales data")
+@StackTrace(false)
+final class LoadEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Path")
+    String path;
+
+    @Label("Bytes Read")
+    @DataAmount
+    long bytesRead;
+
+    @Label("Rows Parsed")
+    long rowsParsed;
+
+    @Label("Blank Lines")
+    @Description("Blank lines skipped")
+    long blankLines;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+}
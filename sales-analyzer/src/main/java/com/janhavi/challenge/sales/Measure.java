@@ -0,0 +1,40 @@
+package com.janhavi.challenge.sales;
+
+/**
+ * Numeric columns of a sales row that analyses aggregate or rank by.
+ */
+public enum Measure {
+
+    UNITS_SOLD {
+        @Override
+        public double of(SalesRow row) { return row.getUnitsSold(); }
+    },
+    UNIT_PRICE {
+        @Override
+        public double of(SalesRow row) { return row.getUnitPrice(); }
+    },
+    UNIT_COST {
+        @Override
+        public double of(SalesRow row) { return row.getUnitCost(); }
+    },
+    TOTAL_REVENUE {
+        @Override
+        public double of(SalesRow row) { return row.getTotalRevenue(); }
+    },
+    TOTAL_COST {
+        @Override
+        public double of(SalesRow row) { return row.getTotalCost(); }
+    },
+    TOTAL_PROFIT {
+        @Override
+        public double of(SalesRow row) { return row.getTotalProfit(); }
+    };
+
+    /**
+     * Extracts this measure's value from a row.
+     *
+     * @param row sales row
+     * @return measure value
+     */
+    public abstract double of(SalesRow row);
+}
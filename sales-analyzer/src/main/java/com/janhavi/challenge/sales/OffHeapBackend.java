@@ -0,0 +1,90 @@
+package com.janhavi.challenge.sales;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Answers queries over an {@link OffHeapSalesStore}, reading its columns
+ * straight from the off-heap buffers.
+ */
+final class OffHeapBackend extends ColumnBackend {
+
+    private final OffHeapSalesStore store;
+
+    OffHeapBackend(OffHeapSalesStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public String name() {
+        return "offHeap";
+    }
+
+    @Override
+    public int size() {
+        return store.size();
+    }
+
+    /** The store only grows, so its size identifies its contents. */
+    @Override
+    public long version() {
+        return store.size();
+    }
+
+    @Override
+    StringDictionary dictionary(Dimension dimension) {
+        return store.dictionary(dimension);
+    }
+
+    @Override
+    IntUnaryOperator codes(Dimension dimension) {
+        IntBuffer codes = store.codes(dimension);
+        return codes::get;
+    }
+
+    @Override
+    IntUnaryOperator unitsSold() {
+        IntBuffer units = store.unitsSold();
+        return units::get;
+    }
+
+    @Override
+    IntUnaryOperator orderDays() {
+        IntBuffer days = store.orderDays();
+        return days::get;
+    }
+
+    @Override
+    IntToDoubleFunction doubles(Measure measure) {
+        DoubleBuffer values = store.doubles(measure);
+        return values::get;
+    }
+
+    @Override
+    public void forEachRow(Consumer<? super SalesRow> action) {
+        OffHeapSalesStore.Cursor cursor = store.cursor();
+        for (int i = 0, n = store.size(); i < n; i++) {
+            action.accept(cursor.at(i));
+        }
+    }
+
+    @Override
+    public List<SalesRecord> rank(TopNQuery query) {
+        return query.list(store.rows());
+    }
+
+    @Override
+    public Map<String, List<SalesRecord>> rankByGroup(TopNQuery query, Dimension groupBy) {
+        return query.listByGroup(store.rows(), groupBy);
+    }
+
+    @Override
+    public QueryResult query(SalesQuery query) {
+        return query.run(store.rows());
+    }
+}
@@ -0,0 +1,424 @@
+package com.janhavi.challenge.sales;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Columnar store of sales rows kept outside the Java heap.
+ *
+ * Every column of a {@link SalesDataset} lives in its own direct
+ * {@link ByteBuffer} in native byte order instead of a primitive array:
+ * 80 bytes per row, none of which the garbage collector has to trace or
+ * copy. Only the dimension dictionaries stay on the heap, so heap use does
+ * not grow with the row count. Direct memory counts against
+ * {@code -XX:MaxDirectMemorySize}, which defaults to the maximum heap size.
+ *
+ * The memory is released by {@link #close()} rather than by the garbage
+ * collector: buffers are freed at once through
+ * {@code sun.misc.Unsafe.invokeCleaner}, or left to the collector on JVMs
+ * without it. Any later access throws {@link IllegalStateException}.
+ * Closing while another thread still reads the store is not allowed, as
+ * the freed memory would be read.
+ *
+ * Appends are not synchronized; a store may be read concurrently once it
+ * is no longer being appended to.
+ */
+public final class OffHeapSalesStore implements AutoCloseable {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private static final Dimension[] DIMENSIONS = Dimension.values();
+
+    // Int columns: one code column per dimension, then dates and units
+    private static final int ORDER_DAYS = DIMENSIONS.length;
+    private static final int SHIP_DAYS = ORDER_DAYS + 1;
+    private static final int UNITS_SOLD = SHIP_DAYS + 1;
+    private static final int INT_COLUMNS = UNITS_SOLD + 1;
+    // Double columns, indexed by Measure.ordinal() - 1
+    private static final int DOUBLE_COLUMNS = Measure.values().length - 1;
+
+    /** Bytes per row over all columns. */
+    static final int ROW_BYTES = INT_COLUMNS * Integer.BYTES + Long.BYTES + DOUBLE_COLUMNS * Double.BYTES;
+
+    /** Largest row count, bounded by the 2 GiB limit of one buffer of doubles. */
+    static final int MAX_CAPACITY = Integer.MAX_VALUE / Double.BYTES;
+
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> type = Class.forName("sun.misc.Unsafe");
+            Field field = type.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = type.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            // Without Unsafe, closed buffers are freed when they are collected
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private final StringDictionary[] dictionaries = new StringDictionary[DIMENSIONS.length];
+
+    private ByteBuffer[] intBuffers = new ByteBuffer[INT_COLUMNS];
+    private ByteBuffer orderIdBuffer;
+    private ByteBuffer[] doubleBuffers = new ByteBuffer[DOUBLE_COLUMNS];
+    // Typed views of the buffers above; all null once closed
+    private IntBuffer[] ints = new IntBuffer[INT_COLUMNS];
+    private LongBuffer orderIds;
+    private DoubleBuffer[] doubles = new DoubleBuffer[DOUBLE_COLUMNS];
+
+    private int capacity;
+    private int size;
+
+    /**
+     * Creates an empty store with a default initial capacity.
+     */
+    public OffHeapSalesStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty store, reserving off-heap memory for a number of rows.
+     *
+     * @param initialCapacity number of rows to reserve space for
+     */
+    public OffHeapSalesStore(int initialCapacity) {
+        for (int d = 0; d < DIMENSIONS.length; d++) {
+            dictionaries[d] = new StringDictionary();
+        }
+        allocate(Math.max(1, Math.min(initialCapacity, MAX_CAPACITY)));
+    }
+
+    /**
+     * Copies a dataset into a new store.
+     *
+     * @param dataset rows to copy
+     * @return new store holding the rows, in order
+     */
+    public static OffHeapSalesStore copyOf(SalesDataset dataset) {
+        OffHeapSalesStore store = new OffHeapSalesStore(dataset.size());
+        SalesDataset.Cursor cursor = dataset.cursor();
+        for (int i = 0, n = dataset.size(); i < n; i++) {
+            store.append(cursor.at(i));
+        }
+        return store;
+    }
+
+    /**
+     * Appends a row, copying its values.
+     *
+     * @param row row to append
+     * @throws IllegalStateException if the store is closed or full
+     */
+    public void append(SalesRow row) {
+        checkOpen();
+        if (size == capacity) {
+            if (capacity == MAX_CAPACITY) {
+                throw new IllegalStateException("Store is full at " + MAX_CAPACITY + " rows");
+            }
+            allocate((int) Math.min(MAX_CAPACITY, capacity + (capacity >> 1) + 1L));
+        }
+        int i = size;
+        for (int d = 0; d < DIMENSIONS.length; d++) {
+            ints[d].put(i, dictionaries[d].encode(DIMENSIONS[d].of(row)));
+        }
+        ints[ORDER_DAYS].put(i, row.getOrderEpochDay());
+        ints[SHIP_DAYS].put(i, row.getShipEpochDay());
+        ints[UNITS_SOLD].put(i, row.getUnitsSold());
+        orderIds.put(i, row.getOrderId());
+        doubles[Measure.UNIT_PRICE.ordinal() - 1].put(i, row.getUnitPrice());
+        doubles[Measure.UNIT_COST.ordinal() - 1].put(i, row.getUnitCost());
+        doubles[Measure.TOTAL_REVENUE.ordinal() - 1].put(i, row.getTotalRevenue());
+        doubles[Measure.TOTAL_COST.ordinal() - 1].put(i, row.getTotalCost());
+        doubles[Measure.TOTAL_PROFIT.ordinal() - 1].put(i, row.getTotalProfit());
+        size++;
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return row count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the off-heap memory reserved for the columns.
+     *
+     * @return reserved bytes, 0 once closed
+     */
+    public long offHeapBytes() {
+        return isClosed() ? 0 : (long) capacity * ROW_BYTES;
+    }
+
+    /**
+     * Tells whether {@link #close()} has been called.
+     *
+     * @return true if the memory has been released
+     */
+    public boolean isClosed() {
+        return ints == null;
+    }
+
+    /**
+     * Returns the dictionary that encodes a dimension.
+     *
+     * @param dimension dimension to look up
+     * @return dictionary of the dimension's values
+     */
+    public StringDictionary dictionary(Dimension dimension) {
+        return dictionaries[dimension.ordinal()];
+    }
+
+    /**
+     * Returns a row's dimension value.
+     *
+     * @param dimension dimension to read
+     * @param row       row index
+     * @return decoded dimension value
+     */
+    public String value(Dimension dimension, int row) {
+        return dictionary(dimension).decode(codes(dimension).get(checkRow(row)));
+    }
+
+    /**
+     * Returns a row's measure value.
+     *
+     * @param measure measure to read
+     * @param row     row index
+     * @return measure value
+     */
+    public double measure(Measure measure, int row) {
+        checkRow(row);
+        return measure == Measure.UNITS_SOLD ? unitsSold().get(row) : doubles(measure).get(row);
+    }
+
+    public long orderId(int row) { return orderIds().get(checkRow(row)); }
+    public int orderEpochDay(int row) { return orderDays().get(checkRow(row)); }
+    public int shipEpochDay(int row) { return shipDays().get(checkRow(row)); }
+    public int unitsSold(int row) { return unitsSold().get(checkRow(row)); }
+
+    /**
+     * Materializes a row as an immutable {@link SalesRecord} on the heap.
+     *
+     * @param row row index
+     * @return record holding the row's values
+     */
+    public SalesRecord record(int row) {
+        return SalesRecord.of(cursor().at(row));
+    }
+
+    /**
+     * Returns a reusable view that can be positioned on any row.
+     *
+     * @return new cursor, initially on row 0
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Frees the off-heap memory. Closing twice has no effect.
+     */
+    @Override
+    public void close() {
+        if (isClosed()) {
+            return;
+        }
+        ByteBuffer[] ownedInts = intBuffers;
+        ByteBuffer ownedOrderIds = orderIdBuffer;
+        ByteBuffer[] ownedDoubles = doubleBuffers;
+        ints = null;
+        orderIds = null;
+        doubles = null;
+        intBuffers = null;
+        orderIdBuffer = null;
+        doubleBuffers = null;
+        for (ByteBuffer buffer : ownedInts) {
+            free(buffer);
+        }
+        free(ownedOrderIds);
+        for (ByteBuffer buffer : ownedDoubles) {
+            free(buffer);
+        }
+    }
+
+    // Column views for scans; valid until the next append or close, indexed 0..size()-1
+
+    IntBuffer codes(Dimension dimension) {
+        return checkOpen()[dimension.ordinal()];
+    }
+
+    IntBuffer orderDays() {
+        return checkOpen()[ORDER_DAYS];
+    }
+
+    IntBuffer shipDays() {
+        return checkOpen()[SHIP_DAYS];
+    }
+
+    IntBuffer unitsSold() {
+        return checkOpen()[UNITS_SOLD];
+    }
+
+    LongBuffer orderIds() {
+        checkOpen();
+        return orderIds;
+    }
+
+    /**
+     * Returns the column of a double-valued measure.
+     *
+     * @throws IllegalArgumentException for {@link Measure#UNITS_SOLD}, which is stored as ints
+     */
+    DoubleBuffer doubles(Measure measure) {
+        if (measure == Measure.UNITS_SOLD) {
+            throw new IllegalArgumentException(measure + " is not stored as double");
+        }
+        checkOpen();
+        return doubles[measure.ordinal() - 1];
+    }
+
+    /**
+     * Returns the rows as a list of views, for the row-based query paths.
+     * Each {@code get} creates a new short-lived cursor.
+     */
+    List<SalesRow> rows() {
+        checkOpen();
+        return new RowList();
+    }
+
+    /**
+     * Moves every column into new buffers of the given capacity and frees
+     * the old ones.
+     */
+    private void allocate(int newCapacity) {
+        for (int c = 0; c < INT_COLUMNS; c++) {
+            ByteBuffer buffer = grow(intBuffers[c], newCapacity * Integer.BYTES);
+            intBuffers[c] = buffer;
+            ints[c] = buffer.asIntBuffer();
+        }
+        orderIdBuffer = grow(orderIdBuffer, newCapacity * Long.BYTES);
+        orderIds = orderIdBuffer.asLongBuffer();
+        for (int c = 0; c < DOUBLE_COLUMNS; c++) {
+            ByteBuffer buffer = grow(doubleBuffers[c], newCapacity * Double.BYTES);
+            doubleBuffers[c] = buffer;
+            doubles[c] = buffer.asDoubleBuffer();
+        }
+        capacity = newCapacity;
+    }
+
+    private static ByteBuffer grow(ByteBuffer old, int bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+        if (old != null) {
+            buffer.put(old.clear());
+            buffer.clear();
+            free(old);
+        }
+        return buffer;
+    }
+
+    private static void free(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException e) {
+            // Left for the garbage collector
+        }
+    }
+
+    private IntBuffer[] checkOpen() {
+        IntBuffer[] columns = ints;
+        if (columns == null) {
+            throw new IllegalStateException("Store is closed");
+        }
+        return columns;
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+        }
+        return row;
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapSalesStore[" + size + " rows, " + offHeapBytes() + " bytes"
+                + (isClosed() ? ", closed" : "") + "]";
+    }
+
+    /**
+     * Flyweight {@link SalesRow} over one row of the store. Reads go straight
+     * to the off-heap columns; dates are only converted to
+     * {@link LocalDate} when asked for.
+     */
+    public final class Cursor implements SalesRow {
+
+        private int row;
+
+        /**
+         * Moves the cursor to a row.
+         *
+         * @param row row index
+         * @return this cursor
+         */
+        public Cursor at(int row) {
+            checkOpen();
+            this.row = checkRow(row);
+            return this;
+        }
+
+        public int row() { return row; }
+
+        @Override public String getRegion() { return value(Dimension.REGION, row); }
+        @Override public String getCountry() { return value(Dimension.COUNTRY, row); }
+        @Override public String getItemType() { return value(Dimension.ITEM_TYPE, row); }
+        @Override public String getSalesChannel() { return value(Dimension.SALES_CHANNEL, row); }
+        @Override public String getOrderPriority() { return value(Dimension.ORDER_PRIORITY, row); }
+        @Override public LocalDate getOrderDate() { return LocalDate.ofEpochDay(getOrderEpochDay()); }
+        @Override public long getOrderId() { return orderIds().get(row); }
+        @Override public LocalDate getShipDate() { return LocalDate.ofEpochDay(getShipEpochDay()); }
+        @Override public int getUnitsSold() { return unitsSold().get(row); }
+        @Override public double getUnitPrice() { return doubles(Measure.UNIT_PRICE).get(row); }
+        @Override public double getUnitCost() { return doubles(Measure.UNIT_COST).get(row); }
+        @Override public double getTotalRevenue() { return doubles(Measure.TOTAL_REVENUE).get(row); }
+        @Override public double getTotalCost() { return doubles(Measure.TOTAL_COST).get(row); }
+        @Override public double getTotalProfit() { return doubles(Measure.TOTAL_PROFIT).get(row); }
+        @Override public int getOrderEpochDay() { return orderDays().get(row); }
+        @Override public int getShipEpochDay() { return shipDays().get(row); }
+    }
+
+    /** Random-access list of row views over the store. */
+    private final class RowList extends AbstractList<SalesRow> implements RandomAccess {
+
+        @Override
+        public SalesRow get(int index) {
+            return new Cursor().at(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.janhavi.challenge.sales;
+
+/**
+ * JMX view of the running totals for one load or query operation,
+ * registered by {@link SalesMetrics#registerMBeans()} under
+ * {@code com.janhavi.challenge.sales:type=Load|Query,name=<operation>}.
+ */
+public interface OperationMetricsMXBean {
+
+    /** Number of completed calls. */
+    long getCount();
+
+    /** Wall-clock time over all calls. */
+    long getTotalNanos();
+
+    /** Wall-clock time of the slowest call. */
+    long getMaxNanos();
+
+    /** Bytes of input read by loads; 0 for queries. */
+    long getBytesRead();
+
+    /** Rows parsed by loads, or rows held by the backend a query scanned. */
+    long getRows();
+
+    /** Blank lines skipped by loads. */
+    long getBlankLines();
+
+    /** Heap bytes allocated while the operation ran, or 0 if the JVM cannot measure it. */
+    long getAllocatedBytes();
+}
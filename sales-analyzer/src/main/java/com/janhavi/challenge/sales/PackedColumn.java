@@ -0,0 +1,173 @@
+package com.janhavi.challenge.sales;
+
+import java.util.Arrays;
+
+/**
+ * Immutable bit-packed column of integers (frame of reference encoding).
+ *
+ * Values are stored as their offset from the column minimum, each in the
+ * fewest bits that hold the largest offset, back to back in a
+ * {@code long[]}. A column of four-valued codes takes 2 bits per value, a
+ * column of equal values none at all.
+ */
+final class PackedColumn {
+
+    private static final long[] NO_WORDS = new long[0];
+
+    private final int size;
+    private final long base;
+    private final int width;
+    private final long mask;
+    private final long[] words;
+
+    private PackedColumn(int size, long base, int width, long[] words) {
+        this.size = size;
+        this.base = base;
+        this.width = width;
+        this.mask = width == 64 ? -1L : (1L << width) - 1;
+        this.words = words;
+    }
+
+    /**
+     * Packs {@code values[0, n)}.
+     *
+     * @param values values to pack
+     * @param n      number of values
+     * @return packed column
+     */
+    static PackedColumn of(long[] values, int n) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            min = Math.min(min, values[i]);
+            max = Math.max(max, values[i]);
+        }
+        if (n == 0 || min == max) {
+            return new PackedColumn(n, n == 0 ? 0 : min, 0, NO_WORDS);
+        }
+        // Offsets are unsigned, so a range wider than Long.MAX_VALUE still fits in 64 bits
+        int width = 64 - Long.numberOfLeadingZeros(max - min);
+        long[] words = new long[(int) (((long) n * width + 63) >>> 6)];
+        long bit = 0;
+        for (int i = 0; i < n; i++, bit += width) {
+            long offset = values[i] - min;
+            int word = (int) (bit >>> 6);
+            int shift = (int) (bit & 63);
+            words[word] |= offset << shift;
+            if (shift + width > 64) {
+                words[word + 1] |= offset >>> (64 - shift);
+            }
+        }
+        return new PackedColumn(n, min, width, words);
+    }
+
+    static PackedColumn of(int[] values, int n) {
+        long[] widened = new long[n];
+        for (int i = 0; i < n; i++) {
+            widened[i] = values[i];
+        }
+        return of(widened, n);
+    }
+
+    /**
+     * Returns one value.
+     *
+     * @param i value index
+     * @return unpacked value
+     */
+    long get(int i) {
+        if (width == 0) {
+            return base;
+        }
+        long bit = (long) i * width;
+        int word = (int) (bit >>> 6);
+        int shift = (int) (bit & 63);
+        long offset = words[word] >>> shift;
+        if (shift + width > 64) {
+            offset |= words[word + 1] << (64 - shift);
+        }
+        return base + (offset & mask);
+    }
+
+    /**
+     * Unpacks the first {@code n} values into an array.
+     */
+    void unpack(long[] out, int n) {
+        if (width == 0) {
+            Arrays.fill(out, 0, n, base);
+            return;
+        }
+        long bit = 0;
+        for (int i = 0; i < n; i++, bit += width) {
+            int word = (int) (bit >>> 6);
+            int shift = (int) (bit & 63);
+            long offset = words[word] >>> shift;
+            if (shift + width > 64) {
+                offset |= words[word + 1] << (64 - shift);
+            }
+            out[i] = base + (offset & mask);
+        }
+    }
+
+    /**
+     * Unpacks the first {@code n} values into an int array; the values
+     * must fit in an int.
+     */
+    void unpack(int[] out, int n) {
+        if (width == 0) {
+            Arrays.fill(out, 0, n, (int) base);
+            return;
+        }
+        long bit = 0;
+        for (int i = 0; i < n; i++, bit += width) {
+            int word = (int) (bit >>> 6);
+            int shift = (int) (bit & 63);
+            long offset = words[word] >>> shift;
+            if (shift + width > 64) {
+                offset |= words[word + 1] << (64 - shift);
+            }
+            out[i] = (int) (base + (offset & mask));
+        }
+    }
+
+    /**
+     * Sums every value without unpacking them into an array: the offsets
+     * are added up and the base is added once per value.
+     *
+     * @return sum of all values, wrapping on overflow
+     */
+    long sum() {
+        if (width == 0) {
+            return base * size;
+        }
+        long offsets = 0;
+        long bit = 0;
+        for (int i = 0; i < size; i++, bit += width) {
+            int word = (int) (bit >>> 6);
+            int shift = (int) (bit & 63);
+            long offset = words[word] >>> shift;
+            if (shift + width > 64) {
+                offset |= words[word + 1] << (64 - shift);
+            }
+            offsets += offset & mask;
+        }
+        return base * size + offsets;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int width() {
+        return width;
+    }
+
+    /**
+     * Returns the bytes held by the packed values.
+     *
+     * @return size of the word array
+     */
+    long bytes() {
+        return (long) words.length * Long.BYTES;
+    }
+}
@@ -0,0 +1,54 @@
+package com.janhavi.challenge.sales;
+
+import java.util.stream.IntStream;
+
+/**
+ * Runs a scan over the row range {@code [0, size)}, either in one piece or
+ * split into consecutive slices on the common fork-join pool. Partial
+ * results are merged in row order, so order-sensitive results such as
+ * first-seen group order and tie-breaking match a sequential scan.
+ */
+final class ParallelSlices {
+
+    /** Slices smaller than this are not worth a separate parallel task. */
+    static final int MIN_ROWS_PER_TASK = 1 << 16;
+
+    private ParallelSlices() {
+    }
+
+    /** Scans one slice {@code [from, to)} of the input. */
+    @FunctionalInterface
+    interface SliceScan<R> {
+        R scan(int from, int to);
+    }
+
+    /** Combines the results of two consecutive slices. */
+    @FunctionalInterface
+    interface Merge<R> {
+        R merge(R earlier, R later);
+    }
+
+    /**
+     * Runs the scan over the whole input.
+     *
+     * @param size     number of rows
+     * @param parallel whether to split the rows into parallel slices
+     * @param scan     scans one slice
+     * @param merge    combines the results of consecutive slices
+     * @param <R>      partial result type
+     * @return result over all rows
+     */
+    static <R> R run(int size, boolean parallel, SliceScan<R> scan, Merge<R> merge) {
+        int tasks = parallel ? (int) Math.min(
+                Math.max(1, size / MIN_ROWS_PER_TASK),
+                Runtime.getRuntime().availableProcessors() * 4L) : 1;
+        if (tasks == 1) {
+            return scan.scan(0, size);
+        }
+        return IntStream.range(0, tasks)
+                .parallel()
+                .mapToObj(t -> scan.scan((int) ((long) size * t / tasks), (int) ((long) size * (t + 1) / tasks)))
+                .reduce(merge::merge)
+                .orElseThrow();
+    }
+}
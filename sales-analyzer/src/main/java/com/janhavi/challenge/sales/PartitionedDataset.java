@@ -0,0 +1,255 @@
+package com.janhavi.challenge.sales;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Sales data split over several CSV files, such as one file per day or per
+ * region, created by {@link SalesDataLoader#loadPartitions(Path)}.
+ *
+ * Every {@link Partition} records its row count, order date range and the
+ * dimension values it contains. Queries first drop the partitions whose
+ * statistics rule out a match, then load the remaining ones in parallel
+ * (partitions whose binary snapshot was current at load time are only read
+ * at that point) and combine their results as if the data were one
+ * dataset.
+ */
+public final class PartitionedDataset {
+
+    private final List<Partition> partitions;
+
+    PartitionedDataset(List<Partition> partitions) {
+        this.partitions = List.copyOf(partitions);
+    }
+
+    /**
+     * Returns the partitions in file name order.
+     *
+     * @return unmodifiable partition list
+     */
+    public List<Partition> partitions() {
+        return partitions;
+    }
+
+    /**
+     * Returns the total number of rows over all partitions.
+     *
+     * @return row count
+     */
+    public long size() {
+        return partitions.stream().mapToLong(Partition::rows).sum();
+    }
+
+    /**
+     * Returns the partitions a query has to read. Partitions are skipped when
+     * their order dates lie outside the query's order date range or they
+     * contain none of the values a dimension filter accepts.
+     *
+     * @param query query to plan
+     * @return partitions that may hold matching rows, in order
+     */
+    public List<Partition> matching(SalesQuery query) {
+        List<Partition> result = new ArrayList<>();
+        for (Partition partition : partitions) {
+            if (query.mayMatch(partition)) {
+                result.add(partition);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Runs a query over the partitions that may hold matching rows.
+     *
+     * @param query query to run
+     * @return the same result as running the query over all rows at once
+     * @throws IOException if loading a partition fails
+     */
+    public QueryResult run(SalesQuery query) throws IOException {
+        return query.runAll(load(matching(query)));
+    }
+
+    /**
+     * Sums revenue per month of orders placed in a date range, reading only
+     * the partitions whose order dates overlap the range.
+     *
+     * @param from first order date
+     * @param to   last order date
+     * @return map of month -> total revenue
+     * @throws IOException if loading a partition fails
+     */
+    public Map<YearMonth, Double> monthlyRevenue(LocalDate from, LocalDate to) throws IOException {
+        int fromDay = Math.toIntExact(from.toEpochDay());
+        int toDay = Math.toIntExact(to.toEpochDay());
+        List<Partition> needed = matching(SalesQuery.select(Aggregate.count()).whereOrderDate(from, to));
+
+        Map<Integer, CompensatedSum> sums = new HashMap<>();
+        for (SalesDataset dataset : load(needed)) {
+            int[] days = dataset.orderDays();
+            double[] revenue = dataset.doubles(Measure.TOTAL_REVENUE);
+            for (int i = 0, n = dataset.size(); i < n; i++) {
+                if (days[i] >= fromDay && days[i] <= toDay) {
+                    sums.computeIfAbsent(EpochDays.monthIndex(days[i]), m -> new CompensatedSum()).add(revenue[i]);
+                }
+            }
+        }
+        Map<YearMonth, Double> result = new HashMap<>();
+        sums.forEach((month, sum) -> result.put(EpochDays.yearMonth(month), sum.get()));
+        return result;
+    }
+
+    /**
+     * Loads partitions on the common pool, one task per partition.
+     */
+    private static List<SalesDataset> load(List<Partition> needed) throws IOException {
+        List<Callable<SalesDataset>> tasks = new ArrayList<>();
+        for (Partition partition : needed) {
+            tasks.add(partition::dataset);
+        }
+        List<SalesDataset> datasets = new ArrayList<>();
+        for (Future<SalesDataset> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+            datasets.add(SalesDataLoader.join(future));
+        }
+        return datasets;
+    }
+
+    @Override
+    public String toString() {
+        return "PartitionedDataset" + partitions;
+    }
+
+    /**
+     * One CSV file of a partitioned dataset and the statistics used to skip
+     * it.
+     */
+    public static final class Partition {
+
+        private final Path path;
+        private final SalesDataLoader loader;
+        private final int rows;
+        // Inclusive epoch-day range; min > max when the partition is empty
+        private final int minOrderDay;
+        private final int maxOrderDay;
+        private final Map<Dimension, Set<String>> values;
+        private SalesDataset dataset;
+
+        private Partition(Path path, SalesDataLoader loader, int rows, int minOrderDay, int maxOrderDay,
+                          Map<Dimension, Set<String>> values, SalesDataset dataset) {
+            this.path = path;
+            this.loader = loader;
+            this.rows = rows;
+            this.minOrderDay = minOrderDay;
+            this.maxOrderDay = maxOrderDay;
+            this.values = values;
+            this.dataset = dataset;
+        }
+
+        /**
+         * Describes a partition from the header of its current snapshot;
+         * the rows are read on first use.
+         */
+        static Partition fromSnapshot(Path path, SalesDataLoader loader, SalesSnapshot.Header header) {
+            Map<Dimension, Set<String>> values = new EnumMap<>(Dimension.class);
+            for (Dimension dimension : Dimension.values()) {
+                values.put(dimension, Set.copyOf(header.values(dimension)));
+            }
+            return new Partition(path, loader, header.rows, header.minOrderDay, header.maxOrderDay, values, null);
+        }
+
+        /** Describes a partition whose rows have just been loaded. */
+        static Partition loaded(Path path, SalesDataLoader loader, SalesDataset dataset) {
+            Map<Dimension, Set<String>> values = new EnumMap<>(Dimension.class);
+            for (Dimension dimension : Dimension.values()) {
+                values.put(dimension, Set.copyOf(dataset.dictionary(dimension).values()));
+            }
+            int[] days = dataset.orderDays();
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int i = 0, n = dataset.size(); i < n; i++) {
+                min = Math.min(min, days[i]);
+                max = Math.max(max, days[i]);
+            }
+            return new Partition(path, loader, dataset.size(), min, max, values, dataset);
+        }
+
+        public Path path() {
+            return path;
+        }
+
+        public int rows() {
+            return rows;
+        }
+
+        /**
+         * Returns the earliest order date in the partition.
+         *
+         * @return earliest order date, or null if the partition is empty
+         */
+        public LocalDate minOrderDate() {
+            return rows == 0 ? null : LocalDate.ofEpochDay(minOrderDay);
+        }
+
+        /**
+         * Returns the latest order date in the partition.
+         *
+         * @return latest order date, or null if the partition is empty
+         */
+        public LocalDate maxOrderDate() {
+            return rows == 0 ? null : LocalDate.ofEpochDay(maxOrderDay);
+        }
+
+        /**
+         * Returns the values of a dimension that occur in the partition.
+         *
+         * @param dimension dimension to look up
+         * @return unmodifiable set of values
+         */
+        public Set<String> values(Dimension dimension) {
+            return values.get(dimension);
+        }
+
+        /**
+         * Tells whether the partition's rows are in memory.
+         *
+         * @return true once the rows have been read
+         */
+        public synchronized boolean isLoaded() {
+            return dataset != null;
+        }
+
+        int minOrderDay() {
+            return minOrderDay;
+        }
+
+        int maxOrderDay() {
+            return maxOrderDay;
+        }
+
+        /**
+         * Returns the partition's rows, reading them through the loader's
+         * snapshot cache on first use.
+         */
+        synchronized SalesDataset dataset() throws IOException {
+            if (dataset == null) {
+                dataset = loader.loadCached(path);
+            }
+            return dataset;
+        }
+
+        @Override
+        public String toString() {
+            return path.getFileName() + " (" + rows + " rows, " + minOrderDate() + " to " + maxOrderDate() + ")";
+        }
+    }
+}
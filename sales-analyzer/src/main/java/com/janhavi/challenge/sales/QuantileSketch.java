@@ -0,0 +1,287 @@
+package com.janhavi.challenge.sales;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch (KLL) for estimating percentiles, such as the
+ * median or p99 revenue, in one pass and bounded memory.
+ *
+ * Values enter a buffer at level 0. When the levels hold more than their
+ * capacity, the lowest full level is sorted and every other value, starting
+ * at a random offset, moves up one level with twice the weight; the rest
+ * are dropped. Capacities shrink by a factor 2/3 per level below the top,
+ * so the sketch keeps about {@code 3k} values however many it has seen.
+ *
+ * Error bound: for the default {@code k = 200}, the rank of an estimated
+ * quantile is within about 1.3% of {@code count()} of the requested rank
+ * with 99% probability (the error scales as roughly {@code 2.6 / k}).
+ * The minimum and maximum are exact. Offsets are drawn from a fixed seed,
+ * so the same input always gives the same estimates.
+ *
+ * Not thread-safe; build one sketch per thread and {@link #merge} them.
+ */
+public final class QuantileSketch {
+
+    /** Default accuracy parameter. */
+    public static final int DEFAULT_K = 200;
+
+    private static final int MIN_K = 8;
+    private static final double LEVEL_RATIO = 2.0 / 3.0;
+
+    private final int k;
+    private double[][] levels = new double[1][];
+    private int[] sizes = new int[1];
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    // Values held over all levels, and the sum of the level capacities
+    private int retained;
+    private int totalCapacity;
+    private long random = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Creates a sketch with the default accuracy.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * Creates a sketch keeping about {@code 3k} values.
+     *
+     * @param k accuracy parameter; larger values are more accurate
+     */
+    public QuantileSketch(int k) {
+        if (k < MIN_K) {
+            throw new IllegalArgumentException("k must be >= " + MIN_K + ": " + k);
+        }
+        this.k = k;
+        levels[0] = new double[0];
+        totalCapacity = capacity(0);
+    }
+
+    /**
+     * Adds a value. NaN values are ignored.
+     *
+     * @param value value to add
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (retained >= totalCapacity) {
+            compress();
+        }
+        ensureCapacity(0, sizes[0] + 1);
+        levels[0][sizes[0]++] = value;
+        retained++;
+    }
+
+    /**
+     * Folds another sketch into this one, as if this sketch had seen its
+     * values too.
+     *
+     * @param other sketch with the same {@code k}
+     * @return this sketch
+     */
+    public QuantileSketch merge(QuantileSketch other) {
+        if (other.k != k) {
+            throw new IllegalArgumentException("Cannot merge sketches with k " + k + " and " + other.k);
+        }
+        if (other.count == 0) {
+            return this;
+        }
+        while (levels.length < other.levels.length) {
+            addLevel();
+        }
+        for (int h = 0; h < other.levels.length; h++) {
+            append(h, other.levels[h], other.sizes[h]);
+        }
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        while (retained > totalCapacity) {
+            compress();
+        }
+        return this;
+    }
+
+    /**
+     * Returns an independent sketch holding the same values, so callers
+     * sharing a cached sketch can add to their own copy.
+     *
+     * @return new sketch equal to this one
+     */
+    QuantileSketch copy() {
+        return new QuantileSketch(k).merge(this);
+    }
+
+    /**
+     * Returns the number of values added, over all merged sketches.
+     *
+     * @return value count
+     */
+    public long count() {
+        return count;
+    }
+
+    public double min() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    public double max() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    /**
+     * Estimates a quantile.
+     *
+     * @param fraction rank fraction in [0, 1], e.g. 0.5 for the median
+     * @return estimated value at that rank, or NaN if the sketch is empty
+     */
+    public double quantile(double fraction) {
+        return quantiles(fraction)[0];
+    }
+
+    /**
+     * Estimates several quantiles with one sort of the retained values.
+     *
+     * @param fractions rank fractions in [0, 1]
+     * @return estimated values, in argument order; NaN if the sketch is empty
+     */
+    public double[] quantiles(double... fractions) {
+        for (double fraction : fractions) {
+            if (!(fraction >= 0 && fraction <= 1)) {
+                throw new IllegalArgumentException("fraction must be in [0, 1]: " + fraction);
+            }
+        }
+        double[] result = new double[fractions.length];
+        if (count == 0) {
+            Arrays.fill(result, Double.NaN);
+            return result;
+        }
+
+        // Merge the sorted levels into one run; a value at level h weighs 2^h
+        double[] sorted = new double[0];
+        long[] weights = new long[0];
+        for (int h = 0; h < levels.length; h++) {
+            double[] level = Arrays.copyOf(levels[h], sizes[h]);
+            Arrays.sort(level);
+            double[] values = new double[sorted.length + level.length];
+            long[] merged = new long[values.length];
+            for (int out = 0, i = 0, j = 0; out < values.length; out++) {
+                if (j == level.length || (i < sorted.length && sorted[i] <= level[j])) {
+                    values[out] = sorted[i];
+                    merged[out] = weights[i++];
+                } else {
+                    values[out] = level[j++];
+                    merged[out] = 1L << h;
+                }
+            }
+            sorted = values;
+            weights = merged;
+        }
+        int n = sorted.length;
+        long[] cumulative = new long[n];
+        long weight = 0;
+        for (int i = 0; i < n; i++) {
+            weight += weights[i];
+            cumulative[i] = weight;
+        }
+
+        for (int q = 0; q < fractions.length; q++) {
+            if (fractions[q] == 0) {
+                result[q] = min;
+            } else if (fractions[q] == 1) {
+                result[q] = max;
+            } else {
+                // First value whose cumulative weight reaches the requested rank
+                double rank = fractions[q] * weight;
+                int lo = 0;
+                int hi = n - 1;
+                while (lo < hi) {
+                    int mid = (lo + hi) >>> 1;
+                    if (cumulative[mid] < rank) {
+                        lo = mid + 1;
+                    } else {
+                        hi = mid;
+                    }
+                }
+                result[q] = Math.max(min, Math.min(max, sorted[lo]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compacts the lowest level that has reached its capacity, adding a
+     * level on top when needed.
+     */
+    private void compress() {
+        int h = 0;
+        while (sizes[h] < capacity(h)) {
+            h++;
+        }
+        if (h + 1 == levels.length) {
+            addLevel();
+        }
+        double[] level = levels[h];
+        int size = sizes[h];
+        Arrays.sort(level, 0, size);
+        // An odd value out stays behind, so the compacted run has even length
+        int keep = size & 1;
+        int offset = keep + (nextBit() ? 1 : 0);
+        int promoted = (size - keep) / 2;
+        ensureCapacity(h + 1, sizes[h + 1] + promoted);
+        double[] upper = levels[h + 1];
+        for (int i = offset; i < size; i += 2) {
+            upper[sizes[h + 1]++] = level[i];
+        }
+        sizes[h] = keep;
+        retained -= promoted;
+    }
+
+    private void addLevel() {
+        levels = Arrays.copyOf(levels, levels.length + 1);
+        sizes = Arrays.copyOf(sizes, sizes.length + 1);
+        levels[levels.length - 1] = new double[0];
+        totalCapacity = 0;
+        for (int h = 0; h < levels.length; h++) {
+            totalCapacity += capacity(h);
+        }
+    }
+
+    private void append(int h, double[] values, int n) {
+        ensureCapacity(h, sizes[h] + n);
+        System.arraycopy(values, 0, levels[h], sizes[h], n);
+        sizes[h] += n;
+        retained += n;
+    }
+
+    private void ensureCapacity(int h, int needed) {
+        if (levels[h].length < needed) {
+            levels[h] = Arrays.copyOf(levels[h], Math.max(needed + needed / 2, capacity(h)));
+        }
+    }
+
+    /** Capacity of a level, largest at the top and shrinking by 2/3 per level below. */
+    private int capacity(int h) {
+        return Math.max(2, (int) Math.ceil(k * Math.pow(LEVEL_RATIO, levels.length - 1 - h)));
+    }
+
+    /** Next bit of a xorshift generator with a fixed seed. */
+    private boolean nextBit() {
+        random ^= random << 13;
+        random ^= random >>> 7;
+        random ^= random << 17;
+        return random < 0;
+    }
+
+    @Override
+    public String toString() {
+        return "QuantileSketch[k=" + k + ", count=" + count + ", retained=" + retained + "]";
+    }
+}
@@ -0,0 +1,107 @@
+package com.janhavi.challenge.sales;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded LRU cache of query results for {@link SalesAnalyzer}.
+ *
+ * Every lookup passes the current version of the data. When it differs
+ * from the version the entries were computed at, all entries are dropped
+ * first, so a result is never served for data that has changed since.
+ *
+ * Thread-safe. The result is computed outside the lock, so a slow query
+ * does not block hits on other keys; two threads missing the same key at
+ * once both compute it.
+ */
+final class QueryCache {
+
+    private final int capacity;
+    private final LinkedHashMap<Object, Object> entries;
+
+    private long version;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param capacity largest number of results kept
+     */
+    QueryCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be >= 1: " + capacity);
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+                if (size() > QueryCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached result for a key, computing and caching it on a
+     * miss.
+     *
+     * @param key     query and parameters; must implement equals and hashCode
+     * @param version current version of the queried data
+     * @param compute computes the result on a miss
+     * @param <T>     result type
+     * @return cached or newly computed result
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(Object key, long version, Supplier<T> compute) {
+        synchronized (this) {
+            validate(version);
+            Object cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return (T) cached;
+            }
+            misses++;
+        }
+        T result = compute.get();
+        synchronized (this) {
+            // Data that changed while computing makes the result stale before it is stored
+            if (this.version == version) {
+                entries.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drops every entry.
+     */
+    synchronized void clear() {
+        if (!entries.isEmpty()) {
+            entries.clear();
+            invalidations++;
+        }
+    }
+
+    /**
+     * Returns the current counters.
+     *
+     * @return statistics snapshot
+     */
+    synchronized QueryCacheStats stats() {
+        return new QueryCacheStats(capacity, entries.size(), hits, misses, evictions, invalidations);
+    }
+
+    private void validate(long version) {
+        if (this.version != version) {
+            clear();
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.janhavi.challenge.sales;
+
+import java.util.Locale;
+
+/**
+ * Immutable counters of a {@link SalesAnalyzer}'s query result cache.
+ */
+public final class QueryCacheStats {
+
+    private final int capacity;
+    private final int size;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long invalidations;
+
+    QueryCacheStats(int capacity, int size, long hits, long misses, long evictions, long invalidations) {
+        this.capacity = capacity;
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.invalidations = invalidations;
+    }
+
+    /** Largest number of cached results. */
+    public int capacity() { return capacity; }
+
+    /** Number of results cached now. */
+    public int size() { return size; }
+
+    /** Calls answered from the cache. */
+    public long hits() { return hits; }
+
+    /** Calls that ran the query. */
+    public long misses() { return misses; }
+
+    /** Results dropped to make room for newer ones. */
+    public long evictions() { return evictions; }
+
+    /** Times the whole cache was dropped because the data changed or on request. */
+    public long invalidations() { return invalidations; }
+
+    /**
+     * Returns the fraction of calls answered from the cache.
+     *
+     * @return hits / (hits + misses), or 0 before the first call
+     */
+    public double hitRate() {
+        long calls = hits + misses;
+        return calls == 0 ? 0 : (double) hits / calls;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "QueryCacheStats[size=%d/%d, hits=%d, misses=%d, evictions=%d, invalidations=%d]",
+                size, capacity, hits, misses, evictions, invalidations);
+    }
+}
@@ -0,0 +1,36 @@
+package com.janhavi.challenge.sales;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one {@link SalesAnalyzer} query. The event's duration is
+ * the time spent aggregating.
+ */
+@Name("com.janhavi.challenge.sales.Query")
+@Label("Sales Query")
+@Category({"Sales Analyzer", "Query"})
+@Description("One analysis query over loaded sales data")
+@StackTrace(false)
+final class QueryEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Backend")
+    @Description("Storage the query ran on: records, dataset, cube, offHeap or compressed")
+    String backend;
+
+    @Label("Rows")
+    @Description("Rows held by the backend")
+    long rows;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+}
@@ -0,0 +1,120 @@
+package com.janhavi.challenge.sales;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable table produced by a {@link SalesQuery}: one row per group, in
+ * the order the groups were first encountered, with one value per
+ * requested {@link Aggregate}.
+ *
+ * An ungrouped query always yields exactly one row with an empty key.
+ */
+public final class QueryResult {
+
+    private final List<Dimension> groupBy;
+    private final List<Aggregate> aggregates;
+    private final List<List<String>> keys;
+    private final double[][] values;
+
+    QueryResult(List<Dimension> groupBy, List<Aggregate> aggregates,
+                List<List<String>> keys, double[][] values) {
+        this.groupBy = List.copyOf(groupBy);
+        this.aggregates = List.copyOf(aggregates);
+        this.keys = List.copyOf(keys);
+        this.values = values;
+    }
+
+    public List<Dimension> groupBy() { return groupBy; }
+
+    public List<Aggregate> aggregates() { return aggregates; }
+
+    /**
+     * Returns the number of groups.
+     *
+     * @return row count
+     */
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * Returns a group's dimension values, in {@link #groupBy()} order.
+     *
+     * @param row group index
+     * @return unmodifiable key
+     */
+    public List<String> key(int row) {
+        return keys.get(row);
+    }
+
+    /**
+     * Returns one aggregate of a group.
+     *
+     * @param row       group index
+     * @param aggregate aggregate requested by the query
+     * @return aggregate value
+     * @throws IllegalArgumentException if the aggregate was not requested
+     */
+    public double value(int row, Aggregate aggregate) {
+        return values[row][column(aggregate)];
+    }
+
+    /**
+     * Returns one aggregate for every group.
+     *
+     * @param aggregate aggregate requested by the query
+     * @return map of group key -> aggregate value, in group order
+     * @throws IllegalArgumentException if the aggregate was not requested
+     */
+    public Map<List<String>, Double> toMap(Aggregate aggregate) {
+        int column = column(aggregate);
+        Map<List<String>, Double> result = new LinkedHashMap<>();
+        for (int row = 0; row < keys.size(); row++) {
+            result.put(keys.get(row), values[row][column]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns one aggregate per value of the single grouping dimension.
+     *
+     * @param aggregate aggregate requested by the query
+     * @return map of dimension value -> aggregate value, in group order
+     * @throws IllegalStateException if the query did not group by exactly one dimension
+     */
+    public Map<String, Double> toSimpleMap(Aggregate aggregate) {
+        if (groupBy.size() != 1) {
+            throw new IllegalStateException("Query groups by " + groupBy + ", not by one dimension");
+        }
+        int column = column(aggregate);
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (int row = 0; row < keys.size(); row++) {
+            result.put(keys.get(row).get(0), values[row][column]);
+        }
+        return result;
+    }
+
+    private int column(Aggregate aggregate) {
+        int column = aggregates.indexOf(aggregate);
+        if (column < 0) {
+            throw new IllegalArgumentException(aggregate + " was not requested");
+        }
+        return column;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(groupBy).append(" ").append(aggregates).append('\n');
+        for (int row = 0; row < keys.size(); row++) {
+            sb.append("  ").append(keys.get(row)).append(" =>");
+            for (double value : values[row]) {
+                sb.append(' ').append(value);
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,106 @@
+package com.janhavi.challenge.sales;
+
+import java.time.YearMonth;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Answers queries over a list of {@link SalesRecord}s with Java Streams.
+ */
+final class RecordListBackend implements SalesBackend {
+
+    private final List<SalesRecord> records;
+
+    RecordListBackend(List<SalesRecord> records) {
+        this.records = records;
+    }
+
+    @Override
+    public String name() {
+        return "records";
+    }
+
+    @Override
+    public int size() {
+        return records.size();
+    }
+
+    /**
+     * Lists have no public modification count, so only a change of size is
+     * seen; callers invalidate the cache after any other change.
+     */
+    @Override
+    public long version() {
+        return records.size();
+    }
+
+    @Override
+    public double sum(Measure measure) {
+        return records.stream()
+                .mapToDouble(measure::of)
+                .sum();
+    }
+
+    @Override
+    public Map<String, Double> sumBy(Dimension dimension, Measure measure) {
+        return records.stream()
+                .collect(Collectors.groupingBy(
+                        dimension::of,
+                        Collectors.summingDouble(measure::of)
+                ));
+    }
+
+    @Override
+    public Map<String, Integer> unitsSoldBy(Dimension dimension) {
+        return records.stream()
+                .collect(Collectors.groupingBy(
+                        dimension::of,
+                        Collectors.summingInt(SalesRecord::getUnitsSold)
+                ));
+    }
+
+    @Override
+    public Map<YearMonth, Double> sumByMonth(Measure measure) {
+        return records.stream()
+                .collect(Collectors.groupingBy(
+                        r -> YearMonth.from(r.getOrderDate()),
+                        Collectors.summingDouble(measure::of)
+                ));
+    }
+
+    @Override
+    public void forEach(Measure measure, DoubleConsumer action) {
+        records.forEach(record -> action.accept(measure.of(record)));
+    }
+
+    @Override
+    public DoubleSummaryStatistics statistics(Measure measure) {
+        return records.stream()
+                .mapToDouble(measure::of)
+                .summaryStatistics();
+    }
+
+    @Override
+    public void forEachRow(Consumer<? super SalesRow> action) {
+        records.forEach(action);
+    }
+
+    @Override
+    public List<SalesRecord> rank(TopNQuery query) {
+        return query.list(records);
+    }
+
+    @Override
+    public Map<String, List<SalesRecord>> rankByGroup(TopNQuery query, Dimension groupBy) {
+        return query.listByGroup(records, groupBy);
+    }
+
+    @Override
+    public QueryResult query(SalesQuery query) {
+        return query.run(records);
+    }
+}
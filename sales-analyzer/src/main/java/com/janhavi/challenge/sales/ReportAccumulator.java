@@ -0,0 +1,420 @@
+package com.janhavi.challenge.sales;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.DoubleSummaryStatistics;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mutable running state of a {@link SalesReport}: every requested section
+ * is updated from each row in a single pass.
+ *
+ * Sums are kept exactly and rounded once in {@link #toReport()} (see
+ * {@link ExactSum}), so they do not depend on how the rows were split.
+ * Accumulators over disjoint parts of the data can therefore be combined
+ * with {@link #merge(ReportAccumulator)}; merging in data order yields
+ * exactly the report a single accumulator over all rows would produce.
+ * Those sums may differ in the last bit from the Kahan-compensated sums of
+ * the individual {@link SalesAnalyzer} queries.
+ *
+ * Accumulators can also be written to a compact binary form with
+ * {@link #writeTo(DataOutput)} and read back with
+ * {@link #readFrom(DataInput)}, so partial results can be computed in other
+ * processes and merged by one coordinator.
+ *
+ * Not thread-safe; use one accumulator per thread and merge them.
+ */
+public final class ReportAccumulator {
+
+    // "SRPA" (sales report partial accumulator)
+    private static final int MAGIC = 0x53525041;
+    private static final int VERSION = 2;
+
+    private final Set<ReportSection> sections;
+    private final int topN;
+
+    private final boolean totalRevenueOn;
+    private final boolean totalProfitOn;
+    private final boolean revenueByRegionOn;
+    private final boolean profitByRegionOn;
+    private final boolean revenueByItemTypeOn;
+    private final boolean unitsByCountryOn;
+    private final boolean monthlyRevenueOn;
+    private final boolean topOrdersOn;
+    private final boolean statisticsOn;
+
+    private final ExactSum totalRevenue = new ExactSum();
+    private final ExactSum totalProfit = new ExactSum();
+    // Linked maps keep first-seen order; result maps are then filled through
+    // computeIfAbsent in that order, so they iterate exactly like groupingBy maps
+    private final Map<String, ExactSum> revenueByRegion = new LinkedHashMap<>();
+    private final Map<String, ExactSum> profitByRegion = new LinkedHashMap<>();
+    private final Map<String, ExactSum> revenueByItemType = new LinkedHashMap<>();
+    private final Map<String, int[]> unitsByCountry = new LinkedHashMap<>();
+    // Revenue statistics, kept apart so that their sum is exact as well
+    private long revenueCount;
+    private double revenueMin = Double.POSITIVE_INFINITY;
+    private double revenueMax = Double.NEGATIVE_INFINITY;
+    private final ExactSum revenueSum = new ExactSum();
+
+    // Monthly sums addressed by month index - monthBase
+    private ExactSum[] monthly = new ExactSum[0];
+    private int monthBase;
+    // Month indexes in first-seen order
+    private int[] monthOrder = new int[16];
+    private int monthCount;
+
+    // Most profitable orders so far, keyed by profit and row sequence
+    private final TopKHeap<SalesRecord> topOrders;
+
+    // Rows seen so far; doubles as the encounter sequence for tie-breaking
+    private long rows;
+
+    /**
+     * Creates an accumulator for the given sections.
+     *
+     * @param sections sections to compute
+     * @param topN     number of orders kept for {@link ReportSection#TOP_PROFITABLE_ORDERS}
+     */
+    public ReportAccumulator(Set<ReportSection> sections, int topN) {
+        if (topN < 0) {
+            throw new IllegalArgumentException("topN must be >= 0");
+        }
+        this.sections = sections.isEmpty()
+                ? EnumSet.noneOf(ReportSection.class)
+                : EnumSet.copyOf(sections);
+        this.topN = topN;
+        this.totalRevenueOn = this.sections.contains(ReportSection.TOTAL_REVENUE);
+        this.totalProfitOn = this.sections.contains(ReportSection.TOTAL_PROFIT);
+        this.revenueByRegionOn = this.sections.contains(ReportSection.REVENUE_BY_REGION);
+        this.profitByRegionOn = this.sections.contains(ReportSection.PROFIT_BY_REGION);
+        this.revenueByItemTypeOn = this.sections.contains(ReportSection.REVENUE_BY_ITEM_TYPE);
+        this.unitsByCountryOn = this.sections.contains(ReportSection.UNITS_SOLD_BY_COUNTRY);
+        this.monthlyRevenueOn = this.sections.contains(ReportSection.MONTHLY_REVENUE);
+        this.topOrdersOn = this.sections.contains(ReportSection.TOP_PROFITABLE_ORDERS);
+        this.statisticsOn = this.sections.contains(ReportSection.REVENUE_STATISTICS);
+        this.topOrders = new TopKHeap<>(topN, true);
+    }
+
+    /**
+     * Folds one row into every requested section. Rows are copied only if
+     * they enter the top orders.
+     *
+     * @param row row to accumulate
+     */
+    public void accept(SalesRow row) {
+        long seq = rows++;
+        double revenue = row.getTotalRevenue();
+        double profit = row.getTotalProfit();
+
+        if (totalRevenueOn) {
+            totalRevenue.add(revenue);
+        }
+        if (totalProfitOn) {
+            totalProfit.add(profit);
+        }
+        if (revenueByRegionOn) {
+            revenueByRegion.computeIfAbsent(row.getRegion(), k -> new ExactSum()).add(revenue);
+        }
+        if (profitByRegionOn) {
+            profitByRegion.computeIfAbsent(row.getRegion(), k -> new ExactSum()).add(profit);
+        }
+        if (revenueByItemTypeOn) {
+            revenueByItemType.computeIfAbsent(row.getItemType(), k -> new ExactSum()).add(revenue);
+        }
+        if (unitsByCountryOn) {
+            unitsByCountry.computeIfAbsent(row.getCountry(), k -> new int[1])[0] += row.getUnitsSold();
+        }
+        if (monthlyRevenueOn) {
+            monthSum(EpochDays.monthIndex(row.getOrderEpochDay())).add(revenue);
+        }
+        if (topOrdersOn && topOrders.accepts(profit, seq)) {
+            topOrders.offer(profit, seq, SalesRecord.of(row));
+        }
+        if (statisticsOn) {
+            revenueCount++;
+            revenueMin = Math.min(revenueMin, revenue);
+            revenueMax = Math.max(revenueMax, revenue);
+            revenueSum.add(revenue);
+        }
+    }
+
+    /**
+     * Adds the state of an accumulator over rows that come after this one's
+     * rows. Both accumulators must request the same sections.
+     *
+     * @param other accumulator over the following rows
+     * @return this accumulator
+     */
+    public ReportAccumulator merge(ReportAccumulator other) {
+        if (!sections.equals(other.sections) || topN != other.topN) {
+            throw new IllegalArgumentException("Cannot merge accumulators with different sections");
+        }
+        totalRevenue.add(other.totalRevenue);
+        totalProfit.add(other.totalProfit);
+        mergeSums(revenueByRegion, other.revenueByRegion);
+        mergeSums(profitByRegion, other.profitByRegion);
+        mergeSums(revenueByItemType, other.revenueByItemType);
+        other.unitsByCountry.forEach((k, v) -> unitsByCountry.computeIfAbsent(k, x -> new int[1])[0] += v[0]);
+        for (int i = 0; i < other.monthCount; i++) {
+            int month = other.monthOrder[i];
+            monthSum(month).add(other.monthly[month - other.monthBase]);
+        }
+        // The other's rows follow ours, so shift its sequence numbers
+        topOrders.merge(other.topOrders, rows);
+        revenueCount += other.revenueCount;
+        revenueMin = Math.min(revenueMin, other.revenueMin);
+        revenueMax = Math.max(revenueMax, other.revenueMax);
+        revenueSum.add(other.revenueSum);
+        rows += other.rows;
+        return this;
+    }
+
+    /**
+     * Returns the number of rows accumulated.
+     *
+     * @return row count
+     */
+    public long rows() {
+        return rows;
+    }
+
+    /**
+     * Builds an immutable report from the current state.
+     *
+     * @return report holding the requested sections
+     */
+    public SalesReport toReport() {
+        Map<YearMonth, Double> monthlyRevenue = new HashMap<>();
+        for (int i = 0; i < monthCount; i++) {
+            int month = monthOrder[i];
+            double sum = monthly[month - monthBase].get();
+            monthlyRevenue.computeIfAbsent(EpochDays.yearMonth(month), k -> sum);
+        }
+        Map<String, Integer> units = new HashMap<>();
+        unitsByCountry.forEach((k, v) -> units.computeIfAbsent(k, x -> v[0]));
+
+        List<SalesRecord> top = topOrders.sortedPayloads();
+
+        DoubleSummaryStatistics stats = statistics(revenueCount, revenueMin, revenueMax, revenueSum.get());
+
+        return new SalesReport(sections, topN,
+                totalRevenue.get(), totalProfit.get(),
+                totals(revenueByRegion), totals(profitByRegion), totals(revenueByItemType),
+                units, monthlyRevenue, top, stats);
+    }
+
+    /**
+     * Builds summary statistics from the running parts. The statistics
+     * constructor rejects a NaN sum beside a non-NaN minimum and maximum,
+     * which opposite infinities produce; such a sum is then formed by
+     * combining two parts whose sums are opposite infinities, as feeding
+     * the values one by one would.
+     */
+    private static DoubleSummaryStatistics statistics(long count, double min, double max, double sum) {
+        if (count == 0) {
+            return new DoubleSummaryStatistics();
+        }
+        try {
+            return new DoubleSummaryStatistics(count, min, max, sum);
+        } catch (IllegalArgumentException e) {
+            // Only reached for a NaN sum of at least two values
+            DoubleSummaryStatistics stats = new DoubleSummaryStatistics(count - 1, min, max, Double.POSITIVE_INFINITY);
+            stats.combine(new DoubleSummaryStatistics(1, min, max, Double.NEGATIVE_INFINITY));
+            return stats;
+        }
+    }
+
+    /**
+     * Writes the complete state. Sums keep their exact partials, so an
+     * accumulator read back merges like this one would.
+     *
+     * Layout: magic, version, sections as a bitmask of ordinals, topN, row
+     * count, the two totals, the three sum maps and the units map as
+     * counted key/value lists in first-seen order, the monthly sums as
+     * (month index, sum) in first-seen order, the top orders as (profit,
+     * sequence, record) in heap order, then the revenue statistics' count,
+     * min, max and sum.
+     *
+     * @param out stream to write to
+     * @throws IOException if writing fails
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(sectionMask(sections));
+        out.writeInt(topN);
+        out.writeLong(rows);
+        totalRevenue.writeTo(out);
+        totalProfit.writeTo(out);
+        writeSums(out, revenueByRegion);
+        writeSums(out, profitByRegion);
+        writeSums(out, revenueByItemType);
+        out.writeInt(unitsByCountry.size());
+        for (Map.Entry<String, int[]> entry : unitsByCountry.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue()[0]);
+        }
+        out.writeInt(monthCount);
+        for (int i = 0; i < monthCount; i++) {
+            out.writeInt(monthOrder[i]);
+            monthly[monthOrder[i] - monthBase].writeTo(out);
+        }
+        out.writeInt(topOrders.size());
+        for (int i = 0; i < topOrders.size(); i++) {
+            out.writeDouble(topOrders.key(i));
+            out.writeLong(topOrders.seq(i));
+            writeRecord(out, topOrders.payload(i));
+        }
+        out.writeLong(revenueCount);
+        out.writeDouble(revenueMin);
+        out.writeDouble(revenueMax);
+        revenueSum.writeTo(out);
+    }
+
+    /**
+     * Reads an accumulator written by {@link #writeTo(DataOutput)}.
+     *
+     * @param in stream to read from
+     * @return accumulator with the written state
+     * @throws IOException if reading fails or the data is not an accumulator
+     */
+    public static ReportAccumulator readFrom(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a serialized report accumulator");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported report accumulator version " + version);
+        }
+        Set<ReportSection> sections = sections(in.readInt());
+        ReportAccumulator result = new ReportAccumulator(sections, in.readInt());
+        result.rows = in.readLong();
+        result.totalRevenue.readFrom(in);
+        result.totalProfit.readFrom(in);
+        readSums(in, result.revenueByRegion);
+        readSums(in, result.profitByRegion);
+        readSums(in, result.revenueByItemType);
+        for (int i = in.readInt(); i > 0; i--) {
+            String country = in.readUTF();
+            result.unitsByCountry.put(country, new int[]{in.readInt()});
+        }
+        for (int i = in.readInt(); i > 0; i--) {
+            result.monthSum(in.readInt()).readFrom(in);
+        }
+        for (int i = in.readInt(); i > 0; i--) {
+            double profit = in.readDouble();
+            long seq = in.readLong();
+            result.topOrders.offer(profit, seq, readRecord(in));
+        }
+        result.revenueCount = in.readLong();
+        result.revenueMin = in.readDouble();
+        result.revenueMax = in.readDouble();
+        result.revenueSum.readFrom(in);
+        return result;
+    }
+
+    /** Encodes sections as a bitmask of their ordinals. */
+    static int sectionMask(Set<ReportSection> sections) {
+        int mask = 0;
+        for (ReportSection section : sections) {
+            mask |= 1 << section.ordinal();
+        }
+        return mask;
+    }
+
+    /** Decodes a bitmask written by {@link #sectionMask}. */
+    static Set<ReportSection> sections(int mask) {
+        Set<ReportSection> sections = EnumSet.noneOf(ReportSection.class);
+        for (ReportSection section : ReportSection.values()) {
+            if ((mask & 1 << section.ordinal()) != 0) {
+                sections.add(section);
+            }
+        }
+        return sections;
+    }
+
+    private ExactSum monthSum(int monthIndex) {
+        if (monthly.length == 0) {
+            monthBase = monthIndex;
+            monthly = new ExactSum[1];
+        } else if (monthIndex < monthBase) {
+            int shift = monthBase - monthIndex;
+            ExactSum[] grown = new ExactSum[monthly.length + shift];
+            System.arraycopy(monthly, 0, grown, shift, monthly.length);
+            monthly = grown;
+            monthBase = monthIndex;
+        } else if (monthIndex - monthBase >= monthly.length) {
+            monthly = Arrays.copyOf(monthly, monthIndex - monthBase + 1);
+        }
+        int slot = monthIndex - monthBase;
+        if (monthly[slot] == null) {
+            monthly[slot] = new ExactSum();
+            if (monthCount == monthOrder.length) {
+                monthOrder = Arrays.copyOf(monthOrder, monthCount * 2);
+            }
+            monthOrder[monthCount++] = monthIndex;
+        }
+        return monthly[slot];
+    }
+
+    private static void mergeSums(Map<String, ExactSum> into, Map<String, ExactSum> from) {
+        from.forEach((k, v) -> into.computeIfAbsent(k, x -> new ExactSum()).add(v));
+    }
+
+    private static void writeSums(DataOutput out, Map<String, ExactSum> sums) throws IOException {
+        out.writeInt(sums.size());
+        for (Map.Entry<String, ExactSum> entry : sums.entrySet()) {
+            out.writeUTF(entry.getKey());
+            entry.getValue().writeTo(out);
+        }
+    }
+
+    private static void readSums(DataInput in, Map<String, ExactSum> into) throws IOException {
+        for (int i = in.readInt(); i > 0; i--) {
+            String key = in.readUTF();
+            ExactSum sum = new ExactSum();
+            sum.readFrom(in);
+            into.put(key, sum);
+        }
+    }
+
+    private static void writeRecord(DataOutput out, SalesRecord record) throws IOException {
+        out.writeUTF(record.getRegion());
+        out.writeUTF(record.getCountry());
+        out.writeUTF(record.getItemType());
+        out.writeUTF(record.getSalesChannel());
+        out.writeUTF(record.getOrderPriority());
+        out.writeLong(record.getOrderDate().toEpochDay());
+        out.writeLong(record.getOrderId());
+        out.writeLong(record.getShipDate().toEpochDay());
+        out.writeInt(record.getUnitsSold());
+        out.writeDouble(record.getUnitPrice());
+        out.writeDouble(record.getUnitCost());
+        out.writeDouble(record.getTotalRevenue());
+        out.writeDouble(record.getTotalCost());
+        out.writeDouble(record.getTotalProfit());
+    }
+
+    private static SalesRecord readRecord(DataInput in) throws IOException {
+        return new SalesRecord(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(),
+                LocalDate.ofEpochDay(in.readLong()), in.readLong(), LocalDate.ofEpochDay(in.readLong()),
+                in.readInt(), in.readDouble(), in.readDouble(),
+                in.readDouble(), in.readDouble(), in.readDouble());
+    }
+
+    private static Map<String, Double> totals(Map<String, ExactSum> sums) {
+        Map<String, Double> result = new HashMap<>();
+        sums.forEach((k, v) -> result.computeIfAbsent(k, x -> v.get()));
+        return result;
+    }
+}
@@ -0,0 +1,35 @@
+package com.janhavi.challenge.sales;
+
+/**
+ * Aggregations a {@link SalesReport} can contain. Each section corresponds
+ * to one of the {@link SalesAnalyzer} queries.
+ */
+public enum ReportSection {
+
+    /** Sum of total revenue, see {@link SalesAnalyzer#totalRevenue()}. */
+    TOTAL_REVENUE,
+
+    /** Sum of total profit, see {@link SalesAnalyzer#totalProfit()}. */
+    TOTAL_PROFIT,
+
+    /** Revenue per region, see {@link SalesAnalyzer#revenueByRegion()}. */
+    REVENUE_BY_REGION,
+
+    /** Profit per region, see {@link SalesAnalyzer#profitByRegion()}. */
+    PROFIT_BY_REGION,
+
+    /** Revenue per item type, see {@link SalesAnalyzer#revenueByItemType()}. */
+    REVENUE_BY_ITEM_TYPE,
+
+    /** Units sold per country, see {@link SalesAnalyzer#unitsSoldByCountry()}. */
+    UNITS_SOLD_BY_COUNTRY,
+
+    /** Revenue per order month, see {@link SalesAnalyzer#monthlyRevenue()}. */
+    MONTHLY_REVENUE,
+
+    /** Most profitable orders, see {@link SalesAnalyzer#topNProfitableOrders(int)}. */
+    TOP_PROFITABLE_ORDERS,
+
+    /** Revenue summary statistics, see {@link SalesAnalyzer#revenueStatistics()}. */
+    REVENUE_STATISTICS
+}
@@ -1,74 +1,117 @@
 package com.janhavi.challenge.sales;
 
 import java.nio.file.Path;
-import java.time.YearMonth;
-import java.util.Map;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Entry point for the Sales Analysis application.
  *
  * Expected input: Path to a valid CSV file containing sales data.</p>
+ *
+ * With {@code --streaming} the report is computed while the file is parsed,
+ * without keeping the rows in memory, so files larger than the heap can be
+ * analyzed. With {@code --snapshot} the parsed data is cached in a binary
+ * snapshot next to the CSV and reloaded from there while the CSV is unchanged.
+ * With {@code --watch} the report is printed again whenever rows are appended
+ * to the CSV, parsing only the new lines, until the process is stopped.
+ * With {@code --metrics} the load and query metrics are published over JMX
+ * and printed to standard error at the end. With {@code --shards=N} the
+ * report is computed by N worker processes, each over part of the file or
+ * of a directory of partition files, and their partial results are merged.
+ * With {@code --serve=PORT} the data is loaded once and kept in memory, and
+ * queries are answered as JSON over HTTP on the loopback interface until
+ * the process is stopped; see {@link SalesQueryServer}.
  */
 public class SalesAnalysisApp {
 
+    private static final Set<String> OPTIONS = Set.of("--streaming", "--snapshot", "--watch", "--metrics");
+
     public static void main(String[] args) throws Exception {
 
-        if (args.length == 0) {
-            System.err.println("Usage: java SalesAnalysisApp <path-to-sales-sample.csv>");
+        Set<String> options = new HashSet<>();
+        Path csvPath = null;
+        int shards = 0;
+        // -1 when not serving, -2 when the port is invalid
+        int port = -1;
+        for (String arg : args) {
+            if (arg.startsWith("--shards=")) {
+                shards = parseShards(arg.substring("--shards=".length()));
+            } else if (arg.startsWith("--serve=")) {
+                port = parsePort(arg.substring("--serve=".length()));
+            } else if (arg.startsWith("--")) {
+                options.add(arg);
+            } else {
+                csvPath = Path.of(arg);
+            }
+        }
+        if (csvPath == null || shards < 0 || port < -1 || !OPTIONS.containsAll(options)) {
+            System.err.println("Usage: java SalesAnalysisApp [--streaming | --snapshot | --watch | --shards=N | --serve=PORT] [--metrics] <path-to-sales-sample.csv>");
             System.exit(1);
         }
 
-        Path csvPath = Path.of(args[0]);
+        if (options.contains("--metrics")) {
+            SalesMetrics.registerMBeans();
+        }
         SalesDataLoader loader = new SalesDataLoader();
+        Set<ReportSection> sections = EnumSet.allOf(ReportSection.class);
 
-        var records = loader.load(csvPath);
-        SalesAnalyzer analyzer = new SalesAnalyzer(records);
-
-        System.out.println("\n=== SALES ANALYSIS REPORT ===");
-
-        System.out.println("\nTotal Revenue: " + analyzer.totalRevenue());
-        System.out.println("Total Profit: " + analyzer.totalProfit());
-
-        System.out.println("\nRevenue By Region:");
-        analyzer.revenueByRegion().forEach(
-                (k, v) -> System.out.println("  " + k + " => " + v)
-        );
-
-        System.out.println("\nProfit By Region:");
-        analyzer.profitByRegion().forEach(
-                (k, v) -> System.out.println("  " + k + " => " + v)
-        );
+        if (options.contains("--watch")) {
+            try (TailingReport tail = new TailingReport(csvPath, sections, 5)) {
+                tail.watch(Duration.ofSeconds(1), report -> report.print(System.out));
+            }
+            return;
+        }
 
-        System.out.println("\nRevenue By Item Type:");
-        analyzer.revenueByItemType().forEach(
-                (k, v) -> System.out.println("  " + k + " => " + v)
-        );
+        if (port >= 0) {
+            SalesDataset dataset = options.contains("--snapshot") ? loader.loadCached(csvPath) : loader.loadDataset(csvPath);
+            SalesQueryServer server = new SalesQueryServer(new SalesAnalyzer(dataset).enableCache(256), port).start();
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            System.err.println("Serving " + dataset.size() + " rows at http://127.0.0.1:" + server.port() + "/"
+                    + (server.usesVirtualThreads() ? " on virtual threads" : ""));
+            // The server's dispatcher thread keeps the JVM running
+            return;
+        }
 
-        System.out.println("\nUnits Sold By Country:");
-        analyzer.unitsSoldByCountry().forEach(
-                (k, v) -> System.out.println("  " + k + " => " + v)
-        );
+        SalesReport report;
+        if (shards > 0) {
+            report = new ShardedReport(shards).run(csvPath, sections, 5);
+        } else if (options.contains("--streaming")) {
+            report = loader.report(csvPath, sections, 5);
+        } else if (options.contains("--snapshot")) {
+            report = new SalesAnalyzer(loader.loadCached(csvPath)).report(sections, 5);
+        } else {
+            var records = loader.load(csvPath);
+            SalesAnalyzer analyzer = new SalesAnalyzer(records);
 
-        System.out.println("\nMonthly Revenue:");
-        for (Map.Entry<YearMonth, Double> e : analyzer.monthlyRevenue().entrySet()) {
-            System.out.println("  " + e.getKey() + " => " + e.getValue());
+            // All sections are computed together in one pass over the records
+            report = analyzer.report(sections, 5);
         }
+        report.print(System.out);
+        if (options.contains("--metrics")) {
+            SalesMetrics.print(System.err);
+        }
+    }
 
-        System.out.println("\nTop 5 Profitable Orders:");
-        analyzer.topNProfitableOrders(5)
-                .forEach(r -> System.out.println(
-                        r.getOrderId() + " | " +
-                                r.getCountry() + " | " +
-                                r.getItemType() + " | Profit: " +
-                                r.getTotalProfit()
-                ));
+    /** Returns the worker count of {@code --shards=N}, or -1 if it is not a positive number. */
+    private static int parseShards(String value) {
+        try {
+            int shards = Integer.parseInt(value);
+            return shards > 0 ? shards : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
 
-        var stats = analyzer.revenueStatistics();
-        System.out.println("\nRevenue Statistics:");
-        System.out.println("Count: " + stats.getCount());
-        System.out.println("Min: " + stats.getMin());
-        System.out.println("Max: " + stats.getMax());
-        System.out.println("Average: " + stats.getAverage());
-        System.out.println("Sum: " + stats.getSum());
+    /** Returns the port of {@code --serve=PORT}, or -2 if it is not a valid port. */
+    private static int parsePort(String value) {
+        try {
+            int port = Integer.parseInt(value);
+            return port >= 0 && port <= 65535 ? port : -2;
+        } catch (NumberFormatException e) {
+            return -2;
+        }
     }
 }
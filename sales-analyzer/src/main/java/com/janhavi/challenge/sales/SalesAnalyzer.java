@@ -1,19 +1,36 @@
 package com.janhavi.challenge.sales;
 
 import java.time.YearMonth;
+import java.util.Collections;
 import java.util.DoubleSummaryStatistics;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 /**
  * SalesAnalyzer performs analytical computations on a collection
  * of {@link SalesRecord} objects using Java Streams.
  *
+ * It can alternatively be backed by a columnar {@link SalesDataset}, in
+ * which case every query runs as a tight loop over primitive column arrays
+ * and groups by dictionary code instead of by String, or by an
+ * {@link OffHeapSalesStore}, whose loops read the same columns from
+ * off-heap buffers, or by a {@link CompressedSalesDataset}, which
+ * aggregates its encoded blocks itself.
+ *
+ * Every query is recorded by {@link SalesMetrics}. Results can be cached
+ * across calls with {@link #enableCache(int)}.
+ *
  */
 public class SalesAnalyzer {
 
-    private final List<SalesRecord> records;
+    private final SalesBackend backend;
+
+    private volatile QueryCache cache;
 
     /**
      * Constructs a SalesAnalyzer with the given list of sales records.
@@ -21,7 +38,51 @@ public class SalesAnalyzer {
      * @param records list of sales records to be analyzed
      */
     public SalesAnalyzer(List<SalesRecord> records) {
-        this.records = records;
+        this.backend = new RecordListBackend(records);
+    }
+
+    /**
+     * Constructs a SalesAnalyzer over a columnar dataset.
+     *
+     * @param dataset columnar sales data to be analyzed
+     */
+    public SalesAnalyzer(SalesDataset dataset) {
+        this(dataset, null);
+    }
+
+    /**
+     * Constructs a SalesAnalyzer over a columnar dataset and a rollup cube
+     * built from it. Sum and group-by queries read the cube; ranking and
+     * statistics queries still scan the dataset. Once the dataset holds
+     * more rows than the cube has rolled up, sums scan the dataset too.
+     *
+     * @param dataset columnar sales data to be analyzed
+     * @param cube    cube built from the same dataset, or null for none
+     */
+    public SalesAnalyzer(SalesDataset dataset, SalesCube cube) {
+        DatasetBackend columns = new DatasetBackend(Objects.requireNonNull(dataset, "dataset"));
+        this.backend = cube == null ? columns : new CubeBackend(columns, cube);
+    }
+
+    /**
+     * Constructs a SalesAnalyzer over an off-heap store. Queries read the
+     * store's columns directly; closing the store is left to the caller.
+     *
+     * @param store off-heap sales data to be analyzed
+     */
+    public SalesAnalyzer(OffHeapSalesStore store) {
+        this.backend = new OffHeapBackend(store);
+    }
+
+    /**
+     * Constructs a SalesAnalyzer over a compressed dataset. Sums and
+     * group-bys run on the encoded blocks; ranking and ad-hoc queries read
+     * rows through cursors that decode single values.
+     *
+     * @param compressed compressed sales data to be analyzed
+     */
+    public SalesAnalyzer(CompressedSalesDataset compressed) {
+        this.backend = new CompressedBackend(compressed);
     }
 
     /**
@@ -30,9 +91,8 @@ public class SalesAnalyzer {
      * @return sum of total revenue for all records
      */
     public double totalRevenue() {
-        return records.stream()
-                .mapToDouble(SalesRecord::getTotalRevenue)
-                .sum();
+        return run("totalRevenue", List.of(), UnaryOperator.identity(),
+                () -> backend.sum(Measure.TOTAL_REVENUE));
     }
 
     /**
@@ -41,9 +101,8 @@ public class SalesAnalyzer {
      * @return sum of total profit for all records
      */
     public double totalProfit() {
-        return records.stream()
-                .mapToDouble(SalesRecord::getTotalProfit)
-                .sum();
+        return run("totalProfit", List.of(), UnaryOperator.identity(),
+                () -> backend.sum(Measure.TOTAL_PROFIT));
     }
 
     /**
@@ -52,11 +111,8 @@ public class SalesAnalyzer {
      * @return map of region -> total revenue
      */
     public Map<String, Double> revenueByRegion() {
-        return records.stream()
-                .collect(Collectors.groupingBy(
-                        SalesRecord::getRegion,
-                        Collectors.summingDouble(SalesRecord::getTotalRevenue)
-                ));
+        return run("revenueByRegion", List.of(), Collections::unmodifiableMap,
+                () -> backend.sumBy(Dimension.REGION, Measure.TOTAL_REVENUE));
     }
 
 
@@ -66,11 +122,8 @@ public class SalesAnalyzer {
      * @return map of region -> total profit
      */
     public Map<String, Double> profitByRegion() {
-        return records.stream()
-                .collect(Collectors.groupingBy(
-                        SalesRecord::getRegion,
-                        Collectors.summingDouble(SalesRecord::getTotalProfit)
-                ));
+        return run("profitByRegion", List.of(), Collections::unmodifiableMap,
+                () -> backend.sumBy(Dimension.REGION, Measure.TOTAL_PROFIT));
     }
 
     /**
@@ -79,11 +132,8 @@ public class SalesAnalyzer {
      * @return map of item type -> total revenue
      */
     public Map<String, Double> revenueByItemType() {
-        return records.stream()
-                .collect(Collectors.groupingBy(
-                        SalesRecord::getItemType,
-                        Collectors.summingDouble(SalesRecord::getTotalRevenue)
-                ));
+        return run("revenueByItemType", List.of(), Collections::unmodifiableMap,
+                () -> backend.sumBy(Dimension.ITEM_TYPE, Measure.TOTAL_REVENUE));
     }
 
     /**
@@ -92,11 +142,8 @@ public class SalesAnalyzer {
      * @return map of country -> total units sold
      */
     public Map<String, Integer> unitsSoldByCountry() {
-        return records.stream()
-                .collect(Collectors.groupingBy(
-                        SalesRecord::getCountry,
-                        Collectors.summingInt(SalesRecord::getUnitsSold)
-                ));
+        return run("unitsSoldByCountry", List.of(), Collections::unmodifiableMap,
+                () -> backend.unitsSoldBy(Dimension.COUNTRY));
     }
 
     /**
@@ -106,11 +153,8 @@ public class SalesAnalyzer {
      * @return map of YearMonth -> total monthly revenue
      */
     public Map<YearMonth, Double> monthlyRevenue() {
-        return records.stream()
-                .collect(Collectors.groupingBy(
-                        r -> YearMonth.from(r.getOrderDate()),
-                        Collectors.summingDouble(SalesRecord::getTotalRevenue)
-                ));
+        return run("monthlyRevenue", List.of(), Collections::unmodifiableMap,
+                () -> backend.sumByMonth(Measure.TOTAL_REVENUE));
     }
 
     /**
@@ -120,10 +164,43 @@ public class SalesAnalyzer {
      * @return list of top N profitable sales records
      */
     public List<SalesRecord> topNProfitableOrders(int n) {
-        return records.stream()
-                .sorted((a, b) -> Double.compare(b.getTotalProfit(), a.getTotalProfit()))
-                .limit(n)
-                .toList();
+        return run("topNProfitableOrders", n, Collections::unmodifiableList,
+                () -> backend.rank(TopNQuery.top(Measure.TOTAL_PROFIT, n)));
+    }
+
+    /**
+     * Runs a top-N or bottom-N query, e.g. the 10 cheapest Online orders.
+     * Queries have no value equality, so the cache only answers repeated
+     * calls with the same query instance.
+     *
+     * @param query ranking query
+     * @return matching records, best first
+     */
+    public List<SalesRecord> topN(TopNQuery query) {
+        return run("topN", query, Collections::unmodifiableList, () -> backend.rank(query));
+    }
+
+    /**
+     * Runs a top-N or bottom-N query separately for every value of a
+     * dimension, e.g. the 3 most profitable orders per region.
+     *
+     * @param query   ranking query
+     * @param groupBy dimension whose values form the groups
+     * @return map of dimension value -> matching records, best first
+     */
+    public Map<String, List<SalesRecord>> topNByGroup(TopNQuery query, Dimension groupBy) {
+        return run("topNByGroup", List.of(query, groupBy), SalesAnalyzer::shareGroups,
+                () -> backend.rankByGroup(query, groupBy));
+    }
+
+    /**
+     * Runs an ad-hoc filter, group-by and aggregate query in one pass.
+     *
+     * @param query query to run
+     * @return one row per group
+     */
+    public QueryResult query(SalesQuery query) {
+        return run("query", query, UnaryOperator.identity(), () -> backend.query(query));
     }
 
     /**
@@ -133,8 +210,114 @@ public class SalesAnalyzer {
      * @return {@link DoubleSummaryStatistics} for revenue
      */
     public DoubleSummaryStatistics revenueStatistics() {
-        return records.stream()
-                .mapToDouble(SalesRecord::getTotalRevenue)
-                .summaryStatistics();
+        return run("revenueStatistics", List.of(), SalesAnalyzer::copy,
+                () -> backend.statistics(Measure.TOTAL_REVENUE));
+    }
+
+    /**
+     * Builds a quantile sketch of total revenue, for the median, p99 and
+     * other percentiles that {@link #revenueStatistics()} cannot give
+     * without sorting every value.
+     *
+     * @return sketch over every revenue value
+     */
+    public QuantileSketch revenueQuantiles() {
+        return run("revenueQuantiles", List.of(), QuantileSketch::copy, () -> {
+            QuantileSketch sketch = new QuantileSketch();
+            backend.forEach(Measure.TOTAL_REVENUE, sketch::add);
+            return sketch;
+        });
+    }
+
+    /**
+     * Computes several aggregations together in a single scan of the data,
+     * instead of one pass per query.
+     *
+     * @param sections aggregations to compute
+     * @param topN     number of orders for {@link ReportSection#TOP_PROFITABLE_ORDERS}
+     * @return report holding the requested sections
+     */
+    public SalesReport report(Set<ReportSection> sections, int topN) {
+        return run("report", List.of(Set.copyOf(sections), topN), UnaryOperator.identity(), () -> {
+            ReportAccumulator accumulator = new ReportAccumulator(sections, topN);
+            backend.forEachRow(accumulator::accept);
+            return accumulator.toReport();
+        });
+    }
+
+    /**
+     * Turns on caching of query results. Repeated calls with the same
+     * parameters are answered from a cache holding up to
+     * {@code maxEntries} results, least recently used first out, until the
+     * data changes. Results returned while caching are shared between
+     * callers: maps and lists are unmodifiable, and statistics and sketches
+     * are copies.
+     *
+     * Appends to a {@link SalesDataset} or {@link OffHeapSalesStore}
+     * invalidate the cache on the next call. A record list is not watched:
+     * call {@link #invalidateCache()} after any change to it. Only a change
+     * of its size is noticed, so a removal followed by an addition, or
+     * replacing a record in place, would otherwise be answered from stale
+     * results.
+     *
+     * @param maxEntries largest number of cached results
+     * @return this analyzer
+     */
+    public SalesAnalyzer enableCache(int maxEntries) {
+        cache = new QueryCache(maxEntries);
+        return this;
+    }
+
+    /**
+     * Drops every cached result. Does nothing when caching is off.
+     */
+    public void invalidateCache() {
+        QueryCache current = cache;
+        if (current != null) {
+            current.clear();
+        }
+    }
+
+    /**
+     * Returns the cache's hit, miss, eviction and invalidation counts.
+     *
+     * @return cache statistics, or null when caching is off
+     */
+    public QueryCacheStats cacheStats() {
+        QueryCache current = cache;
+        return current == null ? null : current.stats();
+    }
+
+    /**
+     * Runs a query under a {@link SalesMetrics} timer, answering it from
+     * the cache when one is enabled.
+     *
+     * @param operation  method name, also part of the cache key
+     * @param parameters query parameters; must implement equals and hashCode
+     * @param share      makes a cached result safe to hand to a caller
+     * @param compute    runs the query
+     */
+    @SuppressWarnings("try")
+    private <T> T run(String operation, Object parameters, UnaryOperator<T> share, Supplier<T> compute) {
+        // The timer records the row count when started and the time when closed
+        try (var ignored = SalesMetrics.startQuery(operation, backend.name(), backend.size())) {
+            QueryCache current = cache;
+            if (current == null) {
+                return compute.get();
+            }
+            return share.apply(current.get(List.of(operation, parameters), backend.version(), compute));
+        }
+    }
+
+    private static Map<String, List<SalesRecord>> shareGroups(Map<String, List<SalesRecord>> groups) {
+        Map<String, List<SalesRecord>> shared = new HashMap<>();
+        groups.forEach((group, top) -> shared.put(group, Collections.unmodifiableList(top)));
+        return Collections.unmodifiableMap(shared);
+    }
+
+    private static DoubleSummaryStatistics copy(DoubleSummaryStatistics statistics) {
+        DoubleSummaryStatistics copy = new DoubleSummaryStatistics();
+        copy.combine(statistics);
+        return copy;
     }
 }
@@ -0,0 +1,68 @@
+package com.janhavi.challenge.sales;
+
+import java.time.YearMonth;
+import java.util.DoubleSummaryStatistics;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Storage a {@link SalesAnalyzer} runs its queries on. Each kind of store
+ * (record list, columnar dataset, rollup cube, off-heap store, compressed
+ * dataset) answers the queries in its own way; the analyzer adds metrics
+ * and caching on top.
+ */
+interface SalesBackend {
+
+    /** Name the backend's queries are tagged with in {@link SalesMetrics}. */
+    String name();
+
+    /** Number of rows. */
+    int size();
+
+    /** Number that changes whenever the data does. */
+    long version();
+
+    /** Sum of a double measure over all rows. */
+    double sum(Measure measure);
+
+    /** Sums of a double measure per dimension value. */
+    Map<String, Double> sumBy(Dimension dimension, Measure measure);
+
+    /**
+     * Units sold per dimension value. Units are summed as longs and
+     * narrowed, so totals wrap like int addition.
+     */
+    default Map<String, Integer> unitsSoldBy(Dimension dimension) {
+        Map<String, Integer> result = new HashMap<>();
+        sumBy(dimension, Measure.UNITS_SOLD).forEach((value, units) -> result.put(value, (int) units.longValue()));
+        return result;
+    }
+
+    /** Sums of a double measure per order month. */
+    Map<YearMonth, Double> sumByMonth(Measure measure);
+
+    /** Passes every value of a measure, in row order, to an action. */
+    void forEach(Measure measure, DoubleConsumer action);
+
+    /** Count, sum, min, max and average of a measure. */
+    default DoubleSummaryStatistics statistics(Measure measure) {
+        DoubleSummaryStatistics statistics = new DoubleSummaryStatistics();
+        forEach(measure, statistics);
+        return statistics;
+    }
+
+    /** Passes every row, in order, to an action; the row must not be kept. */
+    void forEachRow(Consumer<? super SalesRow> action);
+
+    /** Runs a ranking query over all rows. */
+    List<SalesRecord> rank(TopNQuery query);
+
+    /** Runs a ranking query per value of a dimension. */
+    Map<String, List<SalesRecord>> rankByGroup(TopNQuery query, Dimension groupBy);
+
+    /** Runs an ad-hoc filter, group-by and aggregate query. */
+    QueryResult query(SalesQuery query);
+}
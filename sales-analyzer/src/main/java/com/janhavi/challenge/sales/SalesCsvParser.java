@@ -0,0 +1,406 @@
+package com.janhavi.challenge.sales;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Byte-level parser for the sales CSV format that works directly on
+ * memory-mapped file regions.
+ *
+ * Unlike {@link SalesDataLoader#load(java.nio.file.Path)}, no line or field
+ * Strings are created: numbers and dates are decoded in place from the mapped
+ * bytes and the low-cardinality text columns are resolved through a small
+ * byte-keyed cache, so repeated values such as regions or item types share a
+ * single String instance.
+ *
+ * Values that do not fit the fast paths (exponents, very long numbers,
+ * unusual date layouts) fall back to the same JDK parsers the String based
+ * loader uses, so both paths accept and reject exactly the same input; the
+ * decoders themselves live in {@link FieldParser}.
+ *
+ * Rows are delivered through a single reusable {@link SalesRow} whose
+ * values are only valid during the callback; sinks that keep rows must copy
+ * them, e.g. with {@link SalesRecord#of(SalesRow)}.
+ *
+ * Instances are not thread-safe; use one parser per thread.
+ */
+final class SalesCsvParser {
+
+    /** Number of columns in a sales row. */
+    static final int FIELD_COUNT = 14;
+
+    /** Largest region mapped at once; lines never span two windows. */
+    static final int MAX_WINDOW = 1 << 30;
+
+    // Start (inclusive) and end (exclusive) offsets of each trimmed field
+    private final int[] starts = new int[FIELD_COUNT];
+    private final int[] ends = new int[FIELD_COUNT];
+
+    private final StringCache strings = new StringCache();
+
+    private final FieldParser.ByteSequence bytes = new FieldParser.ByteSequence();
+
+    private final ParsedRow row = new ParsedRow();
+
+    private long blankLines;
+
+    /**
+     * Returns the offset of the first byte after the header line, or
+     * {@code size} if the file has no line terminator at all.
+     *
+     * @param channel open file channel
+     * @return offset where data rows start
+     * @throws IOException if reading fails
+     */
+    static long skipHeader(FileChannel channel) throws IOException {
+        return nextLineStart(channel, 0);
+    }
+
+    /**
+     * Returns the offset just past the first {@code '\n'} at or after
+     * {@code position}, or the channel size if there is none.
+     *
+     * @param channel  open file channel
+     * @param position offset to start searching from
+     * @return start offset of the next line
+     * @throws IOException if reading fails
+     */
+    static long nextLineStart(FileChannel channel, long position) throws IOException {
+        long size = channel.size();
+        ByteBuffer buf = ByteBuffer.allocate(8192);
+        long pos = position;
+        while (pos < size) {
+            buf.clear();
+            int n = channel.read(buf, pos);
+            if (n <= 0) {
+                break;
+            }
+            for (int i = 0; i < n; i++) {
+                if (buf.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += n;
+        }
+        return size;
+    }
+
+    /**
+     * Returns the offset just past the last {@code '\n'} in
+     * {@code [from, to)}, or {@code from} if the range holds no complete
+     * line.
+     *
+     * @param channel open file channel
+     * @param from    offset of the first line
+     * @param to      end of the readable data
+     * @return end offset of the last complete line
+     * @throws IOException if reading fails
+     */
+    static long lastLineEnd(FileChannel channel, long from, long to) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(8192);
+        long end = to;
+        while (end > from) {
+            long start = Math.max(from, end - buf.capacity());
+            buf.clear().limit((int) (end - start));
+            int n = 0;
+            while (buf.hasRemaining()) {
+                int read = channel.read(buf, start + n);
+                if (read < 0) {
+                    break;
+                }
+                n += read;
+            }
+            for (int i = n - 1; i >= 0; i--) {
+                if (buf.get(i) == '\n') {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return from;
+    }
+
+    /**
+     * Splits {@code [start, end)} into at most {@code chunks} consecutive
+     * ranges whose boundaries fall on line starts. Ranges never split a line
+     * and together cover the input exactly once.
+     *
+     * @param channel open file channel
+     * @param start   offset of the first line
+     * @param end     end offset of the input
+     * @param chunks  desired number of ranges
+     * @return boundary offsets; range {@code i} is {@code [b[i], b[i + 1])}
+     * @throws IOException if reading fails
+     */
+    static long[] split(FileChannel channel, long start, long end, int chunks) throws IOException {
+        long[] bounds = new long[chunks + 1];
+        bounds[0] = start;
+        int n = 1;
+        for (int i = 1; i < chunks; i++) {
+            long nominal = start + (end - start) * i / chunks;
+            // A range boundary is the line start following the nominal offset
+            long aligned = Math.min(end, nextLineStart(channel, Math.max(nominal - 1, bounds[n - 1])));
+            if (aligned > bounds[n - 1] && aligned < end) {
+                bounds[n++] = aligned;
+            }
+        }
+        bounds[n++] = end;
+        return Arrays.copyOf(bounds, n);
+    }
+
+    /**
+     * Parses every line starting in {@code [start, end)} of the channel,
+     * mapping the range in windows of at most {@link #MAX_WINDOW} bytes.
+     * {@code start} must be the first byte of a line.
+     *
+     * @param channel open file channel
+     * @param start   offset of the first line to parse
+     * @param end     offset after the last line to parse
+     * @param sink    receives each parsed row in file order
+     * @return number of rows parsed
+     * @throws IOException if mapping fails or a single line exceeds the window size
+     */
+    long parse(FileChannel channel, long start, long end,
+               Consumer<SalesRow> sink) throws IOException {
+        long count = 0;
+        long pos = start;
+        while (pos < end) {
+            long length = Math.min(end - pos, MAX_WINDOW);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, pos, length);
+            int limit = (int) length;
+            if (pos + length < end) {
+                // Only parse up to the last complete line in this window
+                limit = lastLineEnd(window, limit);
+                if (limit == 0) {
+                    throw new IOException("Line at offset " + pos + " exceeds " + MAX_WINDOW + " bytes");
+                }
+            }
+            count += parse(window, 0, limit, sink);
+            pos += limit;
+        }
+        return count;
+    }
+
+    /**
+     * Parses every line in {@code [from, to)} of the buffer. Blank lines are
+     * skipped; a trailing line without terminator is parsed as well.
+     *
+     * @param buf  buffer holding CSV bytes
+     * @param from offset of the first line
+     * @param to   offset after the last line
+     * @param sink receives each parsed row in buffer order
+     * @return number of rows parsed
+     */
+    long parse(ByteBuffer buf, int from, int to, Consumer<SalesRow> sink) {
+        long count = 0;
+        int lineStart = from;
+        while (lineStart < to) {
+            int lineEnd = lineStart;
+            while (lineEnd < to && buf.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            if (!isBlank(buf, lineStart, lineEnd)) {
+                sink.accept(parseLine(buf, lineStart, lineEnd));
+                count++;
+            } else {
+                blankLines++;
+            }
+            lineStart = lineEnd + 1;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of blank lines this parser has skipped.
+     *
+     * @return blank lines seen by all {@code parse} calls so far
+     */
+    long blankLines() {
+        return blankLines;
+    }
+
+    /**
+     * Parses a single line occupying {@code [from, to)} of the buffer into
+     * the parser's reusable row.
+     *
+     * @return the reusable row, valid until the next call
+     * @throws IllegalArgumentException if the line has fewer than
+     *                                  {@link #FIELD_COUNT} fields or a value is malformed
+     */
+    SalesRow parseLine(ByteBuffer buf, int from, int to) {
+        splitFields(buf, from, to);
+
+        FieldParser.ByteSequence b = bytes.of(buf);
+        ParsedRow r = row;
+        r.region = text(buf, 0);
+        r.country = text(buf, 1);
+        r.itemType = text(buf, 2);
+        r.salesChannel = text(buf, 3);
+        r.orderPriority = text(buf, 4);
+        r.orderDay = FieldParser.parseEpochDay(b, starts[5], ends[5]);
+        r.orderId = FieldParser.parseLong(b, starts[6], ends[6]);
+        r.shipDay = FieldParser.parseEpochDay(b, starts[7], ends[7]);
+        r.unitsSold = FieldParser.parseInt(b, starts[8], ends[8]);
+        r.unitPrice = FieldParser.parseDouble(b, starts[9], ends[9]);
+        r.unitCost = FieldParser.parseDouble(b, starts[10], ends[10]);
+        r.totalRevenue = FieldParser.parseDouble(b, starts[11], ends[11]);
+        r.totalCost = FieldParser.parseDouble(b, starts[12], ends[12]);
+        r.totalProfit = FieldParser.parseDouble(b, starts[13], ends[13]);
+        return r;
+    }
+
+    private void splitFields(ByteBuffer buf, int from, int to) {
+        int field = 0;
+        int fieldStart = from;
+        for (int i = from; i <= to && field < FIELD_COUNT; i++) {
+            if (i == to || buf.get(i) == ',') {
+                int s = fieldStart;
+                int e = i;
+                // Same whitespace rule as String.trim()
+                while (s < e && (buf.get(s) & 0xff) <= ' ') {
+                    s++;
+                }
+                while (e > s && (buf.get(e - 1) & 0xff) <= ' ') {
+                    e--;
+                }
+                starts[field] = s;
+                ends[field] = e;
+                field++;
+                fieldStart = i + 1;
+            }
+        }
+        if (field < FIELD_COUNT) {
+            throw new IllegalArgumentException(
+                    "Expected " + FIELD_COUNT + " fields but found " + field + ": " + string(buf, from, to));
+        }
+    }
+
+    private String text(ByteBuffer buf, int field) {
+        return strings.get(buf, starts[field], ends[field]);
+    }
+
+    private static boolean isBlank(ByteBuffer buf, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if ((buf.get(i) & 0xff) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int lastLineEnd(ByteBuffer buf, int limit) {
+        for (int i = limit - 1; i >= 0; i--) {
+            if (buf.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    static String string(ByteBuffer buf, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buf.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Mutable row the parser decodes every line into.
+     */
+    static final class ParsedRow implements SalesRow {
+
+        private String region;
+        private String country;
+        private String itemType;
+        private String salesChannel;
+        private String orderPriority;
+        private int orderDay;
+        private long orderId;
+        private int shipDay;
+        private int unitsSold;
+        private double unitPrice;
+        private double unitCost;
+        private double totalRevenue;
+        private double totalCost;
+        private double totalProfit;
+
+        @Override public String getRegion() { return region; }
+        @Override public String getCountry() { return country; }
+        @Override public String getItemType() { return itemType; }
+        @Override public String getSalesChannel() { return salesChannel; }
+        @Override public String getOrderPriority() { return orderPriority; }
+        @Override public LocalDate getOrderDate() { return FieldParser.localDate(orderDay); }
+        @Override public long getOrderId() { return orderId; }
+        @Override public LocalDate getShipDate() { return FieldParser.localDate(shipDay); }
+        @Override public int getUnitsSold() { return unitsSold; }
+        @Override public double getUnitPrice() { return unitPrice; }
+        @Override public double getUnitCost() { return unitCost; }
+        @Override public double getTotalRevenue() { return totalRevenue; }
+        @Override public double getTotalCost() { return totalCost; }
+        @Override public double getTotalProfit() { return totalProfit; }
+        @Override public int getOrderEpochDay() { return orderDay; }
+        @Override public int getShipEpochDay() { return shipDay; }
+    }
+
+    /**
+     * Open-addressing cache from byte ranges to decoded Strings. Only
+     * misses allocate; once full, further distinct values are decoded
+     * without being cached.
+     */
+    static final class StringCache {
+
+        private static final int CAPACITY = 4096;
+        private static final int MAX_ENTRIES = CAPACITY / 2;
+
+        private final int[] hashes = new int[CAPACITY];
+        private final byte[][] keys = new byte[CAPACITY][];
+        private final String[] values = new String[CAPACITY];
+        private int entries;
+
+        String get(ByteBuffer buf, int from, int to) {
+            int hash = 1;
+            for (int i = from; i < to; i++) {
+                hash = 31 * hash + buf.get(i);
+            }
+            int mask = CAPACITY - 1;
+            int slot = mix(hash) & mask;
+            while (keys[slot] != null) {
+                if (hashes[slot] == hash && matches(keys[slot], buf, from, to)) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            byte[] key = new byte[to - from];
+            buf.get(from, key);
+            String value = new String(key, StandardCharsets.UTF_8);
+            if (entries < MAX_ENTRIES) {
+                hashes[slot] = hash;
+                keys[slot] = key;
+                values[slot] = value;
+                entries++;
+            }
+            return value;
+        }
+
+        private static boolean matches(byte[] key, ByteBuffer buf, int from, int to) {
+            if (key.length != to - from) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (key[i] != buf.get(from + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int mix(int h) {
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.janhavi.challenge.sales;
+
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pre-aggregated rollup of a {@link SalesDataset} with one cell per
+ * distinct combination of every {@link Dimension} and order month.
+ *
+ * Each cell holds the row count and the sums of total revenue, total cost,
+ * total profit and units sold. Queries scan cells instead of rows, so their
+ * cost depends on the number of distinct combinations in the data, which
+ * stays small no matter how many rows repeat them.
+ *
+ * The cube reflects the dataset at build time; rebuild it after appending.
+ *
+ * <pre>
+ * SalesCube cube = SalesCube.of(dataset);
+ * cube.slice()
+ *         .where(Dimension.SALES_CHANNEL, "Online")
+ *         .between(YearMonth.of(2014, 1), YearMonth.of(2014, 12))
+ *         .sumBy(Dimension.ITEM_TYPE, Measure.TOTAL_PROFIT);
+ * </pre>
+ */
+public final class SalesCube {
+
+    private static final Dimension[] DIMENSIONS = Dimension.values();
+
+    // Measures summed per cell, in the order of the sums array
+    private static final Measure[] DOUBLE_MEASURES = {
+            Measure.TOTAL_REVENUE, Measure.TOTAL_COST, Measure.TOTAL_PROFIT
+    };
+
+    private final StringDictionary[] dictionaries = new StringDictionary[DIMENSIONS.length];
+
+    private final int cells;
+    // Indexed by Dimension.ordinal(), then cell
+    private final int[][] codes;
+    private final int[] months;
+    // Indexed by position in DOUBLE_MEASURES, then cell
+    private final double[][] sums;
+    private final long[] units;
+    private final long[] counts;
+    private final long rows;
+
+    private SalesCube(SalesDataset dataset) {
+        int n = dataset.size();
+        for (int d = 0; d < DIMENSIONS.length; d++) {
+            dictionaries[d] = dataset.dictionary(DIMENSIONS[d]);
+        }
+
+        int[] days = dataset.orderDays();
+        int[] monthOfRow = new int[n];
+        int minMonth = Integer.MAX_VALUE;
+        int maxMonth = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            monthOfRow[i] = EpochDays.monthIndex(days[i]);
+            minMonth = Math.min(minMonth, monthOfRow[i]);
+            maxMonth = Math.max(maxMonth, monthOfRow[i]);
+        }
+
+        // Mixed-radix key over the dimension codes and the month offset
+        long[] radix = new long[DIMENSIONS.length + 1];
+        long span = 1;
+        try {
+            for (int d = 0; d < DIMENSIONS.length; d++) {
+                radix[d] = span;
+                span = Math.multiplyExact(span, Math.max(1, dictionaries[d].size()));
+            }
+            radix[DIMENSIONS.length] = span;
+            Math.multiplyExact(span, n == 0 ? 1 : (long) maxMonth - minMonth + 1);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Too many distinct dimension values for a cube", e);
+        }
+
+        Map<Long, Integer> cellOf = new HashMap<>();
+        int[] cellOfRow = new int[n];
+        int[][] dimensionCodes = new int[DIMENSIONS.length][];
+        for (int d = 0; d < DIMENSIONS.length; d++) {
+            dimensionCodes[d] = dataset.codes(DIMENSIONS[d]);
+        }
+        for (int i = 0; i < n; i++) {
+            long key = (monthOfRow[i] - minMonth) * radix[DIMENSIONS.length];
+            for (int d = 0; d < DIMENSIONS.length; d++) {
+                key += dimensionCodes[d][i] * radix[d];
+            }
+            Integer cell = cellOf.putIfAbsent(key, cellOf.size());
+            cellOfRow[i] = cell == null ? cellOf.size() - 1 : cell;
+        }
+
+        cells = cellOf.size();
+        codes = new int[DIMENSIONS.length][cells];
+        months = new int[cells];
+        units = new long[cells];
+        counts = new long[cells];
+        CompensatedSum[][] running = new CompensatedSum[DOUBLE_MEASURES.length][cells];
+        double[][] values = new double[DOUBLE_MEASURES.length][];
+        for (int m = 0; m < DOUBLE_MEASURES.length; m++) {
+            values[m] = dataset.doubles(DOUBLE_MEASURES[m]);
+            for (int c = 0; c < cells; c++) {
+                running[m][c] = new CompensatedSum();
+            }
+        }
+        int[] unitsSold = dataset.unitsSold();
+        for (int i = 0; i < n; i++) {
+            int cell = cellOfRow[i];
+            if (counts[cell]++ == 0) {
+                for (int d = 0; d < DIMENSIONS.length; d++) {
+                    codes[d][cell] = dimensionCodes[d][i];
+                }
+                months[cell] = monthOfRow[i];
+            }
+            units[cell] += unitsSold[i];
+            for (int m = 0; m < DOUBLE_MEASURES.length; m++) {
+                running[m][cell].add(values[m][i]);
+            }
+        }
+        sums = new double[DOUBLE_MEASURES.length][cells];
+        for (int m = 0; m < DOUBLE_MEASURES.length; m++) {
+            for (int c = 0; c < cells; c++) {
+                sums[m][c] = running[m][c].get();
+            }
+        }
+        rows = n;
+    }
+
+    /**
+     * Builds the cube over every row currently in a dataset.
+     *
+     * @param dataset rows to roll up
+     * @return new cube
+     */
+    public static SalesCube of(SalesDataset dataset) {
+        return new SalesCube(dataset);
+    }
+
+    /**
+     * Returns the number of non-empty cells.
+     *
+     * @return cell count
+     */
+    public int cells() {
+        return cells;
+    }
+
+    /**
+     * Returns the number of rows rolled up.
+     *
+     * @return row count
+     */
+    public long rows() {
+        return rows;
+    }
+
+    /**
+     * Returns a slice covering the whole cube.
+     *
+     * @return unfiltered slice
+     */
+    public Slice slice() {
+        return new Slice(new EnumMap<>(Dimension.class), Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Immutable selection of cube cells by dimension values and month range.
+     * Every configuration method returns a new slice.
+     */
+    public final class Slice {
+
+        private final Map<Dimension, Set<String>> filters;
+        private final int fromMonth;
+        private final int toMonth;
+
+        private Slice(Map<Dimension, Set<String>> filters, int fromMonth, int toMonth) {
+            this.filters = filters;
+            this.fromMonth = fromMonth;
+            this.toMonth = toMonth;
+        }
+
+        /**
+         * Restricts the slice to cells whose dimension has one of the given
+         * values. Filters are combined with AND; a second filter on the
+         * same dimension keeps only the values both accept. Repeated values
+         * are accepted and count once.
+         *
+         * @param dimension dimension to filter on
+         * @param values    accepted values
+         * @return new slice
+         * @throws NullPointerException if the dimension or a value is null
+         */
+        public Slice where(Dimension dimension, String... values) {
+            Map<Dimension, Set<String>> next = new EnumMap<>(Dimension.class);
+            next.putAll(filters);
+            Dimension.addFilter(next, dimension, values);
+            return new Slice(next, fromMonth, toMonth);
+        }
+
+        /**
+         * Restricts the slice to an inclusive range of order months.
+         *
+         * @param from first month
+         * @param to   last month
+         * @return new slice
+         */
+        public Slice between(YearMonth from, YearMonth to) {
+            return new Slice(filters,
+                    Math.max(fromMonth, EpochDays.monthIndex(from)),
+                    Math.min(toMonth, EpochDays.monthIndex(to)));
+        }
+
+        /**
+         * Returns the number of rows in the slice.
+         *
+         * @return row count
+         */
+        public long count() {
+            long count = 0;
+            for (int c : selectedCells()) {
+                count += counts[c];
+            }
+            return count;
+        }
+
+        /**
+         * Sums a measure over the slice.
+         *
+         * @param measure total revenue, total cost, total profit or units sold
+         * @return sum of the measure
+         */
+        public double sum(Measure measure) {
+            int m = measureIndex(measure);
+            if (m < 0) {
+                long total = 0;
+                for (int c : selectedCells()) {
+                    total += units[c];
+                }
+                return total;
+            }
+            CompensatedSum total = new CompensatedSum();
+            for (int c : selectedCells()) {
+                total.add(sums[m][c]);
+            }
+            return total.get();
+        }
+
+        /**
+         * Sums a measure over the slice for every value of a dimension.
+         *
+         * @param dimension dimension whose values form the groups
+         * @param measure   total revenue, total cost, total profit or units sold
+         * @return map of dimension value -> sum, for values present in the slice
+         */
+        public Map<String, Double> sumBy(Dimension dimension, Measure measure) {
+            int m = measureIndex(measure);
+            int[] groupCodes = codes[dimension.ordinal()];
+            StringDictionary dictionary = dictionaries[dimension.ordinal()];
+            CompensatedSum[] totals = new CompensatedSum[dictionary.size()];
+            for (int c : selectedCells()) {
+                CompensatedSum total = totals[groupCodes[c]];
+                if (total == null) {
+                    total = totals[groupCodes[c]] = new CompensatedSum();
+                }
+                total.add(m < 0 ? units[c] : sums[m][c]);
+            }
+            Map<String, Double> result = new HashMap<>();
+            for (int g = 0; g < totals.length; g++) {
+                if (totals[g] != null) {
+                    result.put(dictionary.decode(g), totals[g].get());
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Sums a measure over the slice for every order month.
+         *
+         * @param measure total revenue, total cost, total profit or units sold
+         * @return map of month -> sum, for months present in the slice
+         */
+        public Map<YearMonth, Double> sumByMonth(Measure measure) {
+            int m = measureIndex(measure);
+            Map<Integer, CompensatedSum> totals = new HashMap<>();
+            for (int c : selectedCells()) {
+                totals.computeIfAbsent(months[c], k -> new CompensatedSum())
+                        .add(m < 0 ? units[c] : sums[m][c]);
+            }
+            Map<YearMonth, Double> result = new HashMap<>();
+            totals.forEach((month, total) -> result.put(EpochDays.yearMonth(month), total.get()));
+            return result;
+        }
+
+        /**
+         * Returns the indexes of the cells matching every filter.
+         */
+        private int[] selectedCells() {
+            boolean[][] accepted = new boolean[DIMENSIONS.length][];
+            filters.forEach((dimension, values) -> {
+                StringDictionary dictionary = dictionaries[dimension.ordinal()];
+                boolean[] ok = new boolean[dictionary.size()];
+                for (String value : values) {
+                    int code = dictionary.lookup(value);
+                    if (code >= 0) {
+                        ok[code] = true;
+                    }
+                }
+                accepted[dimension.ordinal()] = ok;
+            });
+
+            int[] selected = new int[cells];
+            int count = 0;
+            next:
+            for (int c = 0; c < cells; c++) {
+                if (months[c] < fromMonth || months[c] > toMonth) {
+                    continue;
+                }
+                for (Dimension dimension : filters.keySet()) {
+                    if (!accepted[dimension.ordinal()][codes[dimension.ordinal()][c]]) {
+                        continue next;
+                    }
+                }
+                selected[count++] = c;
+            }
+            return Arrays.copyOf(selected, count);
+        }
+
+        @Override
+        public String toString() {
+            return "slice" + (filters.isEmpty() ? "" : " where " + filters)
+                    + (fromMonth == Integer.MIN_VALUE ? "" : " from " + EpochDays.yearMonth(fromMonth))
+                    + (toMonth == Integer.MAX_VALUE ? "" : " to " + EpochDays.yearMonth(toMonth));
+        }
+    }
+
+    /**
+     * Returns the position of a measure in the per-cell sums, or -1 for
+     * units sold, which is kept as an exact long.
+     *
+     * @throws IllegalArgumentException for unit price and unit cost, whose sums are meaningless
+     */
+    private static int measureIndex(Measure measure) {
+        if (measure == Measure.UNITS_SOLD) {
+            return -1;
+        }
+        for (int m = 0; m < DOUBLE_MEASURES.length; m++) {
+            if (DOUBLE_MEASURES[m] == measure) {
+                return m;
+            }
+        }
+        throw new IllegalArgumentException(measure + " is not rolled up in the cube");
+    }
+}
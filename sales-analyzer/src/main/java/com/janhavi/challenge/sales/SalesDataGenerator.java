@@ -0,0 +1,403 @@
+package com.janhavi.challenge.sales;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Writes synthetic sales CSVs in the format of {@code sales-sample.csv},
+ * for benchmarks and load tests at sizes the sample cannot reach.
+ *
+ * Rows use the sample's regions, countries, item types and unit prices.
+ * Order dates are uniform over the sample's range, ship dates follow within
+ * 0-50 days, and totals are exact to the cent. Countries and item types are
+ * drawn from a Zipf distribution with exponent {@code skew}: 0 is uniform,
+ * around 1 gives a few hot countries and products, as in real sales. Which
+ * ones are hot depends on the seed.
+ *
+ * The output depends only on the seed, the skew and the row count. Rows are
+ * generated in fixed-size blocks, each from its own random stream, on all
+ * cores, and written in block order, so the file is byte-for-byte the same
+ * on any machine.
+ *
+ * Usage: {@code java SalesDataGenerator <rows> <output.csv> [--seed=N] [--skew=S]},
+ * where rows may end in K, M or G.
+ */
+public final class SalesDataGenerator {
+
+    static final String HEADER = "Region,Country,Item Type,Sales Channel,Order Priority,Order Date,"
+            + "Order ID,Ship Date,Units Sold,Unit Price,Unit Cost,Total Revenue,Total Cost,Total Profit";
+
+    /** Rows per independently seeded block. */
+    static final int BLOCK_ROWS = 1 << 15;
+
+    // Region name followed by its countries
+    private static final String[][] REGIONS = {
+            {"Asia", "Bangladesh", "Bhutan", "Brunei", "Cambodia", "China", "India", "Indonesia", "Japan",
+                    "Kazakhstan", "Kyrgyzstan", "Laos", "Malaysia", "Maldives", "Mongolia", "Myanmar", "Nepal",
+                    "North Korea", "Philippines", "Singapore", "South Korea", "Sri Lanka", "Taiwan", "Tajikistan",
+                    "Thailand", "Turkmenistan", "Uzbekistan", "Vietnam"},
+            {"Australia and Oceania", "Australia", "East Timor", "Federated States of Micronesia", "Fiji",
+                    "Kiribati", "Marshall Islands", "Nauru", "New Zealand", "Palau", "Papua New Guinea", "Samoa",
+                    "Solomon Islands", "Tonga", "Tuvalu", "Vanuatu"},
+            {"Central America and the Caribbean", "Antigua and Barbuda", "Barbados", "Belize", "Costa Rica",
+                    "Cuba", "Dominica", "Dominican Republic", "El Salvador", "Grenada", "Guatemala", "Haiti",
+                    "Honduras", "Jamaica", "Nicaragua", "Panama", "Saint Kitts and Nevis", "Saint Lucia",
+                    "Saint Vincent and the Grenadines", "The Bahamas", "Trinidad and Tobago"},
+            {"Europe", "Albania", "Andorra", "Armenia", "Austria", "Belarus", "Belgium", "Bosnia and Herzegovina",
+                    "Bulgaria", "Croatia", "Cyprus", "Czech Republic", "Denmark", "Estonia", "Finland", "France",
+                    "Georgia", "Germany", "Greece", "Hungary", "Iceland", "Ireland", "Italy", "Kosovo", "Latvia",
+                    "Liechtenstein", "Lithuania", "Luxembourg", "Macedonia", "Malta", "Moldova", "Monaco",
+                    "Montenegro", "Netherlands", "Norway", "Poland", "Portugal", "Romania", "Russia", "San Marino",
+                    "Serbia", "Slovakia", "Slovenia", "Spain", "Sweden", "Switzerland", "Ukraine", "United Kingdom",
+                    "Vatican City"},
+            {"Middle East and North Africa", "Afghanistan", "Algeria", "Azerbaijan", "Bahrain", "Egypt", "Iran",
+                    "Iraq", "Israel", "Jordan", "Kuwait", "Lebanon", "Libya", "Morocco", "Oman", "Pakistan", "Qatar",
+                    "Saudi Arabia", "Somalia", "Syria", "Tunisia", "Turkey", "United Arab Emirates", "Yemen"},
+            {"North America", "Canada", "Greenland", "Mexico", "United States of America"},
+            {"Sub-Saharan Africa", "Angola", "Benin", "Botswana", "Burkina Faso", "Burundi", "Cameroon",
+                    "Cape Verde", "Central African Republic", "Chad", "Comoros", "Cote d'Ivoire",
+                    "Democratic Republic of the Congo", "Djibouti", "Equatorial Guinea", "Eritrea", "Ethiopia",
+                    "Gabon", "Ghana", "Guinea", "Guinea-Bissau", "Kenya", "Lesotho", "Liberia", "Madagascar",
+                    "Malawi", "Mali", "Mauritania", "Mauritius", "Mozambique", "Namibia", "Niger", "Nigeria",
+                    "Republic of the Congo", "Rwanda", "Sao Tome and Principe", "Senegal", "Seychelles",
+                    "Sierra Leone", "South Africa", "South Sudan", "Sudan", "Swaziland", "Tanzania", "The Gambia",
+                    "Togo", "Uganda", "Zambia", "Zimbabwe"},
+    };
+
+    private static final String[] ITEM_TYPES = {
+            "Baby Food", "Beverages", "Cereal", "Clothes", "Cosmetics", "Fruits",
+            "Household", "Meat", "Office Supplies", "Personal Care", "Snacks", "Vegetables"};
+    private static final long[] UNIT_PRICE_CENTS = {
+            25528, 4745, 20570, 10928, 43720, 933, 66827, 42189, 65121, 8173, 15258, 15406};
+    private static final long[] UNIT_COST_CENTS = {
+            15942, 3179, 11711, 3584, 26333, 692, 50254, 36469, 52496, 5667, 9744, 9093};
+
+    private static final byte[][] CHANNELS = ascii("Offline", "Online");
+    private static final byte[][] PRIORITIES = ascii("C", "H", "L", "M");
+
+    private static final LocalDate FIRST_ORDER_DATE = LocalDate.of(2010, 1, 1);
+    private static final int ORDER_DAYS = (int) (LocalDate.of(2017, 7, 28).toEpochDay() - FIRST_ORDER_DATE.toEpochDay()) + 1;
+    private static final int MAX_SHIP_DAYS = 50;
+    private static final int MAX_UNITS = 9_999;
+    // M/d/yyyy text of every order and ship date
+    private static final byte[][] DATES = dates(ORDER_DAYS + MAX_SHIP_DAYS);
+
+    private static final int MAX_ROW_BYTES = 256;
+
+    private final long seed;
+    private final double skew;
+    private final byte[][] countries;
+    private final byte[][] countryRegions;
+    private final byte[][] itemTypes;
+    private final long[] unitPrices;
+    private final long[] unitCosts;
+    private final double[] countryWeights;
+    private final double[] itemTypeWeights;
+
+    /**
+     * Creates a generator.
+     *
+     * @param seed seed of every random choice
+     * @param skew Zipf exponent of countries and item types; 0 is uniform
+     */
+    public SalesDataGenerator(long seed, double skew) {
+        if (!(skew >= 0) || Double.isInfinite(skew)) {
+            throw new IllegalArgumentException("skew must be a finite number >= 0: " + skew);
+        }
+        this.seed = seed;
+        this.skew = skew;
+
+        int countryCount = 0;
+        for (String[] region : REGIONS) {
+            countryCount += region.length - 1;
+        }
+        byte[][] allCountries = new byte[countryCount][];
+        byte[][] allRegions = new byte[countryCount][];
+        int c = 0;
+        for (String[] region : REGIONS) {
+            byte[] name = region[0].getBytes(StandardCharsets.US_ASCII);
+            for (int i = 1; i < region.length; i++, c++) {
+                allCountries[c] = region[i].getBytes(StandardCharsets.US_ASCII);
+                allRegions[c] = name;
+            }
+        }
+
+        // Zipf rank i goes to the i-th value of a seeded shuffle
+        SplittableRandom random = new SplittableRandom(mix(seed));
+        int[] countryOrder = shuffle(countryCount, random);
+        int[] itemOrder = shuffle(ITEM_TYPES.length, random);
+        this.countries = new byte[countryCount][];
+        this.countryRegions = new byte[countryCount][];
+        for (int rank = 0; rank < countryCount; rank++) {
+            countries[rank] = allCountries[countryOrder[rank]];
+            countryRegions[rank] = allRegions[countryOrder[rank]];
+        }
+        this.itemTypes = new byte[ITEM_TYPES.length][];
+        this.unitPrices = new long[ITEM_TYPES.length];
+        this.unitCosts = new long[ITEM_TYPES.length];
+        for (int rank = 0; rank < ITEM_TYPES.length; rank++) {
+            int item = itemOrder[rank];
+            itemTypes[rank] = ITEM_TYPES[item].getBytes(StandardCharsets.US_ASCII);
+            unitPrices[rank] = UNIT_PRICE_CENTS[item];
+            unitCosts[rank] = UNIT_COST_CENTS[item];
+        }
+        this.countryWeights = zipf(countryCount, skew);
+        this.itemTypeWeights = zipf(ITEM_TYPES.length, skew);
+    }
+
+    public static void main(String[] args) throws IOException {
+        long seed = 42;
+        double skew = 0;
+        long rows = -1;
+        Path output = null;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--seed=")) {
+                    seed = Long.parseLong(arg.substring("--seed=".length()));
+                } else if (arg.startsWith("--skew=")) {
+                    skew = Double.parseDouble(arg.substring("--skew=".length()));
+                } else if (rows < 0) {
+                    rows = parseRows(arg);
+                } else {
+                    output = Path.of(arg);
+                }
+            }
+        } catch (NumberFormatException e) {
+            rows = -1;
+        }
+        if (rows < 0 || output == null || !(skew >= 0)) {
+            System.err.println("Usage: java SalesDataGenerator <rows> <output.csv> [--seed=N] [--skew=S]");
+            System.exit(1);
+        }
+        long start = System.nanoTime();
+        long bytes = new SalesDataGenerator(seed, skew).write(output, rows);
+        System.err.printf("Wrote %,d rows (%,d bytes) to %s in %.1f s%n",
+                rows, bytes, output, (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Writes a CSV file with a header and {@code rows} rows, replacing any
+     * existing file.
+     *
+     * @param csvPath file to write
+     * @param rows    number of rows
+     * @return bytes written
+     * @throws IOException if the file cannot be written
+     */
+    public long write(Path csvPath, long rows) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(csvPath), 1 << 16)) {
+            return write(out, rows);
+        }
+    }
+
+    /**
+     * Writes a header and {@code rows} rows to a stream, which is left open.
+     *
+     * @param out  stream to write to
+     * @param rows number of rows
+     * @return bytes written
+     * @throws IOException if the stream fails
+     */
+    public long write(OutputStream out, long rows) throws IOException {
+        if (rows < 0) {
+            throw new IllegalArgumentException("rows must be >= 0: " + rows);
+        }
+        byte[] header = (HEADER + "\n").getBytes(StandardCharsets.US_ASCII);
+        out.write(header);
+        long written = header.length;
+
+        long blocks = (rows + BLOCK_ROWS - 1) / BLOCK_ROWS;
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "sales-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // Keep a few blocks per thread in flight and write them in order
+            ArrayDeque<Future<byte[]>> pending = new ArrayDeque<>();
+            long next = 0;
+            while (next < blocks || !pending.isEmpty()) {
+                while (next < blocks && pending.size() < 2 * threads) {
+                    long block = next++;
+                    int blockRows = (int) Math.min(BLOCK_ROWS, rows - block * BLOCK_ROWS);
+                    pending.add(executor.submit(() -> block(block, blockRows)));
+                }
+                byte[] bytes = await(pending.poll());
+                out.write(bytes);
+                written += bytes.length;
+            }
+            return written;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Generates the CSV lines of one block.
+     *
+     * @param block block index
+     * @param rows  rows in the block
+     * @return the lines, each ending in a newline
+     */
+    byte[] block(long block, int rows) {
+        SplittableRandom random = new SplittableRandom(mix(seed ^ mix(block + 1)));
+        byte[] buffer = new byte[rows * MAX_ROW_BYTES];
+        int pos = 0;
+        for (int i = 0; i < rows; i++) {
+            int country = sample(countryWeights, random);
+            int item = sample(itemTypeWeights, random);
+            int orderDay = random.nextInt(ORDER_DAYS);
+            int shipDay = orderDay + random.nextInt(MAX_SHIP_DAYS + 1);
+            long units = 1 + random.nextInt(MAX_UNITS);
+            long revenue = units * unitPrices[item];
+            long cost = units * unitCosts[item];
+
+            pos = put(buffer, pos, countryRegions[country], ',');
+            pos = put(buffer, pos, countries[country], ',');
+            pos = put(buffer, pos, itemTypes[item], ',');
+            pos = put(buffer, pos, CHANNELS[random.nextInt(CHANNELS.length)], ',');
+            pos = put(buffer, pos, PRIORITIES[random.nextInt(PRIORITIES.length)], ',');
+            pos = put(buffer, pos, DATES[orderDay], ',');
+            pos = putLong(buffer, pos, 100_000_000 + random.nextInt(900_000_000), ',');
+            pos = put(buffer, pos, DATES[shipDay], ',');
+            pos = putLong(buffer, pos, units, ',');
+            pos = putCents(buffer, pos, unitPrices[item], ',');
+            pos = putCents(buffer, pos, unitCosts[item], ',');
+            pos = putCents(buffer, pos, revenue, ',');
+            pos = putCents(buffer, pos, cost, ',');
+            pos = putCents(buffer, pos, revenue - cost, '\n');
+        }
+        return Arrays.copyOf(buffer, pos);
+    }
+
+    /**
+     * Returns the row count of a size argument such as {@code 1000},
+     * {@code 1M} or {@code 500m}.
+     *
+     * @throws NumberFormatException if the size is malformed
+     */
+    static long parseRows(String value) {
+        String digits = value.replace("_", "");
+        long scale = 1;
+        switch (Character.toUpperCase(digits.isEmpty() ? ' ' : digits.charAt(digits.length() - 1))) {
+            case 'K': scale = 1_000L; break;
+            case 'M': scale = 1_000_000L; break;
+            case 'G': scale = 1_000_000_000L; break;
+            default: break;
+        }
+        if (scale > 1) {
+            digits = digits.substring(0, digits.length() - 1);
+        }
+        return Math.multiplyExact(Long.parseLong(digits), scale);
+    }
+
+    private static int sample(double[] cumulativeWeights, SplittableRandom random) {
+        double u = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        int i = Arrays.binarySearch(cumulativeWeights, u);
+        return i >= 0 ? i + 1 : -i - 1;
+    }
+
+    /** Returns the cumulative Zipf weights of ranks 1..n. */
+    private static double[] zipf(int n, double exponent) {
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            total += 1 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = total;
+        }
+        return cumulative;
+    }
+
+    private static int[] shuffle(int n, SplittableRandom random) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+        return order;
+    }
+
+    private static int put(byte[] buffer, int pos, byte[] value, char end) {
+        System.arraycopy(value, 0, buffer, pos, value.length);
+        pos += value.length;
+        buffer[pos++] = (byte) end;
+        return pos;
+    }
+
+    private static int putLong(byte[] buffer, int pos, long value, char end) {
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        for (int i = pos + digits - 1; i >= pos; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        pos += digits;
+        buffer[pos++] = (byte) end;
+        return pos;
+    }
+
+    /** Writes a non-negative amount of cents with two decimals. */
+    private static int putCents(byte[] buffer, int pos, long cents, char end) {
+        pos = putLong(buffer, pos, cents / 100, '.');
+        buffer[pos++] = (byte) ('0' + cents / 10 % 10);
+        buffer[pos++] = (byte) ('0' + cents % 10);
+        buffer[pos++] = (byte) end;
+        return pos;
+    }
+
+    private static byte[][] dates(int days) {
+        byte[][] dates = new byte[days][];
+        for (int i = 0; i < days; i++) {
+            LocalDate date = FIRST_ORDER_DATE.plusDays(i);
+            dates[i] = (date.getMonthValue() + "/" + date.getDayOfMonth() + "/" + date.getYear())
+                    .getBytes(StandardCharsets.US_ASCII);
+        }
+        return dates;
+    }
+
+    private static byte[][] ascii(String... values) {
+        byte[][] bytes = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = values[i].getBytes(StandardCharsets.US_ASCII);
+        }
+        return bytes;
+    }
+
+    /** Murmur3's 64-bit finalizer, so nearby seeds give unrelated streams. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    private static byte[] await(Future<byte[]> block) throws IOException {
+        try {
+            return block.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating rows", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Generating a block failed", e.getCause());
+        }
+    }
+}
@@ -1,11 +1,22 @@
 package com.janhavi.challenge.sales;
 
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -13,15 +24,41 @@ import java.util.stream.Stream;
  * SalesDataLoader is responsible for reading sales data from a CSV file
  * and converting each row into a {@link SalesRecord} object.
  *
+ * Every load is recorded by {@link SalesMetrics}: bytes read, rows parsed,
+ * blank lines skipped, time and allocation.
+ *
  */
 public class SalesDataLoader {
 
     /**
-     * Date formatter for parsing order and ship dates.
-     * Expected CSV format: M/d/yyyy (e.g., 10/18/2014)
+     * Ranges smaller than this are not worth a separate task.
+     */
+    private static final long MIN_CHUNK_BYTES = 1 << 20;
+
+    /**
+     * Number of ranges created per worker so that uneven ranges still
+     * balance out across the pool.
+     */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final long minChunkBytes;
+
+    public SalesDataLoader() {
+        this(MIN_CHUNK_BYTES);
+    }
+
+    /**
+     * Creates a loader that splits parallel parses into ranges of at least
+     * {@code minChunkBytes}, so small files can be parsed as several ranges.
+     *
+     * @param minChunkBytes smallest byte range given its own task
      */
-    private static final DateTimeFormatter FORMATTER =
-            DateTimeFormatter.ofPattern("M/d/yyyy");
+    SalesDataLoader(long minChunkBytes) {
+        if (minChunkBytes <= 0) {
+            throw new IllegalArgumentException("minChunkBytes must be positive: " + minChunkBytes);
+        }
+        this.minChunkBytes = minChunkBytes;
+    }
 
     /**
      * Reads a CSV file and converts all valid rows into a list of {@link SalesRecord}.
@@ -32,51 +69,538 @@ public class SalesDataLoader {
      */
     public List<SalesRecord> load(Path csvPath) throws IOException {
         // try-with-resources ensures the file stream is closed automatically
-        try (Stream<String> lines = Files.lines(csvPath)) {
-            return lines
+        try (SalesMetrics.Timer timer = SalesMetrics.startLoad("load", csvPath);
+             Stream<String> lines = Files.lines(csvPath)) {
+            timer.bytesRead(Files.size(csvPath));
+            long[] blankLines = new long[1];
+            List<SalesRecord> records = lines
                     .skip(1)
-                    .filter(line -> !line.isBlank())
+                    .filter(line -> {
+                        if (line.isBlank()) {
+                            blankLines[0]++;
+                            return false;
+                        }
+                        return true;
+                    })
                     .map(this::parseLine)
                     .collect(Collectors.toList());
+            timer.rows(records.size());
+            timer.blankLines(blankLines[0]);
+            return records;
+        }
+    }
+
+    /**
+     * Reads a CSV file by memory-mapping it and parsing the raw bytes in place.
+     *
+     * Produces the same records as {@link #load(Path)} without creating
+     * intermediate line or field Strings, which makes it the preferred mode
+     * for large exports. Lines are split on {@code '\n'}; a trailing
+     * {@code '\r'} is trimmed like any other surrounding whitespace.
+     *
+     * @param csvPath path to the CSV file
+     * @return list of parsed SalesRecord objects
+     * @throws IOException if file reading or mapping fails
+     */
+    public List<SalesRecord> loadMapped(Path csvPath) throws IOException {
+        List<SalesRecord> records = new ArrayList<>();
+        try (SalesMetrics.Timer timer = SalesMetrics.startLoad("loadMapped", csvPath)) {
+            parseFile(csvPath, row -> records.add(SalesRecord.of(row)), timer);
+        }
+        return records;
+    }
+
+    /**
+     * Reads a CSV file in parallel on the common fork-join pool.
+     *
+     * @param csvPath path to the CSV file
+     * @return list of parsed SalesRecord objects, in file order
+     * @throws IOException if file reading or mapping fails
+     * @see #loadParallel(Path, ForkJoinPool)
+     */
+    public List<SalesRecord> loadParallel(Path csvPath) throws IOException {
+        return loadParallel(csvPath, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Reads a CSV file in parallel on the given fork-join pool.
+     *
+     * The file is split into byte ranges aligned on line starts, each range
+     * is memory-mapped and parsed by its own task, and the per-range results
+     * are concatenated in range order. The result is therefore identical to
+     * {@link #load(Path)}, row order included.
+     *
+     * @param csvPath path to the CSV file
+     * @param pool    pool running the per-range parse tasks
+     * @return list of parsed SalesRecord objects, in file order
+     * @throws IOException if file reading or mapping fails
+     */
+    public List<SalesRecord> loadParallel(Path csvPath, ForkJoinPool pool) throws IOException {
+        try (SalesMetrics.Timer timer = SalesMetrics.startLoad("loadParallel", csvPath)) {
+            List<List<SalesRecord>> parts = parseChunks(csvPath, pool, ArrayList::new,
+                    (part, row) -> part.add(SalesRecord.of(row)), timer);
+            List<SalesRecord> records = new ArrayList<>(parts.stream().mapToInt(List::size).sum());
+            parts.forEach(records::addAll);
+            return records;
+        }
+    }
+
+    /**
+     * Reads a CSV file into a columnar {@link SalesDataset}, parsing in
+     * parallel on the common fork-join pool.
+     *
+     * @param csvPath path to the CSV file
+     * @return dataset holding all rows, in file order
+     * @throws IOException if file reading or mapping fails
+     * @see #loadDataset(Path, ForkJoinPool)
+     */
+    public SalesDataset loadDataset(Path csvPath) throws IOException {
+        return loadDataset(csvPath, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Reads a CSV file into a columnar {@link SalesDataset}.
+     *
+     * Each newline-aligned range is parsed straight into its own dataset,
+     * so no {@link SalesRecord} is created per row; the parts are then
+     * concatenated in range order.
+     *
+     * @param csvPath path to the CSV file
+     * @param pool    pool running the per-range parse tasks
+     * @return dataset holding all rows, in file order
+     * @throws IOException if file reading or mapping fails
+     */
+    public SalesDataset loadDataset(Path csvPath, ForkJoinPool pool) throws IOException {
+        try (SalesMetrics.Timer timer = SalesMetrics.startLoad("loadDataset", csvPath)) {
+            List<SalesDataset> parts = parseChunks(csvPath, pool, SalesDataset::new, SalesDataset::append, timer);
+            if (parts.size() == 1) {
+                parts.get(0).trimToSize();
+                return parts.get(0);
+            }
+            SalesDataset dataset = new SalesDataset(parts.stream().mapToInt(SalesDataset::size).sum());
+            parts.forEach(dataset::appendAll);
+            return dataset;
+        }
+    }
+
+    /**
+     * Loads a CSV file into a columnar dataset, reusing a binary snapshot
+     * next to the file when it is still current.
+     *
+     * @param csvPath path to the CSV file
+     * @return dataset holding every row
+     * @throws IOException if reading, parsing or writing the snapshot fails
+     * @see #loadCached(Path, boolean)
+     */
+    public SalesDataset loadCached(Path csvPath) throws IOException {
+        return loadCached(csvPath, false);
+    }
+
+    /**
+     * Loads a CSV file into a columnar dataset, reusing a binary snapshot
+     * stored as {@code <csv>.snap} next to the file.
+     *
+     * The snapshot is used only if the CSV's size and modification time
+     * match the ones recorded when it was written, and, with
+     * {@code verifyContent}, also its CRC32C. Otherwise the CSV is parsed
+     * and the snapshot rewritten. Reusing a snapshot memory-maps it and
+     * copies each column in bulk, with no parsing at all.
+     *
+     * @param csvPath       path to the CSV file
+     * @param verifyContent also hash the CSV and compare with the snapshot,
+     *                      which catches rewrites that keep size and mtime
+     * @return dataset holding every row
+     * @throws IOException if reading, parsing or writing the snapshot fails
+     */
+    public SalesDataset loadCached(Path csvPath, boolean verifyContent) throws IOException {
+        try (SalesMetrics.Timer timer = SalesMetrics.startLoad("loadCached", csvPath)) {
+            Path snapshot = SalesSnapshot.pathFor(csvPath);
+            SalesSnapshot.Source source = SalesSnapshot.Source.stat(csvPath);
+            SalesSnapshot.Header header = SalesSnapshot.readHeader(snapshot);
+            SalesDataset dataset;
+            if (header != null && header.isFor(source)
+                    && (!verifyContent || header.sourceCrc == SalesSnapshot.contentHash(csvPath))) {
+                dataset = SalesSnapshot.read(snapshot, header);
+                timer.bytesRead(Files.size(snapshot));
+            } else {
+                // The nested loadDataset records the bytes it parses
+                dataset = loadDataset(csvPath);
+                SalesSnapshot.write(dataset, source, csvPath, snapshot);
+            }
+            timer.rows(dataset.size());
+            return dataset;
+        }
+    }
+
+    /**
+     * Opens every CSV file of a directory, or every file matching a file
+     * name glob such as {@code data/sales-2014-*.csv}, as the partitions of
+     * one dataset.
+     *
+     * Files are opened in parallel. A file whose binary snapshot (see
+     * {@link #loadCached(Path)}) is current is described from the
+     * snapshot header alone and read only when a query needs it; any other
+     * file is parsed now and stays in memory. Its snapshot is written for
+     * the next load if the directory is writable; a failure to write it
+     * does not fail the load.
+     *
+     * @param directoryOrGlob directory holding {@code *.csv} files, or a
+     *                        glob over the file names of one directory
+     * @return partitioned dataset, partitions in file name order
+     * @throws IOException if listing, reading or parsing a file fails
+     */
+    public PartitionedDataset loadPartitions(Path directoryOrGlob) throws IOException {
+        try (SalesMetrics.Timer timer = SalesMetrics.startLoad("loadPartitions", directoryOrGlob)) {
+            List<Callable<PartitionedDataset.Partition>> tasks = new ArrayList<>();
+            for (Path csvPath : partitionFiles(directoryOrGlob)) {
+                tasks.add(() -> openPartition(csvPath));
+            }
+            List<PartitionedDataset.Partition> partitions = new ArrayList<>();
+            for (Future<PartitionedDataset.Partition> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                partitions.add(join(future));
+            }
+            PartitionedDataset dataset = new PartitionedDataset(partitions);
+            timer.rows(dataset.size());
+            return dataset;
+        }
+    }
+
+    private PartitionedDataset.Partition openPartition(Path csvPath) throws IOException {
+        Path snapshot = SalesSnapshot.pathFor(csvPath);
+        SalesSnapshot.Source source = SalesSnapshot.Source.stat(csvPath);
+        SalesSnapshot.Header header = SalesSnapshot.readHeader(snapshot);
+        if (header != null && header.isFor(source)) {
+            return PartitionedDataset.Partition.fromSnapshot(csvPath, this, header);
+        }
+        SalesDataset dataset = loadDataset(csvPath);
+        try {
+            SalesSnapshot.write(dataset, source, csvPath, snapshot);
+        } catch (IOException e) {
+            // The snapshot only speeds up the next load, e.g. of a read-only directory
+        }
+        return PartitionedDataset.Partition.loaded(csvPath, this, dataset);
+    }
+
+    /**
+     * Lists the files a partition path refers to: the {@code *.csv} files of
+     * a directory, or the files of the parent directory whose names match
+     * the last path element as a glob. Snapshots written next to the files
+     * are never listed, however loose the glob.
+     */
+    static List<Path> partitionFiles(Path directoryOrGlob) throws IOException {
+        Path directory;
+        PathMatcher matcher;
+        if (Files.isDirectory(directoryOrGlob)) {
+            directory = directoryOrGlob;
+            matcher = directory.getFileSystem().getPathMatcher("glob:*.csv");
+        } else {
+            Path parent = directoryOrGlob.getParent();
+            directory = parent != null ? parent : Path.of(".");
+            matcher = directory.getFileSystem().getPathMatcher("glob:" + directoryOrGlob.getFileName());
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> matcher.matches(file.getFileName()) && Files.isRegularFile(file)
+                            && !SalesSnapshot.isSnapshotFile(file))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Reads a CSV file into an {@link OffHeapSalesStore}, streaming each
+     * parsed row straight into the off-heap columns so that the heap only
+     * holds the dictionaries. The caller owns the store and must close it.
+     *
+     * @param csvPath path to the CSV file
+     * @return store holding all rows, in file order
+     * @throws IOException if file reading or mapping fails
+     */
+    public OffHeapSalesStore loadOffHeap(Path csvPath) throws IOException {
+        OffHeapSalesStore store = new OffHeapSalesStore();
+        try (SalesMetrics.Timer timer = SalesMetrics.startLoad("loadOffHeap", csvPath)) {
+            parseFile(csvPath, store::append, timer);
+        } catch (IOException | RuntimeException e) {
+            store.close();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * Reads a CSV file into a {@link CompressedSalesDataset}, encoding each
+     * block of rows as soon as it has been parsed, so only one block is
+     * ever held uncompressed.
+     *
+     * @param csvPath path to the CSV file
+     * @return compressed dataset holding all rows, in file order
+     * @throws IOException if file reading or mapping fails
+     */
+    public CompressedSalesDataset loadCompressed(Path csvPath) throws IOException {
+        CompressedSalesDataset.Encoder encoder = new CompressedSalesDataset.Encoder();
+        try (SalesMetrics.Timer timer = SalesMetrics.startLoad("loadCompressed", csvPath)) {
+            parseFile(csvPath, encoder::accept, timer);
+            return encoder.finish();
+        }
+    }
+
+    /**
+     * Streams every row of a CSV file to a consumer without keeping any of
+     * them, so heap use does not depend on file size.
+     *
+     * The row passed to the consumer is reused for the next line; copy it
+     * with {@link SalesRecord#of(SalesRow)} if it must be kept.
+     *
+     * @param csvPath path to the CSV file
+     * @param action  receives each row in file order
+     * @throws IOException if file reading or mapping fails
+     */
+    public void forEachRow(Path csvPath, Consumer<SalesRow> action) throws IOException {
+        try (SalesMetrics.Timer timer = SalesMetrics.startLoad("forEachRow", csvPath)) {
+            parseFile(csvPath, action, timer);
+        }
+    }
+
+    /**
+     * Folds every row of a CSV file into mergeable accumulators without
+     * materializing the rows, parsing in parallel on the common pool.
+     *
+     * @param csvPath        path to the CSV file
+     * @param newAccumulator creates an empty accumulator per byte range
+     * @param accumulate     folds a row into an accumulator; the row must not be kept
+     * @param merge          combines the accumulators of two consecutive ranges
+     * @param <A>            accumulator type
+     * @return accumulator over all rows
+     * @throws IOException if file reading or mapping fails
+     * @see #aggregate(Path, ForkJoinPool, Supplier, BiConsumer, BinaryOperator)
+     */
+    public <A> A aggregate(Path csvPath, Supplier<A> newAccumulator,
+                           BiConsumer<A, SalesRow> accumulate, BinaryOperator<A> merge) throws IOException {
+        return aggregate(csvPath, ForkJoinPool.commonPool(), newAccumulator, accumulate, merge);
+    }
+
+    /**
+     * Folds every row of a CSV file into mergeable accumulators without
+     * materializing the rows.
+     *
+     * Each newline-aligned byte range gets its own accumulator, and the
+     * accumulators are merged in file order. Heap use is bounded by the
+     * accumulators' own state, so files far larger than the heap can be
+     * analyzed.
+     *
+     * @param csvPath        path to the CSV file
+     * @param pool           pool running the per-range tasks
+     * @param newAccumulator creates an empty accumulator per byte range
+     * @param accumulate     folds a row into an accumulator; the row must not be kept
+     * @param merge          combines the accumulators of two consecutive ranges
+     * @param <A>            accumulator type
+     * @return accumulator over all rows
+     * @throws IOException if file reading or mapping fails
+     */
+    public <A> A aggregate(Path csvPath, ForkJoinPool pool, Supplier<A> newAccumulator,
+                           BiConsumer<A, SalesRow> accumulate, BinaryOperator<A> merge) throws IOException {
+        try (SalesMetrics.Timer timer = SalesMetrics.startLoad("aggregate", csvPath)) {
+            List<A> parts = parseChunks(csvPath, pool, newAccumulator, accumulate, timer);
+            A result = parts.get(0);
+            for (int i = 1; i < parts.size(); i++) {
+                result = merge.apply(result, parts.get(i));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Computes a {@link SalesReport} straight from a CSV file in constant
+     * memory: rows are streamed into {@link ReportAccumulator}s and never
+     * stored.
+     *
+     * @param csvPath  path to the CSV file
+     * @param sections aggregations to compute
+     * @param topN     number of orders for {@link ReportSection#TOP_PROFITABLE_ORDERS}
+     * @return report holding the requested sections
+     * @throws IOException if file reading or mapping fails
+     */
+    public SalesReport report(Path csvPath, Set<ReportSection> sections, int topN) throws IOException {
+        return aggregate(csvPath,
+                () -> new ReportAccumulator(sections, topN),
+                ReportAccumulator::accept,
+                ReportAccumulator::merge).toReport();
+    }
+
+    /**
+     * Splits the file into newline-aligned byte ranges and parses each range
+     * into its own part on the pool.
+     *
+     * @param csvPath path to the CSV file
+     * @param pool    pool running the per-range parse tasks
+     * @param newPart creates the container for one range
+     * @param add     adds a parsed row to a container; the row must be copied
+     * @param timer   receives the bytes, rows and pool-thread allocation of the parse
+     * @return one container per range, in file order
+     * @throws IOException if file reading or mapping fails
+     */
+    private <T> List<T> parseChunks(Path csvPath, ForkJoinPool pool, Supplier<T> newPart,
+                                    BiConsumer<T, SalesRow> add, SalesMetrics.Timer timer) throws IOException {
+        try (FileChannel channel = FileChannel.open(csvPath, StandardOpenOption.READ)) {
+            timer.bytesRead(channel.size());
+            long start = SalesCsvParser.skipHeader(channel);
+            long[] bounds = SalesCsvParser.split(channel, start, channel.size(),
+                    chunkCount(channel.size() - start, pool.getParallelism()));
+
+            Thread caller = Thread.currentThread();
+            List<Callable<T>> tasks = new ArrayList<>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                long from = bounds[i];
+                long to = bounds[i + 1];
+                tasks.add(() -> {
+                    long allocatedBefore = SalesMetrics.allocatedBytes();
+                    T part = newPart.get();
+                    SalesCsvParser parser = new SalesCsvParser();
+                    timer.rows(parser.parse(channel, from, to, row -> add.accept(part, row)));
+                    timer.blankLines(parser.blankLines());
+                    // The caller's own allocation is already counted by the timer
+                    if (Thread.currentThread() != caller) {
+                        timer.allocated(SalesMetrics.allocatedBytes() - allocatedBefore);
+                    }
+                    return part;
+                });
+            }
+
+            List<T> parts = new ArrayList<>();
+            for (Future<T> future : pool.invokeAll(tasks)) {
+                parts.add(join(future));
+            }
+            return parts;
+        }
+    }
+
+    /**
+     * Parses a whole CSV file on the calling thread, reporting its size and
+     * row counts to a timer.
+     */
+    private static void parseFile(Path csvPath, Consumer<SalesRow> action, SalesMetrics.Timer timer)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(csvPath, StandardOpenOption.READ)) {
+            timer.bytesRead(channel.size());
+            long start = SalesCsvParser.skipHeader(channel);
+            SalesCsvParser parser = new SalesCsvParser();
+            timer.rows(parser.parse(channel, start, channel.size(), action));
+            timer.blankLines(parser.blankLines());
+        }
+    }
+
+    int chunkCount(long bytes, int parallelism) {
+        long bySize = Math.max(1, bytes / minChunkBytes);
+        return (int) Math.min(bySize, (long) parallelism * CHUNKS_PER_WORKER);
+    }
+
+    /**
+     * Waits for a parse task, unwrapping its failure so callers see the
+     * original IOException or parse error.
+     */
+    static <T> T join(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
         }
     }
 
     /**
      * Parses a single CSV row into a {@link SalesRecord} object.
      *
+     * Fields are located by index and trimmed like {@link String#trim()};
+     * only the five text columns become Strings, numbers and dates are
+     * decoded in place by {@link FieldParser} and dates are shared
+     * instances. As with {@code line.split(",")}, empty trailing fields do
+     * not count and fields beyond the fourteenth are ignored.
+     *
      * @param line raw CSV line
      * @return parsed SalesRecord object
+     * @throws IllegalArgumentException if the line has fewer than fourteen fields
      * @throws RuntimeException if parsing fails due to invalid data format
      */
     private SalesRecord parseLine(String line) {
-        // Split CSV fields by comma
-        String[] p = line.split(",");
+        int fields = SalesCsvParser.FIELD_COUNT;
+        int end = line.length();
+        while (end > 0 && line.charAt(end - 1) == ',') {
+            end--;
+        }
+        // Offsets of the commas around each field; bounds[0] is before the line
+        int[] bounds = new int[fields + 1];
+        bounds[0] = -1;
+        int found = end == 0 ? 0 : 1;
+        for (int i = 0; i < end && found < fields; i++) {
+            if (line.charAt(i) == ',') {
+                bounds[found++] = i;
+            }
+        }
+        if (found < fields) {
+            throw new IllegalArgumentException(
+                    "Expected " + fields + " fields but found " + found + ": " + line);
+        }
+        int next = line.indexOf(',', bounds[fields - 1] + 1);
+        bounds[fields] = next < 0 || next > end ? end : next;
 
         // Extract string fields
-        String region = p[0].trim();
-        String country = p[1].trim();
-        String itemType = p[2].trim();
-        String salesChannel = p[3].trim();
-        String orderPriority = p[4].trim();
+        String region = text(line, bounds, 0);
+        String country = text(line, bounds, 1);
+        String itemType = text(line, bounds, 2);
+        String salesChannel = text(line, bounds, 3);
+        String orderPriority = text(line, bounds, 4);
 
         // Parse numeric and date values
-        long orderId = Long.parseLong(p[6].trim());
-        LocalDate orderDate = LocalDate.parse(p[5].trim(), FORMATTER);
-        LocalDate shipDate = LocalDate.parse(p[7].trim(), FORMATTER);
+        long orderId = FieldParser.parseLong(line, start(line, bounds, 6), end(line, bounds, 6));
+        int orderDay = FieldParser.parseEpochDay(line, start(line, bounds, 5), end(line, bounds, 5));
+        int shipDay = FieldParser.parseEpochDay(line, start(line, bounds, 7), end(line, bounds, 7));
 
-        int unitsSold = Integer.parseInt(p[8].trim());
-        double unitPrice = Double.parseDouble(p[9].trim());
-        double unitCost = Double.parseDouble(p[10].trim());
-        double totalRevenue = Double.parseDouble(p[11].trim());
-        double totalCost = Double.parseDouble(p[12].trim());
-        double totalProfit = Double.parseDouble(p[13].trim());
+        int unitsSold = FieldParser.parseInt(line, start(line, bounds, 8), end(line, bounds, 8));
+        double unitPrice = FieldParser.parseDouble(line, start(line, bounds, 9), end(line, bounds, 9));
+        double unitCost = FieldParser.parseDouble(line, start(line, bounds, 10), end(line, bounds, 10));
+        double totalRevenue = FieldParser.parseDouble(line, start(line, bounds, 11), end(line, bounds, 11));
+        double totalCost = FieldParser.parseDouble(line, start(line, bounds, 12), end(line, bounds, 12));
+        double totalProfit = FieldParser.parseDouble(line, start(line, bounds, 13), end(line, bounds, 13));
 
         // Construct and return SalesRecord object
         return new SalesRecord(
                 region, country, itemType, salesChannel, orderPriority,
-                orderDate, orderId, shipDate,
+                FieldParser.localDate(orderDay), orderId, FieldParser.localDate(shipDay),
                 unitsSold, unitPrice, unitCost,
                 totalRevenue, totalCost, totalProfit
         );
     }
+
+    private static String text(String line, int[] bounds, int field) {
+        return line.substring(start(line, bounds, field), end(line, bounds, field));
+    }
+
+    /** First non-whitespace offset of a field, by the rule of {@link String#trim()}. */
+    private static int start(String line, int[] bounds, int field) {
+        int s = bounds[field] + 1;
+        int e = bounds[field + 1];
+        while (s < e && line.charAt(s) <= ' ') {
+            s++;
+        }
+        return s;
+    }
+
+    /** Offset after the last non-whitespace char of a field. */
+    private static int end(String line, int[] bounds, int field) {
+        int s = bounds[field] + 1;
+        int e = bounds[field + 1];
+        while (e > s && line.charAt(e - 1) <= ' ') {
+            e--;
+        }
+        return e;
+    }
 }
@@ -0,0 +1,452 @@
+package com.janhavi.challenge.sales;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Columnar, append-only in-memory store of sales rows.
+ *
+ * Instead of one object per row, every column lives in its own primitive
+ * array: measures in {@code double[]}/{@code int[]}/{@code long[]}, dates as
+ * epoch-day ints and each {@link Dimension} as int codes into a per-dimension
+ * {@link StringDictionary}. A row costs about 80 bytes with no per-row
+ * object headers, and scans over one column read contiguous memory.
+ *
+ * Appends are not synchronized; a dataset may be read concurrently once it
+ * is no longer being appended to.
+ */
+public final class SalesDataset {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private static final Dimension[] DIMENSIONS = Dimension.values();
+
+    private final StringDictionary[] dictionaries = new StringDictionary[DIMENSIONS.length];
+
+    // Optional bitmap indexes, indexed by Dimension.ordinal(); null when absent
+    private final BitmapIndex[] indexes = new BitmapIndex[DIMENSIONS.length];
+
+    // Indexed by Dimension.ordinal()
+    private int[][] codes = new int[DIMENSIONS.length][];
+
+    private int[] orderDays;
+    private int[] shipDays;
+    private long[] orderIds;
+    private int[] unitsSold;
+    private double[] unitPrice;
+    private double[] unitCost;
+    private double[] totalRevenue;
+    private double[] totalCost;
+    private double[] totalProfit;
+
+    private int size;
+
+    // Bumped by every change to the rows, so readers can tell stale results
+    private long version;
+
+    // Order-date index of the rows, rebuilt on first use after an append
+    private TimeIndex timeIndex;
+
+    /**
+     * Creates an empty dataset with a default initial capacity.
+     */
+    public SalesDataset() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty dataset.
+     *
+     * @param initialCapacity number of rows to reserve space for
+     */
+    public SalesDataset(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        for (int d = 0; d < DIMENSIONS.length; d++) {
+            dictionaries[d] = new StringDictionary();
+            codes[d] = new int[capacity];
+        }
+        orderDays = new int[capacity];
+        shipDays = new int[capacity];
+        orderIds = new long[capacity];
+        unitsSold = new int[capacity];
+        unitPrice = new double[capacity];
+        unitCost = new double[capacity];
+        totalRevenue = new double[capacity];
+        totalCost = new double[capacity];
+        totalProfit = new double[capacity];
+    }
+
+    /**
+     * Wraps fully built columns, e.g. restored from a {@link SalesSnapshot}.
+     * The arrays are taken over, not copied.
+     */
+    SalesDataset(List<List<String>> dictionaryValues, int[][] codes,
+                 int[] orderDays, int[] shipDays, long[] orderIds, int[] unitsSold,
+                 double[] unitPrice, double[] unitCost,
+                 double[] totalRevenue, double[] totalCost, double[] totalProfit, int size) {
+        for (int d = 0; d < DIMENSIONS.length; d++) {
+            dictionaries[d] = new StringDictionary();
+            dictionaryValues.get(d).forEach(dictionaries[d]::encode);
+        }
+        this.codes = codes;
+        this.orderDays = orderDays;
+        this.shipDays = shipDays;
+        this.orderIds = orderIds;
+        this.unitsSold = unitsSold;
+        this.unitPrice = unitPrice;
+        this.unitCost = unitCost;
+        this.totalRevenue = totalRevenue;
+        this.totalCost = totalCost;
+        this.totalProfit = totalProfit;
+        this.size = size;
+    }
+
+    /**
+     * Builds a dataset from a collection of rows, preserving their order.
+     *
+     * @param rows rows to copy
+     * @return new dataset holding the rows
+     */
+    public static SalesDataset of(Collection<? extends SalesRow> rows) {
+        SalesDataset dataset = new SalesDataset(rows.size());
+        rows.forEach(dataset::append);
+        return dataset;
+    }
+
+    /**
+     * Appends a row, copying its values.
+     *
+     * @param row row to append
+     */
+    public void append(SalesRow row) {
+        ensureCapacity(size + 1);
+        int i = size;
+        for (int d = 0; d < DIMENSIONS.length; d++) {
+            codes[d][i] = dictionaries[d].encode(DIMENSIONS[d].of(row));
+            if (indexes[d] != null) {
+                indexes[d].set(codes[d][i], i);
+            }
+        }
+        orderDays[i] = row.getOrderEpochDay();
+        shipDays[i] = row.getShipEpochDay();
+        orderIds[i] = row.getOrderId();
+        unitsSold[i] = row.getUnitsSold();
+        unitPrice[i] = row.getUnitPrice();
+        unitCost[i] = row.getUnitCost();
+        totalRevenue[i] = row.getTotalRevenue();
+        totalCost[i] = row.getTotalCost();
+        totalProfit[i] = row.getTotalProfit();
+        size++;
+        version++;
+    }
+
+    /**
+     * Appends every row of another dataset, translating its dimension codes
+     * into this dataset's dictionaries.
+     *
+     * @param other dataset to copy
+     */
+    public void appendAll(SalesDataset other) {
+        ensureCapacity(size + other.size);
+        int n = other.size;
+        for (int d = 0; d < DIMENSIONS.length; d++) {
+            StringDictionary source = other.dictionaries[d];
+            int[] remap = new int[source.size()];
+            for (int c = 0; c < remap.length; c++) {
+                remap[c] = dictionaries[d].encode(source.decode(c));
+            }
+            int[] from = other.codes[d];
+            int[] to = codes[d];
+            for (int r = 0; r < n; r++) {
+                to[size + r] = remap[from[r]];
+            }
+            if (indexes[d] != null) {
+                for (int r = 0; r < n; r++) {
+                    indexes[d].set(to[size + r], size + r);
+                }
+            }
+        }
+        System.arraycopy(other.orderDays, 0, orderDays, size, n);
+        System.arraycopy(other.shipDays, 0, shipDays, size, n);
+        System.arraycopy(other.orderIds, 0, orderIds, size, n);
+        System.arraycopy(other.unitsSold, 0, unitsSold, size, n);
+        System.arraycopy(other.unitPrice, 0, unitPrice, size, n);
+        System.arraycopy(other.unitCost, 0, unitCost, size, n);
+        System.arraycopy(other.totalRevenue, 0, totalRevenue, size, n);
+        System.arraycopy(other.totalCost, 0, totalCost, size, n);
+        System.arraycopy(other.totalProfit, 0, totalProfit, size, n);
+        size += n;
+        version++;
+    }
+
+    /**
+     * Builds bitmap indexes over dimensions, which {@link SalesQuery} then
+     * uses to answer filters on them. Indexes are maintained by later
+     * appends; dimensions that are already indexed are skipped.
+     *
+     * @param dimensions dimensions to index, ideally low-cardinality ones
+     */
+    public void createIndex(Dimension... dimensions) {
+        for (Dimension dimension : dimensions) {
+            int d = dimension.ordinal();
+            if (indexes[d] == null) {
+                BitmapIndex index = new BitmapIndex(dimension, dictionaries[d]);
+                for (int i = 0; i < size; i++) {
+                    index.set(codes[d][i], i);
+                }
+                indexes[d] = index;
+            }
+        }
+    }
+
+    /**
+     * Returns the bitmap index of a dimension.
+     *
+     * @param dimension indexed dimension
+     * @return index, or null if the dimension is not indexed
+     */
+    public BitmapIndex index(Dimension dimension) {
+        return indexes[dimension.ordinal()];
+    }
+
+    /**
+     * Returns the order-date index of the current rows, for range and
+     * window queries. The index is built on first use and kept; after rows
+     * have been appended the next call builds it again.
+     *
+     * @return index covering every row
+     * @throws IllegalArgumentException if the order dates span more than about 11,000 years
+     */
+    public TimeIndex timeIndex() {
+        TimeIndex current = timeIndex;
+        if (current == null || !current.isCurrent()) {
+            current = TimeIndex.of(this);
+            timeIndex = current;
+        }
+        return current;
+    }
+
+    /**
+     * Shrinks the column arrays to the current row count.
+     */
+    public void trimToSize() {
+        resize(size);
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return row count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a counter that changes whenever rows are appended, so that
+     * results computed from the dataset can be recognized as stale.
+     *
+     * @return modification count
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Returns the dictionary that encodes a dimension.
+     *
+     * @param dimension dimension to look up
+     * @return dictionary of the dimension's values
+     */
+    public StringDictionary dictionary(Dimension dimension) {
+        return dictionaries[dimension.ordinal()];
+    }
+
+    /**
+     * Returns the dictionary code of a row's dimension value.
+     *
+     * @param dimension dimension to read
+     * @param row       row index
+     * @return dictionary code
+     */
+    public int code(Dimension dimension, int row) {
+        return codes[dimension.ordinal()][checkRow(row)];
+    }
+
+    /**
+     * Returns a row's dimension value.
+     *
+     * @param dimension dimension to read
+     * @param row       row index
+     * @return decoded dimension value
+     */
+    public String value(Dimension dimension, int row) {
+        return dictionary(dimension).decode(code(dimension, row));
+    }
+
+    /**
+     * Returns a row's measure value.
+     *
+     * @param measure measure to read
+     * @param row     row index
+     * @return measure value
+     */
+    public double measure(Measure measure, int row) {
+        checkRow(row);
+        switch (measure) {
+            case UNITS_SOLD:
+                return unitsSold[row];
+            case UNIT_PRICE:
+                return unitPrice[row];
+            case UNIT_COST:
+                return unitCost[row];
+            case TOTAL_REVENUE:
+                return totalRevenue[row];
+            case TOTAL_COST:
+                return totalCost[row];
+            case TOTAL_PROFIT:
+                return totalProfit[row];
+            default:
+                throw new IllegalArgumentException("Unknown measure: " + measure);
+        }
+    }
+
+    public long orderId(int row) { return orderIds[checkRow(row)]; }
+    public int orderEpochDay(int row) { return orderDays[checkRow(row)]; }
+    public int shipEpochDay(int row) { return shipDays[checkRow(row)]; }
+    public int unitsSold(int row) { return unitsSold[checkRow(row)]; }
+
+    /**
+     * Materializes a row as an immutable {@link SalesRecord}.
+     *
+     * @param row row index
+     * @return record holding the row's values
+     */
+    public SalesRecord record(int row) {
+        return SalesRecord.of(cursor().at(row));
+    }
+
+    /**
+     * Returns a reusable view that can be positioned on any row.
+     *
+     * @return new cursor, initially on row 0
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    // Raw column access for scans; arrays may be longer than size()
+
+    int[] codes(Dimension dimension) {
+        return codes[dimension.ordinal()];
+    }
+
+    int[] orderDays() {
+        return orderDays;
+    }
+
+    int[] shipDays() {
+        return shipDays;
+    }
+
+    long[] orderIds() {
+        return orderIds;
+    }
+
+    int[] unitsSold() {
+        return unitsSold;
+    }
+
+    /**
+     * Returns the backing array of a double-valued measure.
+     *
+     * @throws IllegalArgumentException for {@link Measure#UNITS_SOLD}, which is stored as ints
+     */
+    double[] doubles(Measure measure) {
+        switch (measure) {
+            case UNIT_PRICE:
+                return unitPrice;
+            case UNIT_COST:
+                return unitCost;
+            case TOTAL_REVENUE:
+                return totalRevenue;
+            case TOTAL_COST:
+                return totalCost;
+            case TOTAL_PROFIT:
+                return totalProfit;
+            default:
+                throw new IllegalArgumentException(measure + " is not stored as double");
+        }
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+        }
+        return row;
+    }
+
+    private void ensureCapacity(int required) {
+        int capacity = orderDays.length;
+        if (required > capacity) {
+            resize(Math.max(required, capacity + (capacity >> 1)));
+        }
+    }
+
+    private void resize(int capacity) {
+        for (int d = 0; d < DIMENSIONS.length; d++) {
+            codes[d] = Arrays.copyOf(codes[d], capacity);
+        }
+        orderDays = Arrays.copyOf(orderDays, capacity);
+        shipDays = Arrays.copyOf(shipDays, capacity);
+        orderIds = Arrays.copyOf(orderIds, capacity);
+        unitsSold = Arrays.copyOf(unitsSold, capacity);
+        unitPrice = Arrays.copyOf(unitPrice, capacity);
+        unitCost = Arrays.copyOf(unitCost, capacity);
+        totalRevenue = Arrays.copyOf(totalRevenue, capacity);
+        totalCost = Arrays.copyOf(totalCost, capacity);
+        totalProfit = Arrays.copyOf(totalProfit, capacity);
+    }
+
+    /**
+     * Flyweight {@link SalesRow} over one row of the dataset. Repositioning
+     * a cursor is free; dates are only converted to {@link LocalDate} when
+     * asked for.
+     */
+    public final class Cursor implements SalesRow {
+
+        private int row;
+
+        /**
+         * Moves the cursor to a row.
+         *
+         * @param row row index
+         * @return this cursor
+         */
+        public Cursor at(int row) {
+            this.row = checkRow(row);
+            return this;
+        }
+
+        public int row() { return row; }
+
+        @Override public String getRegion() { return value(Dimension.REGION, row); }
+        @Override public String getCountry() { return value(Dimension.COUNTRY, row); }
+        @Override public String getItemType() { return value(Dimension.ITEM_TYPE, row); }
+        @Override public String getSalesChannel() { return value(Dimension.SALES_CHANNEL, row); }
+        @Override public String getOrderPriority() { return value(Dimension.ORDER_PRIORITY, row); }
+        @Override public LocalDate getOrderDate() { return LocalDate.ofEpochDay(orderDays[row]); }
+        @Override public long getOrderId() { return orderIds[row]; }
+        @Override public LocalDate getShipDate() { return LocalDate.ofEpochDay(shipDays[row]); }
+        @Override public int getUnitsSold() { return unitsSold[row]; }
+        @Override public double getUnitPrice() { return unitPrice[row]; }
+        @Override public double getUnitCost() { return unitCost[row]; }
+        @Override public double getTotalRevenue() { return totalRevenue[row]; }
+        @Override public double getTotalCost() { return totalCost[row]; }
+        @Override public double getTotalProfit() { return totalProfit[row]; }
+        @Override public int getOrderEpochDay() { return orderDays[row]; }
+        @Override public int getShipEpochDay() { return shipDays[row]; }
+    }
+}
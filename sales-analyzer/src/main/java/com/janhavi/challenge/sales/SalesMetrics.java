@@ -0,0 +1,365 @@
+package com.janhavi.challenge.sales;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Built-in instrumentation for loads and queries.
+ *
+ * Every {@link SalesDataLoader} load and every {@link SalesAnalyzer} query
+ * records its wall-clock time, heap allocation and, for loads, bytes read,
+ * rows parsed and blank lines skipped. Each call is emitted as a
+ * {@link LoadEvent} or {@link QueryEvent} for Java Flight Recorder and
+ * added to per-operation running totals, which can be read with
+ * {@link #snapshot()} or over JMX after {@link #registerMBeans()}.
+ *
+ * Operations nest: {@code loadCached} records its own entry and, when the
+ * snapshot is stale, the {@code loadDataset} it calls records another.
+ * Allocation counts the calling thread plus the parse tasks a load runs on
+ * its pool. Recording costs two clock and two allocation-counter reads per
+ * call, nothing per row.
+ */
+public final class SalesMetrics {
+
+    /** JMX domain of the operation MBeans. */
+    public static final String DOMAIN = "com.janhavi.challenge.sales";
+
+    /** Kind of instrumented operation. */
+    public enum Kind {
+        LOAD("Load"),
+        QUERY("Query");
+
+        private final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+
+        /** Returns the name used in JMX object names, e.g. {@code Load}. */
+        public String label() {
+            return label;
+        }
+    }
+
+    // One map per Kind, so recording a call builds no key string
+    private static final Map<Kind, Map<String, Operation>> OPERATIONS = new EnumMap<>(Kind.class);
+
+    static {
+        for (Kind kind : Kind.values()) {
+            OPERATIONS.put(kind, new ConcurrentHashMap<>());
+        }
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+    private static volatile boolean mbeansRegistered;
+
+    private SalesMetrics() {
+    }
+
+    /**
+     * Returns the totals of every operation recorded so far, keyed by
+     * {@code load.<operation>} or {@code query.<operation>}.
+     *
+     * @return sorted, unmodifiable map of operation key -> totals
+     */
+    public static Map<String, Stats> snapshot() {
+        Map<String, Stats> result = new TreeMap<>();
+        OPERATIONS.forEach((kind, operations) -> operations.forEach((name, operation) ->
+                result.put(kind.name().toLowerCase(Locale.ROOT) + "." + name, operation.stats())));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Clears all totals. Registered MBeans stay registered and read zero.
+     */
+    public static void reset() {
+        OPERATIONS.values().forEach(operations -> operations.values().forEach(Operation::reset));
+    }
+
+    /**
+     * Registers one {@link OperationMetricsMXBean} per operation with the
+     * platform MBean server, now and for operations first seen later.
+     * Calling it again has no effect.
+     */
+    public static synchronized void registerMBeans() {
+        if (mbeansRegistered) {
+            return;
+        }
+        mbeansRegistered = true;
+        OPERATIONS.values().forEach(operations -> operations.values().forEach(Operation::register));
+    }
+
+    /**
+     * Prints one line per operation: calls, mean and max time, rows and
+     * allocation.
+     *
+     * @param out stream to print to
+     */
+    public static void print(PrintStream out) {
+        snapshot().forEach((key, stats) -> out.println(stats));
+    }
+
+    /**
+     * Starts timing a load.
+     *
+     * @param operation loader method name
+     * @param source    file or directory being read
+     * @return timer to close when the load ends
+     */
+    static Timer startLoad(String operation, Object source) {
+        LoadEvent event = new LoadEvent();
+        event.operation = operation;
+        event.path = String.valueOf(source);
+        event.begin();
+        return new Timer(operation(Kind.LOAD, operation), event);
+    }
+
+    /**
+     * Starts timing a query.
+     *
+     * @param operation analyzer method name
+     * @param backend   storage the query runs on
+     * @param rows      rows held by that storage
+     * @return timer to close when the query ends
+     */
+    static Timer startQuery(String operation, String backend, long rows) {
+        QueryEvent event = new QueryEvent();
+        event.operation = operation;
+        event.backend = backend;
+        event.rows = rows;
+        event.begin();
+        Timer timer = new Timer(operation(Kind.QUERY, operation), event);
+        timer.rows(rows);
+        return timer;
+    }
+
+    /**
+     * Returns the bytes the current thread has allocated so far, or 0 if
+     * the JVM does not count them.
+     */
+    static long allocatedBytes() {
+        if (THREADS == null) {
+            return 0;
+        }
+        long bytes = THREADS.getCurrentThreadAllocatedBytes();
+        return Math.max(bytes, 0);
+    }
+
+    private static Operation operation(Kind kind, String name) {
+        return OPERATIONS.get(kind).computeIfAbsent(name, key -> {
+            Operation operation = new Operation(kind, name);
+            if (mbeansRegistered) {
+                operation.register();
+            }
+            return operation;
+        });
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        try {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+                if (counter.isThreadAllocatedMemorySupported() && counter.isThreadAllocatedMemoryEnabled()) {
+                    return counter;
+                }
+            }
+        } catch (RuntimeException | LinkageError e) {
+            // Without the jdk.management module allocation is reported as 0
+        }
+        return null;
+    }
+
+    /**
+     * Measures one call. Loads add the bytes and rows they read; tasks on
+     * other threads may add them, and their own allocation, concurrently.
+     * Closing records the call.
+     */
+    static final class Timer implements AutoCloseable {
+
+        private final Operation operation;
+        private final jdk.jfr.Event event;
+        private final long startNanos = System.nanoTime();
+        private final long startAllocated = allocatedBytes();
+        // Guarded by this; parse tasks add to them from pool threads
+        private long bytesRead;
+        private long rows;
+        private long blankLines;
+        private long otherThreadsAllocated;
+
+        private Timer(Operation operation, jdk.jfr.Event event) {
+            this.operation = operation;
+            this.event = event;
+        }
+
+        synchronized void bytesRead(long bytes) {
+            bytesRead += bytes;
+        }
+
+        synchronized void rows(long parsed) {
+            rows += parsed;
+        }
+
+        synchronized void blankLines(long skipped) {
+            blankLines += skipped;
+        }
+
+        /** Adds bytes allocated on another thread on behalf of this call. */
+        synchronized void allocated(long bytes) {
+            otherThreadsAllocated += bytes;
+        }
+
+        @Override
+        public synchronized void close() {
+            long nanos = System.nanoTime() - startNanos;
+            long allocated = allocatedBytes() - startAllocated + otherThreadsAllocated;
+            operation.record(nanos, bytesRead, rows, blankLines, allocated);
+            event.end();
+            if (event.shouldCommit()) {
+                if (event instanceof LoadEvent) {
+                    LoadEvent load = (LoadEvent) event;
+                    load.bytesRead = bytesRead;
+                    load.rowsParsed = rows;
+                    load.blankLines = blankLines;
+                    load.allocatedBytes = allocated;
+                } else {
+                    ((QueryEvent) event).allocatedBytes = allocated;
+                }
+                event.commit();
+            }
+        }
+    }
+
+    /** Running totals of one operation, also its MBean. */
+    private static final class Operation implements OperationMetricsMXBean {
+
+        private final Kind kind;
+        private final String name;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder bytesRead = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder blankLines = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        Operation(Kind kind, String name) {
+            this.kind = kind;
+            this.name = name;
+        }
+
+        void record(long nanos, long bytes, long rowCount, long blank, long allocated) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            bytesRead.add(bytes);
+            rows.add(rowCount);
+            blankLines.add(blank);
+            allocatedBytes.add(allocated);
+        }
+
+        void reset() {
+            count.reset();
+            totalNanos.reset();
+            maxNanos.set(0);
+            bytesRead.reset();
+            rows.reset();
+            blankLines.reset();
+            allocatedBytes.reset();
+        }
+
+        Stats stats() {
+            return new Stats(kind, name, getCount(), getTotalNanos(), getMaxNanos(), getBytesRead(),
+                    getRows(), getBlankLines(), getAllocatedBytes());
+        }
+
+        void register() {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            try {
+                ObjectName objectName = new ObjectName(DOMAIN + ":type=" + kind.label() + ",name=" + name);
+                if (!server.isRegistered(objectName)) {
+                    server.registerMBean(this, objectName);
+                }
+            } catch (JMException e) {
+                throw new IllegalStateException("Cannot register MBean for " + name, e);
+            }
+        }
+
+        @Override public long getCount() { return count.sum(); }
+        @Override public long getTotalNanos() { return totalNanos.sum(); }
+        @Override public long getMaxNanos() { return maxNanos.get(); }
+        @Override public long getBytesRead() { return bytesRead.sum(); }
+        @Override public long getRows() { return rows.sum(); }
+        @Override public long getBlankLines() { return blankLines.sum(); }
+        @Override public long getAllocatedBytes() { return allocatedBytes.sum(); }
+    }
+
+    /**
+     * Immutable totals of one operation at the time of a {@link #snapshot()}.
+     */
+    public static final class Stats {
+
+        private final Kind kind;
+        private final String operation;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long bytesRead;
+        private final long rows;
+        private final long blankLines;
+        private final long allocatedBytes;
+
+        Stats(Kind kind, String operation, long count, long totalNanos, long maxNanos,
+              long bytesRead, long rows, long blankLines, long allocatedBytes) {
+            this.kind = kind;
+            this.operation = operation;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.bytesRead = bytesRead;
+            this.rows = rows;
+            this.blankLines = blankLines;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public Kind kind() { return kind; }
+        public String operation() { return operation; }
+        public long count() { return count; }
+        public long totalNanos() { return totalNanos; }
+        public long maxNanos() { return maxNanos; }
+        public long bytesRead() { return bytesRead; }
+        public long rows() { return rows; }
+        public long blankLines() { return blankLines; }
+        public long allocatedBytes() { return allocatedBytes; }
+
+        /**
+         * Returns the mean wall-clock time per call.
+         *
+         * @return mean nanoseconds, or 0 if there were no calls
+         */
+        public long meanNanos() {
+            return count == 0 ? 0 : totalNanos / count;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%-5s %-22s calls=%d mean=%.3fms max=%.3fms bytes=%d rows=%d blank=%d allocated=%d",
+                    kind.label(), operation, count, meanNanos() / 1e6, maxNanos / 1e6,
+                    bytesRead, rows, blankLines, allocatedBytes);
+        }
+    }
+}
@@ -0,0 +1,768 @@
+package com.janhavi.challenge.sales;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Filter, group-by and aggregate query over sales rows.
+ *
+ * Filters can target any dimension, order or ship date range, measure
+ * range, or an arbitrary row predicate; they are combined with AND. Before
+ * running, filters are reordered by evaluation cost: dictionary-code
+ * lookups first (most selective first), then date and measure range
+ * checks on primitive columns, and arbitrary predicates last, so the
+ * expensive checks only see rows that survived the cheap ones. Filters on
+ * dimensions with a {@link BitmapIndex} are resolved before the scan by
+ * OR-ing the bitmaps of the accepted values and AND-ing across dimensions;
+ * the scan then visits only the rows left in the combined bitmap. The plan
+ * runs in a single pass, optionally split into parallel slices.
+ *
+ * Queries are immutable; every configuration method returns a new query.
+ *
+ * <pre>
+ * SalesQuery.select(Aggregate.sum(Measure.TOTAL_REVENUE), Aggregate.count())
+ *         .where(Dimension.REGION, "Europe")
+ *         .whereOrderDate(LocalDate.of(2014, 1, 1), LocalDate.of(2014, 12, 31))
+ *         .groupBy(Dimension.ITEM_TYPE, Dimension.SALES_CHANNEL)
+ *         .run(dataset);
+ * </pre>
+ */
+public final class SalesQuery {
+
+    /** Largest group key space addressed through a plain array. */
+    private static final int MAX_DIRECT_GROUPS = 1 << 16;
+
+    // Filter cost classes, cheapest first; bitmap steps run before the row scan
+    private static final int COST_BITMAP = -1;
+    private static final int COST_DIMENSION = 0;
+    private static final int COST_DATE = 1;
+    private static final int COST_MEASURE = 2;
+    private static final int COST_PREDICATE = 3;
+
+    private final List<Aggregate> aggregates;
+    private List<Dimension> groupBy = List.of();
+    private Map<Dimension, Set<String>> dimensionFilters = new EnumMap<>(Dimension.class);
+    // Inclusive epoch-day bounds, null when unrestricted
+    private int[] orderDayRange;
+    private int[] shipDayRange;
+    private Map<Measure, double[]> measureRanges = new EnumMap<>(Measure.class);
+    private List<Predicate<? super SalesRow>> predicates = List.of();
+    private boolean parallel;
+
+    private SalesQuery(List<Aggregate> aggregates) {
+        this.aggregates = aggregates;
+    }
+
+    /**
+     * Creates a query computing the given aggregates over all rows.
+     *
+     * @param aggregates aggregates to compute per group
+     * @return new query
+     */
+    public static SalesQuery select(Aggregate... aggregates) {
+        if (aggregates.length == 0) {
+            throw new IllegalArgumentException("At least one aggregate is required");
+        }
+        return new SalesQuery(List.of(aggregates));
+    }
+
+    /**
+     * Restricts the query to rows whose dimension has one of the given
+     * values. Filters are combined with AND; a second filter on the same
+     * dimension keeps only the values both accept. Repeated values are
+     * accepted and count once.
+     *
+     * @param dimension dimension to filter on
+     * @param values    accepted values
+     * @return new query
+     * @throws NullPointerException if the dimension or a value is null
+     */
+    public SalesQuery where(Dimension dimension, String... values) {
+        SalesQuery next = copy();
+        Dimension.addFilter(next.dimensionFilters, dimension, values);
+        return next;
+    }
+
+    /**
+     * Restricts the query to an inclusive range of order dates.
+     *
+     * @param from first order date
+     * @param to   last order date
+     * @return new query
+     */
+    public SalesQuery whereOrderDate(LocalDate from, LocalDate to) {
+        SalesQuery next = copy();
+        next.orderDayRange = intersect(orderDayRange, from, to);
+        return next;
+    }
+
+    /**
+     * Restricts the query to an inclusive range of ship dates.
+     *
+     * @param from first ship date
+     * @param to   last ship date
+     * @return new query
+     */
+    public SalesQuery whereShipDate(LocalDate from, LocalDate to) {
+        SalesQuery next = copy();
+        next.shipDayRange = intersect(shipDayRange, from, to);
+        return next;
+    }
+
+    /**
+     * Restricts the query to rows whose measure lies in an inclusive range.
+     *
+     * @param measure measure to filter on
+     * @param min     smallest accepted value
+     * @param max     largest accepted value
+     * @return new query
+     */
+    public SalesQuery where(Measure measure, double min, double max) {
+        SalesQuery next = copy();
+        double[] current = measureRanges.get(measure);
+        next.measureRanges.put(Objects.requireNonNull(measure, "measure"), current == null
+                ? new double[]{min, max}
+                : new double[]{Math.max(min, current[0]), Math.min(max, current[1])});
+        return next;
+    }
+
+    /**
+     * Restricts the query to rows matching an arbitrary predicate, such as
+     * a condition on the order ID. Predicates run after every other filter.
+     *
+     * @param filter row predicate
+     * @return new query
+     */
+    public SalesQuery where(Predicate<? super SalesRow> filter) {
+        SalesQuery next = copy();
+        List<Predicate<? super SalesRow>> combined = new ArrayList<>(predicates);
+        combined.add(Objects.requireNonNull(filter, "filter"));
+        next.predicates = List.copyOf(combined);
+        return next;
+    }
+
+    /**
+     * Groups the result by the values of one or more dimensions.
+     *
+     * @param dimensions grouping dimensions, in key order
+     * @return new query
+     */
+    public SalesQuery groupBy(Dimension... dimensions) {
+        SalesQuery next = copy();
+        next.groupBy = List.of(dimensions);
+        return next;
+    }
+
+    /**
+     * Runs the query on the common fork-join pool, one partial result per
+     * slice of rows.
+     *
+     * @return new query
+     */
+    public SalesQuery parallel() {
+        SalesQuery next = copy();
+        next.parallel = true;
+        return next;
+    }
+
+    /**
+     * Describes the filters in the order they run against a dataset.
+     *
+     * @param dataset dataset whose dictionaries estimate selectivity
+     * @return one description per filter, in evaluation order
+     */
+    public List<String> explain(SalesDataset dataset) {
+        List<String> steps = new ArrayList<>();
+        for (Step step : plan(dataset)) {
+            steps.add(step.description);
+        }
+        return steps;
+    }
+
+    /**
+     * Runs the query over a columnar dataset.
+     *
+     * @param dataset rows to query
+     * @return one row per group, groups in first-seen order
+     */
+    public QueryResult run(SalesDataset dataset) {
+        return result(groups(dataset).order, state -> key(dataset, state));
+    }
+
+    /**
+     * Runs the query over several datasets as if they were one, such as the
+     * partitions of a {@link PartitionedDataset}. Each dataset is planned
+     * against its own dictionaries and groups are merged by value, in
+     * dataset order.
+     *
+     * @param datasets rows to query, in order
+     * @return one row per group, groups in first-seen order
+     */
+    QueryResult runAll(List<SalesDataset> datasets) {
+        Map<List<String>, GroupState> merged = new LinkedHashMap<>();
+        for (SalesDataset dataset : datasets) {
+            for (GroupState state : groups(dataset).order) {
+                merged.computeIfAbsent(key(dataset, state), k -> new GroupState(k, aggregates)).merge(state);
+            }
+        }
+        @SuppressWarnings("unchecked")
+        QueryResult result = result(new ArrayList<>(merged.values()), state -> (List<String>) state.key);
+        return result;
+    }
+
+    /**
+     * Tells whether a partition can hold matching rows, judging by its order
+     * date range and the dimension values it contains. Only order date and
+     * dimension filters are considered.
+     *
+     * @param partition partition statistics
+     * @return false if no row of the partition can match
+     */
+    boolean mayMatch(PartitionedDataset.Partition partition) {
+        if (partition.rows() == 0) {
+            return false;
+        }
+        if (orderDayRange != null && (orderDayRange[0] > partition.maxOrderDay()
+                || orderDayRange[1] < partition.minOrderDay())) {
+            return false;
+        }
+        for (Map.Entry<Dimension, Set<String>> filter : dimensionFilters.entrySet()) {
+            if (Collections.disjoint(filter.getValue(), partition.values(filter.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Scans a dataset and returns its groups keyed by dictionary codes.
+     */
+    private Groups groups(SalesDataset dataset) {
+        List<Step> steps = plan(dataset);
+        boolean empty = steps.stream().anyMatch(step -> step.selectivity == 0);
+
+        // Resolve indexed filters up front into one candidate bitmap
+        long[] candidates = null;
+        List<Step> plan = new ArrayList<>();
+        for (Step step : steps) {
+            if (step.cost != COST_BITMAP) {
+                plan.add(step);
+            } else if (!empty) {
+                long[] matching = step.index.matching(dimensionFilters.get(step.index.dimension()), dataset.size());
+                if (candidates == null) {
+                    candidates = matching;
+                } else {
+                    BitmapIndex.and(candidates, matching);
+                }
+            }
+        }
+        long[] rowsToVisit = candidates;
+
+        int[][] groupColumns = new int[groupBy.size()][];
+        long[] radix = new long[groupBy.size()];
+        long span = 1;
+        try {
+            for (int g = 0; g < groupBy.size(); g++) {
+                groupColumns[g] = dataset.codes(groupBy.get(g));
+                radix[g] = span;
+                span = Math.multiplyExact(span, Math.max(1, dataset.dictionary(groupBy.get(g)).size()));
+            }
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Too many distinct values to group by " + groupBy, e);
+        }
+        long groupSpan = span;
+
+        double[][] columns = new double[aggregates.size()][];
+        int[] units = dataset.unitsSold();
+        // Distinct counts hash each dictionary value once, not once per row
+        int[][] distinctCodes = new int[aggregates.size()][];
+        long[][] valueHashes = new long[aggregates.size()][];
+        long[] orderIds = dataset.orderIds();
+        for (int a = 0; a < aggregates.size(); a++) {
+            Aggregate aggregate = aggregates.get(a);
+            Measure measure = aggregate.measure();
+            if (measure != null && measure != Measure.UNITS_SOLD) {
+                columns[a] = dataset.doubles(measure);
+            }
+            if (aggregate.dimension() != null) {
+                distinctCodes[a] = dataset.codes(aggregate.dimension());
+                valueHashes[a] = hashes(dataset.dictionary(aggregate.dimension()));
+            }
+        }
+
+        return ParallelSlices.run(empty ? 0 : dataset.size(), parallel, (from, to) -> {
+            SalesDataset.Cursor cursor = dataset.cursor();
+            IntPredicate[] filters = new IntPredicate[plan.size()];
+            for (int f = 0; f < filters.length; f++) {
+                filters[f] = plan.get(f).bind(dataset, cursor);
+            }
+            Groups part = new Groups(groupSpan);
+            rows:
+            for (int i = first(rowsToVisit, from, to); i < to; i = first(rowsToVisit, i + 1, to)) {
+                for (IntPredicate filter : filters) {
+                    if (!filter.test(i)) {
+                        continue rows;
+                    }
+                }
+                long key = 0;
+                for (int g = 0; g < groupColumns.length; g++) {
+                    key += groupColumns[g][i] * radix[g];
+                }
+                GroupState state = part.get(key);
+                if (state == null) {
+                    int[] codes = new int[groupColumns.length];
+                    for (int g = 0; g < codes.length; g++) {
+                        codes[g] = groupColumns[g][i];
+                    }
+                    state = new GroupState(codes, aggregates);
+                    state.code = key;
+                    part.add(key, state);
+                }
+                state.count++;
+                for (int a = 0; a < columns.length; a++) {
+                    Aggregate aggregate = aggregates.get(a);
+                    if (aggregate.measure() != null) {
+                        state.accept(a, columns[a] != null ? columns[a][i] : units[i]);
+                    } else if (distinctCodes[a] != null) {
+                        state.distincts[a].addHash(valueHashes[a][distinctCodes[a][i]]);
+                    } else if (aggregate.function() == Aggregate.Function.DISTINCT_COUNT) {
+                        state.distincts[a].addHash(HyperLogLog.hash(orderIds[i]));
+                    }
+                }
+            }
+            return part;
+        }, Groups::merge);
+    }
+
+    /** Decodes the dictionary codes of a dataset group into its values. */
+    private List<String> key(SalesDataset dataset, GroupState state) {
+        int[] codes = (int[]) state.key;
+        String[] key = new String[codes.length];
+        for (int g = 0; g < codes.length; g++) {
+            key[g] = dataset.dictionary(groupBy.get(g)).decode(codes[g]);
+        }
+        return List.of(key);
+    }
+
+    /** Hashes every value of a dictionary for {@link HyperLogLog#addHash}, by code. */
+    private static long[] hashes(StringDictionary dictionary) {
+        long[] hashes = new long[dictionary.size()];
+        for (int code = 0; code < hashes.length; code++) {
+            hashes[code] = HyperLogLog.hash(dictionary.decode(code));
+        }
+        return hashes;
+    }
+
+    /** Returns the first row at or after {@code from} to visit, or {@code to}. */
+    private static int first(long[] candidates, int from, int to) {
+        return candidates == null ? from : BitmapIndex.nextSetBit(candidates, from, to);
+    }
+
+    /**
+     * Runs the query over a list of rows.
+     *
+     * @param rows rows to query
+     * @return one row per group, groups in first-seen order
+     */
+    public QueryResult run(List<? extends SalesRow> rows) {
+        List<? extends SalesRow> source = rows instanceof RandomAccess ? rows : new ArrayList<>(rows);
+        Predicate<SalesRow> filter = rowFilter();
+
+        Map<List<String>, GroupState> groups = ParallelSlices.run(source.size(), parallel, (from, to) -> {
+            Map<List<String>, GroupState> part = new LinkedHashMap<>();
+            for (int i = from; i < to; i++) {
+                SalesRow row = source.get(i);
+                if (!filter.test(row)) {
+                    continue;
+                }
+                String[] key = new String[groupBy.size()];
+                for (int g = 0; g < key.length; g++) {
+                    key[g] = groupBy.get(g).of(row);
+                }
+                GroupState state = part.computeIfAbsent(List.of(key), k -> new GroupState(k, aggregates));
+                state.count++;
+                for (int a = 0; a < aggregates.size(); a++) {
+                    Aggregate aggregate = aggregates.get(a);
+                    if (aggregate.measure() != null) {
+                        state.accept(a, aggregate.measure().of(row));
+                    } else if (aggregate.dimension() != null) {
+                        state.distincts[a].add(aggregate.dimension().of(row));
+                    } else if (aggregate.function() == Aggregate.Function.DISTINCT_COUNT) {
+                        state.distincts[a].add(row.getOrderId());
+                    }
+                }
+            }
+            return part;
+        }, (earlier, later) -> {
+            later.forEach((key, state) -> earlier.merge(key, state, GroupState::merge));
+            return earlier;
+        });
+
+        @SuppressWarnings("unchecked")
+        QueryResult result = result(new ArrayList<>(groups.values()), state -> (List<String>) state.key);
+        return result;
+    }
+
+    /**
+     * Builds the dataset plan: one step per filter, sorted by cost class
+     * and, within dimension filters, by estimated selectivity.
+     */
+    private List<Step> plan(SalesDataset dataset) {
+        List<Step> steps = new ArrayList<>();
+        dimensionFilters.forEach((dimension, values) -> {
+            StringDictionary dictionary = dataset.dictionary(dimension);
+            boolean[] accepted = new boolean[dictionary.size()];
+            int matches = 0;
+            for (String value : values) {
+                int code = dictionary.lookup(value);
+                if (code >= 0 && !accepted[code]) {
+                    accepted[code] = true;
+                    matches++;
+                }
+            }
+            double selectivity = dictionary.size() == 0 ? 0 : (double) matches / dictionary.size();
+            BitmapIndex index = dataset.index(dimension);
+            if (index != null) {
+                steps.add(new Step(COST_BITMAP, selectivity, "bitmap " + dimension + " in " + values, index));
+                return;
+            }
+            steps.add(new Step(COST_DIMENSION, selectivity, dimension + " in " + values, (d, cursor) -> {
+                int[] codes = d.codes(dimension);
+                return row -> accepted[codes[row]];
+            }));
+        });
+        if (orderDayRange != null) {
+            steps.add(dateStep("order date", orderDayRange, SalesDataset::orderDays));
+        }
+        if (shipDayRange != null) {
+            steps.add(dateStep("ship date", shipDayRange, SalesDataset::shipDays));
+        }
+        measureRanges.forEach((measure, range) -> {
+            double min = range[0];
+            double max = range[1];
+            steps.add(new Step(COST_MEASURE, min > max ? 0 : 1,
+                    measure + " in [" + min + ", " + max + "]", (d, cursor) -> {
+                if (measure == Measure.UNITS_SOLD) {
+                    int[] units = d.unitsSold();
+                    return row -> units[row] >= min && units[row] <= max;
+                }
+                double[] values = d.doubles(measure);
+                return row -> values[row] >= min && values[row] <= max;
+            }));
+        });
+        for (Predicate<? super SalesRow> predicate : predicates) {
+            steps.add(new Step(COST_PREDICATE, 1, "predicate " + predicate,
+                    (d, cursor) -> row -> predicate.test(cursor.at(row))));
+        }
+        steps.sort(Comparator.<Step>comparingInt(step -> step.cost).thenComparingDouble(step -> step.selectivity));
+        return steps;
+    }
+
+    private static Step dateStep(String name, int[] range, DayColumn column) {
+        int from = range[0];
+        int to = range[1];
+        return new Step(COST_DATE, from > to ? 0 : 1,
+                name + " in [" + LocalDate.ofEpochDay(from) + ", " + LocalDate.ofEpochDay(to) + "]",
+                (d, cursor) -> {
+                    int[] days = column.of(d);
+                    return row -> days[row] >= from && days[row] <= to;
+                });
+    }
+
+    /**
+     * Combines every filter into one row predicate in the same cost order
+     * as the dataset plan.
+     */
+    private Predicate<SalesRow> rowFilter() {
+        List<Predicate<SalesRow>> filters = new ArrayList<>();
+        dimensionFilters.forEach((dimension, values) -> filters.add(row -> values.contains(dimension.of(row))));
+        if (orderDayRange != null) {
+            int from = orderDayRange[0];
+            int to = orderDayRange[1];
+            filters.add(row -> row.getOrderEpochDay() >= from && row.getOrderEpochDay() <= to);
+        }
+        if (shipDayRange != null) {
+            int from = shipDayRange[0];
+            int to = shipDayRange[1];
+            filters.add(row -> row.getShipEpochDay() >= from && row.getShipEpochDay() <= to);
+        }
+        measureRanges.forEach((measure, range) ->
+                filters.add(row -> measure.of(row) >= range[0] && measure.of(row) <= range[1]));
+        filters.addAll(predicates.stream().<Predicate<SalesRow>>map(p -> p::test).toList());
+        return row -> {
+            for (Predicate<SalesRow> filter : filters) {
+                if (!filter.test(row)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    private QueryResult result(List<GroupState> states, KeyDecoder decoder) {
+        if (groupBy.isEmpty() && states.isEmpty()) {
+            // An ungrouped query reports its aggregates even when nothing matched
+            GroupState none = new GroupState(List.of(), aggregates);
+            return new QueryResult(groupBy, aggregates, List.of(List.of()), new double[][]{values(none)});
+        }
+        List<List<String>> keys = new ArrayList<>(states.size());
+        double[][] values = new double[states.size()][];
+        for (int row = 0; row < states.size(); row++) {
+            keys.add(decoder.key(states.get(row)));
+            values[row] = values(states.get(row));
+        }
+        return new QueryResult(groupBy, aggregates, keys, values);
+    }
+
+    private double[] values(GroupState state) {
+        double[] values = new double[aggregates.size()];
+        for (int a = 0; a < values.length; a++) {
+            values[a] = state.value(a, aggregates.get(a));
+        }
+        return values;
+    }
+
+    private SalesQuery copy() {
+        SalesQuery next = new SalesQuery(aggregates);
+        next.groupBy = groupBy;
+        next.dimensionFilters = new EnumMap<>(Dimension.class);
+        next.dimensionFilters.putAll(dimensionFilters);
+        next.orderDayRange = orderDayRange;
+        next.shipDayRange = shipDayRange;
+        next.measureRanges = new EnumMap<>(Measure.class);
+        next.measureRanges.putAll(measureRanges);
+        next.predicates = predicates;
+        next.parallel = parallel;
+        return next;
+    }
+
+    private static int[] intersect(int[] current, LocalDate from, LocalDate to) {
+        int lo = Math.toIntExact(from.toEpochDay());
+        int hi = Math.toIntExact(to.toEpochDay());
+        return current == null
+                ? new int[]{lo, hi}
+                : new int[]{Math.max(lo, current[0]), Math.min(hi, current[1])};
+    }
+
+    @FunctionalInterface
+    private interface DayColumn {
+        int[] of(SalesDataset dataset);
+    }
+
+    @FunctionalInterface
+    private interface KeyDecoder {
+        List<String> key(GroupState state);
+    }
+
+    @FunctionalInterface
+    private interface Binder {
+        IntPredicate bind(SalesDataset dataset, SalesDataset.Cursor cursor);
+    }
+
+    /** One filter of a dataset plan. */
+    private static final class Step {
+
+        final int cost;
+        // Estimated fraction of rows passing; 0 means nothing can match
+        final double selectivity;
+        final String description;
+        final Binder binder;
+        // Set for bitmap steps only, which are resolved before the scan
+        final BitmapIndex index;
+
+        Step(int cost, double selectivity, String description, Binder binder) {
+            this.cost = cost;
+            this.selectivity = selectivity;
+            this.description = description;
+            this.binder = binder;
+            this.index = null;
+        }
+
+        Step(int cost, double selectivity, String description, BitmapIndex index) {
+            this.cost = cost;
+            this.selectivity = selectivity;
+            this.description = description;
+            this.binder = null;
+            this.index = index;
+        }
+
+        /** Creates the row test; predicate steps read rows through the slice's cursor. */
+        IntPredicate bind(SalesDataset dataset, SalesDataset.Cursor cursor) {
+            return binder.bind(dataset, cursor);
+        }
+    }
+
+    /** Running aggregates of one group. */
+    private static final class GroupState {
+
+        // Group values: int[] dictionary codes for datasets, List<String> for row lists
+        final Object key;
+        // Mixed-radix code key, for datasets only
+        long code;
+        long count;
+        final CompensatedSum[] sums;
+        final double[] mins;
+        final double[] maxs;
+        // Sketches per aggregate, null when the query has no quantiles or distinct counts.
+        // Quantiles of one measure share a sketch, fed and merged by its first aggregate.
+        final QuantileSketch[] quantiles;
+        final boolean[] feedsSketch;
+        final HyperLogLog[] distincts;
+
+        GroupState(Object key, List<Aggregate> aggregates) {
+            int n = aggregates.size();
+            this.key = key;
+            this.sums = new CompensatedSum[n];
+            this.mins = new double[n];
+            this.maxs = new double[n];
+            for (int a = 0; a < n; a++) {
+                sums[a] = new CompensatedSum();
+            }
+            Arrays.fill(mins, Double.POSITIVE_INFINITY);
+            Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+
+            QuantileSketch[] quantiles = null;
+            boolean[] feedsSketch = null;
+            HyperLogLog[] distincts = null;
+            for (int a = 0; a < n; a++) {
+                Aggregate aggregate = aggregates.get(a);
+                if (aggregate.function() == Aggregate.Function.QUANTILE) {
+                    if (quantiles == null) {
+                        quantiles = new QuantileSketch[n];
+                        feedsSketch = new boolean[n];
+                    }
+                    for (int b = 0; b < a && quantiles[a] == null; b++) {
+                        if (quantiles[b] != null && aggregates.get(b).measure() == aggregate.measure()) {
+                            quantiles[a] = quantiles[b];
+                        }
+                    }
+                    if (quantiles[a] == null) {
+                        quantiles[a] = new QuantileSketch();
+                        feedsSketch[a] = true;
+                    }
+                } else if (aggregate.function() == Aggregate.Function.DISTINCT_COUNT) {
+                    distincts = distincts == null ? new HyperLogLog[n] : distincts;
+                    distincts[a] = new HyperLogLog();
+                }
+            }
+            this.quantiles = quantiles;
+            this.feedsSketch = feedsSketch;
+            this.distincts = distincts;
+        }
+
+        void accept(int a, double value) {
+            sums[a].add(value);
+            mins[a] = Math.min(mins[a], value);
+            maxs[a] = Math.max(maxs[a], value);
+            if (feedsSketch != null && feedsSketch[a]) {
+                quantiles[a].add(value);
+            }
+        }
+
+        GroupState merge(GroupState other) {
+            count += other.count;
+            for (int a = 0; a < sums.length; a++) {
+                sums[a].add(other.sums[a]);
+                mins[a] = Math.min(mins[a], other.mins[a]);
+                maxs[a] = Math.max(maxs[a], other.maxs[a]);
+                if (feedsSketch != null && feedsSketch[a]) {
+                    quantiles[a].merge(other.quantiles[a]);
+                }
+                if (distincts != null && distincts[a] != null) {
+                    distincts[a].merge(other.distincts[a]);
+                }
+            }
+            return this;
+        }
+
+        double value(int a, Aggregate aggregate) {
+            switch (aggregate.function()) {
+                case SUM:
+                    return sums[a].get();
+                case MIN:
+                    return mins[a];
+                case MAX:
+                    return maxs[a];
+                case AVG:
+                    return count == 0 ? 0 : sums[a].get() / count;
+                case COUNT:
+                    return count;
+                case QUANTILE:
+                    return quantiles[a].quantile(aggregate.fraction());
+                case DISTINCT_COUNT:
+                    return distincts[a].estimate();
+                default:
+                    throw new IllegalArgumentException("Unknown function: " + aggregate.function());
+            }
+        }
+    }
+
+    /**
+     * Groups of one slice keyed by their mixed-radix code key, addressed
+     * through an array when the key space is small, in first-seen order.
+     */
+    private static final class Groups {
+
+        private final GroupState[] direct;
+        private final Map<Long, GroupState> byKey;
+        final List<GroupState> order = new ArrayList<>();
+
+        Groups(long span) {
+            this.direct = span <= MAX_DIRECT_GROUPS ? new GroupState[(int) span] : null;
+            this.byKey = direct == null ? new HashMap<>() : null;
+        }
+
+        GroupState get(long key) {
+            return direct != null ? direct[(int) key] : byKey.get(key);
+        }
+
+        GroupState add(long key, GroupState state) {
+            if (direct != null) {
+                direct[(int) key] = state;
+            } else {
+                byKey.put(key, state);
+            }
+            order.add(state);
+            return state;
+        }
+
+        Groups merge(Groups later) {
+            for (GroupState state : later.order) {
+                GroupState mine = get(state.code);
+                if (mine == null) {
+                    add(state.code, state);
+                } else {
+                    mine.merge(state);
+                }
+            }
+            return this;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "select " + aggregates
+                + (dimensionFilters.isEmpty() ? "" : " where " + dimensionFilters)
+                + (orderDayRange == null ? "" : " orderDate in [" + LocalDate.ofEpochDay(orderDayRange[0])
+                + ", " + LocalDate.ofEpochDay(orderDayRange[1]) + "]")
+                + (shipDayRange == null ? "" : " shipDate in [" + LocalDate.ofEpochDay(shipDayRange[0])
+                + ", " + LocalDate.ofEpochDay(shipDayRange[1]) + "]")
+                + (measureRanges.isEmpty() ? "" : " measures " + measureRanges.keySet())
+                + (predicates.isEmpty() ? "" : " and " + predicates.size() + " predicate(s)")
+                + (groupBy.isEmpty() ? "" : " group by " + groupBy)
+                + (parallel ? " (parallel)" : "");
+    }
+}
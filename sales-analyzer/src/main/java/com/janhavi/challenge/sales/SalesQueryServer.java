@@ -0,0 +1,398 @@
+package com.janhavi.challenge.sales;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.DoubleSummaryStatistics;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP front end that answers {@link SalesAnalyzer} queries as JSON over a
+ * dataset kept resident in memory.
+ *
+ * Every query is a GET to the analyzer method's name:
+ * <pre>
+ * /totalRevenue  /totalProfit
+ * /revenueByRegion  /profitByRegion  /revenueByItemType
+ * /unitsSoldByCountry  /monthlyRevenue
+ * /topNProfitableOrders?n=10
+ * /revenueStatistics
+ * /revenueQuantiles?q=0.5,0.9,0.99
+ * /report?topN=5&amp;sections=TOTAL_REVENUE,MONTHLY_REVENUE
+ * /cacheStats
+ * </pre>
+ *
+ * Requests run on a virtual thread each when the JVM offers them (Java 21
+ * and later, found by reflection so the code still builds for Java 17),
+ * otherwise on a fixed pool of platform threads. The query runs before the
+ * response starts, so bad parameters get a 400 and failures a 500; the
+ * result is then streamed as chunked JSON through a small buffer instead
+ * of being built as one String. All requests share the one analyzer, whose
+ * queries only read the data; enable its cache to answer repeated
+ * dashboard queries without scanning.
+ */
+public final class SalesQueryServer implements AutoCloseable {
+
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final int BACKLOG = 1024;
+    private static final int WRITE_BUFFER_CHARS = 8192;
+
+    private final SalesAnalyzer analyzer;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+
+    /**
+     * Creates a server on the loopback interface. Call {@link #start()} to
+     * accept requests.
+     *
+     * @param analyzer analyzer answering the queries
+     * @param port     port to listen on, or 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public SalesQueryServer(SalesAnalyzer analyzer, int port) throws IOException {
+        this(analyzer, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * Creates a server on an address. Call {@link #start()} to accept
+     * requests.
+     *
+     * @param analyzer analyzer answering the queries
+     * @param address  address to listen on
+     * @throws IOException if the address cannot be bound
+     */
+    public SalesQueryServer(SalesAnalyzer analyzer, InetSocketAddress address) throws IOException {
+        this.analyzer = analyzer;
+        this.server = HttpServer.create(address, BACKLOG);
+        ExecutorService perRequest = virtualThreadExecutor();
+        this.virtualThreads = perRequest != null;
+        this.executor = perRequest != null ? perRequest : platformThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Starts accepting requests.
+     *
+     * @return this server
+     */
+    public SalesQueryServer start() {
+        server.start();
+        return this;
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return bound port
+     */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Returns whether requests run on virtual threads.
+     *
+     * @return true on Java 21 and later
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Stops accepting requests, abandons the ones in progress and stops the
+     * request threads.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                error(exchange, 405, "Only GET is supported");
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            Body body;
+            try {
+                body = route(path, parameters(exchange.getRequestURI().getRawQuery()));
+            } catch (IllegalArgumentException e) {
+                error(exchange, 400, e.getMessage());
+                return;
+            } catch (RuntimeException e) {
+                error(exchange, 500, e.toString());
+                return;
+            }
+            if (body == null) {
+                error(exchange, 404, "Unknown query: " + path);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", JSON);
+            exchange.sendResponseHeaders(200, 0);
+            try (Writer out = writer(exchange.getResponseBody())) {
+                body.write(new JsonWriter(out));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Runs the query a path names and returns how to write its result, or
+     * null for an unknown path.
+     *
+     * @throws IllegalArgumentException for invalid parameters
+     */
+    private Body route(String path, Map<String, String> parameters) {
+        switch (path) {
+            case "/totalRevenue": {
+                double value = analyzer.totalRevenue();
+                return json -> json.beginObject().name("value").value(value).endObject();
+            }
+            case "/totalProfit": {
+                double value = analyzer.totalProfit();
+                return json -> json.beginObject().name("value").value(value).endObject();
+            }
+            case "/revenueByRegion":
+                return numbers(analyzer.revenueByRegion());
+            case "/profitByRegion":
+                return numbers(analyzer.profitByRegion());
+            case "/revenueByItemType":
+                return numbers(analyzer.revenueByItemType());
+            case "/unitsSoldByCountry":
+                return numbers(analyzer.unitsSoldByCountry());
+            case "/monthlyRevenue":
+                return numbers(new TreeMap<>(analyzer.monthlyRevenue()));
+            case "/topNProfitableOrders": {
+                List<SalesRecord> orders = analyzer.topNProfitableOrders(intParameter(parameters, "n", 10));
+                return json -> orders(json, orders);
+            }
+            case "/revenueStatistics": {
+                DoubleSummaryStatistics statistics = analyzer.revenueStatistics();
+                return json -> statistics(json, statistics);
+            }
+            case "/revenueQuantiles":
+                return quantiles(parameters.getOrDefault("q", "0.5,0.9,0.99"));
+            case "/report":
+                return report(parameters);
+            case "/cacheStats": {
+                QueryCacheStats stats = analyzer.cacheStats();
+                return json -> cacheStats(json, stats);
+            }
+            default:
+                return null;
+        }
+    }
+
+    private Body quantiles(String fractions) {
+        String[] parts = fractions.split(",");
+        double[] q = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            q[i] = Double.parseDouble(parts[i].trim());
+        }
+        QuantileSketch sketch = analyzer.revenueQuantiles();
+        double[] values = sketch.quantiles(q);
+        return json -> {
+            json.beginObject().name("count").value(sketch.count()).name("quantiles").beginObject();
+            for (int i = 0; i < q.length; i++) {
+                json.name(Double.toString(q[i])).value(values[i]);
+            }
+            json.endObject().endObject();
+        };
+    }
+
+    private Body report(Map<String, String> parameters) {
+        Set<ReportSection> sections = EnumSet.allOf(ReportSection.class);
+        String names = parameters.get("sections");
+        if (names != null) {
+            sections = EnumSet.noneOf(ReportSection.class);
+            for (String name : names.split(",")) {
+                sections.add(ReportSection.valueOf(name.trim()));
+            }
+        }
+        SalesReport report = analyzer.report(sections, intParameter(parameters, "topN", 5));
+        return json -> {
+            json.beginObject();
+            if (report.contains(ReportSection.TOTAL_REVENUE)) {
+                json.name("totalRevenue").value(report.totalRevenue());
+            }
+            if (report.contains(ReportSection.TOTAL_PROFIT)) {
+                json.name("totalProfit").value(report.totalProfit());
+            }
+            if (report.contains(ReportSection.REVENUE_BY_REGION)) {
+                map(json.name("revenueByRegion"), report.revenueByRegion());
+            }
+            if (report.contains(ReportSection.PROFIT_BY_REGION)) {
+                map(json.name("profitByRegion"), report.profitByRegion());
+            }
+            if (report.contains(ReportSection.REVENUE_BY_ITEM_TYPE)) {
+                map(json.name("revenueByItemType"), report.revenueByItemType());
+            }
+            if (report.contains(ReportSection.UNITS_SOLD_BY_COUNTRY)) {
+                map(json.name("unitsSoldByCountry"), report.unitsSoldByCountry());
+            }
+            if (report.contains(ReportSection.MONTHLY_REVENUE)) {
+                map(json.name("monthlyRevenue"), new TreeMap<>(report.monthlyRevenue()));
+            }
+            if (report.contains(ReportSection.TOP_PROFITABLE_ORDERS)) {
+                orders(json.name("topProfitableOrders"), report.topProfitableOrders());
+            }
+            if (report.contains(ReportSection.REVENUE_STATISTICS)) {
+                statistics(json.name("revenueStatistics"), report.revenueStatistics());
+            }
+            json.endObject();
+        };
+    }
+
+    private static Body numbers(Map<?, ? extends Number> values) {
+        return json -> map(json, values);
+    }
+
+    private static void map(JsonWriter json, Map<?, ? extends Number> values) throws IOException {
+        json.beginObject();
+        for (Map.Entry<?, ? extends Number> entry : values.entrySet()) {
+            json.name(String.valueOf(entry.getKey()));
+            Number value = entry.getValue();
+            if (value instanceof Integer || value instanceof Long) {
+                json.value(value.longValue());
+            } else {
+                json.value(value.doubleValue());
+            }
+        }
+        json.endObject();
+    }
+
+    private static void orders(JsonWriter json, List<SalesRecord> orders) throws IOException {
+        json.beginArray();
+        for (SalesRecord order : orders) {
+            json.beginObject()
+                    .name("orderId").value(order.getOrderId())
+                    .name("region").value(order.getRegion())
+                    .name("country").value(order.getCountry())
+                    .name("itemType").value(order.getItemType())
+                    .name("salesChannel").value(order.getSalesChannel())
+                    .name("orderPriority").value(order.getOrderPriority())
+                    .name("orderDate").value(order.getOrderDate().toString())
+                    .name("shipDate").value(order.getShipDate().toString())
+                    .name("unitsSold").value(order.getUnitsSold())
+                    .name("unitPrice").value(order.getUnitPrice())
+                    .name("unitCost").value(order.getUnitCost())
+                    .name("totalRevenue").value(order.getTotalRevenue())
+                    .name("totalCost").value(order.getTotalCost())
+                    .name("totalProfit").value(order.getTotalProfit())
+                    .endObject();
+        }
+        json.endArray();
+    }
+
+    private static void statistics(JsonWriter json, DoubleSummaryStatistics statistics) throws IOException {
+        json.beginObject()
+                .name("count").value(statistics.getCount())
+                .name("sum").value(statistics.getSum())
+                .name("min").value(statistics.getMin())
+                .name("max").value(statistics.getMax())
+                .name("average").value(statistics.getAverage())
+                .endObject();
+    }
+
+    private static void cacheStats(JsonWriter json, QueryCacheStats stats) throws IOException {
+        json.beginObject().name("enabled").value(stats != null);
+        if (stats != null) {
+            json.name("capacity").value(stats.capacity())
+                    .name("size").value(stats.size())
+                    .name("hits").value(stats.hits())
+                    .name("misses").value(stats.misses())
+                    .name("evictions").value(stats.evictions())
+                    .name("invalidations").value(stats.invalidations())
+                    .name("hitRate").value(stats.hitRate());
+        }
+        json.endObject();
+    }
+
+    private static void error(HttpExchange exchange, int status, String message) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(status, 0);
+        try (Writer out = writer(exchange.getResponseBody())) {
+            new JsonWriter(out).beginObject().name("error").value(message).endObject();
+        }
+    }
+
+    private static Writer writer(OutputStream body) {
+        return new BufferedWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS);
+    }
+
+    private static Map<String, String> parameters(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    private static int intParameter(Map<String, String> parameters, String name, int defaultValue) {
+        String value = parameters.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    /**
+     * Returns {@code Executors.newVirtualThreadPerTaskExecutor()} when the
+     * running JVM has it, or null.
+     */
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Before Java 21, or Java 19-20 without --enable-preview
+            return null;
+        }
+    }
+
+    /**
+     * Queries are CPU-bound, so without virtual threads a pool of about two
+     * threads per core serves concurrent requests without oversubscribing.
+     */
+    private static ExecutorService platformThreadPool() {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = task -> {
+            Thread thread = new Thread(task, "sales-query-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(Math.max(4, 2 * Runtime.getRuntime().availableProcessors()), factory);
+    }
+
+    /** Writes one query result. */
+    @FunctionalInterface
+    private interface Body {
+        void write(JsonWriter json) throws IOException;
+    }
+}
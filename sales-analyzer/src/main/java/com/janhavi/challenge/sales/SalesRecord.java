@@ -11,7 +11,7 @@ import java.util.Objects;
  * parsed CSV sales information.
  *
  */
-public class SalesRecord {
+public class SalesRecord implements SalesRow {
 
     private final String region;
     private final String country;
@@ -51,6 +51,26 @@ public class SalesRecord {
         this.totalProfit = totalProfit;
     }
 
+    /**
+     * Returns an immutable copy of a row, or the row itself if it already
+     * is a SalesRecord.
+     *
+     * @param row row to copy
+     * @return record holding the row's values
+     */
+    public static SalesRecord of(SalesRow row) {
+        if (row instanceof SalesRecord) {
+            return (SalesRecord) row;
+        }
+        return new SalesRecord(
+                row.getRegion(), row.getCountry(), row.getItemType(),
+                row.getSalesChannel(), row.getOrderPriority(),
+                row.getOrderDate(), row.getOrderId(), row.getShipDate(),
+                row.getUnitsSold(), row.getUnitPrice(), row.getUnitCost(),
+                row.getTotalRevenue(), row.getTotalCost(), row.getTotalProfit()
+        );
+    }
+
     public String getRegion() { return region; }
     public String getCountry() { return country; }
     public String getItemType() { return itemType; }
@@ -65,5 +85,50 @@ public class SalesRecord {
     public double getTotalRevenue() { return totalRevenue; }
     public double getTotalCost() { return totalCost; }
     public double getTotalProfit() { return totalProfit; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SalesRecord)) return false;
+        SalesRecord that = (SalesRecord) o;
+        return orderId == that.orderId
+                && unitsSold == that.unitsSold
+                && Double.compare(unitPrice, that.unitPrice) == 0
+                && Double.compare(unitCost, that.unitCost) == 0
+                && Double.compare(totalRevenue, that.totalRevenue) == 0
+                && Double.compare(totalCost, that.totalCost) == 0
+                && Double.compare(totalProfit, that.totalProfit) == 0
+                && Objects.equals(region, that.region)
+                && Objects.equals(country, that.country)
+                && Objects.equals(itemType, that.itemType)
+                && Objects.equals(salesChannel, that.salesChannel)
+                && Objects.equals(orderPriority, that.orderPriority)
+                && Objects.equals(orderDate, that.orderDate)
+                && Objects.equals(shipDate, that.shipDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(region, country, itemType, salesChannel, orderPriority,
+                orderDate, orderId, shipDate, unitsSold, unitPrice, unitCost,
+                totalRevenue, totalCost, totalProfit);
+    }
+
+    @Override
+    public String toString() {
+        return "SalesRecord{" +
+                "orderId=" + orderId +
+                ", region='" + region + '\'' +
+                ", country='" + country + '\'' +
+                ", itemType='" + itemType + '\'' +
+                ", salesChannel='" + salesChannel + '\'' +
+                ", orderPriority='" + orderPriority + '\'' +
+                ", orderDate=" + orderDate +
+                ", shipDate=" + shipDate +
+                ", unitsSold=" + unitsSold +
+                ", totalRevenue=" + totalRevenue +
+                ", totalProfit=" + totalProfit +
+                '}';
+    }
 }
 
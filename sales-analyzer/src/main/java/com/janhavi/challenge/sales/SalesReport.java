@@ -0,0 +1,142 @@
+package com.janhavi.challenge.sales;
+
+import java.io.PrintStream;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable result of a report run: the values of every requested
+ * {@link ReportSection}, computed together in one pass over the data.
+ *
+ * Accessors for sections that were not requested throw
+ * {@link IllegalStateException}.
+ */
+public final class SalesReport {
+
+    private final Set<ReportSection> sections;
+    private final int topN;
+    private final double totalRevenue;
+    private final double totalProfit;
+    private final Map<String, Double> revenueByRegion;
+    private final Map<String, Double> profitByRegion;
+    private final Map<String, Double> revenueByItemType;
+    private final Map<String, Integer> unitsSoldByCountry;
+    private final Map<YearMonth, Double> monthlyRevenue;
+    private final List<SalesRecord> topProfitableOrders;
+    private final DoubleSummaryStatistics revenueStatistics;
+
+    SalesReport(Set<ReportSection> sections, int topN,
+                double totalRevenue, double totalProfit,
+                Map<String, Double> revenueByRegion, Map<String, Double> profitByRegion,
+                Map<String, Double> revenueByItemType, Map<String, Integer> unitsSoldByCountry,
+                Map<YearMonth, Double> monthlyRevenue, List<SalesRecord> topProfitableOrders,
+                DoubleSummaryStatistics revenueStatistics) {
+        this.sections = Collections.unmodifiableSet(sections);
+        this.topN = topN;
+        this.totalRevenue = totalRevenue;
+        this.totalProfit = totalProfit;
+        this.revenueByRegion = Collections.unmodifiableMap(revenueByRegion);
+        this.profitByRegion = Collections.unmodifiableMap(profitByRegion);
+        this.revenueByItemType = Collections.unmodifiableMap(revenueByItemType);
+        this.unitsSoldByCountry = Collections.unmodifiableMap(unitsSoldByCountry);
+        this.monthlyRevenue = Collections.unmodifiableMap(monthlyRevenue);
+        this.topProfitableOrders = List.copyOf(topProfitableOrders);
+        this.revenueStatistics = revenueStatistics;
+    }
+
+    public Set<ReportSection> sections() { return sections; }
+
+    public boolean contains(ReportSection section) { return sections.contains(section); }
+
+    public double totalRevenue() { return require(ReportSection.TOTAL_REVENUE, totalRevenue); }
+
+    public double totalProfit() { return require(ReportSection.TOTAL_PROFIT, totalProfit); }
+
+    public Map<String, Double> revenueByRegion() { return require(ReportSection.REVENUE_BY_REGION, revenueByRegion); }
+
+    public Map<String, Double> profitByRegion() { return require(ReportSection.PROFIT_BY_REGION, profitByRegion); }
+
+    public Map<String, Double> revenueByItemType() { return require(ReportSection.REVENUE_BY_ITEM_TYPE, revenueByItemType); }
+
+    public Map<String, Integer> unitsSoldByCountry() { return require(ReportSection.UNITS_SOLD_BY_COUNTRY, unitsSoldByCountry); }
+
+    public Map<YearMonth, Double> monthlyRevenue() { return require(ReportSection.MONTHLY_REVENUE, monthlyRevenue); }
+
+    public List<SalesRecord> topProfitableOrders() { return require(ReportSection.TOP_PROFITABLE_ORDERS, topProfitableOrders); }
+
+    /**
+     * Returns a copy of the revenue statistics.
+     *
+     * @return count, sum, min, max and average of total revenue
+     */
+    public DoubleSummaryStatistics revenueStatistics() {
+        DoubleSummaryStatistics copy = new DoubleSummaryStatistics();
+        copy.combine(require(ReportSection.REVENUE_STATISTICS, revenueStatistics));
+        return copy;
+    }
+
+    /**
+     * Prints every requested section in the layout of the sales analysis report.
+     *
+     * @param out stream to print to
+     */
+    public void print(PrintStream out) {
+        out.println("\n=== SALES ANALYSIS REPORT ===");
+
+        if (contains(ReportSection.TOTAL_REVENUE)) {
+            out.println("\nTotal Revenue: " + totalRevenue);
+        }
+        if (contains(ReportSection.TOTAL_PROFIT)) {
+            out.println("Total Profit: " + totalProfit);
+        }
+        printMap(out, ReportSection.REVENUE_BY_REGION, "Revenue By Region:", revenueByRegion);
+        printMap(out, ReportSection.PROFIT_BY_REGION, "Profit By Region:", profitByRegion);
+        printMap(out, ReportSection.REVENUE_BY_ITEM_TYPE, "Revenue By Item Type:", revenueByItemType);
+        printMap(out, ReportSection.UNITS_SOLD_BY_COUNTRY, "Units Sold By Country:", unitsSoldByCountry);
+        printMap(out, ReportSection.MONTHLY_REVENUE, "Monthly Revenue:", monthlyRevenue);
+
+        if (contains(ReportSection.TOP_PROFITABLE_ORDERS)) {
+            out.println("\nTop " + topN + " Profitable Orders:");
+            topProfitableOrders.forEach(r -> out.println(
+                    r.getOrderId() + " | " +
+                            r.getCountry() + " | " +
+                            r.getItemType() + " | Profit: " +
+                            r.getTotalProfit()
+            ));
+        }
+
+        if (contains(ReportSection.REVENUE_STATISTICS)) {
+            out.println("\nRevenue Statistics:");
+            out.println("Count: " + revenueStatistics.getCount());
+            out.println("Min: " + revenueStatistics.getMin());
+            out.println("Max: " + revenueStatistics.getMax());
+            out.println("Average: " + revenueStatistics.getAverage());
+            out.println("Sum: " + revenueStatistics.getSum());
+        }
+    }
+
+    private void printMap(PrintStream out, ReportSection section, String title, Map<?, ?> values) {
+        if (contains(section)) {
+            out.println("\n" + title);
+            values.forEach((k, v) -> out.println("  " + k + " => " + v));
+        }
+    }
+
+    private <T> T require(ReportSection section, T value) {
+        if (!contains(section)) {
+            throw new IllegalStateException(section + " was not requested");
+        }
+        return value;
+    }
+
+    private double require(ReportSection section, double value) {
+        if (!contains(section)) {
+            throw new IllegalStateException(section + " was not requested");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,61 @@
+package com.janhavi.challenge.sales;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only view of a single row of sales data.
+ *
+ * Implemented by the immutable {@link SalesRecord} as well as by
+ * reusable cursors over columnar storage and parser buffers, which lets
+ * aggregations consume rows without a {@link SalesRecord} being allocated
+ * for each of them. Cursor-backed views are only valid until the cursor
+ * moves; use {@link SalesRecord#of(SalesRow)} to keep a row.
+ */
+public interface SalesRow {
+
+    String getRegion();
+
+    String getCountry();
+
+    String getItemType();
+
+    String getSalesChannel();
+
+    String getOrderPriority();
+
+    LocalDate getOrderDate();
+
+    long getOrderId();
+
+    LocalDate getShipDate();
+
+    int getUnitsSold();
+
+    double getUnitPrice();
+
+    double getUnitCost();
+
+    double getTotalRevenue();
+
+    double getTotalCost();
+
+    double getTotalProfit();
+
+    /**
+     * Returns the order date as days since 1970-01-01.
+     *
+     * @return epoch day of the order date
+     */
+    default int getOrderEpochDay() {
+        return (int) getOrderDate().toEpochDay();
+    }
+
+    /**
+     * Returns the ship date as days since 1970-01-01.
+     *
+     * @return epoch day of the ship date
+     */
+    default int getShipEpochDay() {
+        return (int) getShipDate().toEpochDay();
+    }
+}
@@ -0,0 +1,441 @@
+package com.janhavi.challenge.sales;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary columnar snapshot of a {@link SalesDataset}, stored next to the
+ * CSV it was parsed from so later runs can skip parsing.
+ *
+ * Layout (little-endian):
+ * <pre>
+ * 0   long  magic "SALESNAP"
+ * 8   int   format version
+ * 12  int   dimension count
+ * 16  int   row count
+ * 20  int   min order epoch day
+ * 24  int   max order epoch day
+ * 28  int   CRC32C of the source CSV
+ * 32  long  source size in bytes
+ * 40  long  source modification time in nanoseconds
+ * 48  long  offset of the first column
+ * 56  dictionaries: per dimension a value count, then length-prefixed UTF-8 values
+ *     padding to 8 bytes
+ *     columns: order IDs, the five double measures, one code column per
+ *     dimension, order days, ship days, units sold
+ * </pre>
+ *
+ * Columns are stored exactly as the dataset holds them, so reloading is a
+ * memory-mapped bulk copy per column with no parsing or decoding.
+ */
+final class SalesSnapshot {
+
+    /** Suffix appended to the CSV file name. */
+    static final String SUFFIX = ".snap";
+
+    /** Suffix of the temporary file a snapshot is written to first. */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    // "SALESNAP" read as a little-endian long
+    private static final long MAGIC = 0x50414E53454C4153L;
+    private static final int VERSION = 1;
+    private static final int FIXED_HEADER_BYTES = 56;
+
+    private static final int MAX_WINDOW = 1 << 30;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    private static final Dimension[] DIMENSIONS = Dimension.values();
+    private static final Measure[] DOUBLE_MEASURES = {
+            Measure.UNIT_PRICE, Measure.UNIT_COST,
+            Measure.TOTAL_REVENUE, Measure.TOTAL_COST, Measure.TOTAL_PROFIT
+    };
+
+    private SalesSnapshot() {
+    }
+
+    /**
+     * Returns the snapshot location for a CSV file.
+     *
+     * @param csvPath source CSV
+     * @return sibling path with {@link #SUFFIX} appended
+     */
+    static Path pathFor(Path csvPath) {
+        return csvPath.resolveSibling(csvPath.getFileName() + SUFFIX);
+    }
+
+    /**
+     * Tells whether a file is a snapshot, or a snapshot still being
+     * written, rather than source data.
+     *
+     * @param file file to check
+     * @return true for {@code *.snap} files and their temporary siblings
+     */
+    static boolean isSnapshotFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(SUFFIX) || (name.contains(SUFFIX + ".") && name.endsWith(TEMP_SUFFIX));
+    }
+
+    /**
+     * Size and modification time of a source file, the cheap part of the
+     * staleness check.
+     */
+    static final class Source {
+
+        final long size;
+        final long modifiedNanos;
+
+        private Source(long size, long modifiedNanos) {
+            this.size = size;
+            this.modifiedNanos = modifiedNanos;
+        }
+
+        static Source stat(Path csvPath) throws IOException {
+            return new Source(Files.size(csvPath),
+                    Files.getLastModifiedTime(csvPath).to(TimeUnit.NANOSECONDS));
+        }
+    }
+
+    /**
+     * Decoded snapshot header: source identity, row count, order date range
+     * and dimension dictionaries.
+     */
+    static final class Header {
+
+        final int rows;
+        final int minOrderDay;
+        final int maxOrderDay;
+        final int sourceCrc;
+        final long sourceSize;
+        final long sourceModifiedNanos;
+        final long dataOffset;
+        final List<List<String>> dictionaries;
+
+        private Header(int rows, int minOrderDay, int maxOrderDay, int sourceCrc,
+                       long sourceSize, long sourceModifiedNanos, long dataOffset,
+                       List<List<String>> dictionaries) {
+            this.rows = rows;
+            this.minOrderDay = minOrderDay;
+            this.maxOrderDay = maxOrderDay;
+            this.sourceCrc = sourceCrc;
+            this.sourceSize = sourceSize;
+            this.sourceModifiedNanos = sourceModifiedNanos;
+            this.dataOffset = dataOffset;
+            this.dictionaries = dictionaries;
+        }
+
+        /** True if the snapshot was written from a file with this size and mtime. */
+        boolean isFor(Source source) {
+            return sourceSize == source.size && sourceModifiedNanos == source.modifiedNanos;
+        }
+
+        /** Returns the values seen for a dimension, indexed by code. */
+        List<String> values(Dimension dimension) {
+            return dictionaries.get(dimension.ordinal());
+        }
+
+        long fileSize() {
+            return dataOffset + (long) rows * (Long.BYTES + DOUBLE_MEASURES.length * Double.BYTES
+                    + (DIMENSIONS.length + 3) * Integer.BYTES);
+        }
+    }
+
+    /**
+     * Computes the CRC32C of a file's content.
+     *
+     * @param path file to hash
+     * @return CRC32C value
+     * @throws IOException if reading fails
+     */
+    static int contentHash(Path path) throws IOException {
+        CRC32C crc = new CRC32C();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long pos = 0; pos < size; pos += MAX_WINDOW) {
+                crc.update(channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(MAX_WINDOW, size - pos)));
+            }
+        }
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Reads a snapshot header.
+     *
+     * @param snapshot snapshot file
+     * @return header, or null if the file is missing, truncated or not a
+     * snapshot of this format version
+     * @throws IOException if reading fails
+     */
+    static Header readHeader(Path snapshot) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            return readHeader(channel);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private static Header readHeader(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < FIXED_HEADER_BYTES) {
+            return null;
+        }
+        ByteBuffer fixed = channel.map(FileChannel.MapMode.READ_ONLY, 0, FIXED_HEADER_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        if (fixed.getLong(0) != MAGIC || fixed.getInt(8) != VERSION || fixed.getInt(12) != DIMENSIONS.length) {
+            return null;
+        }
+        int rows = fixed.getInt(16);
+        long dataOffset = fixed.getLong(48);
+        if (rows < 0 || dataOffset < FIXED_HEADER_BYTES || dataOffset > Math.min(fileSize, MAX_WINDOW)) {
+            return null;
+        }
+
+        ByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, dataOffset)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buf.position(FIXED_HEADER_BYTES);
+        List<List<String>> dictionaries = new ArrayList<>(DIMENSIONS.length);
+        try {
+            for (int d = 0; d < DIMENSIONS.length; d++) {
+                int count = buf.getInt();
+                List<String> values = new ArrayList<>(Math.min(count, buf.remaining() / Integer.BYTES));
+                for (int i = 0; i < count; i++) {
+                    byte[] bytes = new byte[buf.getInt()];
+                    buf.get(bytes);
+                    values.add(new String(bytes, StandardCharsets.UTF_8));
+                }
+                dictionaries.add(List.copyOf(values));
+            }
+        } catch (RuntimeException e) {
+            // Negative or overlong lengths: not a file we wrote
+            return null;
+        }
+
+        Header header = new Header(rows, fixed.getInt(20), fixed.getInt(24), fixed.getInt(28),
+                fixed.getLong(32), fixed.getLong(40), dataOffset, List.copyOf(dictionaries));
+        return header.fileSize() == fileSize ? header : null;
+    }
+
+    /**
+     * Loads the dataset stored in a snapshot.
+     *
+     * @param snapshot snapshot file
+     * @param header   header previously read from the same file
+     * @return dataset holding the snapshot's rows
+     * @throws IOException if reading or mapping fails
+     */
+    static SalesDataset read(Path snapshot, Header header) throws IOException {
+        int n = header.rows;
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            long pos = header.dataOffset;
+
+            long[] orderIds = new long[n];
+            pos = read(channel, pos, orderIds, n);
+            double[][] doubles = new double[DOUBLE_MEASURES.length][];
+            for (int m = 0; m < DOUBLE_MEASURES.length; m++) {
+                doubles[m] = new double[n];
+                pos = read(channel, pos, doubles[m], n);
+            }
+            int[][] codes = new int[DIMENSIONS.length][];
+            for (int d = 0; d < DIMENSIONS.length; d++) {
+                codes[d] = new int[n];
+                pos = read(channel, pos, codes[d], n);
+                checkCodes(codes[d], n, header.dictionaries.get(d).size());
+            }
+            int[] orderDays = new int[n];
+            pos = read(channel, pos, orderDays, n);
+            int[] shipDays = new int[n];
+            pos = read(channel, pos, shipDays, n);
+            int[] unitsSold = new int[n];
+            read(channel, pos, unitsSold, n);
+
+            return new SalesDataset(header.dictionaries, codes, orderDays, shipDays, orderIds, unitsSold,
+                    doubles[0], doubles[1], doubles[2], doubles[3], doubles[4], n);
+        }
+    }
+
+    /**
+     * Writes a snapshot of a dataset parsed from {@code csvPath}. The file is
+     * written to a temporary sibling first and moved into place, so readers
+     * never observe a partial snapshot.
+     *
+     * @param dataset  dataset to store
+     * @param source   size and mtime of the CSV observed before it was parsed
+     * @param csvPath  CSV the dataset was parsed from, hashed into the header
+     * @param snapshot snapshot file to create or replace
+     * @throws IOException if hashing or writing fails
+     */
+    static void write(SalesDataset dataset, Source source, Path csvPath, Path snapshot) throws IOException {
+        int n = dataset.size();
+        int minOrderDay = Integer.MAX_VALUE;
+        int maxOrderDay = Integer.MIN_VALUE;
+        int[] orderDays = dataset.orderDays();
+        for (int i = 0; i < n; i++) {
+            minOrderDay = Math.min(minOrderDay, orderDays[i]);
+            maxOrderDay = Math.max(maxOrderDay, orderDays[i]);
+        }
+
+        List<byte[]> encoded = new ArrayList<>();
+        long headerBytes = FIXED_HEADER_BYTES;
+        for (Dimension dimension : DIMENSIONS) {
+            headerBytes += Integer.BYTES;
+            for (String value : dataset.dictionary(dimension).values()) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                encoded.add(bytes);
+                headerBytes += Integer.BYTES + bytes.length;
+            }
+        }
+        long dataOffset = (headerBytes + 7) & ~7L;
+        if (dataOffset > MAX_WINDOW) {
+            throw new IOException("Dictionaries too large for a snapshot: " + headerBytes + " bytes");
+        }
+
+        ByteBuffer header = ByteBuffer.allocate((int) dataOffset).order(ByteOrder.LITTLE_ENDIAN);
+        header.putLong(MAGIC)
+                .putInt(VERSION)
+                .putInt(DIMENSIONS.length)
+                .putInt(n)
+                .putInt(minOrderDay)
+                .putInt(maxOrderDay)
+                .putInt(contentHash(csvPath))
+                .putLong(source.size)
+                .putLong(source.modifiedNanos)
+                .putLong(dataOffset);
+        int next = 0;
+        for (Dimension dimension : DIMENSIONS) {
+            int count = dataset.dictionary(dimension).size();
+            header.putInt(count);
+            for (int i = 0; i < count; i++) {
+                byte[] bytes = encoded.get(next++);
+                header.putInt(bytes.length).put(bytes);
+            }
+        }
+        header.clear();
+
+        // Unique per writer so concurrent runs never interleave
+        Path temp = snapshot.resolveSibling(snapshot.getFileName() + "."
+                + ProcessHandle.current().pid() + "-" + Thread.currentThread().getId() + TEMP_SUFFIX);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeFully(channel, header);
+                ByteBuffer buf = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                write(channel, buf, dataset.orderIds(), n);
+                for (Measure measure : DOUBLE_MEASURES) {
+                    write(channel, buf, dataset.doubles(measure), n);
+                }
+                for (Dimension dimension : DIMENSIONS) {
+                    write(channel, buf, dataset.codes(dimension), n);
+                }
+                write(channel, buf, dataset.orderDays(), n);
+                write(channel, buf, dataset.shipDays(), n);
+                write(channel, buf, dataset.unitsSold(), n);
+            }
+            try {
+                Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void checkCodes(int[] codes, int n, int dictionarySize) throws IOException {
+        for (int i = 0; i < n; i++) {
+            if (codes[i] < 0 || codes[i] >= dictionarySize) {
+                throw new IOException("Corrupt snapshot: code " + codes[i] + " at row " + i);
+            }
+        }
+    }
+
+    // Column readers map the file in windows and bulk-copy into the array
+
+    private static long read(FileChannel channel, long pos, int[] dst, int n) throws IOException {
+        for (int done = 0; done < n; ) {
+            int count = Math.min(n - done, MAX_WINDOW / Integer.BYTES);
+            window(channel, pos + (long) done * Integer.BYTES, (long) count * Integer.BYTES)
+                    .asIntBuffer().get(dst, done, count);
+            done += count;
+        }
+        return pos + (long) n * Integer.BYTES;
+    }
+
+    private static long read(FileChannel channel, long pos, long[] dst, int n) throws IOException {
+        for (int done = 0; done < n; ) {
+            int count = Math.min(n - done, MAX_WINDOW / Long.BYTES);
+            window(channel, pos + (long) done * Long.BYTES, (long) count * Long.BYTES)
+                    .asLongBuffer().get(dst, done, count);
+            done += count;
+        }
+        return pos + (long) n * Long.BYTES;
+    }
+
+    private static long read(FileChannel channel, long pos, double[] dst, int n) throws IOException {
+        for (int done = 0; done < n; ) {
+            int count = Math.min(n - done, MAX_WINDOW / Double.BYTES);
+            window(channel, pos + (long) done * Double.BYTES, (long) count * Double.BYTES)
+                    .asDoubleBuffer().get(dst, done, count);
+            done += count;
+        }
+        return pos + (long) n * Double.BYTES;
+    }
+
+    private static ByteBuffer window(FileChannel channel, long pos, long length) throws IOException {
+        MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, pos, length);
+        return window.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // Column writers stage through one direct buffer
+
+    private static void write(FileChannel channel, ByteBuffer buf, int[] src, int n) throws IOException {
+        for (int done = 0; done < n; ) {
+            int count = Math.min(n - done, buf.capacity() / Integer.BYTES);
+            buf.clear();
+            buf.asIntBuffer().put(src, done, count);
+            buf.limit(count * Integer.BYTES);
+            writeFully(channel, buf);
+            done += count;
+        }
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buf, long[] src, int n) throws IOException {
+        for (int done = 0; done < n; ) {
+            int count = Math.min(n - done, buf.capacity() / Long.BYTES);
+            buf.clear();
+            buf.asLongBuffer().put(src, done, count);
+            buf.limit(count * Long.BYTES);
+            writeFully(channel, buf);
+            done += count;
+        }
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buf, double[] src, int n) throws IOException {
+        for (int done = 0; done < n; ) {
+            int count = Math.min(n - done, buf.capacity() / Double.BYTES);
+            buf.clear();
+            buf.asDoubleBuffer().put(src, done, count);
+            buf.limit(count * Double.BYTES);
+            writeFully(channel, buf);
+            done += count;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            channel.write(buf);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.janhavi.challenge.sales;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+
+/**
+ * Worker process of a {@link ShardedReport}.
+ *
+ * Arguments: a bitmask of {@link ReportSection} ordinals, the top-N size,
+ * then one or more {@code <file> <from> <to>} byte ranges, each starting on
+ * a line start. The worker folds the rows of its ranges, in order, into one
+ * {@link ReportAccumulator} and writes it to standard output with
+ * {@link ReportAccumulator#writeTo}. Failures are reported on standard
+ * error with exit status 1; nothing else is written to standard output.
+ */
+final class ShardWorker {
+
+    private ShardWorker() {
+    }
+
+    public static void main(String[] args) {
+        try {
+            ReportAccumulator accumulator = run(args);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(System.out));
+            accumulator.writeTo(out);
+            out.flush();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Shard worker failed: " + e);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Aggregates the byte ranges named by the arguments.
+     *
+     * @param args worker arguments as described above
+     * @return accumulator over every row of the ranges
+     * @throws IOException if a file cannot be read
+     */
+    static ReportAccumulator run(String[] args) throws IOException {
+        if (args.length < 5 || (args.length - 2) % 3 != 0) {
+            throw new IllegalArgumentException("Expected <sections> <topN> (<file> <from> <to>)+");
+        }
+        Set<ReportSection> sections = ReportAccumulator.sections(Integer.parseInt(args[0]));
+        ReportAccumulator accumulator = new ReportAccumulator(sections, Integer.parseInt(args[1]));
+        for (int i = 2; i < args.length; i += 3) {
+            try (FileChannel channel = FileChannel.open(Path.of(args[i]), StandardOpenOption.READ)) {
+                new SalesCsvParser().parse(channel, Long.parseLong(args[i + 1]), Long.parseLong(args[i + 2]),
+                        accumulator::accept);
+            }
+        }
+        return accumulator;
+    }
+}
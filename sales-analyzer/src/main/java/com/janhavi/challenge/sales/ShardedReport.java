@@ -0,0 +1,222 @@
+package com.janhavi.challenge.sales;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Computes a {@link SalesReport} with several worker JVMs on the local
+ * machine, for inputs too large for one process.
+ *
+ * A single CSV file is split into newline-aligned byte ranges, one per
+ * worker. A directory or glob of partition files is split into runs of
+ * consecutive whole files of about equal total size. Each worker is a
+ * {@link ShardWorker} process that parses its ranges into a
+ * {@link ReportAccumulator} and writes it, a few kilobytes, to its
+ * standard output pipe. The coordinator reads the partial results in input
+ * order and merges them. Sums are carried between processes exactly, as
+ * the partial sums of an {@link ExactSum}, so the merged report is
+ * identical to the one a single process would print.
+ *
+ * <pre>
+ * SalesReport report = new ShardedReport(4).run(Path.of("sales-2024.csv"),
+ *         EnumSet.allOf(ReportSection.class), 5);
+ * </pre>
+ */
+public final class ShardedReport {
+
+    private final int workers;
+    private final List<String> jvmOptions;
+
+    /**
+     * Creates a coordinator starting workers with default JVM options.
+     *
+     * @param workers number of worker processes
+     */
+    public ShardedReport(int workers) {
+        this(workers, List.of());
+    }
+
+    /**
+     * Creates a coordinator.
+     *
+     * @param workers    number of worker processes
+     * @param jvmOptions options for every worker JVM, e.g. {@code -Xmx512m}
+     */
+    public ShardedReport(int workers, List<String> jvmOptions) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers must be >= 1: " + workers);
+        }
+        this.workers = workers;
+        this.jvmOptions = List.copyOf(jvmOptions);
+    }
+
+    /**
+     * Computes a report over a CSV file or a directory or glob of partition
+     * files.
+     *
+     * @param input    CSV file, directory of {@code *.csv} files, or glob
+     * @param sections aggregations to compute
+     * @param topN     number of orders for {@link ReportSection#TOP_PROFITABLE_ORDERS}
+     * @return report holding the requested sections
+     * @throws IOException if the input cannot be read or a worker fails
+     */
+    public SalesReport run(Path input, Set<ReportSection> sections, int topN) throws IOException {
+        try (SalesMetrics.Timer timer = SalesMetrics.startLoad("sharded", input)) {
+            List<List<Range>> shards = Files.isRegularFile(input) ? splitFile(input) : splitPartitions(input);
+            for (List<Range> shard : shards) {
+                for (Range range : shard) {
+                    timer.bytesRead(range.length());
+                }
+            }
+            ReportAccumulator result = aggregate(shards, sections, topN);
+            timer.rows(result.rows());
+            return result.toReport();
+        }
+    }
+
+    /**
+     * Starts one worker per shard and merges their results in shard order.
+     * Every worker is started before the first result is read, so they run
+     * concurrently; remaining workers are killed if one fails.
+     */
+    private ReportAccumulator aggregate(List<List<Range>> shards, Set<ReportSection> sections, int topN)
+            throws IOException {
+        int mask = ReportAccumulator.sectionMask(sections);
+        List<Process> processes = new ArrayList<>();
+        try {
+            for (List<Range> shard : shards) {
+                List<String> command = new ArrayList<>();
+                command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+                command.addAll(jvmOptions);
+                command.add("-cp");
+                command.add(classPath());
+                command.add(ShardWorker.class.getName());
+                command.add(Integer.toString(mask));
+                command.add(Integer.toString(topN));
+                for (Range range : shard) {
+                    command.add(range.file().toString());
+                    command.add(Long.toString(range.from()));
+                    command.add(Long.toString(range.to()));
+                }
+                processes.add(new ProcessBuilder(command)
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start());
+            }
+
+            ReportAccumulator result = new ReportAccumulator(sections, topN);
+            for (int i = 0; i < processes.size(); i++) {
+                Process process = processes.get(i);
+                ReportAccumulator part = null;
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(process.getInputStream()))) {
+                    part = ReportAccumulator.readFrom(in);
+                } catch (IOException e) {
+                    // A worker that failed writes nothing; report its exit status instead
+                }
+                int status = waitFor(process);
+                if (status != 0 || part == null) {
+                    throw new IOException("Shard worker " + i + " failed with exit status " + status);
+                }
+                result.merge(part);
+            }
+            return result;
+        } finally {
+            processes.forEach(Process::destroyForcibly);
+        }
+    }
+
+    /**
+     * Splits a CSV file into one byte range per worker.
+     */
+    private List<List<Range>> splitFile(Path csvPath) throws IOException {
+        try (FileChannel channel = FileChannel.open(csvPath, StandardOpenOption.READ)) {
+            long start = SalesCsvParser.skipHeader(channel);
+            long[] bounds = SalesCsvParser.split(channel, start, channel.size(), workers);
+            List<List<Range>> shards = new ArrayList<>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                shards.add(List.of(new Range(csvPath, bounds[i], bounds[i + 1])));
+            }
+            return shards;
+        }
+    }
+
+    /**
+     * Groups partition files into at most one run of consecutive files per
+     * worker, closing a run once it reaches its share of the total size.
+     */
+    private List<List<Range>> splitPartitions(Path directoryOrGlob) throws IOException {
+        List<Path> files = SalesDataLoader.partitionFiles(directoryOrGlob);
+        if (files.isEmpty()) {
+            throw new IOException("No partition files match " + directoryOrGlob);
+        }
+        List<Range> ranges = new ArrayList<>();
+        long total = 0;
+        for (Path file : files) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                Range range = new Range(file, SalesCsvParser.skipHeader(channel), channel.size());
+                ranges.add(range);
+                total += range.length();
+            }
+        }
+        List<List<Range>> shards = new ArrayList<>();
+        List<Range> shard = new ArrayList<>();
+        long assigned = 0;
+        for (Range range : ranges) {
+            shard.add(range);
+            assigned += range.length();
+            if (assigned * workers >= total * (shards.size() + 1)) {
+                shards.add(shard);
+                shard = new ArrayList<>();
+            }
+        }
+        if (!shard.isEmpty()) {
+            shards.add(shard);
+        }
+        return shards;
+    }
+
+    /**
+     * Rows of a file between two line starts, passed to a worker as
+     * {@code <file> <from> <to>}.
+     */
+    private record Range(Path file, long from, long to) {
+
+        long length() {
+            return to - from;
+        }
+    }
+
+    /**
+     * Returns where this class was loaded from, which holds every class a
+     * worker needs.
+     */
+    private static String classPath() {
+        CodeSource source = ShardWorker.class.getProtectionDomain().getCodeSource();
+        if (source != null) {
+            try {
+                return Path.of(source.getLocation().toURI()).toString();
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                // Fall through to the launching class path
+            }
+        }
+        return System.getProperty("java.class.path");
+    }
+
+    private static int waitFor(Process process) throws IOException {
+        try {
+            return process.waitFor();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a shard worker", e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.janhavi.challenge.sales;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns dense integer codes to distinct String values.
+ *
+ * Codes are handed out in first-seen order starting at 0, so a column of
+ * codes can index plain arrays of per-value aggregates.
+ */
+public final class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Returns the code for a value, assigning the next free code if the
+     * value has not been seen before.
+     *
+     * @param value value to encode
+     * @return code of the value
+     */
+    public int encode(String value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * Returns the code for a value without assigning one.
+     *
+     * @param value value to look up
+     * @return code of the value, or -1 if the value is unknown
+     */
+    public int lookup(String value) {
+        Integer code = codes.get(value);
+        return code == null ? -1 : code;
+    }
+
+    /**
+     * Returns the value for a code.
+     *
+     * @param code code previously returned by {@link #encode(String)}
+     * @return decoded value
+     */
+    public String decode(int code) {
+        return values.get(code);
+    }
+
+    /**
+     * Returns the number of distinct values.
+     *
+     * @return dictionary size
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Returns all values, indexed by code.
+     *
+     * @return unmodifiable list of values
+     */
+    public List<String> values() {
+        return Collections.unmodifiableList(values);
+    }
+}
@@ -0,0 +1,196 @@
+package com.janhavi.challenge.sales;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Report over a CSV file that keeps growing, such as an order feed that
+ * appends rows all day.
+ *
+ * The report remembers the byte offset up to which it has consumed the
+ * file. Each {@link #refresh()} parses only the complete lines appended
+ * since then and merges them into the running {@link ReportAccumulator},
+ * so its cost depends on the new data, not on the file size. A trailing
+ * line without its {@code '\n'} is left for a later refresh, when the
+ * writer has finished it.
+ *
+ * If the file shrinks or is replaced by another file (a new file key, as
+ * with log rotation), the report starts over from the beginning of the
+ * current file.
+ *
+ * Methods are thread-safe; {@link #watch} blocks its caller and can be
+ * stopped with {@link #close()} or by interrupting it.
+ */
+public final class TailingReport implements AutoCloseable {
+
+    private final Path csvPath;
+    private final Set<ReportSection> sections;
+    private final int topN;
+
+    private ReportAccumulator accumulator;
+    // End of the last consumed line; 0 until the header has been skipped
+    private long offset;
+    private Object fileKey;
+    private volatile WatchService watchService;
+    private volatile boolean closed;
+
+    /**
+     * Creates a report over a CSV file; nothing is read until the first
+     * {@link #refresh()}.
+     *
+     * @param csvPath  CSV file, which need not exist yet
+     * @param sections sections to compute
+     * @param topN     number of orders for {@link ReportSection#TOP_PROFITABLE_ORDERS}
+     */
+    public TailingReport(Path csvPath, Set<ReportSection> sections, int topN) {
+        this.csvPath = Objects.requireNonNull(csvPath, "csvPath");
+        this.sections = sections.isEmpty() ? EnumSet.noneOf(ReportSection.class) : EnumSet.copyOf(sections);
+        this.topN = topN;
+        this.accumulator = new ReportAccumulator(this.sections, topN);
+    }
+
+    /**
+     * Returns the offset up to which the file has been consumed.
+     *
+     * @return byte offset just past the last consumed line
+     */
+    public synchronized long offset() {
+        return offset;
+    }
+
+    /**
+     * Returns the number of data rows folded into the report.
+     *
+     * @return row count
+     */
+    public synchronized long rows() {
+        return accumulator.rows();
+    }
+
+    /**
+     * Returns the report over the rows consumed so far, without reading the
+     * file.
+     *
+     * @return current report
+     */
+    public synchronized SalesReport report() {
+        return accumulator.toReport();
+    }
+
+    /**
+     * Consumes the complete lines appended since the last refresh.
+     *
+     * The new lines are accumulated separately and merged only after all
+     * of them parsed, so a malformed line leaves the report and the offset
+     * unchanged and is reported again by the next refresh.
+     *
+     * @return true if rows were added or the report was reset
+     * @throws IOException if reading fails
+     * @throws IllegalArgumentException if an appended line is malformed
+     */
+    public synchronized boolean refresh() throws IOException {
+        if (!Files.exists(csvPath)) {
+            return false;
+        }
+        boolean reset = false;
+        try (FileChannel channel = FileChannel.open(csvPath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            Object key = Files.readAttributes(csvPath, BasicFileAttributes.class).fileKey();
+            if (size < offset || (fileKey != null && !fileKey.equals(key))) {
+                accumulator = new ReportAccumulator(sections, topN);
+                offset = 0;
+                reset = true;
+            }
+            fileKey = key;
+
+            long start = offset;
+            if (start == 0) {
+                start = SalesCsvParser.skipHeader(channel);
+                if (start == size && (size == 0 || !endsWithNewline(channel, size))) {
+                    // The header line itself is not complete yet
+                    return reset;
+                }
+            }
+            long end = SalesCsvParser.lastLineEnd(channel, start, size);
+            if (end == start) {
+                offset = start;
+                return reset;
+            }
+            ReportAccumulator delta = new ReportAccumulator(sections, topN);
+            new SalesCsvParser().parse(channel, start, end, delta::accept);
+            accumulator.merge(delta);
+            offset = end;
+            return reset || delta.rows() > 0;
+        }
+    }
+
+    /**
+     * Refreshes the report whenever the file changes, until {@link #close()}
+     * is called or the calling thread is interrupted.
+     *
+     * Changes are noticed through a {@link WatchService} on the file's
+     * directory; the file is also polled every {@code pollInterval}, for
+     * file systems that do not deliver change events.
+     *
+     * @param pollInterval longest wait between two refreshes
+     * @param onChange     receives the report after every refresh that changed it,
+     *                     and once at the start
+     * @throws IOException if reading fails or an appended line is malformed
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public void watch(Duration pollInterval, Consumer<SalesReport> onChange)
+            throws IOException, InterruptedException {
+        Path directory = csvPath.toAbsolutePath().getParent();
+        try (WatchService service = directory.getFileSystem().newWatchService()) {
+            watchService = service;
+            directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            refresh();
+            onChange.accept(report());
+            while (!closed) {
+                WatchKey key = service.poll(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    // Events only wake the loop; the refresh itself decides what changed
+                    key.pollEvents();
+                    key.reset();
+                }
+                if (refresh()) {
+                    onChange.accept(report());
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // close() was called while waiting
+        } finally {
+            watchService = null;
+        }
+    }
+
+    /**
+     * Stops a running {@link #watch}. The report stays readable.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        WatchService service = watchService;
+        if (service != null) {
+            service.close();
+        }
+    }
+
+    private static boolean endsWithNewline(FileChannel channel, long size) throws IOException {
+        return SalesCsvParser.lastLineEnd(channel, size - 1, size) == size;
+    }
+}
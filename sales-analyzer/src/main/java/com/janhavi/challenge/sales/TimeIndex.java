@@ -0,0 +1,448 @@
+package com.janhavi.challenge.sales;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Order-date sort index over a {@link SalesDataset}, with range and window
+ * functions that read rows in date order.
+ *
+ * The index is a counting sort of the row numbers by order day: rows of
+ * the same day are contiguous and keep their file order, and an offset
+ * table gives where every calendar day starts. Finding the rows of a date
+ * range is two array reads, and every window function below is one pass
+ * over the sorted rows, with no sort per query. The index costs 4 bytes
+ * per row plus 4 bytes per day between the first and last order date.
+ *
+ * The index covers the rows present when it was built. Once rows are
+ * appended its queries throw {@link IllegalStateException} instead of
+ * leaving the new rows out; {@link SalesDataset#timeIndex()} keeps an
+ * index that is rebuilt on first use after an append.
+ *
+ * <pre>
+ * TimeIndex index = dataset.timeIndex();
+ * index.rollingSum(Measure.TOTAL_REVENUE, 90);
+ * index.cumulativeBy(Dimension.REGION, Measure.TOTAL_PROFIT);
+ * </pre>
+ */
+public final class TimeIndex {
+
+    // Largest day span the offset table may cover, about 11,000 years
+    private static final int MAX_SPAN = 1 << 22;
+
+    private final SalesDataset dataset;
+    // Dataset version the index was built from
+    private final long version;
+    // Row numbers sorted by order day
+    private final int[] order;
+    // Position in order of the first row of day firstDay + d; one extra entry ends the last day
+    private final int[] dayStart;
+    private final int firstDay;
+
+    private TimeIndex(SalesDataset dataset) {
+        this.dataset = dataset;
+        this.version = dataset.version();
+        int n = dataset.size();
+        int[] days = dataset.orderDays();
+        int minDay = Integer.MAX_VALUE;
+        int maxDay = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            minDay = Math.min(minDay, days[i]);
+            maxDay = Math.max(maxDay, days[i]);
+        }
+        if (n == 0) {
+            minDay = maxDay = 0;
+        }
+        long span = (long) maxDay - minDay + 1;
+        if (span > MAX_SPAN) {
+            throw new IllegalArgumentException("Order dates span too many days to index: " + span);
+        }
+        firstDay = minDay;
+        dayStart = new int[n == 0 ? 1 : (int) span + 1];
+        for (int i = 0; i < n; i++) {
+            dayStart[days[i] - minDay + 1]++;
+        }
+        for (int d = 1; d < dayStart.length; d++) {
+            dayStart[d] += dayStart[d - 1];
+        }
+        order = new int[n];
+        int[] next = dayStart.clone();
+        for (int i = 0; i < n; i++) {
+            order[next[days[i] - minDay]++] = i;
+        }
+    }
+
+    /**
+     * Builds the index over every row currently in a dataset.
+     *
+     * @param dataset rows to index
+     * @return new index
+     * @throws IllegalArgumentException if the order dates span more than about 11,000 years
+     */
+    public static TimeIndex of(SalesDataset dataset) {
+        return new TimeIndex(dataset);
+    }
+
+    /**
+     * Tells whether the dataset is unchanged since the index was built.
+     *
+     * @return false once rows have been appended to the dataset
+     */
+    public boolean isCurrent() {
+        return dataset.version() == version;
+    }
+
+    /**
+     * Returns the number of rows indexed.
+     *
+     * @return row count
+     */
+    public int size() {
+        checkCurrent();
+        return order.length;
+    }
+
+    /**
+     * Returns the row at a position of the date order.
+     *
+     * @param position 0 for the earliest order
+     * @return row number in the dataset
+     */
+    public int row(int position) {
+        checkCurrent();
+        return order[position];
+    }
+
+    /**
+     * Returns the earliest order date.
+     *
+     * @return first date, or null if the index is empty
+     */
+    public LocalDate first() {
+        checkCurrent();
+        return order.length == 0 ? null : LocalDate.ofEpochDay(firstDay);
+    }
+
+    /**
+     * Returns the latest order date.
+     *
+     * @return last date, or null if the index is empty
+     */
+    public LocalDate last() {
+        checkCurrent();
+        return order.length == 0 ? null : LocalDate.ofEpochDay(firstDay + days() - 1);
+    }
+
+    /**
+     * Returns the number of orders in an inclusive date range.
+     *
+     * @param from first date
+     * @param to   last date
+     * @return row count
+     */
+    public int count(LocalDate from, LocalDate to) {
+        checkCurrent();
+        return Math.max(0, dayStart[slot(to.toEpochDay() + 1)] - dayStart[slot(from.toEpochDay())]);
+    }
+
+    /**
+     * Sums a measure over an inclusive date range, reading only the rows
+     * in it.
+     *
+     * @param measure measure to sum
+     * @param from    first date
+     * @param to      last date
+     * @return sum of the measure
+     */
+    public double sum(Measure measure, LocalDate from, LocalDate to) {
+        checkCurrent();
+        int end = dayStart[slot(to.toEpochDay() + 1)];
+        if (measure == Measure.UNITS_SOLD) {
+            int[] units = dataset.unitsSold();
+            long total = 0;
+            for (int p = dayStart[slot(from.toEpochDay())]; p < end; p++) {
+                total += units[order[p]];
+            }
+            return total;
+        }
+        double[] values = dataset.doubles(measure);
+        CompensatedSum sum = new CompensatedSum();
+        for (int p = dayStart[slot(from.toEpochDay())]; p < end; p++) {
+            sum.add(values[order[p]]);
+        }
+        return sum.get();
+    }
+
+    /**
+     * Computes a trailing-window sum for every calendar day from the first
+     * to the last order date. The value of a day covers that day and the
+     * {@code windowDays - 1} days before it, so a 90-day window gives
+     * trailing 90-day revenue.
+     *
+     * @param measure    measure to sum
+     * @param windowDays window length in days
+     * @return sorted map of date -> window sum
+     */
+    public NavigableMap<LocalDate, Double> rollingSum(Measure measure, int windowDays) {
+        checkCurrent();
+        checkWindow(windowDays);
+        double[] daily = daySums(measure);
+        NavigableMap<LocalDate, Double> result = new TreeMap<>();
+        CompensatedSum window = new CompensatedSum();
+        int count = 0;
+        for (int d = 0; d < daily.length; d++) {
+            window.add(daily[d]);
+            count += ordersOn(d);
+            if (d >= windowDays) {
+                window.add(-daily[d - windowDays]);
+                count -= ordersOn(d - windowDays);
+            }
+            if (count == 0) {
+                // Subtracting every added day can leave rounding residue instead of 0
+                window = new CompensatedSum();
+            }
+            result.put(LocalDate.ofEpochDay(firstDay + d), window.get());
+        }
+        return result;
+    }
+
+    /**
+     * Computes a trailing-window average per order for every calendar day
+     * from the first to the last order date, over the same windows as
+     * {@link #rollingSum}. Days whose window holds no orders are left out.
+     *
+     * @param measure    measure to average
+     * @param windowDays window length in days
+     * @return sorted map of date -> mean measure of the orders in the window
+     */
+    public NavigableMap<LocalDate, Double> rollingAverage(Measure measure, int windowDays) {
+        checkCurrent();
+        checkWindow(windowDays);
+        double[] daily = daySums(measure);
+        NavigableMap<LocalDate, Double> result = new TreeMap<>();
+        CompensatedSum window = new CompensatedSum();
+        int count = 0;
+        for (int d = 0; d < daily.length; d++) {
+            window.add(daily[d]);
+            count += ordersOn(d);
+            if (d >= windowDays) {
+                window.add(-daily[d - windowDays]);
+                count -= ordersOn(d - windowDays);
+            }
+            if (count > 0) {
+                result.put(LocalDate.ofEpochDay(firstDay + d), window.get() / count);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sums a measure per order month, in month order.
+     *
+     * @param measure measure to sum
+     * @return sorted map of month -> sum, for months with orders
+     */
+    public NavigableMap<YearMonth, Double> monthly(Measure measure) {
+        checkCurrent();
+        double[] daily = daySums(measure);
+        NavigableMap<YearMonth, Double> result = new TreeMap<>();
+        CompensatedSum month = new CompensatedSum();
+        int current = Integer.MIN_VALUE;
+        boolean any = false;
+        for (int d = 0; d < daily.length; d++) {
+            int m = EpochDays.monthIndex(firstDay + d);
+            if (m != current) {
+                if (any) {
+                    result.put(EpochDays.yearMonth(current), month.get());
+                }
+                current = m;
+                month = new CompensatedSum();
+                any = false;
+            }
+            if (ordersOn(d) > 0) {
+                month.add(daily[d]);
+                any = true;
+            }
+        }
+        if (any) {
+            result.put(EpochDays.yearMonth(current), month.get());
+        }
+        return result;
+    }
+
+    /**
+     * Computes the change of a measure's monthly sum against the month
+     * before, as a fraction: 0.25 means 25% growth. Months whose previous
+     * month has no orders, or sums to zero, are left out.
+     *
+     * @param measure measure to compare
+     * @return sorted map of month -> growth over the previous month
+     */
+    public NavigableMap<YearMonth, Double> monthOverMonthGrowth(Measure measure) {
+        NavigableMap<YearMonth, Double> monthly = monthly(measure);
+        NavigableMap<YearMonth, Double> result = new TreeMap<>();
+        monthly.forEach((month, sum) -> {
+            Double previous = monthly.get(month.minusMonths(1));
+            if (previous != null && previous != 0) {
+                result.put(month, sum / previous - 1);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Averages the days from order to shipment per order month.
+     *
+     * @return sorted map of month -> mean ship latency in days, for months with orders
+     */
+    public NavigableMap<YearMonth, Double> averageShipDaysByMonth() {
+        checkCurrent();
+        int[] shipDays = dataset.shipDays();
+        NavigableMap<YearMonth, Double> result = new TreeMap<>();
+        long latency = 0;
+        int orders = 0;
+        int current = Integer.MIN_VALUE;
+        for (int d = 0; d < days(); d++) {
+            int m = EpochDays.monthIndex(firstDay + d);
+            if (m != current) {
+                if (orders > 0) {
+                    result.put(EpochDays.yearMonth(current), (double) latency / orders);
+                }
+                current = m;
+                latency = 0;
+                orders = 0;
+            }
+            for (int p = dayStart[d]; p < dayStart[d + 1]; p++) {
+                latency += shipDays[order[p]] - (firstDay + d);
+                orders++;
+            }
+        }
+        if (orders > 0) {
+            result.put(EpochDays.yearMonth(current), (double) latency / orders);
+        }
+        return result;
+    }
+
+    /**
+     * Computes running totals of a measure per value of a dimension, e.g.
+     * cumulative profit per region. Each value's series has an entry for
+     * every month in which that value had orders, holding its total up to
+     * and including that month; months in between keep the previous total,
+     * which {@link NavigableMap#floorEntry} returns.
+     *
+     * @param dimension dimension whose values form the series
+     * @param measure   measure to accumulate
+     * @return map of dimension value -> sorted map of month -> cumulative total
+     */
+    public Map<String, NavigableMap<YearMonth, Double>> cumulativeBy(Dimension dimension, Measure measure) {
+        checkCurrent();
+        int[] codes = dataset.codes(dimension);
+        StringDictionary dictionary = dataset.dictionary(dimension);
+        double[] values = measure == Measure.UNITS_SOLD ? null : dataset.doubles(measure);
+        int[] units = dataset.unitsSold();
+
+        CompensatedSum[] totals = new CompensatedSum[dictionary.size()];
+        @SuppressWarnings("unchecked")
+        NavigableMap<YearMonth, Double>[] series =
+                (NavigableMap<YearMonth, Double>[]) new NavigableMap<?, ?>[dictionary.size()];
+        // Codes with orders in the current month, in first-seen order
+        int[] touched = new int[dictionary.size()];
+        boolean[] inMonth = new boolean[dictionary.size()];
+        int touchedCount = 0;
+        int current = Integer.MIN_VALUE;
+        for (int d = 0; d <= days(); d++) {
+            int m = d == days() ? Integer.MAX_VALUE : EpochDays.monthIndex(firstDay + d);
+            if (m != current) {
+                for (int t = 0; t < touchedCount; t++) {
+                    int code = touched[t];
+                    series[code].put(EpochDays.yearMonth(current), totals[code].get());
+                    inMonth[code] = false;
+                }
+                touchedCount = 0;
+                current = m;
+            }
+            if (d == days()) {
+                break;
+            }
+            for (int p = dayStart[d]; p < dayStart[d + 1]; p++) {
+                int row = order[p];
+                int code = codes[row];
+                if (totals[code] == null) {
+                    totals[code] = new CompensatedSum();
+                    series[code] = new TreeMap<>();
+                }
+                totals[code].add(values == null ? units[row] : values[row]);
+                if (!inMonth[code]) {
+                    inMonth[code] = true;
+                    touched[touchedCount++] = code;
+                }
+            }
+        }
+        Map<String, NavigableMap<YearMonth, Double>> result = new HashMap<>();
+        for (int c = 0; c < series.length; c++) {
+            if (series[c] != null) {
+                result.put(dictionary.decode(c), Collections.unmodifiableNavigableMap(series[c]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sums a measure per calendar day from the first order date on, in one
+     * pass over the sorted rows.
+     */
+    private double[] daySums(Measure measure) {
+        double[] sums = new double[days()];
+        if (measure == Measure.UNITS_SOLD) {
+            int[] units = dataset.unitsSold();
+            for (int d = 0; d < sums.length; d++) {
+                long total = 0;
+                for (int p = dayStart[d]; p < dayStart[d + 1]; p++) {
+                    total += units[order[p]];
+                }
+                sums[d] = total;
+            }
+            return sums;
+        }
+        double[] values = dataset.doubles(measure);
+        for (int d = 0; d < sums.length; d++) {
+            CompensatedSum sum = new CompensatedSum();
+            for (int p = dayStart[d]; p < dayStart[d + 1]; p++) {
+                sum.add(values[order[p]]);
+            }
+            sums[d] = sum.get();
+        }
+        return sums;
+    }
+
+    /** Returns the number of calendar days the offset table covers. */
+    private int days() {
+        return order.length == 0 ? 0 : dayStart.length - 1;
+    }
+
+    private int ordersOn(int day) {
+        return dayStart[day + 1] - dayStart[day];
+    }
+
+    /** Clamps an epoch day to an offset table entry; days after the last map to its end. */
+    private int slot(long epochDay) {
+        return (int) Math.max(0, Math.min(epochDay - firstDay, dayStart.length - 1));
+    }
+
+    private void checkCurrent() {
+        if (!isCurrent()) {
+            throw new IllegalStateException("Dataset changed since the time index was built; rebuild it");
+        }
+    }
+
+    private static void checkWindow(int windowDays) {
+        if (windowDays < 1) {
+            throw new IllegalArgumentException("windowDays must be >= 1: " + windowDays);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.janhavi.challenge.sales;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bounded binary heap that keeps the best {@code k} entries seen so far.
+ *
+ * Each entry has a ranking key, a sequence number and an optional payload.
+ * Higher keys rank better (or lower keys for a "lowest" heap); among equal
+ * keys the smaller sequence number ranks better, which reproduces the order
+ * of a stable sort. The worst kept entry sits at the root, so rejecting a
+ * candidate costs one comparison and admitting one costs O(log k), for
+ * O(n log k) over n candidates instead of O(n log n) for a full sort.
+ *
+ * Keys and sequence numbers live in primitive arrays; nothing is allocated
+ * per candidate. The arrays start small and double up to {@code k}, so a
+ * large {@code k} over few candidates only costs what is kept. Not
+ * thread-safe; merge per-thread heaps instead.
+ *
+ * @param <T> payload type
+ */
+final class TopKHeap<T> {
+
+    private static final int INITIAL_LENGTH = 16;
+
+    private final int capacity;
+    private final boolean highest;
+
+    private double[] keys;
+    private long[] seqs;
+    private Object[] payloads;
+    private int size;
+
+    /**
+     * Creates an empty heap.
+     *
+     * @param capacity number of entries to keep
+     * @param highest  true to keep the highest keys, false for the lowest
+     */
+    TopKHeap(int capacity, boolean highest) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must be >= 0");
+        }
+        this.capacity = capacity;
+        this.highest = highest;
+        int length = Math.min(capacity, INITIAL_LENGTH);
+        this.keys = new double[length];
+        this.seqs = new long[length];
+        this.payloads = new Object[length];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether an entry would currently be kept. Lets callers avoid
+     * building a payload for entries that are rejected anyway.
+     */
+    boolean accepts(double key, long seq) {
+        return size < capacity || (capacity > 0 && better(key, seq, 0));
+    }
+
+    /**
+     * Offers an entry, keeping it if it ranks among the best {@code k}.
+     *
+     * @return true if the entry was kept
+     */
+    boolean offer(double key, long seq, T payload) {
+        if (size < capacity) {
+            if (size == keys.length) {
+                grow();
+            }
+            keys[size] = key;
+            seqs[size] = seq;
+            payloads[size] = payload;
+            siftUp(size++);
+            return true;
+        }
+        if (capacity == 0 || !better(key, seq, 0)) {
+            return false;
+        }
+        keys[0] = key;
+        seqs[0] = seq;
+        payloads[0] = payload;
+        siftDown(0);
+        return true;
+    }
+
+    /**
+     * Offers every entry of another heap, shifting its sequence numbers.
+     *
+     * @param other     heap to merge in
+     * @param seqOffset added to the other heap's sequence numbers
+     */
+    @SuppressWarnings("unchecked")
+    void merge(TopKHeap<T> other, long seqOffset) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.keys[i], other.seqs[i] + seqOffset, (T) other.payloads[i]);
+        }
+    }
+
+    // Entries in heap order, for serializing a heap; offering them again rebuilds it
+
+    double key(int i) {
+        return keys[i];
+    }
+
+    long seq(int i) {
+        return seqs[i];
+    }
+
+    @SuppressWarnings("unchecked")
+    T payload(int i) {
+        return (T) payloads[i];
+    }
+
+    /**
+     * Returns the kept entries' positions ordered best first.
+     */
+    private Integer[] order() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> better(keys[a], seqs[a], b) ? -1 : better(keys[b], seqs[b], a) ? 1 : 0);
+        return order;
+    }
+
+    /**
+     * Returns the kept sequence numbers, best first.
+     */
+    long[] sortedSeqs() {
+        Integer[] order = order();
+        long[] result = new long[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = seqs[order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Returns the kept payloads, best first.
+     */
+    @SuppressWarnings("unchecked")
+    List<T> sortedPayloads() {
+        List<T> result = new ArrayList<>(size);
+        for (int i : order()) {
+            result.add((T) payloads[i]);
+        }
+        return result;
+    }
+
+    /** True if (key, seq) ranks strictly better than the entry at {@code i}. */
+    private boolean better(double key, long seq, int i) {
+        int byKey = Double.compare(key, keys[i]);
+        if (byKey != 0) {
+            return highest ? byKey > 0 : byKey < 0;
+        }
+        return seq < seqs[i];
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            // Root holds the worst entry: move up while worse than the parent
+            if (!better(keys[parent], seqs[parent], i)) {
+                break;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                break;
+            }
+            int worst = left;
+            int right = left + 1;
+            if (right < size && better(keys[left], seqs[left], right)) {
+                worst = right;
+            }
+            if (!better(keys[i], seqs[i], worst)) {
+                break;
+            }
+            swap(i, worst);
+            i = worst;
+        }
+    }
+
+    private void grow() {
+        int length = (int) Math.min(capacity, Math.max(INITIAL_LENGTH, 2L * keys.length));
+        keys = Arrays.copyOf(keys, length);
+        seqs = Arrays.copyOf(seqs, length);
+        payloads = Arrays.copyOf(payloads, length);
+    }
+
+    private void swap(int a, int b) {
+        double k = keys[a];
+        keys[a] = keys[b];
+        keys[b] = k;
+        long s = seqs[a];
+        seqs[a] = seqs[b];
+        seqs[b] = s;
+        Object p = payloads[a];
+        payloads[a] = payloads[b];
+        payloads[b] = p;
+    }
+}
@@ -0,0 +1,310 @@
+package com.janhavi.challenge.sales;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Selects the N highest or lowest rows by a {@link Measure}, optionally
+ * filtered by dimension values and per group of a {@link Dimension}.
+ *
+ * Rows are ranked with a bounded {@link TopKHeap} rather than by sorting
+ * the whole input, so memory is O(N) per group and time O(rows log N).
+ * In parallel mode every task ranks its own slice into a private heap and
+ * the heaps are merged at the end. Ties keep input order in every mode,
+ * exactly like a stable sort.
+ *
+ * Queries are immutable; every configuration method returns a new query.
+ *
+ * <pre>
+ * TopNQuery.top(Measure.TOTAL_PROFIT, 3)
+ *         .where(Dimension.SALES_CHANNEL, "Online")
+ *         .parallel()
+ *         .listByGroup(dataset, Dimension.REGION);
+ * </pre>
+ */
+public final class TopNQuery {
+
+    private final Measure measure;
+    private final int n;
+    private final boolean highest;
+    private final Map<Dimension, Set<String>> dimensionFilters;
+    private final Predicate<? super SalesRow> predicate;
+    private final boolean parallel;
+
+    private TopNQuery(Measure measure, int n, boolean highest,
+                      Map<Dimension, Set<String>> dimensionFilters,
+                      Predicate<? super SalesRow> predicate, boolean parallel) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must be >= 0");
+        }
+        this.measure = Objects.requireNonNull(measure, "measure");
+        this.n = n;
+        this.highest = highest;
+        this.dimensionFilters = dimensionFilters;
+        this.predicate = predicate;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Creates a query for the N rows with the highest measure values.
+     *
+     * @param measure measure to rank by
+     * @param n       number of rows to return
+     * @return new query
+     */
+    public static TopNQuery top(Measure measure, int n) {
+        return new TopNQuery(measure, n, true, new EnumMap<>(Dimension.class), null, false);
+    }
+
+    /**
+     * Creates a query for the N rows with the lowest measure values.
+     *
+     * @param measure measure to rank by
+     * @param n       number of rows to return
+     * @return new query
+     */
+    public static TopNQuery bottom(Measure measure, int n) {
+        return new TopNQuery(measure, n, false, new EnumMap<>(Dimension.class), null, false);
+    }
+
+    /**
+     * Restricts the query to rows whose dimension has one of the given
+     * values. Filters are combined with AND; a second filter on the same
+     * dimension keeps only the values both accept. Repeated values are
+     * accepted and count once.
+     *
+     * @param dimension dimension to filter on
+     * @param values    accepted values
+     * @return new query
+     * @throws NullPointerException if the dimension or a value is null
+     */
+    public TopNQuery where(Dimension dimension, String... values) {
+        Map<Dimension, Set<String>> filters = new EnumMap<>(Dimension.class);
+        filters.putAll(dimensionFilters);
+        Dimension.addFilter(filters, dimension, values);
+        return new TopNQuery(measure, n, highest, filters, predicate, parallel);
+    }
+
+    /**
+     * Restricts the query to rows matching an arbitrary predicate, evaluated
+     * after the dimension filters.
+     *
+     * @param filter row predicate
+     * @return new query
+     */
+    public TopNQuery where(Predicate<? super SalesRow> filter) {
+        Predicate<SalesRow> combined = predicate == null
+                ? filter::test
+                : row -> predicate.test(row) && filter.test(row);
+        return new TopNQuery(measure, n, highest, dimensionFilters, combined, parallel);
+    }
+
+    /**
+     * Runs the query on the common fork-join pool, one heap per task.
+     *
+     * @return new query
+     */
+    public TopNQuery parallel() {
+        return new TopNQuery(measure, n, highest, dimensionFilters, predicate, true);
+    }
+
+    /**
+     * Returns the best rows of a list, best first.
+     *
+     * @param rows rows to rank
+     * @return up to N rows
+     */
+    public List<SalesRecord> list(List<? extends SalesRow> rows) {
+        List<? extends SalesRow> source = randomAccess(rows);
+        TopKHeap<Void> heap = scan(source.size(), (from, to) -> {
+            TopKHeap<Void> part = newHeap();
+            for (int i = from; i < to; i++) {
+                SalesRow row = source.get(i);
+                if (matches(row)) {
+                    part.offer(measure.of(row), i, null);
+                }
+            }
+            return part;
+        }, TopNQuery::mergeHeaps);
+        return materialize(heap, i -> SalesRecord.of(source.get(i)));
+    }
+
+    /**
+     * Returns the best rows of a dataset, best first.
+     *
+     * @param dataset rows to rank
+     * @return up to N rows
+     */
+    public List<SalesRecord> list(SalesDataset dataset) {
+        boolean[][] accepted = acceptedCodes(dataset);
+        TopKHeap<Void> heap = scan(dataset.size(), (from, to) -> {
+            TopKHeap<Void> part = newHeap();
+            SalesDataset.Cursor cursor = dataset.cursor();
+            for (int i = from; i < to; i++) {
+                if (matches(dataset, accepted, cursor, i)) {
+                    part.offer(dataset.measure(measure, i), i, null);
+                }
+            }
+            return part;
+        }, TopNQuery::mergeHeaps);
+        return materialize(heap, dataset::record);
+    }
+
+    /**
+     * Returns the best rows of a list for every value of a dimension.
+     *
+     * @param rows    rows to rank
+     * @param groupBy dimension whose values form the groups
+     * @return group value -> up to N rows, best first, groups in first-seen order
+     */
+    public Map<String, List<SalesRecord>> listByGroup(List<? extends SalesRow> rows, Dimension groupBy) {
+        List<? extends SalesRow> source = randomAccess(rows);
+        Map<String, TopKHeap<Void>> heaps = scan(source.size(), (from, to) -> {
+            Map<String, TopKHeap<Void>> part = new LinkedHashMap<>();
+            for (int i = from; i < to; i++) {
+                SalesRow row = source.get(i);
+                if (matches(row)) {
+                    part.computeIfAbsent(groupBy.of(row), k -> newHeap()).offer(measure.of(row), i, null);
+                }
+            }
+            return part;
+        }, TopNQuery::mergeGroups);
+        Map<String, List<SalesRecord>> result = new LinkedHashMap<>();
+        heaps.forEach((group, heap) -> result.put(group, materialize(heap, i -> SalesRecord.of(source.get(i)))));
+        return result;
+    }
+
+    /**
+     * Returns the best rows of a dataset for every value of a dimension.
+     * Groups are addressed by dictionary code, so no per-row hashing occurs.
+     *
+     * @param dataset rows to rank
+     * @param groupBy dimension whose values form the groups
+     * @return group value -> up to N rows, best first, groups in dictionary order
+     */
+    public Map<String, List<SalesRecord>> listByGroup(SalesDataset dataset, Dimension groupBy) {
+        boolean[][] accepted = acceptedCodes(dataset);
+        int[] groups = dataset.codes(groupBy);
+        int groupCount = dataset.dictionary(groupBy).size();
+        TopKHeap<Void>[] heaps = scan(dataset.size(), (from, to) -> {
+            @SuppressWarnings("unchecked")
+            TopKHeap<Void>[] part = (TopKHeap<Void>[]) new TopKHeap<?>[groupCount];
+            SalesDataset.Cursor cursor = dataset.cursor();
+            for (int i = from; i < to; i++) {
+                if (matches(dataset, accepted, cursor, i)) {
+                    TopKHeap<Void> heap = part[groups[i]];
+                    if (heap == null) {
+                        heap = part[groups[i]] = newHeap();
+                    }
+                    heap.offer(dataset.measure(measure, i), i, null);
+                }
+            }
+            return part;
+        }, (a, b) -> {
+            for (int g = 0; g < a.length; g++) {
+                a[g] = a[g] == null ? b[g] : b[g] == null ? a[g] : mergeHeaps(a[g], b[g]);
+            }
+            return a;
+        });
+        Map<String, List<SalesRecord>> result = new LinkedHashMap<>();
+        for (int g = 0; g < groupCount; g++) {
+            if (heaps[g] != null) {
+                result.put(dataset.dictionary(groupBy).decode(g), materialize(heaps[g], dataset::record));
+            }
+        }
+        return result;
+    }
+
+    private boolean matches(SalesRow row) {
+        for (Map.Entry<Dimension, Set<String>> filter : dimensionFilters.entrySet()) {
+            if (!filter.getValue().contains(filter.getKey().of(row))) {
+                return false;
+            }
+        }
+        return predicate == null || predicate.test(row);
+    }
+
+    private boolean matches(SalesDataset dataset, boolean[][] accepted,
+                            SalesDataset.Cursor cursor, int row) {
+        // Dimension filters are int lookups; the predicate needs a row view
+        for (Dimension dimension : dimensionFilters.keySet()) {
+            if (!accepted[dimension.ordinal()][dataset.codes(dimension)[row]]) {
+                return false;
+            }
+        }
+        return predicate == null || predicate.test(cursor.at(row));
+    }
+
+    /**
+     * Translates the value filters into per-code lookup tables. Values that
+     * do not occur in the dataset simply never match.
+     */
+    private boolean[][] acceptedCodes(SalesDataset dataset) {
+        boolean[][] accepted = new boolean[Dimension.values().length][];
+        dimensionFilters.forEach((dimension, values) -> {
+            StringDictionary dictionary = dataset.dictionary(dimension);
+            boolean[] codes = new boolean[dictionary.size()];
+            for (String value : values) {
+                int code = dictionary.lookup(value);
+                if (code >= 0) {
+                    codes[code] = true;
+                }
+            }
+            accepted[dimension.ordinal()] = codes;
+        });
+        return accepted;
+    }
+
+    private TopKHeap<Void> newHeap() {
+        return new TopKHeap<>(n, highest);
+    }
+
+    private <R> R scan(int size, ParallelSlices.SliceScan<R> scan, ParallelSlices.Merge<R> merge) {
+        return ParallelSlices.run(size, parallel, scan, merge);
+    }
+
+    private static TopKHeap<Void> mergeHeaps(TopKHeap<Void> a, TopKHeap<Void> b) {
+        // Sequence numbers are global row indexes, so no shift is needed
+        a.merge(b, 0);
+        return a;
+    }
+
+    private static Map<String, TopKHeap<Void>> mergeGroups(Map<String, TopKHeap<Void>> a,
+                                                            Map<String, TopKHeap<Void>> b) {
+        b.forEach((group, heap) -> a.merge(group, heap, TopNQuery::mergeHeaps));
+        return a;
+    }
+
+    private static List<SalesRecord> materialize(TopKHeap<Void> heap, RowLoader loader) {
+        long[] rows = heap.sortedSeqs();
+        List<SalesRecord> result = new ArrayList<>(rows.length);
+        for (long row : rows) {
+            result.add(loader.load((int) row));
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface RowLoader {
+        SalesRecord load(int row);
+    }
+
+    private static List<? extends SalesRow> randomAccess(List<? extends SalesRow> rows) {
+        return rows instanceof RandomAccess ? rows : new ArrayList<>(rows);
+    }
+
+    @Override
+    public String toString() {
+        return (highest ? "top " : "bottom ") + n + " by " + measure
+                + (dimensionFilters.isEmpty() ? "" : " where " + dimensionFilters)
+                + (predicate == null ? "" : " and predicate")
+                + (parallel ? " (parallel)" : "");
+    }
+}
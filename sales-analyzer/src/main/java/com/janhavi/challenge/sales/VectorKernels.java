@@ -0,0 +1,146 @@
+package com.janhavi.challenge.sales;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.DoubleSummaryStatistics;
+
+/**
+ * {@link AggregationKernels} on the incubating Vector API, processing as
+ * many rows per instruction as the widest double vector the CPU offers.
+ *
+ * Sums are Kahan-compensated per lane and the lanes are combined through a
+ * {@link CompensatedSum}, so a sum costs a few vector instructions per
+ * two to eight rows instead of a dependent chain of scalar adds per row.
+ *
+ * Only instantiated reflectively by {@link AggregationKernels#get()}; the
+ * class fails to link when {@code jdk.incubator.vector} is not in the boot
+ * layer.
+ */
+final class VectorKernels extends AggregationKernels {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    VectorKernels() {
+        if (DOUBLES.length() < 2) {
+            throw new UnsupportedOperationException("No SIMD registers for doubles");
+        }
+    }
+
+    @Override
+    double sum(double[] values, int from, int to) {
+        DoubleVector sum = DoubleVector.zero(DOUBLES);
+        DoubleVector compensation = DoubleVector.zero(DOUBLES);
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            DoubleVector v = DoubleVector.fromArray(DOUBLES, values, i);
+            DoubleVector y = v.sub(compensation);
+            DoubleVector t = sum.add(y);
+            compensation = t.sub(sum).sub(y);
+            sum = t;
+        }
+        CompensatedSum total = lanes(sum, compensation);
+        for (; i < to; i++) {
+            total.add(values[i]);
+        }
+        return overflowed(total.get(), values, from, to);
+    }
+
+    @Override
+    double min(double[] values, int from, int to) {
+        DoubleVector min = DoubleVector.broadcast(DOUBLES, Double.POSITIVE_INFINITY);
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            min = min.min(DoubleVector.fromArray(DOUBLES, values, i));
+        }
+        double result = min.reduceLanes(VectorOperators.MIN);
+        for (; i < to; i++) {
+            result = Math.min(result, values[i]);
+        }
+        return result;
+    }
+
+    @Override
+    double max(double[] values, int from, int to) {
+        DoubleVector max = DoubleVector.broadcast(DOUBLES, Double.NEGATIVE_INFINITY);
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            max = max.max(DoubleVector.fromArray(DOUBLES, values, i));
+        }
+        double result = max.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            result = Math.max(result, values[i]);
+        }
+        return result;
+    }
+
+    @Override
+    DoubleSummaryStatistics summarize(double[] values, int from, int to) {
+        DoubleVector sum = DoubleVector.zero(DOUBLES);
+        DoubleVector compensation = DoubleVector.zero(DOUBLES);
+        DoubleVector min = DoubleVector.broadcast(DOUBLES, Double.POSITIVE_INFINITY);
+        DoubleVector max = DoubleVector.broadcast(DOUBLES, Double.NEGATIVE_INFINITY);
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            DoubleVector v = DoubleVector.fromArray(DOUBLES, values, i);
+            DoubleVector y = v.sub(compensation);
+            DoubleVector t = sum.add(y);
+            compensation = t.sub(sum).sub(y);
+            sum = t;
+            min = min.min(v);
+            max = max.max(v);
+        }
+        CompensatedSum total = lanes(sum, compensation);
+        double minValue = min.reduceLanes(VectorOperators.MIN);
+        double maxValue = max.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            total.add(values[i]);
+            minValue = Math.min(minValue, values[i]);
+            maxValue = Math.max(maxValue, values[i]);
+        }
+        return statistics(to - from, minValue, maxValue, overflowed(total.get(), values, from, to), values, from, to);
+    }
+
+    /**
+     * Delegates to the scalar loop. One masked vector pass per code was
+     * measured slower than the scalar single pass for every dimension but
+     * sales channel (two codes), where it only broke even: the scalar loop
+     * already keeps one independent sum per code and is bound by memory.
+     */
+    @Override
+    GroupSums sumBy(int[] codes, int groups, double[] values, int from, int to) {
+        return scalar().sumBy(codes, groups, values, from, to);
+    }
+
+    /** Folds per-lane Kahan sums into one compensated sum. */
+    private static CompensatedSum lanes(DoubleVector sum, DoubleVector compensation) {
+        CompensatedSum total = new CompensatedSum();
+        for (int lane = 0; lane < DOUBLES.length(); lane++) {
+            total.add(sum.lane(lane));
+            total.add(-compensation.lane(lane));
+        }
+        return total;
+    }
+
+    /**
+     * Returns the naive sum if it overflowed to an infinity that turned the
+     * compensated sum into NaN, like {@link CompensatedSum#get()}. Sums of
+     * finite values only pay the extra pass in that case.
+     */
+    private static double overflowed(double sum, double[] values, int from, int to) {
+        if (!Double.isNaN(sum)) {
+            return sum;
+        }
+        double simple = 0;
+        for (int i = from; i < to; i++) {
+            simple += values[i];
+        }
+        return Double.isInfinite(simple) ? simple : sum;
+    }
+
+    @Override
+    public String toString() {
+        return "vector(" + DOUBLES.vectorBitSize() + "-bit)";
+    }
+}
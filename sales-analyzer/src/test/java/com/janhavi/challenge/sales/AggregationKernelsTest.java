@@ -0,0 +1,100 @@
+package com.janhavi.challenge.sales;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.DoubleSummaryStatistics;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AggregationKernelsTest {
+
+    /**
+     * Verifies that the test JVM, started with the incubator module, picks
+     * the vector kernels.
+     */
+    @Test
+    void testVectorKernelsSelectedWhenModulePresent() {
+        boolean available = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        assertEquals(available, AggregationKernels.get() instanceof VectorKernels, AggregationKernels.get().toString());
+    }
+
+    /**
+     * Verifies that the selected kernels agree with the scalar kernels and
+     * with {@link java.util.stream.DoubleStream} for every range length
+     * around the vector width, including empty ranges.
+     */
+    @Test
+    void testKernelsMatchScalarAndStreams() {
+        Random random = new Random(42);
+        double[] values = new double[1000];
+        int[] codes = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.round(random.nextDouble() * 1e8) / 100.0 - 2e5;
+            codes[i] = random.nextInt(5);
+        }
+        AggregationKernels kernels = AggregationKernels.get();
+        AggregationKernels scalar = AggregationKernels.scalar();
+
+        for (int from = 0; from < 9; from++) {
+            for (int to = from; to < from + 40; to++) {
+                DoubleSummaryStatistics expected = Arrays.stream(values, from, to).summaryStatistics();
+                double tolerance = 1e-6 * Math.max(1, Math.abs(expected.getSum()));
+                assertEquals(expected.getSum(), kernels.sum(values, from, to), tolerance);
+                assertEquals(scalar.sum(values, from, to), kernels.sum(values, from, to), tolerance);
+                assertEquals(expected.getMin(), kernels.min(values, from, to));
+                assertEquals(expected.getMax(), kernels.max(values, from, to));
+
+                DoubleSummaryStatistics actual = kernels.summarize(values, from, to);
+                assertEquals(expected.getCount(), actual.getCount());
+                assertEquals(expected.getMin(), actual.getMin());
+                assertEquals(expected.getMax(), actual.getMax());
+                assertEquals(expected.getSum(), actual.getSum(), tolerance);
+            }
+        }
+
+        AggregationKernels.GroupSums expected = scalar.sumBy(codes, 6, values, 3, 997);
+        AggregationKernels.GroupSums actual = kernels.sumBy(codes, 6, values, 3, 997);
+        for (int c = 0; c < 6; c++) {
+            int code = c;
+            // Codes are drawn from 0..4, so the sixth group stays empty
+            assertEquals(c < 5, expected.count(c) > 0);
+            assertEquals(expected.count(c), actual.count(c));
+            assertEquals(IntStream.range(3, 997).filter(i -> codes[i] == code)
+                    .mapToDouble(i -> values[i]).sum(), actual.sum(c), 1e-6);
+        }
+    }
+
+    /**
+     * Verifies the edge cases of {@link Math#min}/{@link Math#max} and of
+     * overflowing sums.
+     */
+    @Test
+    void testSpecialValues() {
+        AggregationKernels kernels = AggregationKernels.get();
+        double[] zeros = new double[19];
+        Arrays.fill(zeros, -0.0);
+        zeros[17] = 0.0;
+        assertEquals(-0.0, kernels.min(zeros, 0, zeros.length));
+        assertEquals(0.0, kernels.max(zeros, 0, zeros.length));
+
+        double[] withNaN = new double[19];
+        withNaN[5] = Double.NaN;
+        assertTrue(Double.isNaN(kernels.min(withNaN, 0, withNaN.length)));
+        assertTrue(Double.isNaN(kernels.summarize(withNaN, 0, withNaN.length).getSum()));
+
+        double[] huge = new double[19];
+        Arrays.fill(huge, Double.MAX_VALUE);
+        assertEquals(Double.POSITIVE_INFINITY, kernels.sum(huge, 0, huge.length));
+
+        double[] infinities = new double[19];
+        infinities[2] = Double.POSITIVE_INFINITY;
+        infinities[11] = Double.NEGATIVE_INFINITY;
+        DoubleSummaryStatistics stats = kernels.summarize(infinities, 0, infinities.length);
+        assertEquals(Double.NEGATIVE_INFINITY, stats.getMin());
+        assertEquals(Double.POSITIVE_INFINITY, stats.getMax());
+        assertTrue(Double.isNaN(stats.getSum()));
+    }
+}
@@ -0,0 +1,88 @@
+package com.janhavi.challenge.sales;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitmapIndexTest {
+
+    private static List<SalesRecord> records;
+
+    @BeforeAll
+    static void load() throws IOException {
+        records = new SalesDataLoader().load(Path.of("sales-sample.csv"));
+    }
+
+    /**
+     * Verifies that indexed queries return the same groups and values as
+     * unindexed scans, sequentially and in parallel, and that indexed
+     * filters are resolved before the row scan.
+     */
+    @Test
+    void testIndexedQueryMatchesScan() {
+        SalesDataset plain = SalesDataset.of(records);
+        SalesDataset indexed = SalesDataset.of(records);
+        indexed.createIndex(Dimension.REGION, Dimension.SALES_CHANNEL, Dimension.ORDER_PRIORITY, Dimension.ITEM_TYPE);
+
+        Aggregate revenue = Aggregate.sum(Measure.TOTAL_REVENUE);
+        SalesQuery query = SalesQuery.select(revenue, Aggregate.count())
+                .where(Dimension.ORDER_PRIORITY, "H")
+                .where(Dimension.SALES_CHANNEL, "Offline")
+                .where(Dimension.REGION, "Europe", "Asia")
+                .where(Dimension.COUNTRY, "France", "Germany", "China", "India", "Japan")
+                .groupBy(Dimension.COUNTRY);
+
+        QueryResult expected = query.run(plain);
+        assertTrue(expected.size() > 0);
+        assertEquals(expected.toMap(Aggregate.count()), query.run(indexed).toMap(Aggregate.count()));
+        assertEquals(expected.toMap(revenue), query.run(indexed).toMap(revenue));
+        assertEquals(expected.toMap(revenue), query.parallel().run(indexed).toMap(revenue));
+
+        List<String> plan = query.explain(indexed);
+        // Indexed filters first, most selective first: 1 of 4 priorities, 2 of 7 regions, 1 of 2 channels
+        assertTrue(plan.get(0).startsWith("bitmap ORDER_PRIORITY"));
+        assertTrue(plan.get(1).startsWith("bitmap REGION"));
+        assertTrue(plan.get(2).startsWith("bitmap SALES_CHANNEL"));
+        assertTrue(plan.get(3).startsWith("COUNTRY"));
+    }
+
+    /**
+     * Verifies that appends after index creation keep the bitmaps current.
+     */
+    @Test
+    void testAppendsMaintainIndex() {
+        SalesDataset dataset = SalesDataset.of(records.subList(0, 100));
+        dataset.createIndex(Dimension.SALES_CHANNEL);
+        records.subList(100, 600).forEach(dataset::append);
+        dataset.appendAll(SalesDataset.of(records.subList(600, 1000)));
+
+        long online = records.stream().filter(r -> r.getSalesChannel().equals("Online")).count();
+        assertEquals(online, dataset.index(Dimension.SALES_CHANNEL).count("Online"));
+        assertEquals(0, dataset.index(Dimension.SALES_CHANNEL).count("Telephone"));
+        assertNull(dataset.index(Dimension.COUNTRY));
+
+        QueryResult result = SalesQuery.select(Aggregate.count())
+                .where(Dimension.SALES_CHANNEL, "Online")
+                .run(dataset);
+        assertEquals(online, result.value(0, Aggregate.count()));
+    }
+
+    /**
+     * Verifies bit iteration across word boundaries and range limits.
+     */
+    @Test
+    void testNextSetBit() {
+        long[] bits = new long[3];
+        bits[0] = 1L << 63;
+        bits[2] = 1L;
+        assertEquals(63, BitmapIndex.nextSetBit(bits, 0, 192));
+        assertEquals(128, BitmapIndex.nextSetBit(bits, 64, 192));
+        assertEquals(100, BitmapIndex.nextSetBit(bits, 64, 100));
+        assertEquals(192, BitmapIndex.nextSetBit(bits, 129, 192));
+    }
+}
@@ -0,0 +1,106 @@
+package com.janhavi.challenge.sales;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static com.janhavi.challenge.sales.SalesDatasetTest.assertMapsEqual;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedSalesDatasetTest {
+
+    private static final Path SAMPLE = Path.of("sales-sample.csv");
+
+    private static List<SalesRecord> records;
+
+    @BeforeAll
+    static void load() throws IOException {
+        records = new SalesDataLoader().load(SAMPLE);
+    }
+
+    /**
+     * Verifies that a compressed dataset loaded from the CSV returns every
+     * row unchanged, takes far less space than the 80 bytes per row of a
+     * {@link SalesDataset}, and that every analyzer query over it matches
+     * the record list.
+     */
+    @Test
+    void testAnalyzerQueriesMatchRecordList() throws IOException {
+        CompressedSalesDataset compressed = new SalesDataLoader().loadCompressed(SAMPLE);
+        assertEquals(records.size(), compressed.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(records.get(i), compressed.record(i));
+        }
+        assertEquals(records.get(3).getTotalProfit(), compressed.measure(Measure.TOTAL_PROFIT, 3));
+        assertEquals(records.get(3).getCountry(), compressed.value(Dimension.COUNTRY, 3));
+        assertTrue(compressed.encodedBytes() * 4 < (long) records.size() * OffHeapSalesStore.ROW_BYTES,
+                compressed.toString());
+
+        SalesAnalyzer expected = new SalesAnalyzer(records);
+        SalesAnalyzer actual = new SalesAnalyzer(compressed);
+        assertEquals(expected.totalRevenue(), actual.totalRevenue(), 0.01);
+        assertEquals(expected.totalProfit(), actual.totalProfit(), 0.01);
+        assertMapsEqual(expected.revenueByRegion(), actual.revenueByRegion());
+        assertMapsEqual(expected.profitByRegion(), actual.profitByRegion());
+        assertMapsEqual(expected.revenueByItemType(), actual.revenueByItemType());
+        assertEquals(expected.unitsSoldByCountry(), actual.unitsSoldByCountry());
+        assertMapsEqual(expected.monthlyRevenue(), actual.monthlyRevenue());
+        assertEquals(expected.topNProfitableOrders(5), actual.topNProfitableOrders(5));
+        assertEquals(expected.revenueStatistics().getMax(), actual.revenueStatistics().getMax());
+        assertEquals(expected.revenueStatistics().getSum(), actual.revenueStatistics().getSum(), 0.01);
+        assertEquals(expected.revenueQuantiles().quantile(0.5), actual.revenueQuantiles().quantile(0.5));
+
+        Aggregate units = Aggregate.sum(Measure.UNITS_SOLD);
+        SalesQuery query = SalesQuery.select(units).where(Dimension.SALES_CHANNEL, "Online").groupBy(Dimension.REGION);
+        assertEquals(expected.query(query).toSimpleMap(units), actual.query(query).toSimpleMap(units));
+
+        SalesReport report = actual.report(EnumSet.allOf(ReportSection.class), 5);
+        assertEquals(expected.topNProfitableOrders(5), report.topProfitableOrders());
+    }
+
+    /**
+     * Verifies that blocks which defeat the compact encodings still round
+     * trip exactly, spanning several blocks: totals that are not derived
+     * from units and prices, amounts that are not whole cents, -0.0, NaN,
+     * and rows that all share one region and month.
+     */
+    @Test
+    void testUnusualValuesRoundTripAcrossBlocks() {
+        List<SalesRecord> rows = new ArrayList<>();
+        int n = CompressedSalesDataset.BLOCK_ROWS * 2 + 17;
+        LocalDate day = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < n; i++) {
+            boolean firstBlock = i < CompressedSalesDataset.BLOCK_ROWS;
+            double price = firstBlock ? 9.99 : i / 3.0;
+            double revenue = i % 1000 == 7 ? Double.NaN : i * price + 0.001;
+            double cost = i == 42 ? -0.0 : i * 0.5;
+            rows.add(new SalesRecord(firstBlock ? "Europe" : "Asia", "Country " + (i % 300), "Snacks",
+                    i % 2 == 0 ? "Online" : "Offline", "H", firstBlock ? day : day.plusDays(i % 400),
+                    1_000_000_000L + i * 7919L, day.plusDays(i % 50), i % 10_000, price, 4.5,
+                    revenue, cost, revenue - cost));
+        }
+        CompressedSalesDataset compressed = CompressedSalesDataset.of(rows);
+        assertEquals(n, compressed.size());
+        for (int i = 0; i < n; i++) {
+            assertEquals(rows.get(i), compressed.record(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> compressed.record(n));
+
+        List<SalesRecord> finite = rows.stream().filter(r -> !Double.isNaN(r.getTotalRevenue())).toList();
+        CompressedSalesDataset finiteCompressed = CompressedSalesDataset.of(finite);
+        SalesAnalyzer expected = new SalesAnalyzer(finite);
+        SalesAnalyzer actual = new SalesAnalyzer(finiteCompressed);
+        assertEquals(expected.totalRevenue(), actual.totalRevenue(), 0.01);
+        assertMapsEqual(expected.revenueByRegion(), actual.revenueByRegion());
+        assertMapsEqual(expected.monthlyRevenue(), actual.monthlyRevenue());
+        assertEquals(expected.unitsSoldByCountry(), actual.unitsSoldByCountry());
+        assertEquals(finite.stream().mapToDouble(SalesRecord::getUnitPrice).sum(),
+                finiteCompressed.sum(Measure.UNIT_PRICE), 0.01);
+    }
+}
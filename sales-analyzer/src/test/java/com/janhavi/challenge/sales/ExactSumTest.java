@@ -0,0 +1,91 @@
+package com.janhavi.challenge.sales;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExactSumTest {
+
+    /**
+     * Verifies that the sum is the correctly rounded exact total, whatever
+     * the order of the values and however they are split and merged.
+     */
+    @Test
+    void testSumIsIndependentOfOrderAndSplit() {
+        Random random = new Random(42);
+        List<Double> values = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            values.add(Math.round(random.nextDouble() * 1e8) / 100.0 * (random.nextInt(10) == 0 ? -1 : 1));
+        }
+        values.add(1e16);
+        values.add(-1e16);
+        double expected = exact(values);
+
+        for (int round = 0; round < 5; round++) {
+            Collections.shuffle(values, random);
+            int split = random.nextInt(values.size());
+            ExactSum first = sum(values.subList(0, split));
+            ExactSum second = sum(values.subList(split, values.size()));
+            first.add(second);
+
+            assertEquals(expected, sum(values).get());
+            assertEquals(expected, first.get());
+        }
+    }
+
+    /**
+     * Verifies that halfway cases round to even and that non-finite
+     * values give the plain sum.
+     */
+    @Test
+    void testRoundingAndSpecialValues() {
+        assertEquals(0.0, new ExactSum().get());
+        assertEquals(1e16 + 2, sum(List.of(1e16, 1.0, 1e-16)).get());
+        assertEquals(Double.POSITIVE_INFINITY, sum(List.of(1.0, Double.POSITIVE_INFINITY)).get());
+        assertTrue(Double.isNaN(sum(List.of(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY)).get()));
+        assertEquals(Double.POSITIVE_INFINITY, sum(List.of(Double.MAX_VALUE, Double.MAX_VALUE)).get());
+    }
+
+    /**
+     * Verifies that a sum read back from its binary form continues
+     * exactly like the original.
+     */
+    @Test
+    void testWriteAndReadKeepPartials() throws IOException {
+        ExactSum sum = sum(List.of(1e16, 1.0, 0.1));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        sum.writeTo(new DataOutputStream(bytes));
+        ExactSum read = new ExactSum();
+        read.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        sum.add(-1e16);
+        read.add(-1e16);
+        assertEquals(sum.get(), read.get());
+        assertEquals(1.1, read.get());
+    }
+
+    private static ExactSum sum(List<Double> values) {
+        ExactSum sum = new ExactSum();
+        values.forEach(sum::add);
+        return sum;
+    }
+
+    private static double exact(List<Double> values) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (double value : values) {
+            total = total.add(new BigDecimal(value));
+        }
+        return total.doubleValue();
+    }
+}
@@ -0,0 +1,84 @@
+package com.janhavi.challenge.sales;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldParserTest {
+
+    /**
+     * Verifies that dates decode to the same epoch day as the JDK formatter,
+     * from Strings and from bytes, including inputs the formatter rejects
+     * or resolves leniently.
+     */
+    @Test
+    void testEpochDayMatchesFormatter() {
+        String[] valid = {
+                "1/1/1970", "12/31/1969", "10/18/2014", "02/29/2012", "2/29/2000",
+                "3/1/2100", "1/1/0001", "4/31/2014", "2/30/2013", "9/9/9999"
+        };
+        for (String date : valid) {
+            int expected = (int) LocalDate.parse(date, FieldParser.DATE_FORMAT).toEpochDay();
+            assertEquals(expected, FieldParser.parseEpochDay(date, 0, date.length()), date);
+            assertEquals(expected, FieldParser.parseEpochDay(bytes(date), 0, date.length()), date);
+        }
+
+        String[] invalid = {"1/1/0000", "13/10/2010", "0/10/2010", "1/0/2010", "1/1/10", "1-1-2010", "", "a/b/cdef"};
+        for (String date : invalid) {
+            assertThrows(DateTimeParseException.class,
+                    () -> LocalDate.parse(date, FieldParser.DATE_FORMAT), date);
+            assertThrows(DateTimeParseException.class,
+                    () -> FieldParser.parseEpochDay(date, 0, date.length()), date);
+            assertThrows(DateTimeParseException.class,
+                    () -> FieldParser.parseEpochDay(bytes(date), 0, date.length()), date);
+        }
+    }
+
+    /**
+     * Verifies that decoded numbers equal the JDK parsers bit for bit and
+     * that malformed numbers are rejected the same way.
+     */
+    @Test
+    void testNumbersMatchJdkParsers() {
+        String[] doubles = {
+                "437.20", "0", "-0.0", "+42", "7.", ".5", "1e2", "123456789012345",
+                "1234567890.123456789", "9007199254740993", "651.21", "0.1", "-5"
+        };
+        for (String value : doubles) {
+            long expected = Double.doubleToRawLongBits(Double.parseDouble(value));
+            assertEquals(expected, Double.doubleToRawLongBits(
+                    FieldParser.parseDouble(value, 0, value.length())), value);
+            assertEquals(expected, Double.doubleToRawLongBits(
+                    FieldParser.parseDouble(bytes(value), 0, value.length())), value);
+        }
+
+        assertEquals(Integer.MAX_VALUE, FieldParser.parseInt("2147483647", 0, 10));
+        assertEquals(-42, FieldParser.parseInt("x-42", 1, 4));
+        assertEquals(686800706L, FieldParser.parseLong(bytes("686800706"), 0, 9));
+        assertThrows(NumberFormatException.class, () -> FieldParser.parseInt("2147483648", 0, 10));
+        assertThrows(NumberFormatException.class, () -> FieldParser.parseLong("12a", 0, 3));
+        assertThrows(NumberFormatException.class, () -> FieldParser.parseDouble("1.2.3", 0, 5));
+        assertThrows(NumberFormatException.class, () -> FieldParser.parseDouble("", 0, 0));
+    }
+
+    /**
+     * Verifies that cached dates are shared and still correct after their
+     * cache slot has been reused.
+     */
+    @Test
+    void testLocalDateCache() {
+        int day = (int) LocalDate.of(2014, 10, 18).toEpochDay();
+        assertSame(FieldParser.localDate(day), FieldParser.localDate(day));
+        assertEquals(LocalDate.ofEpochDay(day + (1 << 14)), FieldParser.localDate(day + (1 << 14)));
+        assertEquals(LocalDate.of(2014, 10, 18), FieldParser.localDate(day));
+    }
+
+    private static FieldParser.ByteSequence bytes(String text) {
+        return new FieldParser.ByteSequence().of(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)));
+    }
+}
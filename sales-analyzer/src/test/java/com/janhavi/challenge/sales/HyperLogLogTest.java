@@ -0,0 +1,51 @@
+package com.janhavi.challenge.sales;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    /**
+     * Verifies estimates across cardinalities, within three standard
+     * errors, and that duplicates do not change them.
+     */
+    @Test
+    void testEstimateWithinStandardError() {
+        for (int cardinality : new int[]{1, 10, 1_000, 12_000, 100_000, 1_000_000}) {
+            HyperLogLog sketch = new HyperLogLog();
+            for (int repeat = 0; repeat < 2; repeat++) {
+                for (long id = 0; id < cardinality; id++) {
+                    sketch.add(100_000_000L + id * 31);
+                }
+            }
+            double error = 3 * sketch.standardError() * cardinality;
+            assertEquals(cardinality, sketch.estimate(), Math.max(1, error), "cardinality " + cardinality);
+        }
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    /**
+     * Verifies that merged sketches equal one sketch over the union, with
+     * overlapping inputs counted once, for text and numeric values.
+     */
+    @Test
+    void testMergeEqualsUnion() {
+        HyperLogLog all = new HyperLogLog(10);
+        HyperLogLog first = new HyperLogLog(10);
+        HyperLogLog second = new HyperLogLog(10);
+        for (int i = 0; i < 5_000; i++) {
+            String country = "Country " + i;
+            all.add(country);
+            (i < 3_000 ? first : second).add(country);
+            if (i >= 2_000 && i < 3_000) {
+                second.add(country);
+            }
+        }
+        assertEquals(all, first.merge(second));
+        assertEquals(5_000, all.estimate(), 3 * all.standardError() * 5_000);
+        assertEquals(10, all.precision());
+        assertThrows(IllegalArgumentException.class, () -> all.merge(new HyperLogLog()));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+    }
+}
@@ -0,0 +1,93 @@
+package com.janhavi.challenge.sales;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+
+import static com.janhavi.challenge.sales.SalesDatasetTest.assertMapsEqual;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapSalesStoreTest {
+
+    private static final Path SAMPLE = Path.of("sales-sample.csv");
+
+    private static List<SalesRecord> records;
+
+    @BeforeAll
+    static void load() throws IOException {
+        records = new SalesDataLoader().load(SAMPLE);
+    }
+
+    /**
+     * Verifies that a store loaded from the CSV holds every row in file
+     * order and that every analyzer query over it matches the record list.
+     */
+    @Test
+    void testAnalyzerQueriesMatchRecordList() throws IOException {
+        try (OffHeapSalesStore store = new SalesDataLoader().loadOffHeap(SAMPLE)) {
+            assertEquals(records.size(), store.size());
+            for (int i = 0; i < records.size(); i++) {
+                assertEquals(records.get(i), store.record(i));
+            }
+            assertEquals(records.get(3).getTotalCost(), store.measure(Measure.TOTAL_COST, 3));
+            assertEquals(records.get(3).getRegion(), store.value(Dimension.REGION, 3));
+
+            SalesAnalyzer expected = new SalesAnalyzer(records);
+            SalesAnalyzer actual = new SalesAnalyzer(store);
+            assertEquals(expected.totalRevenue(), actual.totalRevenue(), 0.01);
+            assertEquals(expected.totalProfit(), actual.totalProfit(), 0.01);
+            assertMapsEqual(expected.revenueByRegion(), actual.revenueByRegion());
+            assertMapsEqual(expected.profitByRegion(), actual.profitByRegion());
+            assertMapsEqual(expected.revenueByItemType(), actual.revenueByItemType());
+            assertEquals(expected.unitsSoldByCountry(), actual.unitsSoldByCountry());
+            assertMapsEqual(expected.monthlyRevenue(), actual.monthlyRevenue());
+            assertEquals(expected.topNProfitableOrders(5), actual.topNProfitableOrders(5));
+            assertEquals(expected.topNByGroup(TopNQuery.bottom(Measure.UNIT_PRICE, 2), Dimension.REGION),
+                    actual.topNByGroup(TopNQuery.bottom(Measure.UNIT_PRICE, 2), Dimension.REGION));
+            assertEquals(expected.revenueStatistics().getMax(), actual.revenueStatistics().getMax());
+            assertEquals(expected.revenueStatistics().getSum(), actual.revenueStatistics().getSum(), 0.01);
+            assertEquals(expected.revenueQuantiles().quantile(0.5), actual.revenueQuantiles().quantile(0.5));
+
+            Aggregate units = Aggregate.sum(Measure.UNITS_SOLD);
+            SalesQuery query = SalesQuery.select(units).where(Dimension.SALES_CHANNEL, "Online").groupBy(Dimension.REGION);
+            assertEquals(expected.query(query).toSimpleMap(units), actual.query(query).toSimpleMap(units));
+
+            SalesReport report = actual.report(EnumSet.allOf(ReportSection.class), 5);
+            assertEquals(expected.topNProfitableOrders(5), report.topProfitableOrders());
+            assertMapsEqual(expected.monthlyRevenue(), report.monthlyRevenue());
+        }
+    }
+
+    /**
+     * Verifies that appends grow the off-heap columns, and that a closed
+     * store refuses every access instead of reading freed memory.
+     */
+    @Test
+    void testGrowthAndClose() {
+        OffHeapSalesStore store = new OffHeapSalesStore(2);
+        records.forEach(store::append);
+        assertEquals(records.size(), store.size());
+        assertTrue(store.offHeapBytes() >= (long) records.size() * OffHeapSalesStore.ROW_BYTES);
+        assertEquals(records.get(records.size() - 1), store.record(records.size() - 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.orderId(records.size()));
+
+        OffHeapSalesStore.Cursor cursor = store.cursor().at(0);
+        store.close();
+        store.close();
+        assertTrue(store.isClosed());
+        assertEquals(0, store.offHeapBytes());
+        assertThrows(IllegalStateException.class, () -> store.orderId(0));
+        assertThrows(IllegalStateException.class, cursor::getTotalRevenue);
+        assertThrows(IllegalStateException.class, () -> store.append(records.get(0)));
+        assertThrows(IllegalStateException.class, () -> new SalesAnalyzer(store).totalRevenue());
+
+        SalesDataset dataset = SalesDataset.of(records);
+        try (OffHeapSalesStore copy = OffHeapSalesStore.copyOf(dataset)) {
+            assertMapsEqual(new SalesAnalyzer(dataset).revenueByRegion(), new SalesAnalyzer(copy).revenueByRegion());
+        }
+    }
+}
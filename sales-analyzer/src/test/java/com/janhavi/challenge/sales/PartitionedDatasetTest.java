@@ -0,0 +1,148 @@
+package com.janhavi.challenge.sales;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.janhavi.challenge.sales.SalesDatasetTest.assertMapsEqual;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedDatasetTest {
+
+    private static final Path SAMPLE = Path.of("sales-sample.csv");
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Verifies that a directory of yearly files loads as partitions with the
+     * right statistics, that a reload describes them from their snapshots
+     * without reading rows, and that date-restricted queries only read the
+     * overlapping partitions while matching a query over all rows.
+     */
+    @Test
+    void testDatePruningMatchesFullScan() throws IOException {
+        List<String> years = split(dir, line -> {
+            String orderDate = line.split(",")[5].trim();
+            return orderDate.substring(orderDate.lastIndexOf('/') + 1);
+        });
+        SalesDataLoader loader = new SalesDataLoader();
+        SalesDataset all = loader.loadDataset(SAMPLE);
+
+        PartitionedDataset first = loader.loadPartitions(dir);
+        assertEquals(years.size(), first.partitions().size());
+        assertEquals(all.size(), first.size());
+        assertTrue(first.partitions().stream().allMatch(PartitionedDataset.Partition::isLoaded));
+        PartitionedDataset.Partition p2014 = first.partitions().get(years.indexOf("2014"));
+        assertEquals(2014, p2014.minOrderDate().getYear());
+        assertEquals(2014, p2014.maxOrderDate().getYear());
+
+        PartitionedDataset reopened = loader.loadPartitions(dir);
+        assertTrue(reopened.partitions().stream().noneMatch(PartitionedDataset.Partition::isLoaded));
+        assertEquals(first.partitions().get(0).values(Dimension.REGION), reopened.partitions().get(0).values(Dimension.REGION));
+
+        LocalDate from = LocalDate.of(2014, 1, 1);
+        LocalDate to = LocalDate.of(2014, 12, 31);
+        SalesQuery query = SalesQuery.select(Aggregate.sum(Measure.TOTAL_REVENUE), Aggregate.avg(Measure.UNITS_SOLD),
+                        Aggregate.count())
+                .whereOrderDate(from, to)
+                .groupBy(Dimension.REGION);
+        assertEquals(1, reopened.matching(query).size());
+        QueryResult expected = query.run(all);
+        QueryResult actual = reopened.run(query);
+        assertEquals(expected.toMap(Aggregate.count()), actual.toMap(Aggregate.count()));
+        assertMapsEqual(expected.toMap(Aggregate.sum(Measure.TOTAL_REVENUE)), actual.toMap(Aggregate.sum(Measure.TOTAL_REVENUE)));
+        assertMapsEqual(expected.toMap(Aggregate.avg(Measure.UNITS_SOLD)), actual.toMap(Aggregate.avg(Measure.UNITS_SOLD)));
+
+        Map<YearMonth, Double> monthly = new TreeMap<>(new SalesAnalyzer(all).monthlyRevenue());
+        monthly.keySet().removeIf(month -> month.getYear() != 2014);
+        assertMapsEqual(monthly, reopened.monthlyRevenue(from, to));
+        assertEquals(1, reopened.partitions().stream().filter(PartitionedDataset.Partition::isLoaded).count());
+
+        // A query spanning every partition merges groups across them
+        SalesQuery unrestricted = SalesQuery.select(Aggregate.sum(Measure.TOTAL_PROFIT)).groupBy(Dimension.ITEM_TYPE);
+        assertMapsEqual(unrestricted.run(all).toMap(Aggregate.sum(Measure.TOTAL_PROFIT)),
+                reopened.run(unrestricted).toMap(Aggregate.sum(Measure.TOTAL_PROFIT)));
+    }
+
+    /**
+     * Verifies dimension pruning over per-region files selected with a
+     * glob, and that a filter no partition can satisfy reads nothing.
+     */
+    @Test
+    void testGlobAndDimensionPruning() throws IOException {
+        List<String> regions = split(dir, line -> line.split(",")[0].trim().replaceAll("[^A-Za-z]", ""));
+        Files.writeString(dir.resolve("notes.txt"), "not a partition");
+        SalesDataLoader loader = new SalesDataLoader();
+        SalesDataset all = loader.loadDataset(SAMPLE);
+
+        PartitionedDataset partitions = loader.loadPartitions(dir.resolve("sales-*.csv"));
+        assertEquals(regions.size(), partitions.partitions().size());
+
+        SalesQuery europe = SalesQuery.select(Aggregate.sum(Measure.TOTAL_REVENUE))
+                .where(Dimension.REGION, "Europe")
+                .groupBy(Dimension.COUNTRY);
+        assertEquals(List.of(dir.resolve("sales-Europe.csv")),
+                partitions.matching(europe).stream().map(PartitionedDataset.Partition::path).collect(Collectors.toList()));
+        assertMapsEqual(europe.run(all).toSimpleMap(Aggregate.sum(Measure.TOTAL_REVENUE)),
+                partitions.run(europe).toSimpleMap(Aggregate.sum(Measure.TOTAL_REVENUE)));
+
+        SalesQuery nowhere = SalesQuery.select(Aggregate.count()).where(Dimension.REGION, "Atlantis");
+        assertTrue(partitions.matching(nowhere).isEmpty());
+        assertEquals(0.0, partitions.run(nowhere).value(0, Aggregate.count()));
+
+        assertEquals(1, loader.loadPartitions(dir.resolve("sales-Asia.csv")).partitions().size());
+    }
+
+    /**
+     * Verifies that a glob loose enough to match the snapshots written by
+     * the first load, and a leftover temporary snapshot, still lists only
+     * the CSV files on the second load.
+     */
+    @Test
+    void testLooseGlobSkipsSnapshots() throws IOException {
+        List<String> regions = split(dir, line -> line.split(",")[0].trim().replaceAll("[^A-Za-z]", ""));
+        SalesDataLoader loader = new SalesDataLoader();
+        Path glob = dir.resolve("sales-*");
+
+        PartitionedDataset first = loader.loadPartitions(glob);
+        assertTrue(Files.exists(SalesSnapshot.pathFor(dir.resolve("sales-Asia.csv"))));
+        Files.writeString(dir.resolve("sales-Asia.csv.snap.1-1.tmp"), "partial");
+
+        PartitionedDataset second = loader.loadPartitions(glob);
+        assertEquals(regions.size(), second.partitions().size());
+        assertEquals(first.size(), second.size());
+        assertTrue(second.partitions().stream().noneMatch(PartitionedDataset.Partition::isLoaded));
+    }
+
+    /**
+     * Writes the sample rows into one {@code sales-<key>.csv} file per key,
+     * each with the sample's header line.
+     *
+     * @return the keys in file name order
+     */
+    private static List<String> split(Path dir, Function<String, String> key) throws IOException {
+        List<String> lines = Files.readAllLines(SAMPLE);
+        Map<String, List<String>> parts = new TreeMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            if (!line.isBlank()) {
+                parts.computeIfAbsent(key.apply(line), k -> new ArrayList<>(List.of(lines.get(0)))).add(line);
+            }
+        }
+        for (Map.Entry<String, List<String>> part : parts.entrySet()) {
+            Files.write(dir.resolve("sales-" + part.getKey() + ".csv"), part.getValue());
+        }
+        return new ArrayList<>(parts.keySet());
+    }
+}
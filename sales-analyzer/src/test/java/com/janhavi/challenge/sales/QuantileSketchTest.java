@@ -0,0 +1,103 @@
+package com.janhavi.challenge.sales;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantileSketchTest {
+
+    /**
+     * Verifies that estimated quantiles stay within the documented rank
+     * error for shuffled, ascending and descending input, and that the
+     * sketch keeps a bounded number of values.
+     */
+    @Test
+    void testRankErrorWithinBound() {
+        Random random = new Random(7);
+        int n = 200_000;
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = Math.round(random.nextGaussian() * 1e6) / 100.0;
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        double[] descending = new double[n];
+        for (int i = 0; i < n; i++) {
+            descending[i] = sorted[n - 1 - i];
+        }
+
+        for (double[] input : new double[][]{values, sorted, descending}) {
+            QuantileSketch sketch = new QuantileSketch();
+            for (double value : input) {
+                sketch.add(value);
+            }
+            assertEquals(n, sketch.count());
+            assertEquals(sorted[0], sketch.min());
+            assertEquals(sorted[n - 1], sketch.max());
+            assertTrue(sketch.toString().contains("retained="), sketch.toString());
+            for (double fraction = 0.01; fraction < 1; fraction += 0.01) {
+                double estimate = sketch.quantile(fraction);
+                double rank = (double) Arrays.binarySearch(sorted, estimate) / n;
+                assertEquals(fraction, rank, 0.013, "quantile " + fraction);
+            }
+        }
+    }
+
+    /**
+     * Verifies that merging per-slice sketches gives estimates as accurate
+     * as one sketch over all values, and that the retained size stays
+     * bounded.
+     */
+    @Test
+    void testMergeMatchesSingleSketch() {
+        Random random = new Random(11);
+        int n = 100_000;
+        double[] values = new double[n];
+        QuantileSketch merged = new QuantileSketch();
+        QuantileSketch slice = new QuantileSketch();
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextDouble() * 1000;
+            slice.add(values[i]);
+            if (i % 7_000 == 6_999) {
+                merged.merge(slice);
+                slice = new QuantileSketch();
+            }
+        }
+        merged.merge(slice).merge(new QuantileSketch());
+        Arrays.sort(values);
+
+        assertEquals(n, merged.count());
+        double[] estimates = merged.quantiles(0, 0.25, 0.5, 0.99, 1);
+        assertEquals(values[0], estimates[0]);
+        assertEquals(values[n - 1], estimates[4]);
+        assertEquals(0.25, (double) Arrays.binarySearch(values, estimates[1]) / n, 0.013);
+        assertEquals(0.5, (double) Arrays.binarySearch(values, estimates[2]) / n, 0.013);
+        assertEquals(0.99, (double) Arrays.binarySearch(values, estimates[3]) / n, 0.013);
+        assertThrows(IllegalArgumentException.class, () -> merged.merge(new QuantileSketch(100)));
+    }
+
+    /**
+     * Verifies small inputs, which are kept exactly, and empty sketches.
+     */
+    @Test
+    void testSmallAndEmptyInputs() {
+        QuantileSketch sketch = new QuantileSketch();
+        assertTrue(Double.isNaN(sketch.quantile(0.5)));
+        assertTrue(Double.isNaN(sketch.min()));
+
+        for (int i = 100; i >= 1; i--) {
+            sketch.add(i);
+        }
+        sketch.add(Double.NaN);
+        assertEquals(100, sketch.count());
+        assertEquals(50.0, sketch.quantile(0.5));
+        assertEquals(99.0, sketch.quantile(0.99));
+        assertEquals(1.0, sketch.quantile(0));
+        assertEquals(100.0, sketch.quantile(1));
+        assertThrows(IllegalArgumentException.class, () -> sketch.quantile(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(2));
+    }
+}
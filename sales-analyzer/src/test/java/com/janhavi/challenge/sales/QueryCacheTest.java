@@ -0,0 +1,122 @@
+package com.janhavi.challenge.sales;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCacheTest {
+
+    private static List<SalesRecord> records;
+
+    /**
+     * Loads the sample file once as records.
+     */
+    @BeforeAll
+    static void load() throws IOException {
+        records = new SalesDataLoader().load(Path.of("sales-sample.csv"));
+    }
+
+    /**
+     * Verifies that repeated calls with the same parameters are answered
+     * from the cache with the same figures, and that other parameters miss.
+     */
+    @Test
+    void testRepeatedQueriesHit() {
+        SalesAnalyzer plain = new SalesAnalyzer(SalesDataset.of(records));
+        SalesAnalyzer cached = new SalesAnalyzer(SalesDataset.of(records)).enableCache(16);
+
+        Map<String, Double> first = cached.revenueByRegion();
+        SalesDatasetTest.assertMapsEqual(plain.revenueByRegion(), first);
+        assertEquals(first, cached.revenueByRegion());
+        assertEquals(plain.topNProfitableOrders(10), cached.topNProfitableOrders(10));
+        assertEquals(plain.topNProfitableOrders(10), cached.topNProfitableOrders(10));
+        assertEquals(plain.topNProfitableOrders(3), cached.topNProfitableOrders(3));
+        assertEquals(plain.totalRevenue(), cached.totalRevenue(), 0.01);
+
+        QueryCacheStats stats = cached.cacheStats();
+        assertEquals(2, stats.hits());
+        assertEquals(4, stats.misses());
+        assertEquals(4, stats.size());
+        assertEquals(1.0 / 3, stats.hitRate(), 1e-9);
+        assertNull(plain.cacheStats());
+    }
+
+    /**
+     * Verifies that the least recently used result is evicted once the
+     * cache is full.
+     */
+    @Test
+    void testLeastRecentlyUsedIsEvicted() {
+        SalesAnalyzer analyzer = new SalesAnalyzer(records).enableCache(2);
+        analyzer.revenueByRegion();
+        analyzer.profitByRegion();
+        analyzer.revenueByRegion();
+        analyzer.monthlyRevenue();
+
+        QueryCacheStats stats = analyzer.cacheStats();
+        assertEquals(1, stats.evictions());
+        assertEquals(2, stats.size());
+        analyzer.revenueByRegion();
+        analyzer.profitByRegion();
+        assertEquals(2, analyzer.cacheStats().hits());
+        assertEquals(4, analyzer.cacheStats().misses());
+    }
+
+    /**
+     * Verifies that appending to the dataset, growing a record list and an
+     * explicit invalidation each drop the cached results.
+     */
+    @Test
+    void testChangesInvalidate() {
+        SalesDataset dataset = SalesDataset.of(records.subList(0, 500));
+        SalesAnalyzer analyzer = new SalesAnalyzer(dataset).enableCache(8);
+        double before = analyzer.totalRevenue();
+        dataset.append(records.get(500));
+        assertEquals(before + records.get(500).getTotalRevenue(), analyzer.totalRevenue(), 0.01);
+        assertEquals(1, analyzer.cacheStats().invalidations());
+
+        List<SalesRecord> growing = new ArrayList<>(records.subList(0, 10));
+        SalesAnalyzer listAnalyzer = new SalesAnalyzer(growing).enableCache(8);
+        assertEquals(10, listAnalyzer.revenueStatistics().getCount());
+        growing.add(records.get(10));
+        assertEquals(11, listAnalyzer.revenueStatistics().getCount());
+
+        // Same size, so only an explicit invalidation drops the stale result
+        growing.set(0, records.get(11));
+        listAnalyzer.invalidateCache();
+        assertEquals(0, listAnalyzer.cacheStats().size());
+        assertEquals(new SalesAnalyzer(growing).revenueStatistics().getSum(),
+                listAnalyzer.revenueStatistics().getSum());
+        assertEquals(2, listAnalyzer.cacheStats().invalidations());
+        assertEquals(0, listAnalyzer.cacheStats().hits());
+    }
+
+    /**
+     * Verifies that a cached result cannot be changed through what one
+     * caller was given.
+     */
+    @Test
+    void testSharedResultsAreProtected() {
+        SalesAnalyzer analyzer = new SalesAnalyzer(records).enableCache(8);
+        assertThrows(UnsupportedOperationException.class, () -> analyzer.revenueByRegion().clear());
+        assertThrows(UnsupportedOperationException.class, () -> analyzer.topNProfitableOrders(5).clear());
+        assertThrows(UnsupportedOperationException.class,
+                () -> analyzer.topNByGroup(TopNQuery.top(Measure.TOTAL_PROFIT, 2), Dimension.REGION)
+                        .values().iterator().next().clear());
+
+        DoubleSummaryStatistics statistics = analyzer.revenueStatistics();
+        statistics.accept(1e12);
+        assertEquals(records.size(), analyzer.revenueStatistics().getCount());
+        QuantileSketch sketch = analyzer.revenueQuantiles();
+        sketch.add(1e12);
+        assertEquals(records.size(), analyzer.revenueQuantiles().count());
+    }
+}
@@ -5,8 +5,10 @@ import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -144,4 +146,83 @@ class SalesAnalyzerTest {
         assertEquals(4840879.68, stats.getSum(), 0.01);
 
     }
+
+    /**
+     * TEST 8:
+     * Verifies that the single-pass report computes the same values
+     * as the individual queries.
+     */
+    @Test
+    void testReportMatchesQueries() {
+        SalesReport report = analyzer.report(EnumSet.allOf(ReportSection.class), 2);
+
+        assertEquals(analyzer.totalRevenue(), report.totalRevenue(), 0.01);
+        assertEquals(analyzer.totalProfit(), report.totalProfit(), 0.01);
+        assertEquals(analyzer.revenueByRegion(), report.revenueByRegion());
+        assertEquals(analyzer.profitByRegion(), report.profitByRegion());
+        assertEquals(analyzer.revenueByItemType(), report.revenueByItemType());
+        assertEquals(analyzer.unitsSoldByCountry(), report.unitsSoldByCountry());
+        assertEquals(analyzer.monthlyRevenue(), report.monthlyRevenue());
+        assertEquals(analyzer.topNProfitableOrders(2), report.topProfitableOrders());
+        assertEquals(analyzer.revenueStatistics().getSum(), report.revenueStatistics().getSum(), 0.01);
+        assertEquals(3, report.revenueStatistics().getCount());
+    }
+
+    /**
+     * TEST 9:
+     * Verifies that merging accumulators over consecutive slices gives
+     * the same report as one accumulator over all records, and that
+     * sections which were not requested are rejected.
+     */
+    @Test
+    void testReportAccumulatorsMerge() {
+        Set<ReportSection> sections = EnumSet.of(
+                ReportSection.TOTAL_REVENUE, ReportSection.MONTHLY_REVENUE,
+                ReportSection.TOP_PROFITABLE_ORDERS);
+
+        ReportAccumulator first = new ReportAccumulator(sections, 2);
+        ReportAccumulator second = new ReportAccumulator(sections, 2);
+        first.accept(sampleData.get(0));
+        second.accept(sampleData.get(1));
+        second.accept(sampleData.get(2));
+        SalesReport merged = first.merge(second).toReport();
+
+        SalesReport expected = analyzer.report(sections, 2);
+        assertEquals(expected.totalRevenue(), merged.totalRevenue());
+        assertEquals(expected.monthlyRevenue(), merged.monthlyRevenue());
+        assertEquals(expected.topProfitableOrders(), merged.topProfitableOrders());
+        assertThrows(IllegalStateException.class, merged::revenueByRegion);
+    }
+
+    /**
+     * TEST 10:
+     * Verifies that opposite infinite revenues, whose sum is NaN, give the
+     * report the same statistics as the revenue statistics query, in one
+     * accumulator and merged from two.
+     */
+    @Test
+    void testReportStatisticsWithOppositeInfinities() {
+        List<SalesRecord> records = List.of(
+                withRevenue(sampleData.get(0), Double.POSITIVE_INFINITY),
+                sampleData.get(1),
+                withRevenue(sampleData.get(2), Double.NEGATIVE_INFINITY));
+        Set<ReportSection> sections = EnumSet.of(ReportSection.REVENUE_STATISTICS);
+        String expected = new SalesAnalyzer(records).revenueStatistics().toString();
+
+        assertEquals(expected, new SalesAnalyzer(records).report(sections, 2).revenueStatistics().toString());
+        assertEquals(expected, new SalesAnalyzer(SalesDataset.of(records)).revenueStatistics().toString());
+
+        ReportAccumulator first = new ReportAccumulator(sections, 2);
+        ReportAccumulator second = new ReportAccumulator(sections, 2);
+        first.accept(records.get(0));
+        second.accept(records.get(1));
+        second.accept(records.get(2));
+        assertEquals(expected, first.merge(second).toReport().revenueStatistics().toString());
+    }
+
+    private static SalesRecord withRevenue(SalesRecord r, double revenue) {
+        return new SalesRecord(r.getRegion(), r.getCountry(), r.getItemType(), r.getSalesChannel(),
+                r.getOrderPriority(), r.getOrderDate(), r.getOrderId(), r.getShipDate(), r.getUnitsSold(),
+                r.getUnitPrice(), r.getUnitCost(), revenue, r.getTotalCost(), r.getTotalProfit());
+    }
 }
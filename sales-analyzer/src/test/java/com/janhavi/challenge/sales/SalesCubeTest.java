@@ -0,0 +1,111 @@
+package com.janhavi.challenge.sales;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.janhavi.challenge.sales.SalesDatasetTest.assertMapsEqual;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalesCubeTest {
+
+    private static List<SalesRecord> records;
+    private static SalesDataset dataset;
+    private static SalesCube cube;
+
+    @BeforeAll
+    static void load() throws IOException {
+        records = new SalesDataLoader().load(Path.of("sales-sample.csv"));
+        dataset = SalesDataset.of(records);
+        cube = SalesCube.of(dataset);
+    }
+
+    /**
+     * Verifies that an analyzer answering from the cube agrees with the
+     * stream-based analyzer on every rolled-up query.
+     */
+    @Test
+    void testAnalyzerQueriesFromCube() {
+        SalesAnalyzer expected = new SalesAnalyzer(records);
+        SalesAnalyzer actual = new SalesAnalyzer(dataset, cube);
+
+        assertEquals(expected.totalRevenue(), actual.totalRevenue(), 0.01);
+        assertEquals(expected.totalProfit(), actual.totalProfit(), 0.01);
+        assertMapsEqual(expected.revenueByRegion(), actual.revenueByRegion());
+        assertMapsEqual(expected.profitByRegion(), actual.profitByRegion());
+        assertMapsEqual(expected.revenueByItemType(), actual.revenueByItemType());
+        assertEquals(expected.unitsSoldByCountry(), actual.unitsSoldByCountry());
+        assertMapsEqual(expected.monthlyRevenue(), actual.monthlyRevenue());
+        assertEquals(expected.topNProfitableOrders(5), actual.topNProfitableOrders(5));
+        assertEquals(records.size(), cube.rows());
+    }
+
+    /**
+     * Verifies that rows appended after the cube was built are not missed:
+     * sums fall back to scanning the dataset, also through the cache, and
+     * agree with the statistics.
+     */
+    @Test
+    void testAnalyzerScansWhenCubeIsStale() {
+        SalesDataset growing = SalesDataset.of(records.subList(0, 500));
+        SalesAnalyzer actual = new SalesAnalyzer(growing, SalesCube.of(growing)).enableCache(16);
+        assertEquals(new SalesAnalyzer(records.subList(0, 500)).totalRevenue(), actual.totalRevenue(), 0.01);
+
+        records.subList(500, records.size()).forEach(growing::append);
+        SalesAnalyzer expected = new SalesAnalyzer(records);
+
+        assertEquals(expected.totalRevenue(), actual.totalRevenue(), 0.01);
+        assertEquals(actual.revenueStatistics().getSum(), actual.totalRevenue(), 0.01);
+        assertMapsEqual(expected.revenueByRegion(), actual.revenueByRegion());
+        assertEquals(expected.unitsSoldByCountry(), actual.unitsSoldByCountry());
+        assertMapsEqual(expected.monthlyRevenue(), actual.monthlyRevenue());
+        assertThrows(NullPointerException.class, () -> new SalesAnalyzer(null, cube));
+    }
+
+    /**
+     * Verifies a filtered slice, profit by item type for Online orders in
+     * 2014, against a stream filter over the records, and that a repeated
+     * filter value counts once.
+     */
+    @Test
+    void testSliceByChannelAndYear() {
+        List<SalesRecord> online2014 = records.stream()
+                .filter(r -> r.getSalesChannel().equals("Online") && r.getOrderDate().getYear() == 2014)
+                .toList();
+        Map<String, Double> expected = online2014.stream()
+                .collect(Collectors.groupingBy(SalesRecord::getItemType,
+                        Collectors.summingDouble(SalesRecord::getTotalProfit)));
+
+        SalesCube.Slice slice = cube.slice()
+                .where(Dimension.SALES_CHANNEL, "Online")
+                .between(YearMonth.of(2014, 1), YearMonth.of(2014, 12));
+
+        assertMapsEqual(expected, slice.sumBy(Dimension.ITEM_TYPE, Measure.TOTAL_PROFIT));
+        assertEquals(online2014.size(), slice.count());
+        assertEquals(online2014.stream().mapToLong(SalesRecord::getUnitsSold).sum(),
+                slice.sum(Measure.UNITS_SOLD));
+        assertEquals(0, cube.slice().where(Dimension.REGION, "Atlantis").count());
+        assertEquals(slice.count(), slice.where(Dimension.SALES_CHANNEL, "Online", "Online").count());
+    }
+
+    /**
+     * Verifies that repeated rows fold into existing cells and that
+     * per-unit measures are rejected.
+     */
+    @Test
+    void testCellsAndUnsupportedMeasures() {
+        SalesDataset doubled = SalesDataset.of(records);
+        doubled.appendAll(dataset);
+        SalesCube doubledCube = SalesCube.of(doubled);
+
+        assertEquals(cube.cells(), doubledCube.cells());
+        assertEquals(2 * cube.slice().count(), doubledCube.slice().count());
+        assertThrows(IllegalArgumentException.class, () -> cube.slice().sum(Measure.UNIT_PRICE));
+    }
+}
@@ -0,0 +1,91 @@
+package com.janhavi.challenge.sales;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalesDataGeneratorTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Verifies that the same seed, skew and row count give the same bytes,
+     * and another seed different ones.
+     */
+    @Test
+    void testDeterministic() throws IOException {
+        int rows = SalesDataGenerator.BLOCK_ROWS + 123;
+        byte[] first = generate(new SalesDataGenerator(7, 1.0), rows);
+        assertArrayEquals(first, generate(new SalesDataGenerator(7, 1.0), rows));
+        assertFalse(Arrays.equals(first, generate(new SalesDataGenerator(8, 1.0), rows)));
+    }
+
+    /**
+     * Verifies that generated files load with the expected row count and
+     * consistent totals.
+     */
+    @Test
+    void testLoadable() throws IOException {
+        Path csv = dir.resolve("generated.csv");
+        long bytes = new SalesDataGenerator(42, 0).write(csv, 5_000);
+        assertEquals(Files.size(csv), bytes);
+
+        List<SalesRecord> records = new SalesDataLoader().load(csv);
+        assertEquals(5_000, records.size());
+        for (SalesRecord r : records) {
+            assertEquals(r.getUnitsSold() * r.getUnitPrice(), r.getTotalRevenue(), 0.005);
+            assertEquals(r.getTotalRevenue() - r.getTotalCost(), r.getTotalProfit(), 0.005);
+            assertFalse(r.getShipDate().isBefore(r.getOrderDate()));
+        }
+        assertEquals(7, new SalesAnalyzer(records).revenueByRegion().size());
+        assertEquals(records, new SalesDataLoader().loadParallel(csv));
+    }
+
+    /**
+     * Verifies that a high skew concentrates rows on few countries while no
+     * skew spreads them evenly.
+     */
+    @Test
+    void testSkew() throws IOException {
+        assertTrue(topCountryShare(0) < 0.02);
+        assertTrue(topCountryShare(1.5) > 0.3);
+        assertThrows(IllegalArgumentException.class, () -> new SalesDataGenerator(1, -1));
+    }
+
+    /**
+     * Verifies row count arguments with unit suffixes.
+     */
+    @Test
+    void testParseRows() {
+        assertEquals(1_000, SalesDataGenerator.parseRows("1000"));
+        assertEquals(1_000_000, SalesDataGenerator.parseRows("1M"));
+        assertEquals(500_000_000, SalesDataGenerator.parseRows("500m"));
+        assertEquals(2_000, SalesDataGenerator.parseRows("2k"));
+        assertThrows(NumberFormatException.class, () -> SalesDataGenerator.parseRows("lots"));
+    }
+
+    private double topCountryShare(double skew) throws IOException {
+        Path csv = dir.resolve("skew-" + skew + ".csv");
+        new SalesDataGenerator(3, skew).write(csv, 20_000);
+        Map<String, Integer> units = new SalesAnalyzer(new SalesDataLoader().load(csv)).unitsSoldByCountry();
+        long total = units.values().stream().mapToLong(Integer::longValue).sum();
+        return (double) Collections.max(units.values()) / total;
+    }
+
+    private static byte[] generate(SalesDataGenerator generator, int rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        generator.write(out, rows);
+        return out.toByteArray();
+    }
+}
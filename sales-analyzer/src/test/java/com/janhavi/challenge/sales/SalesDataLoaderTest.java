@@ -0,0 +1,170 @@
+package com.janhavi.challenge.sales;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.janhavi.challenge.sales.SalesReportAssertions.assertReportsEqual;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalesDataLoaderTest {
+
+    private static final Path SAMPLE = Path.of("sales-sample.csv");
+
+    private static final String HEADER =
+            "Region,Country,Item Type,Sales Channel,Order Priority,Order Date,Order ID," +
+                    "Ship Date,Units Sold,Unit Price,Unit Cost,Total Revenue,Total Cost,Total Profit";
+
+    /** Range size that splits the 125 KB sample into many ranges. */
+    private static final long SMALL_CHUNK_BYTES = 4096;
+
+    private final SalesDataLoader loader = new SalesDataLoader();
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Verifies that the memory-mapped byte parser produces exactly the
+     * same records, in the same order, as the String based loader.
+     */
+    @Test
+    void testMappedLoadMatchesLoad() throws IOException {
+        List<SalesRecord> expected = loader.load(SAMPLE);
+
+        assertEquals(1000, expected.size());
+        assertEquals(expected, loader.loadMapped(SAMPLE));
+    }
+
+    /**
+     * Verifies that CRLF endings, blank lines, surrounding whitespace,
+     * a missing final newline and values outside the fast paths are
+     * handled the same way by both loaders.
+     */
+    @Test
+    void testMappedLoadHandlesEdgeCases() throws IOException {
+        Path csv = write(HEADER + "\r\n" +
+                "Asia, Japan ,Cereal,Offline,C,4/10/2010,161442649,5/12/2010,3322,205.70,117.11,683335.40,389039.42,294295.98\r\n" +
+                "\r\n" +
+                "   \n" +
+                "Europe,Malta,Fruits,Online,H,02/29/2012,+42,3/1/2012,-5,1e2,0.1234567890123456789,-0.0,7.,.5");
+
+        List<SalesRecord> expected = loader.load(csv);
+        List<SalesRecord> actual = loader.loadMapped(csv);
+
+        assertEquals(2, actual.size());
+        assertEquals(expected, actual);
+        assertEquals("Japan", actual.get(0).getCountry());
+        assertEquals(LocalDate.of(2012, 2, 29), actual.get(1).getOrderDate());
+    }
+
+    /**
+     * Verifies that malformed rows are rejected by the mapped loader
+     * just like they are by the String based loader.
+     */
+    @Test
+    void testMappedLoadRejectsInvalidRows() throws IOException {
+        Path badDate = write(HEADER + "\n" +
+                "Asia,Japan,Cereal,Offline,C,13/10/2010,1,5/12/2010,1,1.0,1.0,1.0,1.0,1.0\n");
+        Path missingFields = write(HEADER + "\n" + "Asia,Japan,Cereal\n");
+
+        assertThrows(DateTimeParseException.class, () -> loader.load(badDate));
+        assertThrows(DateTimeParseException.class, () -> loader.loadMapped(badDate));
+        IllegalArgumentException fromLoad = assertThrows(IllegalArgumentException.class,
+                () -> loader.load(missingFields));
+        IllegalArgumentException fromMapped = assertThrows(IllegalArgumentException.class,
+                () -> loader.loadMapped(missingFields));
+        assertEquals("Expected 14 fields but found 3: Asia,Japan,Cereal", fromLoad.getMessage());
+        assertEquals(fromMapped.getMessage(), fromLoad.getMessage());
+    }
+
+    /**
+     * Verifies that the parallel loader, splitting the sample into many
+     * small ranges, returns the same records in the same order as the
+     * sequential loader.
+     */
+    @Test
+    void testParallelLoadMatchesLoad() throws IOException {
+        SalesDataLoader chunked = new SalesDataLoader(SMALL_CHUNK_BYTES);
+        assertTrue(chunked.chunkCount(Files.size(SAMPLE), 4) > 1);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<SalesRecord> expected = loader.load(SAMPLE);
+            assertEquals(expected, chunked.loadParallel(SAMPLE, pool));
+            assertEquals(expected, loader.loadParallel(SAMPLE, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Verifies that newline-aligned ranges cover every line exactly once,
+     * so parsing them one after another reproduces the sequential result.
+     */
+    @Test
+    void testSplitRangesAlignOnLines() throws IOException {
+        List<SalesRecord> expected = loader.load(SAMPLE);
+
+        try (FileChannel channel = FileChannel.open(SAMPLE)) {
+            long start = SalesCsvParser.skipHeader(channel);
+            long[] bounds = SalesCsvParser.split(channel, start, channel.size(), 7);
+
+            assertEquals(8, bounds.length);
+            List<SalesRecord> actual = new ArrayList<>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                new SalesCsvParser().parse(channel, bounds[i], bounds[i + 1],
+                        row -> actual.add(SalesRecord.of(row)));
+            }
+            assertEquals(expected, actual);
+        }
+    }
+
+    /**
+     * Verifies that the streamed report, accumulated per byte range and
+     * merged, equals the report computed over the loaded records, however
+     * the file is split.
+     */
+    @Test
+    void testStreamingReportMatchesInMemoryReport() throws IOException {
+        Set<ReportSection> sections = EnumSet.allOf(ReportSection.class);
+        SalesReport expected = new SalesAnalyzer(loader.load(SAMPLE)).report(sections, 5);
+        SalesDataLoader chunked = new SalesDataLoader(SMALL_CHUNK_BYTES);
+
+        for (int parallelism : new int[]{1, 3, 4}) {
+            assertTrue(chunked.chunkCount(Files.size(SAMPLE), parallelism) > 1);
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                SalesReport streamed = chunked.aggregate(SAMPLE, pool,
+                        () -> new ReportAccumulator(sections, 5),
+                        ReportAccumulator::accept,
+                        ReportAccumulator::merge).toReport();
+                assertReportsEqual(expected, streamed);
+            } finally {
+                pool.shutdown();
+            }
+        }
+        assertReportsEqual(expected, chunked.report(SAMPLE, sections, 5));
+        assertReportsEqual(expected, loader.report(SAMPLE, sections, 5));
+
+        long[] rows = new long[1];
+        loader.forEachRow(SAMPLE, row -> rows[0]++);
+        assertEquals(1000, rows[0]);
+    }
+
+    private Path write(String content) throws IOException {
+        Path csv = Files.createTempFile(tempDir, "sales", ".csv");
+        Files.writeString(csv, content);
+        return csv;
+    }
+}
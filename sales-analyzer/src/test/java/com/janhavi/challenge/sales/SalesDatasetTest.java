@@ -0,0 +1,146 @@
+package com.janhavi.challenge.sales;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalesDatasetTest {
+
+    private static List<SalesRecord> records;
+    private static SalesDataset dataset;
+
+    /**
+     * Loads the sample file once both as records and as a columnar dataset.
+     */
+    @BeforeAll
+    static void load() throws IOException {
+        SalesDataLoader loader = new SalesDataLoader();
+        records = loader.load(Path.of("sales-sample.csv"));
+        dataset = loader.loadDataset(Path.of("sales-sample.csv"));
+    }
+
+    /**
+     * Verifies that the dataset holds every row, in file order, and that
+     * dimensions are dictionary-encoded.
+     */
+    @Test
+    void testDatasetRoundTripsRecords() {
+        assertEquals(records.size(), dataset.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(records.get(i), dataset.record(i));
+        }
+        assertEquals(7, dataset.dictionary(Dimension.REGION).size());
+        assertEquals(2, dataset.dictionary(Dimension.SALES_CHANNEL).size());
+    }
+
+    /**
+     * Verifies that a snapshot reloads the same rows and is rebuilt when the
+     * CSV changes, including a same-size rewrite that keeps the mtime, which
+     * only the content check detects.
+     */
+    @Test
+    void testSnapshotReloadAndInvalidation(@TempDir Path tempDir) throws IOException {
+        SalesDataLoader loader = new SalesDataLoader();
+        Path csv = tempDir.resolve("sales.csv");
+        Files.copy(Path.of("sales-sample.csv"), csv);
+        Path snapshot = SalesSnapshot.pathFor(csv);
+
+        assertRowsEqual(records, loader.loadCached(csv));
+        SalesSnapshot.Header header = SalesSnapshot.readHeader(snapshot);
+        assertNotNull(header);
+        assertEquals(records.size(), header.rows);
+        assertEquals(7, header.values(Dimension.REGION).size());
+        assertEquals(records.stream().mapToInt(SalesRecord::getOrderEpochDay).min().orElseThrow(),
+                header.minOrderDay);
+
+        SalesDataset reloaded = loader.loadCached(csv);
+        assertRowsEqual(records, reloaded);
+        assertEquals(new SalesAnalyzer(records).totalRevenue(), new SalesAnalyzer(reloaded).totalRevenue(), 0.01);
+
+        // Same size, same mtime, different content
+        FileTime mtime = Files.getLastModifiedTime(csv);
+        String content = Files.readString(csv);
+        Files.writeString(csv, content.replaceFirst("Libya", "Lybia"));
+        Files.setLastModifiedTime(csv, mtime);
+        assertEquals("Libya", loader.loadCached(csv).record(0).getCountry());
+        assertEquals("Lybia", loader.loadCached(csv, true).record(0).getCountry());
+
+        // Truncated snapshot is ignored and rewritten
+        Files.write(snapshot, new byte[10]);
+        assertNull(SalesSnapshot.readHeader(snapshot));
+        assertEquals("Lybia", loader.loadCached(csv).record(0).getCountry());
+        assertNotNull(SalesSnapshot.readHeader(snapshot));
+    }
+
+    private static void assertRowsEqual(List<SalesRecord> expected, SalesDataset actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.record(i));
+        }
+    }
+
+    /**
+     * Verifies that appendAll translates codes between dictionaries.
+     */
+    @Test
+    void testAppendAllRemapsCodes() {
+        SalesDataset first = SalesDataset.of(records.subList(500, 1000));
+        first.appendAll(SalesDataset.of(records.subList(0, 500)));
+
+        assertEquals(records.get(0), first.record(500));
+        assertEquals(records.get(999), first.record(499));
+    }
+
+    /**
+     * Verifies that every analyzer query returns the same answer for the
+     * columnar dataset as for the record list.
+     */
+    @Test
+    void testAnalyzerQueriesMatchRecordList() {
+        SalesAnalyzer expected = new SalesAnalyzer(records);
+        SalesAnalyzer actual = new SalesAnalyzer(dataset);
+
+        assertEquals(expected.totalRevenue(), actual.totalRevenue(), 0.01);
+        assertEquals(expected.totalProfit(), actual.totalProfit(), 0.01);
+        assertMapsEqual(expected.revenueByRegion(), actual.revenueByRegion());
+        assertMapsEqual(expected.profitByRegion(), actual.profitByRegion());
+        assertMapsEqual(expected.revenueByItemType(), actual.revenueByItemType());
+        assertEquals(expected.unitsSoldByCountry(), actual.unitsSoldByCountry());
+        assertMapsEqual(expected.monthlyRevenue(), actual.monthlyRevenue());
+        assertEquals(expected.topNProfitableOrders(5), actual.topNProfitableOrders(5));
+
+        var expectedStats = expected.revenueStatistics();
+        var actualStats = actual.revenueStatistics();
+        assertEquals(expectedStats.getCount(), actualStats.getCount());
+        assertEquals(expectedStats.getMin(), actualStats.getMin());
+        assertEquals(expectedStats.getMax(), actualStats.getMax());
+        assertEquals(expectedStats.getSum(), actualStats.getSum(), 0.01);
+    }
+
+    /**
+     * Verifies the allocation-free month arithmetic against java.time.
+     */
+    @Test
+    void testEpochDayMonthIndex() {
+        for (LocalDate d = LocalDate.of(1899, 12, 1); d.isBefore(LocalDate.of(2101, 3, 1)); d = d.plusDays(1)) {
+            int index = EpochDays.monthIndex((int) d.toEpochDay());
+            assertEquals(YearMonth.from(d), EpochDays.yearMonth(index));
+        }
+    }
+
+    static <K> void assertMapsEqual(Map<K, Double> expected, Map<K, Double> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((k, v) -> assertEquals(v, actual.get(k), 0.01, () -> "Mismatch for " + k));
+    }
+}
@@ -0,0 +1,129 @@
+package com.janhavi.challenge.sales;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalesMetricsTest {
+
+    private static final Path SAMPLE = Path.of("sales-sample.csv");
+
+    @TempDir
+    Path dir;
+
+    private Path csv;
+    private int rows;
+
+    /** Copies the sample with two blank lines added, which loads skip. */
+    @BeforeEach
+    void setUp() throws Exception {
+        List<String> lines = Files.readAllLines(SAMPLE);
+        rows = lines.size() - 1;
+        lines.add(3, "");
+        lines.add("   ");
+        csv = dir.resolve("sales.csv");
+        Files.write(csv, lines);
+        SalesMetrics.reset();
+    }
+
+    /**
+     * Verifies that loads record bytes, parsed rows, skipped blank lines
+     * and allocation, and that queries are counted per method with the
+     * backend's row count.
+     */
+    @Test
+    void testSnapshotTotals() throws Exception {
+        SalesDataLoader loader = new SalesDataLoader();
+        loader.load(csv);
+        SalesDataset dataset = loader.loadDataset(csv);
+        SalesAnalyzer analyzer = new SalesAnalyzer(dataset);
+        analyzer.totalRevenue();
+        analyzer.totalRevenue();
+
+        for (String key : List.of("load.load", "load.loadDataset")) {
+            SalesMetrics.Stats load = SalesMetrics.snapshot().get(key);
+            assertEquals(1, load.count(), key);
+            assertEquals(Files.size(csv), load.bytesRead(), key);
+            assertEquals(rows, load.rows(), key);
+            assertEquals(2, load.blankLines(), key);
+            assertTrue(load.allocatedBytes() > 0, key);
+            assertTrue(load.totalNanos() > 0 && load.maxNanos() == load.totalNanos(), key);
+        }
+        SalesMetrics.Stats query = SalesMetrics.snapshot().get("query.totalRevenue");
+        assertEquals(SalesMetrics.Kind.QUERY, query.kind());
+        assertEquals(2, query.count());
+        assertEquals(2L * rows, query.rows());
+        assertTrue(query.maxNanos() <= query.totalNanos());
+
+        SalesMetrics.reset();
+        assertEquals(0, SalesMetrics.snapshot().get("query.totalRevenue").count());
+    }
+
+    /**
+     * Verifies that loads and queries are emitted as JFR events carrying
+     * the same figures.
+     */
+    @Test
+    void testJfrEvents() throws Exception {
+        Path file = dir.resolve("metrics.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.janhavi.challenge.sales.Load");
+            recording.enable("com.janhavi.challenge.sales.Query");
+            recording.start();
+            List<SalesRecord> records = new SalesDataLoader().loadMapped(csv);
+            new SalesAnalyzer(records).revenueByRegion();
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent load = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.janhavi.challenge.sales.Load"))
+                .findFirst().orElseThrow();
+        assertEquals("loadMapped", load.getString("operation"));
+        assertEquals(csv.toString(), load.getString("path"));
+        assertEquals(rows, load.getLong("rowsParsed"));
+        assertEquals(2, load.getLong("blankLines"));
+        assertEquals(Files.size(csv), load.getLong("bytesRead"));
+
+        List<RecordedEvent> queries = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.janhavi.challenge.sales.Query"))
+                .collect(Collectors.toList());
+        assertEquals(1, queries.size());
+        assertEquals("revenueByRegion", queries.get(0).getString("operation"));
+        assertEquals("records", queries.get(0).getString("backend"));
+        assertEquals(rows, queries.get(0).getLong("rows"));
+    }
+
+    /**
+     * Verifies that registered MBeans expose the live totals, including for
+     * operations first run after registration.
+     */
+    @Test
+    void testMBeans() throws Exception {
+        SalesMetrics.registerMBeans();
+        SalesMetrics.registerMBeans();
+        new SalesAnalyzer(new SalesDataLoader().loadCompressed(csv)).monthlyRevenue();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(SalesMetrics.DOMAIN + ":type=Query,name=monthlyRevenue");
+        assertEquals(1L, server.getAttribute(name, "Count"));
+        OperationMetricsMXBean load = JMX.newMXBeanProxy(server,
+                new ObjectName(SalesMetrics.DOMAIN + ":type=Load,name=loadCompressed"), OperationMetricsMXBean.class);
+        assertEquals(rows, load.getRows());
+        assertEquals(2, load.getBlankLines());
+    }
+}
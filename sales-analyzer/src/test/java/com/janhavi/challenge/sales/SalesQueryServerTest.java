@@ -0,0 +1,143 @@
+package com.janhavi.challenge.sales;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalesQueryServerTest {
+
+    private static SalesAnalyzer analyzer;
+    private static SalesQueryServer server;
+    private static HttpClient client;
+
+    /**
+     * Loads the sample once and starts a server on a free port.
+     */
+    @BeforeAll
+    static void start() throws IOException {
+        SalesDataset dataset = new SalesDataLoader().loadDataset(Path.of("sales-sample.csv"));
+        analyzer = new SalesAnalyzer(dataset).enableCache(16);
+        server = new SalesQueryServer(analyzer, 0).start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterAll
+    static void stop() {
+        server.close();
+    }
+
+    /**
+     * Verifies that scalar, map and order queries return the analyzer's
+     * results as JSON.
+     */
+    @Test
+    void testQueries() throws Exception {
+        HttpResponse<String> revenue = get("/totalRevenue");
+        assertEquals(200, revenue.statusCode());
+        assertTrue(revenue.headers().firstValue("Content-Type").orElse("").startsWith("application/json"));
+        assertEquals("{\"value\":" + analyzer.totalRevenue() + "}", revenue.body());
+
+        String regions = get("/revenueByRegion").body();
+        for (var entry : analyzer.revenueByRegion().entrySet()) {
+            assertTrue(regions.contains("\"" + entry.getKey() + "\":" + entry.getValue()), regions);
+        }
+
+        String months = get("/monthlyRevenue").body();
+        assertTrue(months.indexOf("\"2010-01\"") < months.indexOf("\"2010-02\""), months);
+
+        String orders = get("/topNProfitableOrders?n=3").body();
+        List<SalesRecord> top = analyzer.topNProfitableOrders(3);
+        assertTrue(orders.startsWith("[{\"orderId\":" + top.get(0).getOrderId()), orders);
+        assertEquals(3, orders.split("\"orderId\"").length - 1);
+
+        String quantiles = get("/revenueQuantiles?q=0.5").body();
+        assertTrue(quantiles.contains("\"0.5\":" + analyzer.revenueQuantiles().quantile(0.5)), quantiles);
+    }
+
+    /**
+     * Verifies that a report returns exactly the requested sections.
+     */
+    @Test
+    void testReportSections() throws Exception {
+        String body = get("/report?sections=TOTAL_PROFIT,REVENUE_STATISTICS").body();
+        assertTrue(body.startsWith("{\"totalProfit\":"), body);
+        assertTrue(body.contains("\"revenueStatistics\":{\"count\":1000,"), body);
+        assertFalse(body.contains("revenueByRegion"), body);
+    }
+
+    /**
+     * Verifies the status codes of unknown paths, bad parameters and other
+     * methods.
+     */
+    @Test
+    void testErrors() throws Exception {
+        assertEquals(404, get("/nope").statusCode());
+        HttpResponse<String> bad = get("/topNProfitableOrders?n=ten");
+        assertEquals(400, bad.statusCode());
+        assertTrue(bad.body().startsWith("{\"error\":"), bad.body());
+        assertEquals(400, get("/report?sections=EVERYTHING").statusCode());
+        assertEquals(400, get("/revenueQuantiles?q=2").statusCode());
+
+        HttpRequest post = HttpRequest.newBuilder(uri("/totalRevenue"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build();
+        assertEquals(405, client.send(post, HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+
+    /**
+     * Verifies that many concurrent requests all get the same answer from
+     * the shared analyzer.
+     */
+    @Test
+    void testConcurrentRequests() throws Exception {
+        String expected = get("/revenueByItemType").body();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            HttpRequest request = HttpRequest.newBuilder(uri(i % 2 == 0 ? "/revenueByItemType" : "/cacheStats")).build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        for (int i = 0; i < responses.size(); i++) {
+            HttpResponse<String> response = responses.get(i).join();
+            assertEquals(200, response.statusCode());
+            if (i % 2 == 0) {
+                assertEquals(expected, response.body());
+            } else {
+                assertTrue(response.body().startsWith("{\"enabled\":true,"), response.body());
+            }
+        }
+    }
+
+    /**
+     * Verifies commas, escaping and non-finite numbers in the JSON writer.
+     */
+    @Test
+    void testJsonWriter() throws IOException {
+        StringWriter out = new StringWriter();
+        new JsonWriter(out).beginObject()
+                .name("a").beginArray().value(1).value(Double.NaN).value((String) null).endArray()
+                .name("b\"").value("x\n\u0001\\")
+                .name("c").beginObject().endObject()
+                .endObject();
+        assertEquals("{\"a\":[1,null,null],\"b\\\"\":\"x\\n\\u0001\\\\\",\"c\":{}}", out.toString());
+    }
+
+    private static HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(path)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.port() + path);
+    }
+}
@@ -0,0 +1,221 @@
+package com.janhavi.challenge.sales;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.janhavi.challenge.sales.SalesDatasetTest.assertMapsEqual;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalesQueryTest {
+
+    private static List<SalesRecord> records;
+    private static SalesDataset dataset;
+
+    @BeforeAll
+    static void load() throws IOException {
+        records = new SalesDataLoader().load(Path.of("sales-sample.csv"));
+        dataset = SalesDataset.of(records);
+    }
+
+    /**
+     * Verifies a filtered two-dimension group-by with every aggregate
+     * function against a stream pipeline, on records and on the dataset.
+     */
+    @Test
+    void testFilteredGroupByMatchesStreams() {
+        LocalDate from = LocalDate.of(2012, 1, 1);
+        LocalDate to = LocalDate.of(2015, 6, 30);
+        Map<List<String>, DoubleSummaryStatistics> expected = records.stream()
+                .filter(r -> r.getRegion().equals("Europe") || r.getRegion().equals("Asia"))
+                .filter(r -> !r.getOrderDate().isBefore(from) && !r.getOrderDate().isAfter(to))
+                .filter(r -> r.getUnitsSold() >= 1000)
+                .filter(r -> r.getOrderId() % 2 == 0)
+                .collect(Collectors.groupingBy(r -> List.of(r.getItemType(), r.getSalesChannel()),
+                        Collectors.summarizingDouble(SalesRecord::getTotalProfit)));
+
+        Aggregate sum = Aggregate.sum(Measure.TOTAL_PROFIT);
+        Aggregate min = Aggregate.min(Measure.TOTAL_PROFIT);
+        Aggregate max = Aggregate.max(Measure.TOTAL_PROFIT);
+        Aggregate avg = Aggregate.avg(Measure.TOTAL_PROFIT);
+        SalesQuery query = SalesQuery.select(sum, min, max, avg, Aggregate.count())
+                .where(r -> r.getOrderId() % 2 == 0)
+                .where(Measure.UNITS_SOLD, 1000, Double.MAX_VALUE)
+                .where(Dimension.REGION, "Europe", "Asia")
+                .whereOrderDate(from, to)
+                .groupBy(Dimension.ITEM_TYPE, Dimension.SALES_CHANNEL);
+
+        for (QueryResult result : List.of(query.run(records), query.run(dataset))) {
+            assertEquals(expected.size(), result.size());
+            for (int row = 0; row < result.size(); row++) {
+                DoubleSummaryStatistics stats = expected.get(result.key(row));
+                assertEquals(stats.getSum(), result.value(row, sum), 0.01);
+                assertEquals(stats.getMin(), result.value(row, min));
+                assertEquals(stats.getMax(), result.value(row, max));
+                assertEquals(stats.getAverage(), result.value(row, avg), 0.01);
+                assertEquals(stats.getCount(), result.value(row, Aggregate.count()));
+            }
+        }
+    }
+
+    /**
+     * Verifies that filters run cheapest and most selective first, whatever
+     * order they were declared in, and that impossible filters match nothing.
+     */
+    @Test
+    void testPlanOrderAndEmptyResults() {
+        SalesQuery query = SalesQuery.select(Aggregate.count())
+                .where(r -> true)
+                .where(Measure.TOTAL_PROFIT, 0, 1e6)
+                .whereShipDate(LocalDate.of(2010, 1, 1), LocalDate.of(2020, 1, 1))
+                .where(Dimension.REGION, "Europe", "Asia")
+                .where(Dimension.SALES_CHANNEL, "Online");
+
+        List<String> plan = query.explain(dataset);
+        // 2 of 7 regions is more selective than 1 of 2 channels
+        assertTrue(plan.get(0).startsWith("REGION"));
+        assertTrue(plan.get(1).startsWith("SALES_CHANNEL"));
+        assertTrue(plan.get(2).startsWith("ship date"));
+        assertTrue(plan.get(3).startsWith("TOTAL_PROFIT"));
+        assertTrue(plan.get(4).startsWith("predicate"));
+
+        QueryResult none = SalesQuery.select(Aggregate.count(), Aggregate.sum(Measure.TOTAL_REVENUE))
+                .where(Dimension.REGION, "Atlantis")
+                .run(dataset);
+        assertEquals(1, none.size());
+        assertEquals(0, none.value(0, Aggregate.count()));
+        assertEquals(0, SalesQuery.select(Aggregate.count())
+                .where(Dimension.REGION, "Atlantis")
+                .groupBy(Dimension.COUNTRY)
+                .run(records).size());
+    }
+
+    /**
+     * Verifies that two filters on the same dimension intersect, like
+     * repeated date and measure filters do.
+     */
+    @Test
+    void testRepeatedDimensionFiltersIntersect() {
+        long europe = records.stream().filter(r -> r.getRegion().equals("Europe")).count();
+        SalesQuery count = SalesQuery.select(Aggregate.count());
+
+        SalesQuery disjoint = count.where(Dimension.REGION, "Europe").where(Dimension.REGION, "Asia");
+        assertEquals(0, disjoint.run(records).value(0, Aggregate.count()));
+        assertEquals(0, disjoint.run(dataset).value(0, Aggregate.count()));
+
+        SalesQuery overlapping = count.where(Dimension.REGION, "Europe", "Asia").where(Dimension.REGION, "Europe");
+        assertEquals(europe, overlapping.run(records).value(0, Aggregate.count()));
+        assertEquals(europe, overlapping.run(dataset).value(0, Aggregate.count()));
+
+        TopNQuery top = TopNQuery.top(Measure.TOTAL_PROFIT, 5)
+                .where(Dimension.REGION, "Europe").where(Dimension.REGION, "Asia");
+        assertTrue(top.list(records).isEmpty());
+        assertEquals(0, SalesCube.of(dataset).slice()
+                .where(Dimension.REGION, "Europe").where(Dimension.REGION, "Asia").count());
+    }
+
+    /**
+     * Verifies that a filter value given twice counts once, and that a
+     * null value is rejected with a message instead of matching nothing.
+     */
+    @Test
+    void testRepeatedFilterValues() {
+        long asia = records.stream().filter(r -> r.getRegion().equals("Asia")).count();
+        SalesQuery query = SalesQuery.select(Aggregate.count()).where(Dimension.REGION, "Asia", "Asia");
+        assertEquals(asia, query.run(records).value(0, Aggregate.count()));
+        assertEquals(asia, query.run(dataset).value(0, Aggregate.count()));
+
+        NullPointerException e = assertThrows(NullPointerException.class,
+                () -> SalesQuery.select(Aggregate.count()).where(Dimension.REGION, "Asia", null));
+        assertEquals("filter value", e.getMessage());
+    }
+
+    /**
+     * Verifies that the analyzer's fixed queries can be expressed with the
+     * query API, and that parallel slices merge into the sequential result.
+     */
+    @Test
+    void testAnalyzerEquivalenceAndParallel() {
+        SalesAnalyzer analyzer = new SalesAnalyzer(dataset);
+        Aggregate revenue = Aggregate.sum(Measure.TOTAL_REVENUE);
+        assertMapsEqual(analyzer.revenueByRegion(),
+                analyzer.query(SalesQuery.select(revenue).groupBy(Dimension.REGION)).toSimpleMap(revenue));
+
+        List<SalesRecord> repeated = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            repeated.addAll(records);
+        }
+        SalesDataset repeatedDataset = SalesDataset.of(repeated);
+        SalesQuery query = SalesQuery.select(revenue, Aggregate.max(Measure.UNITS_SOLD), Aggregate.count())
+                .where(Dimension.ORDER_PRIORITY, "H", "C")
+                .groupBy(Dimension.COUNTRY);
+
+        QueryResult sequential = query.run(repeatedDataset);
+        QueryResult parallel = query.parallel().run(repeatedDataset);
+        assertEquals(sequential.toMap(Aggregate.count()), parallel.toMap(Aggregate.count()));
+        assertEquals(sequential.toMap(Aggregate.max(Measure.UNITS_SOLD)),
+                query.parallel().run(repeated).toMap(Aggregate.max(Measure.UNITS_SOLD)));
+        for (int row = 0; row < sequential.size(); row++) {
+            assertEquals(sequential.key(row), parallel.key(row));
+            assertEquals(sequential.value(row, revenue), parallel.value(row, revenue), 0.01);
+        }
+    }
+
+    /**
+     * Verifies per-group quantiles and distinct counts against exact
+     * values, on records, on the dataset and in parallel, where the group
+     * sketches of several slices are merged.
+     */
+    @Test
+    void testSketchAggregatesPerGroup() {
+        List<SalesRecord> repeated = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            repeated.addAll(records);
+        }
+        SalesDataset repeatedDataset = SalesDataset.of(repeated);
+        Aggregate median = Aggregate.median(Measure.TOTAL_REVENUE);
+        Aggregate p90 = Aggregate.quantile(Measure.TOTAL_REVENUE, 0.9);
+        Aggregate countries = Aggregate.distinctCount(Dimension.COUNTRY);
+        Aggregate orders = Aggregate.distinctOrderIds();
+        SalesQuery query = SalesQuery.select(median, p90, countries, orders, Aggregate.count())
+                .groupBy(Dimension.REGION);
+
+        Map<String, List<SalesRecord>> byRegion = records.stream()
+                .collect(Collectors.groupingBy(SalesRecord::getRegion));
+        for (QueryResult result : List.of(query.run(repeated), query.run(repeatedDataset),
+                query.parallel().run(repeatedDataset))) {
+            assertEquals(byRegion.size(), result.size());
+            for (int row = 0; row < result.size(); row++) {
+                List<SalesRecord> group = byRegion.get(result.key(row).get(0));
+                double[] revenue = group.stream().mapToDouble(SalesRecord::getTotalRevenue).sorted().toArray();
+                // Estimated quantiles must lie between the values 2% of the rows below and above
+                for (Aggregate quantile : List.of(median, p90)) {
+                    double estimate = result.value(row, quantile);
+                    int n = revenue.length;
+                    double low = revenue[(int) Math.max(0, Math.floor((quantile.fraction() - 0.02) * n))];
+                    double high = revenue[(int) Math.min(n - 1, Math.ceil((quantile.fraction() + 0.02) * n))];
+                    assertTrue(estimate >= low && estimate <= high, quantile + " of " + result.key(row));
+                }
+                long distinctCountries = group.stream().map(SalesRecord::getCountry).distinct().count();
+                assertEquals(distinctCountries, result.value(row, countries), 0.02 * distinctCountries);
+                assertEquals(group.size(), result.value(row, orders), 0.05 * group.size());
+                assertEquals(50.0 * group.size(), result.value(row, Aggregate.count()));
+            }
+        }
+
+        QueryResult empty = SalesQuery.select(median, orders).where(Dimension.REGION, "Atlantis").run(dataset);
+        assertTrue(Double.isNaN(empty.value(0, median)));
+        assertEquals(0.0, empty.value(0, orders));
+        assertEquals("quantile(TOTAL_REVENUE, 0.9)", p90.toString());
+        assertNotEquals(Aggregate.quantile(Measure.TOTAL_REVENUE, 0.5), p90);
+        assertThrows(IllegalArgumentException.class, () -> Aggregate.quantile(Measure.UNITS_SOLD, 1.5));
+    }
+}
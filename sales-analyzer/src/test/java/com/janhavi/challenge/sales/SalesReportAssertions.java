@@ -0,0 +1,29 @@
+package com.janhavi.challenge.sales;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Assertions on {@link SalesReport}s shared by the loader, tailing and
+ * sharded report tests.
+ */
+final class SalesReportAssertions {
+
+    private SalesReportAssertions() {
+    }
+
+    /**
+     * Asserts that two reports are identical. Reports sum exactly, so sums
+     * must match to the last bit however the rows were split and merged.
+     */
+    static void assertReportsEqual(SalesReport expected, SalesReport actual) {
+        assertEquals(expected.totalRevenue(), actual.totalRevenue());
+        assertEquals(expected.totalProfit(), actual.totalProfit());
+        assertEquals(expected.revenueByRegion(), actual.revenueByRegion());
+        assertEquals(expected.profitByRegion(), actual.profitByRegion());
+        assertEquals(expected.revenueByItemType(), actual.revenueByItemType());
+        assertEquals(expected.unitsSoldByCountry(), actual.unitsSoldByCountry());
+        assertEquals(expected.monthlyRevenue(), actual.monthlyRevenue());
+        assertEquals(expected.topProfitableOrders(), actual.topProfitableOrders());
+        assertEquals(expected.revenueStatistics().toString(), actual.revenueStatistics().toString());
+    }
+}
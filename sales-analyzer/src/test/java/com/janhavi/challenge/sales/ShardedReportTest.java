@@ -0,0 +1,107 @@
+package com.janhavi.challenge.sales;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.janhavi.challenge.sales.SalesReportAssertions.assertReportsEqual;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedReportTest {
+
+    private static final Path SAMPLE = Path.of("sales-sample.csv");
+    private static final Set<ReportSection> ALL = EnumSet.allOf(ReportSection.class);
+
+    private static SalesReport expected;
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Computes the single-process report once.
+     */
+    @BeforeAll
+    static void load() throws IOException {
+        expected = new SalesDataLoader().report(SAMPLE, ALL, 5);
+    }
+
+    /**
+     * Verifies that an accumulator written and read back merges into the
+     * same report as the original.
+     */
+    @Test
+    void testAccumulatorRoundTrip() throws IOException {
+        List<SalesRecord> records = new SalesDataLoader().load(SAMPLE);
+        ReportAccumulator first = new ReportAccumulator(ALL, 5);
+        ReportAccumulator second = new ReportAccumulator(ALL, 5);
+        records.subList(0, 400).forEach(first::accept);
+        records.subList(400, records.size()).forEach(second::accept);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        second.writeTo(new DataOutputStream(bytes));
+        ReportAccumulator copy = ReportAccumulator.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(second.rows(), copy.rows());
+        assertReportsEqual(expected, first.merge(copy).toReport());
+        assertThrows(IOException.class, () -> ReportAccumulator.readFrom(
+                new DataInputStream(new ByteArrayInputStream(new byte[16]))));
+    }
+
+    /**
+     * Verifies that worker JVMs over byte ranges of one file produce the
+     * single-process report.
+     */
+    @Test
+    void testByteRangeShards() throws IOException {
+        assertReportsEqual(expected, new ShardedReport(3).run(SAMPLE, ALL, 5));
+    }
+
+    /**
+     * Verifies that worker JVMs over a directory of partition files produce
+     * the report of the files concatenated.
+     */
+    @Test
+    void testPartitionFileShards() throws IOException {
+        List<String> lines = Files.readAllLines(SAMPLE);
+        String header = lines.get(0);
+        for (int part = 0; part < 4; part++) {
+            List<String> partition = new ArrayList<>();
+            partition.add(header);
+            partition.addAll(lines.subList(1 + part * 250, Math.min(lines.size(), 1 + (part + 1) * 250)));
+            Files.write(dir.resolve("sales-" + part + ".csv"), partition);
+        }
+        assertReportsEqual(expected, new ShardedReport(2, List.of("-Xmx64m")).run(dir, ALL, 5));
+
+        // Snapshots left by loadPartitions must not be sent to workers as CSV
+        new SalesDataLoader().loadPartitions(dir);
+        assertTrue(Files.exists(SalesSnapshot.pathFor(dir.resolve("sales-0.csv"))));
+        assertReportsEqual(expected, new ShardedReport(2).run(dir.resolve("sales-*"), ALL, 5));
+    }
+
+    /**
+     * Verifies that a worker failing on a malformed line fails the whole
+     * run.
+     */
+    @Test
+    void testWorkerFailure() throws IOException {
+        List<String> lines = new ArrayList<>(Files.readAllLines(SAMPLE));
+        lines.set(900, "not,a,sales,row");
+        Path broken = dir.resolve("broken.csv");
+        Files.write(broken, lines);
+        IOException e = assertThrows(IOException.class, () -> new ShardedReport(2).run(broken, ALL, 5));
+        assertTrue(e.getMessage().contains("exit status 1"), e.getMessage());
+    }
+}
@@ -0,0 +1,107 @@
+package com.janhavi.challenge.sales;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.janhavi.challenge.sales.SalesReportAssertions.assertReportsEqual;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TailingReportTest {
+
+    private static final Path SAMPLE = Path.of("sales-sample.csv");
+    private static final Set<ReportSection> SECTIONS = EnumSet.allOf(ReportSection.class);
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Verifies that refreshes consume appended lines only once, leave an
+     * unfinished last line for later, reject a malformed line without
+     * counting anything twice, and end with the same report as a full
+     * load.
+     */
+    @Test
+    void testRefreshFoldsInAppendedLines() throws IOException {
+        List<String> lines = Files.readAllLines(SAMPLE);
+        Path csv = dir.resolve("feed.csv");
+        SalesReport expected = new SalesAnalyzer(new SalesDataLoader().load(SAMPLE)).report(SECTIONS, 5);
+
+        TailingReport tail = new TailingReport(csv, SECTIONS, 5);
+        assertFalse(tail.refresh());
+
+        // Header without its line break yet
+        Files.writeString(csv, lines.get(0));
+        assertFalse(tail.refresh());
+        assertEquals(0, tail.offset());
+
+        append(csv, "\n" + String.join("\n", lines.subList(1, 401)) + "\n" + lines.get(401).substring(0, 20));
+        assertTrue(tail.refresh());
+        assertEquals(400, tail.rows());
+        assertFalse(tail.refresh());
+
+        long offset = tail.offset();
+        append(csv, lines.get(401).substring(20) + "\nnot,a,valid,row\n");
+        assertThrows(IllegalArgumentException.class, tail::refresh);
+        assertEquals(400, tail.rows());
+        assertEquals(offset, tail.offset());
+
+        // Replace the bad line and add the rest
+        Files.writeString(csv, String.join("\n", lines.subList(0, 402)) + "\n"
+                + String.join("\n", lines.subList(402, lines.size())) + "\n");
+        assertTrue(tail.refresh());
+        assertEquals(1000, tail.rows());
+        assertReportsEqual(expected, tail.report());
+
+        // A shorter file starts the report over
+        Files.writeString(csv, String.join("\n", lines.subList(0, 11)) + "\n");
+        assertTrue(tail.refresh());
+        assertEquals(10, tail.rows());
+    }
+
+    /**
+     * Verifies that a running watch reports appended rows and stops on
+     * close.
+     */
+    @Test
+    void testWatchReportsAppends() throws Exception {
+        List<String> lines = Files.readAllLines(SAMPLE);
+        Path csv = dir.resolve("feed.csv");
+        Files.writeString(csv, String.join("\n", lines.subList(0, 101)) + "\n");
+
+        BlockingQueue<SalesReport> reports = new LinkedBlockingQueue<>();
+        TailingReport tail = new TailingReport(csv, SECTIONS, 5);
+        Thread watcher = new Thread(() -> {
+            try {
+                tail.watch(Duration.ofMillis(50), reports::add);
+            } catch (IOException | InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        });
+        watcher.start();
+        try {
+            assertEquals(100, reports.poll(10, TimeUnit.SECONDS).revenueStatistics().getCount());
+            append(csv, String.join("\n", lines.subList(101, 151)) + "\n");
+            assertEquals(150, reports.poll(10, TimeUnit.SECONDS).revenueStatistics().getCount());
+        } finally {
+            tail.close();
+            watcher.join(10_000);
+        }
+        assertFalse(watcher.isAlive());
+    }
+
+    private static void append(Path csv, String text) throws IOException {
+        Files.writeString(csv, text, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,177 @@
+package com.janhavi.challenge.sales;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeIndexTest {
+
+    private static List<SalesRecord> records;
+    private static SalesDataset dataset;
+    private static TimeIndex index;
+
+    /**
+     * Loads the sample file once and indexes it.
+     */
+    @BeforeAll
+    static void load() throws IOException {
+        SalesDataLoader loader = new SalesDataLoader();
+        records = loader.load(Path.of("sales-sample.csv"));
+        dataset = loader.loadDataset(Path.of("sales-sample.csv"));
+        index = TimeIndex.of(dataset);
+    }
+
+    /**
+     * Verifies that the index lists every row in order-date order, keeping
+     * file order within a day, and answers range counts and sums.
+     */
+    @Test
+    void testSortedOrderAndRanges() {
+        assertEquals(records.size(), index.size());
+        for (int p = 1; p < index.size(); p++) {
+            int before = index.row(p - 1);
+            int row = index.row(p);
+            int cmp = Integer.compare(dataset.orderEpochDay(before), dataset.orderEpochDay(row));
+            assertTrue(cmp < 0 || cmp == 0 && before < row);
+        }
+        assertEquals(records.stream().map(SalesRecord::getOrderDate).min(LocalDate::compareTo).orElseThrow(), index.first());
+        assertEquals(records.stream().map(SalesRecord::getOrderDate).max(LocalDate::compareTo).orElseThrow(), index.last());
+
+        LocalDate from = LocalDate.of(2013, 3, 1);
+        LocalDate to = LocalDate.of(2014, 6, 30);
+        List<SalesRecord> inRange = records.stream()
+                .filter(r -> !r.getOrderDate().isBefore(from) && !r.getOrderDate().isAfter(to))
+                .toList();
+        assertEquals(inRange.size(), index.count(from, to));
+        assertEquals(inRange.stream().mapToDouble(SalesRecord::getTotalRevenue).sum(),
+                index.sum(Measure.TOTAL_REVENUE, from, to), 0.01);
+        assertEquals(inRange.stream().mapToInt(SalesRecord::getUnitsSold).sum(),
+                index.sum(Measure.UNITS_SOLD, from, to));
+        assertEquals(records.size(), index.count(LocalDate.of(1900, 1, 1), LocalDate.of(2100, 1, 1)));
+        assertEquals(0, index.count(to, from));
+    }
+
+    /**
+     * Verifies trailing-window sums and averages against a scan of every
+     * record for a sample of days.
+     */
+    @Test
+    void testRollingWindows() {
+        NavigableMap<LocalDate, Double> sums = index.rollingSum(Measure.TOTAL_REVENUE, 90);
+        NavigableMap<LocalDate, Double> averages = index.rollingAverage(Measure.TOTAL_PROFIT, 30);
+        assertEquals(ChronoUnit.DAYS.between(index.first(), index.last()) + 1, sums.size());
+        for (LocalDate day = index.first(); !day.isAfter(index.last()); day = day.plusDays(37)) {
+            LocalDate end = day;
+            List<SalesRecord> window90 = records.stream()
+                    .filter(r -> !r.getOrderDate().isAfter(end) && r.getOrderDate().isAfter(end.minusDays(90)))
+                    .toList();
+            assertEquals(window90.stream().mapToDouble(SalesRecord::getTotalRevenue).sum(), sums.get(day), 0.01, day.toString());
+
+            List<SalesRecord> window30 = records.stream()
+                    .filter(r -> !r.getOrderDate().isAfter(end) && r.getOrderDate().isAfter(end.minusDays(30)))
+                    .toList();
+            if (window30.isEmpty()) {
+                assertFalse(averages.containsKey(day));
+            } else {
+                assertEquals(window30.stream().mapToDouble(SalesRecord::getTotalProfit).average().orElseThrow(),
+                        averages.get(day), 0.01, day.toString());
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> index.rollingSum(Measure.TOTAL_REVENUE, 0));
+    }
+
+    /**
+     * Verifies sorted monthly sums, month-over-month growth and mean ship
+     * latency per month.
+     */
+    @Test
+    void testMonthlySeries() {
+        NavigableMap<YearMonth, Double> monthly = index.monthly(Measure.TOTAL_REVENUE);
+        SalesDatasetTest.assertMapsEqual(new SalesAnalyzer(records).monthlyRevenue(), monthly);
+
+        NavigableMap<YearMonth, Double> growth = index.monthOverMonthGrowth(Measure.TOTAL_REVENUE);
+        assertFalse(growth.isEmpty());
+        growth.forEach((month, change) ->
+                assertEquals(monthly.get(month) / monthly.get(month.minusMonths(1)) - 1, change, 1e-9));
+
+        NavigableMap<YearMonth, Double> latency = index.averageShipDaysByMonth();
+        assertEquals(monthly.keySet(), latency.keySet());
+        YearMonth month = latency.firstKey();
+        assertEquals(records.stream()
+                .filter(r -> YearMonth.from(r.getOrderDate()).equals(month))
+                .mapToLong(r -> ChronoUnit.DAYS.between(r.getOrderDate(), r.getShipDate()))
+                .average().orElseThrow(), latency.get(month), 1e-9);
+    }
+
+    /**
+     * Verifies that cumulative totals per dimension value end at the
+     * value's overall total and never skip one of its months.
+     */
+    @Test
+    void testCumulativeByDimension() {
+        Map<String, NavigableMap<YearMonth, Double>> cumulative = index.cumulativeBy(Dimension.REGION, Measure.TOTAL_PROFIT);
+        Map<String, Double> totals = new SalesAnalyzer(records).profitByRegion();
+        assertEquals(totals.keySet(), cumulative.keySet());
+        cumulative.forEach((region, series) -> {
+            assertEquals(totals.get(region), series.lastEntry().getValue(), 0.01, region);
+            long months = records.stream()
+                    .filter(r -> r.getRegion().equals(region))
+                    .map(r -> YearMonth.from(r.getOrderDate()))
+                    .distinct().count();
+            assertEquals(months, series.size(), region);
+        });
+
+        YearMonth mid = YearMonth.of(2014, 1);
+        String region = "Europe";
+        double expected = records.stream()
+                .filter(r -> r.getRegion().equals(region) && !YearMonth.from(r.getOrderDate()).isAfter(mid))
+                .mapToDouble(SalesRecord::getTotalProfit).sum();
+        assertEquals(expected, cumulative.get(region).floorEntry(mid).getValue(), 0.01);
+    }
+
+    /**
+     * Verifies that an index refuses queries once rows have been appended,
+     * and that the dataset's own index is rebuilt to include them.
+     */
+    @Test
+    void testAppendInvalidatesIndex() {
+        SalesDataset growing = SalesDataset.of(records.subList(0, 500));
+        TimeIndex built = growing.timeIndex();
+        assertSame(built, growing.timeIndex());
+        assertEquals(500, built.size());
+
+        records.subList(500, records.size()).forEach(growing::append);
+        assertFalse(built.isCurrent());
+        assertThrows(IllegalStateException.class, () -> built.monthly(Measure.TOTAL_REVENUE));
+        assertThrows(IllegalStateException.class, built::size);
+
+        TimeIndex rebuilt = growing.timeIndex();
+        assertNotSame(built, rebuilt);
+        assertEquals(records.size(), rebuilt.size());
+        assertEquals(index.monthly(Measure.TOTAL_REVENUE), rebuilt.monthly(Measure.TOTAL_REVENUE));
+    }
+
+    /**
+     * Verifies that an empty dataset gives empty series.
+     */
+    @Test
+    void testEmptyDataset() {
+        TimeIndex empty = TimeIndex.of(new SalesDataset());
+        assertEquals(0, empty.size());
+        assertNull(empty.first());
+        assertTrue(empty.rollingSum(Measure.TOTAL_REVENUE, 7).isEmpty());
+        assertTrue(empty.monthly(Measure.UNITS_SOLD).isEmpty());
+        assertTrue(empty.cumulativeBy(Dimension.REGION, Measure.TOTAL_REVENUE).isEmpty());
+        assertEquals(0, empty.count(LocalDate.of(2020, 1, 1), LocalDate.of(2021, 1, 1)));
+    }
+}
@@ -0,0 +1,129 @@
+package com.janhavi.challenge.sales;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopNQueryTest {
+
+    private static List<SalesRecord> records;
+    private static SalesDataset dataset;
+
+    @BeforeAll
+    static void load() throws IOException {
+        records = new SalesDataLoader().load(Path.of("sales-sample.csv"));
+        dataset = SalesDataset.of(records);
+    }
+
+    /**
+     * Verifies top and bottom N against a full stable sort, for both the
+     * record list and the columnar dataset.
+     */
+    @Test
+    void testTopAndBottomMatchFullSort() {
+        for (Measure measure : Measure.values()) {
+            List<SalesRecord> top = sorted(records, measure, true).subList(0, 7);
+            List<SalesRecord> bottom = sorted(records, measure, false).subList(0, 7);
+
+            assertEquals(top, TopNQuery.top(measure, 7).list(records), measure::name);
+            assertEquals(top, TopNQuery.top(measure, 7).list(dataset), measure::name);
+            assertEquals(bottom, TopNQuery.bottom(measure, 7).list(records), measure::name);
+            assertEquals(bottom, TopNQuery.bottom(measure, 7).list(dataset), measure::name);
+        }
+    }
+
+    /**
+     * Verifies that dimension filters and predicates restrict the ranked
+     * rows, that a repeated filter value counts once, and that unknown
+     * filter values match nothing.
+     */
+    @Test
+    void testFilters() {
+        List<SalesRecord> expected = sorted(records.stream()
+                .filter(r -> r.getRegion().equals("Europe") && r.getSalesChannel().equals("Online"))
+                .filter(r -> r.getUnitsSold() > 5000)
+                .toList(), Measure.TOTAL_REVENUE, true).subList(0, 3);
+
+        TopNQuery query = TopNQuery.top(Measure.TOTAL_REVENUE, 3)
+                .where(Dimension.REGION, "Europe", "Europe")
+                .where(Dimension.SALES_CHANNEL, "Online")
+                .where(r -> r.getUnitsSold() > 5000);
+
+        assertEquals(expected, query.list(records));
+        assertEquals(expected, query.list(dataset));
+        assertTrue(TopNQuery.top(Measure.TOTAL_REVENUE, 3)
+                .where(Dimension.REGION, "Atlantis").list(dataset).isEmpty());
+    }
+
+    /**
+     * Verifies per-group top N, e.g. the 3 most profitable orders per region.
+     */
+    @Test
+    void testTopPerGroup() {
+        Map<String, List<SalesRecord>> expected = records.stream()
+                .collect(Collectors.groupingBy(SalesRecord::getRegion))
+                .entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey,
+                        e -> sorted(e.getValue(), Measure.TOTAL_PROFIT, true).subList(0, 3)));
+
+        TopNQuery query = TopNQuery.top(Measure.TOTAL_PROFIT, 3);
+        assertEquals(expected, query.listByGroup(records, Dimension.REGION));
+        assertEquals(expected, query.listByGroup(dataset, Dimension.REGION));
+    }
+
+    /**
+     * Verifies that parallel per-task heaps merge into the sequential
+     * result, including tie-breaking between duplicated rows.
+     */
+    @Test
+    void testParallelMatchesSequential() {
+        List<SalesRecord> repeated = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            repeated.addAll(records);
+        }
+        SalesDataset repeatedDataset = SalesDataset.of(repeated);
+        TopNQuery query = TopNQuery.top(Measure.TOTAL_PROFIT, 10);
+
+        List<SalesRecord> expected = sorted(repeated, Measure.TOTAL_PROFIT, true).subList(0, 10);
+        assertEquals(expected, query.parallel().list(repeated));
+        assertEquals(expected, query.parallel().list(repeatedDataset));
+        assertEquals(query.listByGroup(repeatedDataset, Dimension.ITEM_TYPE),
+                query.parallel().listByGroup(repeatedDataset, Dimension.ITEM_TYPE));
+    }
+
+    /**
+     * Verifies that an N larger than the data returns every row sorted,
+     * without sizing anything by N.
+     */
+    @Test
+    void testHugeNReturnsEveryRow() {
+        List<SalesRecord> expected = sorted(records, Measure.TOTAL_PROFIT, true);
+        TopNQuery query = TopNQuery.top(Measure.TOTAL_PROFIT, Integer.MAX_VALUE);
+
+        assertEquals(expected, query.list(records));
+        assertEquals(expected, query.list(dataset));
+        assertEquals(expected, new SalesAnalyzer(records).topNProfitableOrders(Integer.MAX_VALUE));
+        assertEquals(expected, new SalesAnalyzer(records)
+                .report(EnumSet.of(ReportSection.TOP_PROFITABLE_ORDERS), Integer.MAX_VALUE)
+                .topProfitableOrders());
+        assertEquals(records.size(), query.listByGroup(dataset, Dimension.REGION).values().stream()
+                .mapToInt(List::size).sum());
+    }
+
+    private static List<SalesRecord> sorted(List<SalesRecord> rows, Measure measure, boolean highest) {
+        Comparator<SalesRecord> byMeasure = Comparator.comparingDouble(measure::of);
+        return rows.stream()
+                .sorted(highest ? byMeasure.reversed() : byMeasure)
+                .toList();
+    }
+}